@@ -0,0 +1,65 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+/**
+ * <p>leo-aide 的 JDK Flight Recorder 事件（内部使用）的 Java 8 基线，不记录任何事件。</p>
+ *
+ * <p>{@code jdk.jfr} 从 Java 11 起才是标准 API（Java 8 只有 8u262 以后的部分版本提供），基线中引用它会导致以
+ * {@code --release 8} 编译失败，因此真正的事件定义在 {@code src/main/java11} 中，打包在多版本 jar 的
+ * {@code META-INF/versions/11} 里。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class AideEvents {
+
+    private AideEvents() {}
+
+    /**
+     * @return 是否记录事件
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    static Object beginClone() {
+        return null;
+    }
+
+    static void commitClone(final Object handle, final String type, final int length, final boolean failed) {
+        // Java 8 不记录事件
+    }
+
+    static Object beginSearch() {
+        return null;
+    }
+
+    static void commitSearch(final Object handle, final int textLength, final int patternLength,
+                             final int ordinal, final boolean backward, final int result) {
+        // Java 8 不记录事件
+    }
+
+    static Object beginAssertionFailure() {
+        return null;
+    }
+
+    static void commitAssertionFailure(final Object handle, final String exceptionType,
+                                       final int messageLength, final int argumentCount) {
+        // Java 8 不记录事件
+    }
+}
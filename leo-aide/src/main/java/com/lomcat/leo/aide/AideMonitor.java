@@ -0,0 +1,250 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import com.lomcat.leo.aide.exception.CloneException;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>leo-aide 运行时监控。</p>
+ *
+ * <p>默认关闭，通过系统属性 {@code -Dleo.aide.monitor=true} 开启。开启后：</p>
+ *
+ * <ul>
+ *     <li>按操作类型（{@link Operation}）累计调用次数、扫描字节数与失败次数，可通过 {@link #counters(Operation)}
+ *     或 {@link #snapshot()} 导出到任意监控系统；</li>
+ *     <li>若运行在 Java 11 及以上且支持 JDK Flight Recorder，则对耗时超过阈值的克隆、查找与断言失败记录 JFR 事件，
+ *     事件名称为 {@code com.lomcat.leo.aide.Clone}、{@code com.lomcat.leo.aide.Search}、{@code com.lomcat.leo.aide.AssertionFailure}，
+ *     阈值可在 JFR 配置中按事件名称调整。</li>
+ * </ul>
+ *
+ * <p>关闭时，被监控的方法只多出一次对 {@code static final} 常量的判断，可由 JIT 完全消除。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class AideMonitor {
+
+    /** 是否开启监控 */
+    static final boolean ENABLED = Boolean.getBoolean("leo.aide.monitor");
+
+    /** 是否记录 JFR 事件：先确认 JFR 存在，再加载引用了 JFR 类型的 {@link AideEvents} */
+    private static final boolean JFR_ENABLED = ENABLED && isFlightRecorderPresent() && AideEvents.isSupported();
+
+    private static final Counters[] COUNTERS;
+
+    static {
+        final Operation[] operations = Operation.values();
+        COUNTERS = new Counters[operations.length];
+        for (final Operation operation : operations) {
+            COUNTERS[operation.ordinal()] = new Counters();
+        }
+    }
+
+    private AideMonitor() {}
+
+    /**
+     * @return 是否开启了监控
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * <p>获取指定操作的计数器，未开启监控时计数始终为 0。</p>
+     *
+     * @param operation 操作类型
+     * @return 计数器
+     */
+    public static Counters counters(final Operation operation) {
+        return COUNTERS[operation.ordinal()];
+    }
+
+    /**
+     * <p>导出所有计数器的当前值。</p>
+     *
+     * <p>键的格式为 {@code leo.aide.<操作>.<计数器>}，如 {@code leo.aide.search.bytesScanned}。</p>
+     *
+     * @return 计数器名称到当前值的只读映射
+     */
+    public static Map<String, Long> snapshot() {
+        final Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (final Operation operation : Operation.values()) {
+            final Counters counters = counters(operation);
+            final String prefix = "leo.aide." + operation.metricName + '.';
+            snapshot.put(prefix + "calls", counters.calls());
+            snapshot.put(prefix + "bytesScanned", counters.bytesScanned());
+            snapshot.put(prefix + "failures", counters.failures());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * 将所有计数器清零
+     */
+    public static void reset() {
+        for (final Counters counters : COUNTERS) {
+            counters.reset();
+        }
+    }
+
+    // ----- hooks ----- begin
+    static <T> T clone(final T src) throws CloneException {
+        final int length = src != null && src.getClass().isArray() ? Array.getLength(src) : -1;
+        final Object event = JFR_ENABLED ? AideEvents.beginClone() : null;
+        boolean failed = true;
+        try {
+            final T result = ObjectAide.cloneObject(src);
+            failed = false;
+            return result;
+        } finally {
+            COUNTERS[Operation.CLONE.ordinal()].record(length > 0 ? length * elementSize(src) : 0, failed);
+            if (event != null) {
+                AideEvents.commitClone(event, src == null ? null : src.getClass().getName(), length, failed);
+            }
+        }
+    }
+
+    static int search(final CharSequence sequence, final CharSequence subSequence, final int fromIndex,
+                      final int ordinal, final boolean lastIndex) {
+        final Object event = JFR_ENABLED ? AideEvents.beginSearch() : null;
+        final int index = CharSequenceAide.search(sequence, subSequence, fromIndex, ordinal, lastIndex);
+        final long scanned;
+        if (index < 0) {
+            scanned = sequence.length();
+        } else {
+            scanned = lastIndex ? sequence.length() - index : index + subSequence.length();
+        }
+        COUNTERS[Operation.SEARCH.ordinal()].record(scanned << 1, false);
+        if (event != null) {
+            AideEvents.commitSearch(event, sequence.length(), subSequence.length(), ordinal, lastIndex, index);
+        }
+        return index;
+    }
+
+    static String assertionFailed(final Class<? extends RuntimeException> exceptionType,
+                                  final String message, final Object... messageArgs) {
+        final Object event = JFR_ENABLED ? AideEvents.beginAssertionFailure() : null;
+        final String formatted = MessageTemplate.of(message).format(messageArgs);
+        COUNTERS[Operation.ASSERTION.ordinal()].record((long) formatted.length() << 1, true);
+        if (event != null) {
+            AideEvents.commitAssertionFailure(event, exceptionType.getName(), formatted.length(),
+                    messageArgs == null ? 0 : messageArgs.length);
+        }
+        return formatted;
+    }
+    // ----- hooks ----- end
+
+    private static long elementSize(final Object array) {
+        final Class<?> componentType = array.getClass().getComponentType();
+        if (componentType == long.class || componentType == double.class) {
+            return 8;
+        }
+        if (componentType == int.class || componentType == float.class) {
+            return 4;
+        }
+        if (componentType == char.class || componentType == short.class) {
+            return 2;
+        }
+        if (componentType == byte.class || componentType == boolean.class) {
+            return 1;
+        }
+        return 4;
+    }
+
+    private static boolean isFlightRecorderPresent() {
+        try {
+            Class.forName("jdk.jfr.Event", false, AideMonitor.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    // ----- Inner classes ----- begin
+    /**
+     * 被监控的操作类型
+     */
+    public enum Operation {
+        /** {@link ObjectAide#clone(Object)} */
+        CLONE("clone"),
+        /** {@link CharSequenceAide} 中的子序列查找 */
+        SEARCH("search"),
+        /** {@link AssertAide} 断言失败（只统计失败，{@code calls} 与 {@code failures} 相同） */
+        ASSERTION("assertion");
+
+        private final String metricName;
+
+        Operation(final String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    /**
+     * 一类操作的累计计数，基于 {@link LongAdder}，可被多个线程并发更新
+     */
+    public static final class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder bytesScanned = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private Counters() {}
+
+        void record(final long bytes, final boolean failed) {
+            calls.increment();
+            if (bytes > 0) {
+                bytesScanned.add(bytes);
+            }
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        void reset() {
+            calls.reset();
+            bytesScanned.reset();
+            failures.reset();
+        }
+
+        /**
+         * @return 调用次数
+         */
+        public long calls() {
+            return calls.sum();
+        }
+
+        /**
+         * @return 扫描（或复制）的字节数，字符按 UTF-16 每个 2 字节计算
+         */
+        public long bytesScanned() {
+            return bytesScanned.sum();
+        }
+
+        /**
+         * @return 失败次数
+         */
+        public long failures() {
+            return failures.sum();
+        }
+    }
+    // ----- Inner classes ----- end
+}
@@ -0,0 +1,331 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>数组的深层比较（内部使用），由 {@link ObjectAide} 的 {@code deepEquals}、{@code mismatch}、{@code compareArrays} 等方法对外提供。</p>
+ *
+ * <p>先比较引用与长度，再按元素类型分派到 {@link Intrinsics} 中的 {@code mismatch}：Java 11 及以上版本使用
+ * 向量化的 {@code Arrays.mismatch}，不必逐个元素装箱或调用 {@code equals}。引用类型数组逐个元素比较，
+ * 相同引用直接跳过，嵌套数组递归比较。</p>
+ *
+ * <p>长度达到阈值时可拆分为多个区间，在 {@link ForkJoinPool#commonPool()} 中并行查找第一个不同的元素；
+ * 阈值默认为 1048576 个元素，可通过系统属性 {@code -Dleo.aide.parallelMismatchThreshold=<n>} 调整。
+ * 各区间共享已找到的最小索引，位于其后的区间不再比较。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class ArrayMismatch extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 并行比较的最小元素个数 */
+    static final int PARALLEL_THRESHOLD = Math.max(2, Integer.getInteger("leo.aide.parallelMismatchThreshold", 1 << 20));
+
+    /** 并行比较时每个子任务处理的最小元素个数，随调低的阈值一起缩小，使较短的数组也会被拆分 */
+    private static final int MIN_LEAF = Math.max(1, Math.min(1 << 16, PARALLEL_THRESHOLD >>> 4));
+
+    /** 不是数组 */
+    static final int NONE = -1;
+    static final int OBJECT = 0;
+    static final int BYTE = 1;
+    static final int SHORT = 2;
+    static final int CHAR = 3;
+    static final int INT = 4;
+    static final int LONG = 5;
+    static final int FLOAT = 6;
+    static final int DOUBLE = 7;
+    static final int BOOLEAN = 8;
+
+    private final Object array1;
+    private final Object array2;
+    private final int kind;
+    private final int from;
+    private final int to;
+    private final int leaf;
+    /** 已找到的最小不同索引，未找到时为 {@link Integer#MAX_VALUE} */
+    private final AtomicInteger found;
+
+    private ArrayMismatch(final Object array1, final Object array2, final int kind, final int from, final int to,
+                          final int leaf, final AtomicInteger found) {
+        this.array1 = array1;
+        this.array2 = array2;
+        this.kind = kind;
+        this.from = from;
+        this.to = to;
+        this.leaf = leaf;
+        this.found = found;
+    }
+
+    /**
+     * @return 数组的元素类型，所有引用类型数组均为 {@link #OBJECT}，不是数组时返回 {@link #NONE}
+     */
+    static int kind(final Object object) {
+        if (object instanceof Object[]) {
+            return OBJECT;
+        }
+        final Class<?> type = object.getClass();
+        if (!type.isArray()) {
+            return NONE;
+        }
+        if (type == byte[].class) {
+            return BYTE;
+        } else if (type == short[].class) {
+            return SHORT;
+        } else if (type == char[].class) {
+            return CHAR;
+        } else if (type == int[].class) {
+            return INT;
+        } else if (type == long[].class) {
+            return LONG;
+        } else if (type == float[].class) {
+            return FLOAT;
+        } else if (type == double[].class) {
+            return DOUBLE;
+        }
+        return BOOLEAN;
+    }
+
+    /**
+     * <p>与 {@link java.util.Objects#deepEquals(Object, Object)} 语义相同。</p>
+     */
+    static boolean deepEquals(final Object a, final Object b) {
+        if (a == b) {
+            return true;
+        } else if (a == null || b == null) {
+            return false;
+        }
+        final int kind = kind(a);
+        if (kind == NONE) {
+            return a.equals(b);
+        }
+        if (kind != kind(b)) {
+            return false;
+        }
+        final int length = ArrayAide.length(a);
+        return length == ArrayAide.length(b) && mismatch(a, b, kind, 0, length) < 0;
+    }
+
+    /**
+     * <p>比较两个相同类型数组的 {@code [from, to)} 区间。</p>
+     *
+     * @return 第一个不同元素的索引（绝对索引），区间内完全相同时返回 -1
+     */
+    static int mismatch(final Object a, final Object b, final int kind, final int from, final int to) {
+        final int length = to - from;
+        final int index;
+        switch (kind) {
+            case OBJECT:
+                return mismatch((Object[]) a, (Object[]) b, from, to);
+            case BYTE:
+                index = Intrinsics.mismatch((byte[]) a, from, (byte[]) b, from, length);
+                break;
+            case SHORT:
+                index = Intrinsics.mismatch((short[]) a, from, (short[]) b, from, length);
+                break;
+            case CHAR:
+                index = Intrinsics.mismatch((char[]) a, from, (char[]) b, from, length);
+                break;
+            case INT:
+                index = Intrinsics.mismatch((int[]) a, from, (int[]) b, from, length);
+                break;
+            case LONG:
+                index = Intrinsics.mismatch((long[]) a, from, (long[]) b, from, length);
+                break;
+            case FLOAT:
+                index = Intrinsics.mismatch((float[]) a, from, (float[]) b, from, length);
+                break;
+            case DOUBLE:
+                index = Intrinsics.mismatch((double[]) a, from, (double[]) b, from, length);
+                break;
+            default:
+                index = Intrinsics.mismatch((boolean[]) a, from, (boolean[]) b, from, length);
+                break;
+        }
+        return index < 0 ? -1 : from + index;
+    }
+
+    private static int mismatch(final Object[] a, final Object[] b, final int from, final int to) {
+        for (int i = from; i < to; i ++) {
+            final Object e1 = a[i];
+            final Object e2 = b[i];
+            if (e1 != e2 && !deepEquals(e1, e2)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <p>查找两个相同类型数组中第一个不同元素的索引，长度达到阈值且 {@code parallel} 为 {@code true} 时并行比较。</p>
+     *
+     * @return 第一个不同元素的索引；较短数组是较长数组的前缀时返回较短数组的长度；完全相同时返回 -1
+     */
+    static int mismatch(final Object a, final Object b, final int kind, final boolean parallel) {
+        final int length1 = ArrayAide.length(a);
+        final int length2 = ArrayAide.length(b);
+        final int length = Math.min(length1, length2);
+        final int index;
+        if (a == b) {
+            index = -1;
+        } else if (!parallel || length < PARALLEL_THRESHOLD) {
+            index = mismatch(a, b, kind, 0, length);
+        } else {
+            final AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+            ForkJoinPool.commonPool().invoke(new ArrayMismatch(a, b, kind, 0, length, leaf(length), found));
+            index = found.get() == Integer.MAX_VALUE ? -1 : found.get();
+        }
+        return index < 0 && length1 != length2 ? length : index;
+    }
+
+    @Override
+    protected void compute() {
+        if (from >= found.get()) {
+            // 前面的区间已经找到不同的元素
+            return;
+        }
+        if (to - from <= leaf) {
+            final int index = mismatch(array1, array2, kind, from, to);
+            if (index >= 0) {
+                found.accumulateAndGet(index, Math::min);
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        invokeAll(new ArrayMismatch(array1, array2, kind, from, middle, leaf, found),
+                new ArrayMismatch(array1, array2, kind, middle, to, leaf, found));
+    }
+
+    private static int leaf(final int length) {
+        // 每个工作线程约 4 个子任务，兼顾负载均衡与任务开销
+        return Math.max(MIN_LEAF, length / (ForkJoinPool.getCommonPoolParallelism() << 2));
+    }
+
+    /**
+     * <p>查找第一个不同元素的路径：引用类型数组中的元素为相同类型的数组时继续深入。</p>
+     *
+     * @return 从外到内的索引路径；{@code a} 与 {@code b} 本身即不同（不是相同类型的数组）时返回空路径；深层相等时返回 {@code null}
+     */
+    static int[] mismatchPath(final Object a, final Object b) {
+        return mismatchPath(a, b, 0);
+    }
+
+    private static int[] mismatchPath(final Object a, final Object b, final int depth) {
+        if (a == b) {
+            return null;
+        } else if (a == null || b == null) {
+            return new int[depth];
+        }
+        final int kind = kind(a);
+        if (kind == NONE || kind != kind(b)) {
+            return deepEquals(a, b) ? null : new int[depth];
+        }
+        final int length1 = ArrayAide.length(a);
+        final int length2 = ArrayAide.length(b);
+        final int length = Math.min(length1, length2);
+        if (kind == OBJECT) {
+            final Object[] array1 = (Object[]) a;
+            final Object[] array2 = (Object[]) b;
+            for (int i = 0; i < length; i ++) {
+                final int[] path = mismatchPath(array1[i], array2[i], depth + 1);
+                if (path != null) {
+                    path[depth] = i;
+                    return path;
+                }
+            }
+        } else {
+            final int index = mismatch(a, b, kind, 0, length);
+            if (index >= 0) {
+                return leaf(depth, index);
+            }
+        }
+        return length1 == length2 ? null : leaf(depth, length);
+    }
+
+    private static int[] leaf(final int depth, final int index) {
+        final int[] path = new int[depth + 1];
+        path[depth] = index;
+        return path;
+    }
+
+    /**
+     * <p>按字典序比较两个相同类型的数组，基本类型与对应包装类型的 {@code compare} 一致，
+     * 引用类型的元素按 {@link Comparable#compareTo(Object)} 比较，嵌套数组递归比较，{@code null} 小于 non-{@code null}。</p>
+     */
+    static int compare(final Object a, final Object b, final int kind) {
+        final int length1 = ArrayAide.length(a);
+        final int length2 = ArrayAide.length(b);
+        final int length = Math.min(length1, length2);
+        if (kind == OBJECT) {
+            final Object[] array1 = (Object[]) a;
+            final Object[] array2 = (Object[]) b;
+            for (int i = 0; i < length; i ++) {
+                final Object e1 = array1[i];
+                final Object e2 = array2[i];
+                if (e1 == e2) {
+                    continue;
+                }
+                final int result = compareElement(e1, e2);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Integer.compare(length1, length2);
+        }
+        final int i = a == b ? -1 : mismatch(a, b, kind, 0, length);
+        if (i < 0) {
+            return Integer.compare(length1, length2);
+        }
+        switch (kind) {
+            case BYTE:
+                return Byte.compare(((byte[]) a)[i], ((byte[]) b)[i]);
+            case SHORT:
+                return Short.compare(((short[]) a)[i], ((short[]) b)[i]);
+            case CHAR:
+                return Character.compare(((char[]) a)[i], ((char[]) b)[i]);
+            case INT:
+                return Integer.compare(((int[]) a)[i], ((int[]) b)[i]);
+            case LONG:
+                return Long.compare(((long[]) a)[i], ((long[]) b)[i]);
+            case FLOAT:
+                return Float.compare(((float[]) a)[i], ((float[]) b)[i]);
+            case DOUBLE:
+                return Double.compare(((double[]) a)[i], ((double[]) b)[i]);
+            default:
+                return Boolean.compare(((boolean[]) a)[i], ((boolean[]) b)[i]);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareElement(final Object e1, final Object e2) {
+        if (e1 == null) {
+            return -1;
+        } else if (e2 == null) {
+            return 1;
+        }
+        final int kind = kind(e1);
+        if (kind != NONE && kind == kind(e2)) {
+            return compare(e1, e2, kind);
+        }
+        return ((Comparable) e1).compareTo(e2);
+    }
+}
@@ -0,0 +1,189 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+/**
+ * <p>ASCII 字节数组的按字（word-at-a-time）操作（内部使用），供 {@link AsciiSequence}、{@link MutableAsciiSequence}
+ * 与 {@link CharSequenceAccess} 使用。</p>
+ *
+ * <p>每次通过 {@link Intrinsics#getLongLE(byte[], int)} 读取 8 个字节，以 SWAR（SIMD within a register）技巧同时处理：
+ * 所有字节都小于 {@code 0x80}，各字节上的加法不会向相邻字节进位。不足 8 个字节的尾部逐字节处理。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class AsciiBytes {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long SPACES = 0x2020202020202020L;
+
+    /** {@link Character#isWhitespace(char)} 在 ASCII 范围内为真的字符：0x09-0x0D、0x1C-0x20 */
+    private static final long WHITESPACE = 0x1F0003E00L;
+
+    private AsciiBytes() {}
+
+    /**
+     * @return 字节均小于 {@code 0x80} 时返回 {@code true}
+     */
+    static boolean isAscii(final byte[] bytes, final int from, final int to) {
+        int i = from;
+        long any = 0;
+        for (; i + 8 <= to; i += 8) {
+            any |= Intrinsics.getLongLE(bytes, i);
+        }
+        for (; i < to; i ++) {
+            any |= bytes[i];
+        }
+        return (any & HIGHS) == 0;
+    }
+
+    /**
+     * @return 字符均小于 {@code 0x80} 时返回 {@code true}
+     */
+    static boolean isAscii(final CharSequence sequence) {
+        for (int i = 0, n = sequence.length(); i < n; i ++) {
+            if (sequence.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isWhitespace(final int b) {
+        return b <= 0x20 && (WHITESPACE >>> b & 1) != 0;
+    }
+
+    /**
+     * @return 与 {@link String#hashCode()} 相同的哈希值
+     */
+    static int hash(final byte[] bytes, final int from, final int to) {
+        int hash = 0;
+        for (int i = from; i < to; i ++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+
+    /**
+     * @return [{@code from}, {@code to}) 中第一个等于 {@code b} 的索引，不存在时返回 -1
+     */
+    static int indexOf(final byte[] bytes, final int b, final int from, final int to) {
+        int i = from;
+        final long pattern = ONES * b;
+        for (; i + 8 <= to; i += 8) {
+            final long word = Intrinsics.getLongLE(bytes, i) ^ pattern;
+            // 等于 b 的字节变为 0；最低的 0 字节对应的最高位一定被置位，更高位置可能误报，但不影响取最低位
+            final long zeros = (word - ONES) & ~word & HIGHS;
+            if (zeros != 0) {
+                return i + (Long.numberOfTrailingZeros(zeros) >>> 3);
+            }
+        }
+        for (; i < to; i ++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return [{@code from}, {@code to}) 中第一个非空白字符的索引，不存在时返回 -1
+     */
+    static int indexOfNonWhitespace(final byte[] bytes, final int from, final int to) {
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            final long word = Intrinsics.getLongLE(bytes, i);
+            if (word == SPACES) {
+                continue;
+            }
+            for (int j = i; j < i + 8; j ++) {
+                if (!isWhitespace(bytes[j])) {
+                    return j;
+                }
+            }
+        }
+        for (; i < to; i ++) {
+            if (!isWhitespace(bytes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 两个区域中第一个不同字节的相对索引，完全相同时返回 -1
+     */
+    static int mismatch(final boolean ignoreCase, final byte[] bytes1, final int from1,
+                        final byte[] bytes2, final int from2, final int length) {
+        if (!ignoreCase) {
+            return Intrinsics.mismatch(bytes1, from1, bytes2, from2, length);
+        }
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            final long diff = toLowerCase(Intrinsics.getLongLE(bytes1, from1 + i))
+                    ^ toLowerCase(Intrinsics.getLongLE(bytes2, from2 + i));
+            if (diff != 0) {
+                return i + (Long.numberOfTrailingZeros(diff) >>> 3);
+            }
+        }
+        for (; i < length; i ++) {
+            if (toLowerCase(bytes1[from1 + i]) != toLowerCase(bytes2[from2 + i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return [{@code from}, {@code to}) 中第一个大写字母（{@code upper} 为 {@code false} 时）或小写字母（{@code upper} 为 {@code true} 时）的索引，
+     * 不存在时返回 -1
+     */
+    static int indexOfCaseChange(final byte[] bytes, final int from, final int to, final boolean upper) {
+        // 与 toLowerCase(long) 相同的加法技巧：字节 >= low 时 +(0x80 - low) 置位最高位，字节 > high 时 +(0x7F - high) 置位最高位
+        final long belowLow = upper ? 0x1F1F1F1F1F1F1F1FL : 0x3F3F3F3F3F3F3F3FL;
+        final long aboveHigh = upper ? 0x0505050505050505L : 0x2525252525252525L;
+        final int low = upper ? 'a' : 'A';
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            final long word = Intrinsics.getLongLE(bytes, i);
+            final long letters = (word + belowLow) & ~(word + aboveHigh) & HIGHS;
+            if (letters != 0) {
+                return i + (Long.numberOfTrailingZeros(letters) >>> 3);
+            }
+        }
+        for (; i < to; i ++) {
+            if (bytes[i] - low >= 0 && bytes[i] - low < 26) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 将 8 个 ASCII 字节中的大写字母同时转换为小写
+     */
+    static long toLowerCase(final long word) {
+        // 字节 >= 'A' 时 +0x3F 置位最高位，字节 >= '[' 时 +0x25 置位最高位
+        final long upper = (word + 0x3F3F3F3F3F3F3F3FL) & ~(word + 0x2525252525252525L) & HIGHS;
+        return word | upper >>> 2;
+    }
+
+    static int toLowerCase(final int b) {
+        return b >= 'A' && b <= 'Z' ? b | 0x20 : b;
+    }
+}
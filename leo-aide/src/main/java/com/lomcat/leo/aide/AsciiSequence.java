@@ -0,0 +1,207 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>以 {@code byte[]} 保存的不可变 ASCII 字符序列，每个字符只占 1 字节，是 {@code char[]}、{@link StringBuilder} 的一半。</p>
+ *
+ * <p>{@link #hashCode()} 与内容相同的 {@link String#hashCode()} 相等并被缓存，{@link #equals(Object)} 与另一个内容相同的
+ * {@code AsciiSequence} 相等，可以与 {@code String} 一样作为哈希表的键；与其它字符序列比较内容请使用
+ * {@link #contentEquals(CharSequence)} 或 {@link CharSequenceAide#equals(CharSequence, CharSequence)}。</p>
+ *
+ * <p>{@link CharSequenceAide} 与 {@link StringAide} 的 {@code equals}、{@code equalsIgnoreCase}、{@code regionMatches}、
+ * {@code compare}、{@code isBlank}、{@code indexOf} 能识别本类与 {@link MutableAsciiSequence}，直接按字（每次 8 字节）比较与查找底层字节。</p>
+ *
+ * <pre>
+ * AsciiSequence id = AsciiSequence.of("SKU-000042");
+ * id.hashCode() == "SKU-000042".hashCode()                              = true
+ * CharSequenceAide.equals(id, "SKU-000042")                             = true
+ * CharSequenceAide.equalsIgnoreCase(id, AsciiSequence.of("sku-000042")) = true
+ * AsciiSequence.isAscii("中文")                                          = false
+ * AsciiSequence.of("中文")                                               // IllegalArgumentException
+ * </pre>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ * @see MutableAsciiSequence
+ */
+public final class AsciiSequence implements CharSequence, Comparable<AsciiSequence>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 空序列 */
+    public static final AsciiSequence EMPTY = new AsciiSequence(new byte[0]);
+
+    /** 字节数组，长度即为序列长度，创建后不再修改 */
+    final byte[] value;
+
+    /** 缓存的哈希值，0 表示尚未计算（与 {@link String} 相同） */
+    private transient int hash;
+
+    AsciiSequence(final byte[] value) {
+        this.value = value;
+    }
+
+    /**
+     * @param sequence 只包含 ASCII 字符的字符序列，不能为 {@code null}
+     * @return 内容相同的 ASCII 序列，{@code sequence} 本身是 {@code AsciiSequence} 时直接返回
+     * @throws IllegalArgumentException 包含非 ASCII 字符
+     */
+    public static AsciiSequence of(final CharSequence sequence) {
+        if (sequence instanceof AsciiSequence) {
+            return (AsciiSequence) sequence;
+        }
+        if (sequence instanceof MutableAsciiSequence) {
+            return ((MutableAsciiSequence) sequence).toAsciiSequence();
+        }
+        final int length = sequence.length();
+        final byte[] value = new byte[length];
+        for (int i = 0; i < length; i ++) {
+            final char c = sequence.charAt(i);
+            if (c >= 0x80) {
+                throw new IllegalArgumentException("Non-ASCII character '" + c + "' at index " + i);
+            }
+            value[i] = (byte) c;
+        }
+        return new AsciiSequence(value);
+    }
+
+    /**
+     * <p>复制字节数组中的一段 ASCII 字节，例如从网络或文件读取的标识符，无需先解码为 {@link String}。</p>
+     *
+     * @param bytes 字节数组，不能为 {@code null}
+     * @param offset 开始位置
+     * @param length 字节数
+     * @return ASCII 序列
+     * @throws IllegalArgumentException 包含大于 {@code 0x7F} 的字节
+     * @throws IndexOutOfBoundsException 区域超出数组范围
+     */
+    public static AsciiSequence of(final byte[] bytes, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + bytes.length);
+        }
+        if (!AsciiBytes.isAscii(bytes, offset, offset + length)) {
+            throw new IllegalArgumentException("The bytes are not ASCII.");
+        }
+        return new AsciiSequence(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+
+    /**
+     * @param sequence 字符序列
+     * @return 不为 {@code null} 且只包含 ASCII 字符时返回 {@code true}
+     */
+    public static boolean isAscii(final CharSequence sequence) {
+        return sequence != null && AsciiBytes.isAscii(sequence);
+    }
+
+    @Override
+    public int length() {
+        return value.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return (char) value[index];
+    }
+
+    /**
+     * @return 区域的副本
+     */
+    @Override
+    public AsciiSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > value.length || start > end) {
+            throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + value.length);
+        }
+        if (start == 0 && end == value.length) {
+            return this;
+        }
+        return new AsciiSequence(Arrays.copyOfRange(value, start, end));
+    }
+
+    /**
+     * @return 字节数组的副本
+     */
+    public byte[] getBytes() {
+        return value.clone();
+    }
+
+    /**
+     * <p>将字节写入 {@code dst} 的 {@code offset} 处。</p>
+     *
+     * @param dst 目标数组
+     * @param offset 目标位置
+     */
+    public void getBytes(final byte[] dst, final int offset) {
+        System.arraycopy(value, 0, dst, offset, value.length);
+    }
+
+    /**
+     * @param sequence 任意字符序列
+     * @return 内容与 {@code sequence} 相同时返回 {@code true}
+     */
+    public boolean contentEquals(final CharSequence sequence) {
+        return CharSequenceAide.equals(this, sequence);
+    }
+
+    /**
+     * <p>按字典顺序比较，与内容相同的 {@link String} 之间的 {@link String#compareTo(String)} 结果一致。</p>
+     */
+    @Override
+    public int compareTo(final AsciiSequence other) {
+        return CharSequenceAccess.compare(this, other);
+    }
+
+    /**
+     * @return 与另一个内容相同的 {@code AsciiSequence} 相等
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AsciiSequence)) {
+            return false;
+        }
+        final byte[] other = ((AsciiSequence) o).value;
+        final int h1 = hash;
+        final int h2 = ((AsciiSequence) o).hash;
+        return other.length == value.length && (h1 == 0 || h2 == 0 || h1 == h2)
+                && Intrinsics.mismatch(value, 0, other, 0, value.length) < 0;
+    }
+
+    /**
+     * @return 与内容相同的 {@link String#hashCode()} 相等
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && value.length > 0) {
+            h = AsciiBytes.hash(value, 0, value.length);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return new String(value, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,177 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>对字符串数组或列表逐个元素执行转换（内部使用），由 {@link StringAide} 的批量方法对外提供。</p>
+ *
+ * <p>原地转换时只写回发生变化的元素：转换函数未改变元素时返回原实例，对应位置不会被写入，
+ * 对大多数元素已规范的数据可避免大量无谓的写操作（及其带来的 GC 写屏障与缓存行失效）。</p>
+ *
+ * <p>元素个数达到阈值时拆分为多个区间，在 {@link ForkJoinPool#commonPool()} 中并行执行；
+ * 阈值默认为 65536，可通过系统属性 {@code -Dleo.aide.parallelThreshold=<n>} 调整，
+ * 设置为 {@link Integer#MAX_VALUE} 即关闭并行。</p>
+ *
+ * <p>列表只有 {@link ArrayList} 与 {@link Arrays#asList(Object[])} 返回的列表（不含子类与 {@code subList} 视图）会并行执行：
+ * 它们的 {@code set} 只写入底层数组的一个位置，不同区间互不干扰。其他列表始终顺序执行，
+ * 例如 {@code Vector}、{@code Collections.synchronizedList} 的每次 {@code set} 都要争用同一把锁，
+ * {@code CopyOnWriteArrayList} 的每次 {@code set} 都复制整个数组且并发写入会互相覆盖，
+ * 未知实现的 {@code set} 也未必是线程安全的；不支持随机访问的列表通过 {@link ListIterator} 遍历。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class BulkTransform extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 并行执行的最小元素个数 */
+    static final int PARALLEL_THRESHOLD = Math.max(2, Integer.getInteger("leo.aide.parallelThreshold", 1 << 16));
+
+    /** {@link Arrays#asList(Object[])} 返回的列表的类型 */
+    private static final Class<?> ARRAYS_AS_LIST = Arrays.asList().getClass();
+
+    /** 并行执行时每个子任务处理的最小元素个数，随调低的阈值一起缩小，使较短的数组也会被拆分 */
+    private static final int MIN_LEAF = Math.max(1, Math.min(4096, PARALLEL_THRESHOLD >>> 4));
+
+    private final String[] source;
+    private final String[] target;
+    private final List<String> list;
+    private final UnaryOperator<String> operator;
+    private final int from;
+    private final int to;
+    private final int leaf;
+
+    private BulkTransform(final String[] source, final String[] target, final List<String> list,
+                          final UnaryOperator<String> operator, final int from, final int to, final int leaf) {
+        this.source = source;
+        this.target = target;
+        this.list = list;
+        this.operator = operator;
+        this.from = from;
+        this.to = to;
+        this.leaf = leaf;
+    }
+
+    /**
+     * <p>将 {@code source} 中的每个元素转换后写入 {@code target} 的相同位置，两者可以是同一个数组。</p>
+     *
+     * @return {@code target}
+     */
+    static String[] apply(final String[] source, final String[] target, final UnaryOperator<String> operator) {
+        if (source.length > target.length) {
+            throw new IndexOutOfBoundsException("source length " + source.length + ", target length " + target.length);
+        }
+        final int length = source.length;
+        if (length < PARALLEL_THRESHOLD) {
+            transform(source, target, operator, 0, length);
+        } else {
+            ForkJoinPool.commonPool().invoke(new BulkTransform(source, target, null, operator, 0, length, leaf(length)));
+        }
+        return target;
+    }
+
+    /**
+     * <p>原地转换列表中的每个元素，列表需支持 {@link List#set(int, Object)}。只有 {@link ArrayList}
+     * 与 {@link Arrays#asList(Object[])} 返回的列表会并行执行。</p>
+     *
+     * @return {@code list}
+     */
+    static List<String> apply(final List<String> list, final UnaryOperator<String> operator) {
+        final int size = list.size();
+        if (!(list instanceof RandomAccess)) {
+            final ListIterator<String> iterator = list.listIterator();
+            while (iterator.hasNext()) {
+                final String element = iterator.next();
+                final String result = operator.apply(element);
+                if (result != element) {
+                    iterator.set(result);
+                }
+            }
+        } else if (size < PARALLEL_THRESHOLD || !isArrayBacked(list)) {
+            transform(list, operator, 0, size);
+        } else {
+            ForkJoinPool.commonPool().invoke(new BulkTransform(null, null, list, operator, 0, size, leaf(size)));
+        }
+        return list;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= leaf) {
+            if (list == null) {
+                transform(source, target, operator, from, to);
+            } else {
+                transform(list, operator, from, to);
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        invokeAll(new BulkTransform(source, target, list, operator, from, middle, leaf),
+                new BulkTransform(source, target, list, operator, middle, to, leaf));
+    }
+
+    /**
+     * @return 列表是否为 {@code set} 只写入一个数组位置、可由多个线程写入不同区间的列表
+     */
+    private static boolean isArrayBacked(final List<String> list) {
+        final Class<?> type = list.getClass();
+        return type == ArrayList.class || type == ARRAYS_AS_LIST;
+    }
+
+    private static int leaf(final int length) {
+        // 每个工作线程约 4 个子任务，兼顾负载均衡与任务开销
+        return Math.max(MIN_LEAF, length / (ForkJoinPool.getCommonPoolParallelism() << 2));
+    }
+
+    private static void transform(final String[] source, final String[] target, final UnaryOperator<String> operator,
+                                  final int from, final int to) {
+        if (source == target) {
+            for (int i = from; i < to; i ++) {
+                final String element = source[i];
+                final String result = operator.apply(element);
+                if (result != element) {
+                    target[i] = result;
+                }
+            }
+        } else {
+            for (int i = from; i < to; i ++) {
+                target[i] = operator.apply(source[i]);
+            }
+        }
+    }
+
+    private static void transform(final List<String> list, final UnaryOperator<String> operator,
+                                  final int from, final int to) {
+        for (int i = from; i < to; i ++) {
+            final String element = list.get(i);
+            final String result = operator.apply(element);
+            if (result != element) {
+                list.set(i, result);
+            }
+        }
+    }
+}
@@ -0,0 +1,778 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.nio.CharBuffer;
+
+/**
+ * <p>字符序列底层存储访问层（内部使用）。</p>
+ *
+ * <p>识别 {@link String}、{@link StringBuilder}、{@link StringBuffer}、基于数组的 {@link CharBuffer}、
+ * {@link AsciiSequence}/{@link MutableAsciiSequence}、{@link Rope} 以及 {@link CharSequenceView}，针对各自的底层存储执行单态的批量循环；
+ * 对无法识别的类型退回到 {@link CharSequence#charAt(int)}。两侧都是 ASCII 序列时直接按字比较底层字节（见 {@link AsciiBytes}），
+ * {@code Rope} 的查找直接逐块扫描其叶子。</p>
+ *
+ * <p>非数组存储（{@code StringBuilder}、{@code Rope} 等）按块通过 {@code getChars} 批量复制到线程内复用的缓冲区后再扫描，
+ * 避免逐字符的接口调用，且不产生临时对象。</p>
+ *
+ * <p>除特别说明外，方法参数中的索引均相对于传入的字符序列，且调用方已保证其合法。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class CharSequenceAccess {
+
+    static final int STRING = 0;
+    static final int STRING_BUILDER = 1;
+    static final int STRING_BUFFER = 2;
+    static final int ARRAY = 3;
+    static final int GENERIC = 4;
+    static final int ASCII = 5;
+    static final int ROPE = 6;
+
+    /** 短于此长度的区域直接逐字符访问，不值得批量复制 */
+    private static final int SHORT_REGION = 16;
+
+    /** 批量复制的块大小 */
+    private static final int CHUNK = 256;
+
+    /** 线程内复用的复制缓冲区，前后两半分别供比较的两侧使用 */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[CHUNK * 2]);
+
+    private CharSequenceAccess() {}
+
+    // ----- resolve ----- begin
+    /**
+     * @return 去掉视图包装后的底层字符序列
+     */
+    static CharSequence root(final CharSequence sequence) {
+        return sequence instanceof CharSequenceView ? ((CharSequenceView) sequence).source() : sequence;
+    }
+
+    /**
+     * @return 底层字符序列的存储类型
+     */
+    static int kind(final CharSequence root) {
+        if (root instanceof String) {
+            return STRING;
+        }
+        if (root instanceof StringBuilder) {
+            return STRING_BUILDER;
+        }
+        if (root instanceof StringBuffer) {
+            return STRING_BUFFER;
+        }
+        if (root instanceof CharBuffer && ((CharBuffer) root).hasArray()) {
+            return ARRAY;
+        }
+        if (root instanceof AsciiSequence || root instanceof MutableAsciiSequence) {
+            return ASCII;
+        }
+        if (root instanceof Rope) {
+            return ROPE;
+        }
+        return GENERIC;
+    }
+
+    /**
+     * @return 存储类型为 {@link #ASCII} 时返回底层字节数组，否则 {@code null}
+     */
+    static byte[] bytes(final CharSequence root, final int kind) {
+        if (kind != ASCII) {
+            return null;
+        }
+        return root instanceof AsciiSequence ? ((AsciiSequence) root).value : ((MutableAsciiSequence) root).value;
+    }
+
+    /**
+     * @return 存储类型为 {@link #ARRAY} 时返回底层数组，否则 {@code null}
+     */
+    static char[] array(final CharSequence root, final int kind) {
+        return kind == ARRAY ? ((CharBuffer) root).array() : null;
+    }
+
+    /**
+     * @return 字符序列第 0 个字符在底层存储中的位置（存储类型为 {@link #ARRAY} 时为数组下标）
+     */
+    static int start(final CharSequence sequence, final CharSequence root, final int kind) {
+        int start = sequence instanceof CharSequenceView ? ((CharSequenceView) sequence).offset() : 0;
+        if (kind == ARRAY) {
+            final CharBuffer buffer = (CharBuffer) root;
+            start += buffer.arrayOffset() + buffer.position();
+        }
+        return start;
+    }
+
+    /**
+     * 按存储类型读取底层存储中 {@code index} 处的字符
+     */
+    static char charAt(final int kind, final CharSequence root, final char[] array, final int index) {
+        switch (kind) {
+            case STRING:
+                return ((String) root).charAt(index);
+            case STRING_BUILDER:
+                return ((StringBuilder) root).charAt(index);
+            case STRING_BUFFER:
+                return ((StringBuffer) root).charAt(index);
+            case ARRAY:
+                return array[index];
+            default:
+                return root.charAt(index);
+        }
+    }
+
+    /**
+     * 将底层存储 [{@code from}, {@code from + length}) 的字符批量复制到 {@code dst}（{@link #ARRAY} 类型除外）
+     */
+    private static void copy(final int kind, final CharSequence root, final int from, final int length,
+                             final char[] dst, final int dstBegin) {
+        switch (kind) {
+            case STRING:
+                ((String) root).getChars(from, from + length, dst, dstBegin);
+                break;
+            case STRING_BUILDER:
+                ((StringBuilder) root).getChars(from, from + length, dst, dstBegin);
+                break;
+            case STRING_BUFFER:
+                ((StringBuffer) root).getChars(from, from + length, dst, dstBegin);
+                break;
+            case ASCII: {
+                final byte[] bytes = bytes(root, kind);
+                for (int i = 0; i < length; i ++) {
+                    dst[dstBegin + i] = (char) bytes[from + i];
+                }
+                break;
+            }
+            case ROPE:
+                ((Rope) root).getChars(from, from + length, dst, dstBegin);
+                break;
+            default:
+                for (int i = 0; i < length; i ++) {
+                    dst[dstBegin + i] = root.charAt(from + i);
+                }
+        }
+    }
+    // ----- resolve ----- end
+
+    /**
+     * 将 {@code sequence} 中 [{@code srcBegin}, {@code srcEnd}) 的字符复制到 {@code dst} 的 {@code dstBegin} 处
+     */
+    static void getChars(final CharSequence sequence, final int srcBegin, final int srcEnd,
+                         final char[] dst, final int dstBegin) {
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        if (kind == ARRAY) {
+            System.arraycopy(array(root, kind), start + srcBegin, dst, dstBegin, srcEnd - srcBegin);
+        } else {
+            copy(kind, root, start + srcBegin, srcEnd - srcBegin, dst, dstBegin);
+        }
+    }
+
+    /**
+     * <p>查找字符 {@code ch} 在 [{@code fromIndex}, {@code toIndex}) 中首次出现的索引。</p>
+     *
+     * <p>{@code ch} 为增补字符时按代理对查找，不合法的代码点（大于 {@link Character#MAX_CODE_POINT}）查找不到。</p>
+     *
+     * @return 相对于 {@code sequence} 的索引，或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    static int indexOf(final CharSequence sequence, final int ch, final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        if (ch >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            return ch <= Character.MAX_CODE_POINT
+                    ? indexOfSupplementary(sequence, ch, fromIndex, toIndex) : CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        final int from = start + fromIndex;
+        final int to = start + toIndex;
+        switch (kind) {
+            case STRING: {
+                final String str = (String) root;
+                if (to == str.length()) {
+                    final int found = str.indexOf(ch, from);
+                    return found < 0 ? found : found - start;
+                }
+                for (int i = from; i < to; i ++) {
+                    if (str.charAt(i) == ch) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            case ARRAY: {
+                final char[] array = array(root, kind);
+                for (int i = from; i < to; i ++) {
+                    if (array[i] == ch) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            case ASCII: {
+                if (ch >= 0x80) {
+                    return CharSequenceAide.INDEX_NOT_FOUND;
+                }
+                final int found = AsciiBytes.indexOf(bytes(root, kind), ch, from, to);
+                return found < 0 ? found : found - start;
+            }
+            case ROPE: {
+                final int found = ((Rope) root).indexOf(ch, from, to);
+                return found < 0 ? found : found - start;
+            }
+            default: {
+                if (to - from < SHORT_REGION) {
+                    for (int i = from; i < to; i ++) {
+                        if (charAt(kind, root, null, i) == ch) {
+                            return i - start;
+                        }
+                    }
+                    return CharSequenceAide.INDEX_NOT_FOUND;
+                }
+                final char[] buffer = BUFFER.get();
+                for (int chunkStart = from; chunkStart < to; chunkStart += CHUNK) {
+                    final int n = Math.min(CHUNK, to - chunkStart);
+                    copy(kind, root, chunkStart, n, buffer, 0);
+                    for (int i = 0; i < n; i ++) {
+                        if (buffer[i] == ch) {
+                            return chunkStart + i - start;
+                        }
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+        }
+    }
+
+    private static int indexOfSupplementary(final CharSequence sequence, final int codePoint,
+                                            final int fromIndex, final int toIndex) {
+        final char high = Character.highSurrogate(codePoint);
+        final char low = Character.lowSurrogate(codePoint);
+        int i = fromIndex;
+        while ((i = indexOf(sequence, high, i, toIndex - 1)) >= 0) {
+            if (sequence.charAt(i + 1) == low) {
+                return i;
+            }
+            i ++;
+        }
+        return CharSequenceAide.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>从 {@code fromIndex} 开始向前查找字符 {@code ch} 最后出现的索引。</p>
+     *
+     * @return 相对于 {@code sequence} 的索引，或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    static int lastIndexOf(final CharSequence sequence, final int ch, int fromIndex) {
+        fromIndex = Math.min(fromIndex, sequence.length() - 1);
+        if (fromIndex < 0) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        if (ch >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            if (ch > Character.MAX_CODE_POINT) {
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            final char high = Character.highSurrogate(ch);
+            final char low = Character.lowSurrogate(ch);
+            for (int i = Math.min(fromIndex, sequence.length() - 2); i >= 0; i --) {
+                if ((i = lastIndexOf(sequence, high, i)) < 0) {
+                    break;
+                }
+                if (sequence.charAt(i + 1) == low) {
+                    return i;
+                }
+            }
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        switch (kind) {
+            case STRING: {
+                final String str = (String) root;
+                if (start == 0) {
+                    return str.lastIndexOf(ch, fromIndex);
+                }
+                for (int i = start + fromIndex; i >= start; i --) {
+                    if (str.charAt(i) == ch) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            case ARRAY: {
+                final char[] array = array(root, kind);
+                for (int i = start + fromIndex; i >= start; i --) {
+                    if (array[i] == ch) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            default: {
+                final char[] buffer = BUFFER.get();
+                for (int chunkEnd = start + fromIndex + 1; chunkEnd > start; chunkEnd -= CHUNK) {
+                    final int n = Math.min(CHUNK, chunkEnd - start);
+                    copy(kind, root, chunkEnd - n, n, buffer, 0);
+                    for (int i = n - 1; i >= 0; i --) {
+                        if (buffer[i] == ch) {
+                            return chunkEnd - n + i - start;
+                        }
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+        }
+    }
+
+    /**
+     * <p>查找 [{@code fromIndex}, {@code toIndex}) 中第一个非空白字符（由 {@link Character#isWhitespace(char)} 定义）的索引。</p>
+     *
+     * @return 相对于 {@code sequence} 的索引，或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    static int indexOfNonWhitespace(final CharSequence sequence, final int fromIndex, final int toIndex) {
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        final int from = start + fromIndex;
+        final int to = start + toIndex;
+        switch (kind) {
+            case STRING: {
+                final String str = (String) root;
+                for (int i = from; i < to; i ++) {
+                    if (!Character.isWhitespace(str.charAt(i))) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            case ARRAY: {
+                final char[] array = array(root, kind);
+                for (int i = from; i < to; i ++) {
+                    if (!Character.isWhitespace(array[i])) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            case ASCII: {
+                final int found = AsciiBytes.indexOfNonWhitespace(bytes(root, kind), from, to);
+                return found < 0 ? found : found - start;
+            }
+            case ROPE: {
+                final int found = ((Rope) root).indexOfNonWhitespace(from, to);
+                return found < 0 ? found : found - start;
+            }
+            default: {
+                final char[] buffer = BUFFER.get();
+                for (int chunkStart = from; chunkStart < to; chunkStart += CHUNK) {
+                    final int n = Math.min(CHUNK, to - chunkStart);
+                    copy(kind, root, chunkStart, n, buffer, 0);
+                    for (int i = 0; i < n; i ++) {
+                        if (!Character.isWhitespace(buffer[i])) {
+                            return chunkStart + i - start;
+                        }
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+        }
+    }
+
+    /**
+     * <p>查找 [{@code fromIndex}, {@code toIndex}) 中第一个转换为大写（{@code upper} 为 {@code true} 时）或小写后会改变的字符的索引，
+     * 规则与 {@link String#toUpperCase(java.util.Locale)}、{@link String#toLowerCase(java.util.Locale)} 使用 {@code Locale.ROOT} 时相同。</p>
+     *
+     * @return 相对于 {@code sequence} 的索引，或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    static int indexOfCaseChange(final CharSequence sequence, final int fromIndex, final int toIndex, final boolean upper) {
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        final int from = start + fromIndex;
+        final int to = start + toIndex;
+        // 需要转换的 ASCII 字母的起点，ASCII 字符在循环内直接判断，其它字符才调用 changesCase
+        final char low = upper ? 'a' : 'A';
+        switch (kind) {
+            case STRING: {
+                final String str = (String) root;
+                for (int i = from; i < to; i ++) {
+                    final char c = str.charAt(i);
+                    if (c < 0x80 ? (char) (c - low) < 26 : changesCase(c, sequence, i - start, upper)) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            case ARRAY: {
+                final char[] array = array(root, kind);
+                for (int i = from; i < to; i ++) {
+                    final char c = array[i];
+                    if (c < 0x80 ? (char) (c - low) < 26 : changesCase(c, sequence, i - start, upper)) {
+                        return i - start;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            case ASCII: {
+                final int found = AsciiBytes.indexOfCaseChange(bytes(root, kind), from, to, upper);
+                return found < 0 ? found : found - start;
+            }
+            default: {
+                final char[] buffer = BUFFER.get();
+                for (int chunkStart = from; chunkStart < to; chunkStart += CHUNK) {
+                    final int n = Math.min(CHUNK, to - chunkStart);
+                    copy(kind, root, chunkStart, n, buffer, 0);
+                    for (int i = 0; i < n; i ++) {
+                        final char c = buffer[i];
+                        if (c < 0x80 ? (char) (c - low) < 26 : changesCase(c, sequence, chunkStart + i - start, upper)) {
+                            return chunkStart + i - start;
+                        }
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+        }
+    }
+
+    /**
+     * @param c {@code sequence} 中 {@code index} 处的非 ASCII 字符，只有代理字符才需要再读取 {@code sequence} 得到完整的码点
+     * @return 字符转换大小写后是否会改变，包括转换后长度改变的字符（见 {@link #isSpecialCase(char, boolean)}）
+     */
+    private static boolean changesCase(final char c, final CharSequence sequence, final int index, final boolean upper) {
+        if (Character.isSurrogate(c)) {
+            final int codePoint = Character.codePointAt(sequence, index);
+            return codePoint != c && (upper ? Character.toUpperCase(codePoint) : Character.toLowerCase(codePoint)) != codePoint;
+        }
+        return (upper ? Character.toUpperCase(c) : Character.toLowerCase(c)) != c || isSpecialCase(c, upper);
+    }
+
+    /**
+     * <p>{@code Locale.ROOT} 下转换结果不是单个字符、或与上下文有关的字符：转换为大写时的 {@code ß}、连字与部分希腊字母会变为多个字符；
+     * 转换为小写时 {@code İ} 会变为两个字符，{@code Σ} 在词尾时变为 {@code ς}。这些字符交给 JDK 转换。</p>
+     */
+    static boolean isSpecialCase(final char c, final boolean upper) {
+        if (!upper) {
+            // İ、Σ
+            return c == '\u0130' || c == '\u03A3';
+        }
+        // ß、ŉ、ǰ、ΐ、ΰ、և，ẖ 至 ẚ，带变音符号的希腊字母，拉丁与亚美尼亚连字
+        return c == '\u00DF' || c == '\u0149' || c == '\u01F0' || c == '\u0390' || c == '\u03B0' || c == '\u0587'
+                || c >= '\u1E96' && c <= '\u1E9A' || c >= '\u1F50' && c <= '\u1FFC' || c >= '\uFB00' && c <= '\uFB17';
+    }
+
+    /**
+     * <p>查找 [{@code fromIndex}, {@code toIndex}) 中第一个空白字符（由 {@link Character#isWhitespace(char)} 定义）的索引。</p>
+     *
+     * @return 相对于 {@code sequence} 的索引，或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    static int indexOfWhitespace(final CharSequence sequence, final int fromIndex, final int toIndex) {
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        final char[] array = array(root, kind);
+        for (int i = start + fromIndex, to = start + toIndex; i < to; i ++) {
+            if (Character.isWhitespace(charAt(kind, root, array, i))) {
+                return i - start;
+            }
+        }
+        return CharSequenceAide.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>比较两个字符序列的指定区域，区域范围由调用方保证合法。</p>
+     */
+    static boolean regionMatches(final boolean ignoreCase, final CharSequence sequence1, final int offset1,
+                                 final CharSequence sequence2, final int offset2, final int length) {
+        final CharSequence root1 = root(sequence1);
+        final CharSequence root2 = root(sequence2);
+        if (root1 instanceof String && root2 instanceof String) {
+            return ((String) root1).regionMatches(ignoreCase, start(sequence1, root1, STRING) + offset1,
+                    (String) root2, start(sequence2, root2, STRING) + offset2, length);
+        }
+        return mismatch(ignoreCase, sequence1, offset1, sequence2, offset2, length) < 0;
+    }
+
+    /**
+     * <p>查找两个字符序列指定区域中第一个不同字符的位置，区域范围由调用方保证合法。</p>
+     *
+     * @return 第一个不同字符相对于区域起始位置的索引，区域完全相同时返回 -1
+     */
+    static int mismatch(final boolean ignoreCase, final CharSequence sequence1, final int offset1,
+                        final CharSequence sequence2, final int offset2, final int length) {
+        final CharSequence root1 = root(sequence1);
+        final CharSequence root2 = root(sequence2);
+        final int kind1 = kind(root1);
+        final int kind2 = kind(root2);
+        int from1 = start(sequence1, root1, kind1) + offset1;
+        int from2 = start(sequence2, root2, kind2) + offset2;
+        if (kind1 == ASCII && kind2 == ASCII) {
+            return AsciiBytes.mismatch(ignoreCase, bytes(root1, kind1), from1, bytes(root2, kind2), from2, length);
+        }
+        final char[] array1 = array(root1, kind1);
+        final char[] array2 = array(root2, kind2);
+        if (array1 != null && array2 != null) {
+            return mismatch(ignoreCase, array1, from1, array2, from2, length);
+        }
+        if (length < SHORT_REGION) {
+            for (int i = 0; i < length; i ++) {
+                final char c1 = charAt(kind1, root1, array1, from1 + i);
+                final char c2 = charAt(kind2, root2, array2, from2 + i);
+                if (c1 != c2 && (!ignoreCase || !equalsIgnoreCase(c1, c2))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final char[] buffer = BUFFER.get();
+        for (int done = 0; done < length; ) {
+            final int n = Math.min(CHUNK, length - done);
+            final char[] chars1;
+            final int begin1;
+            if (array1 != null) {
+                chars1 = array1;
+                begin1 = from1;
+            } else {
+                copy(kind1, root1, from1, n, buffer, 0);
+                chars1 = buffer;
+                begin1 = 0;
+            }
+            final char[] chars2;
+            final int begin2;
+            if (array2 != null) {
+                chars2 = array2;
+                begin2 = from2;
+            } else {
+                copy(kind2, root2, from2, n, buffer, CHUNK);
+                chars2 = buffer;
+                begin2 = CHUNK;
+            }
+            final int found = mismatch(ignoreCase, chars1, begin1, chars2, begin2, n);
+            if (found >= 0) {
+                return done + found;
+            }
+            from1 += n;
+            from2 += n;
+            done += n;
+        }
+        return -1;
+    }
+
+    /**
+     * @return 两个字符数组指定区域中第一个不同字符的相对索引，完全相同时返回 -1
+     */
+    static int mismatch(final boolean ignoreCase, final char[] array1, final int from1,
+                        final char[] array2, final int from2, final int length) {
+        if (!ignoreCase) {
+            return Intrinsics.mismatch(array1, from1, array2, from2, length);
+        }
+        for (int i = 0; i < length; i ++) {
+            final char c1 = array1[from1 + i];
+            final char c2 = array2[from2 + i];
+            if (c1 != c2 && !equalsIgnoreCase(c1, c2)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <p>按字典顺序比较两个字符序列，语义与 {@link String#compareTo(String)} 一致。</p>
+     */
+    static int compare(final CharSequence sequence1, final CharSequence sequence2) {
+        if (sequence1 instanceof String && sequence2 instanceof String) {
+            return ((String) sequence1).compareTo((String) sequence2);
+        }
+        final int length1 = sequence1.length();
+        final int length2 = sequence2.length();
+        final int found = mismatch(false, sequence1, 0, sequence2, 0, Math.min(length1, length2));
+        return found < 0 ? length1 - length2 : sequence1.charAt(found) - sequence2.charAt(found);
+    }
+
+    /**
+     * <p>计算字符序列按 UTF-8 编码后的字节数，与 {@code toString().getBytes(StandardCharsets.UTF_8).length} 相等：
+     * 代理对占 4 个字节，不成对的代理字符被替换为 {@code '?'}，占 1 个字节。</p>
+     *
+     * <p>{@link AsciiSequence} 直接返回长度，其余类型按块扫描底层存储，不分配内存。</p>
+     */
+    static long utf8Length(final CharSequence sequence) {
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        final int length = sequence.length();
+        if (kind == ASCII) {
+            return length;
+        }
+        if (kind == ARRAY) {
+            return utf8Length(array(root, kind), start, start + length);
+        }
+        final char[] buffer = BUFFER.get();
+        long bytes = 0;
+        for (int done = 0; done < length; ) {
+            int n = Math.min(CHUNK, length - done);
+            copy(kind, root, start + done, n, buffer, 0);
+            // 块的最后一个字符为高代理字符时留到下一块，保证代理对不被拆开
+            if (done + n < length && Character.isHighSurrogate(buffer[n - 1])) {
+                n --;
+            }
+            bytes += utf8Length(buffer, 0, n);
+            done += n;
+        }
+        return bytes;
+    }
+
+    private static long utf8Length(final char[] chars, final int from, final int to) {
+        long bytes = to - from;
+        for (int i = from; i < to; i ++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(chars[i + 1])) {
+                // 两个字符共 4 个字节
+                bytes += 2;
+                i ++;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * <p>计算字符序列内容的哈希值，与内容相同的 {@link String#hashCode()} 相等。</p>
+     *
+     * <p>{@code String}、{@link AsciiSequence}、{@link Rope} 直接使用各自缓存的哈希值，其余类型按块扫描底层存储。</p>
+     */
+    static int hashCode(final CharSequence sequence) {
+        if (sequence instanceof String || sequence instanceof AsciiSequence || sequence instanceof Rope) {
+            return sequence.hashCode();
+        }
+        final CharSequence root = root(sequence);
+        final int kind = kind(root);
+        final int start = start(sequence, root, kind);
+        final int length = sequence.length();
+        if (kind == ASCII) {
+            return AsciiBytes.hash(bytes(root, kind), start, start + length);
+        }
+        int hash = 0;
+        if (kind == ARRAY) {
+            final char[] array = array(root, kind);
+            for (int i = start, end = start + length; i < end; i ++) {
+                hash = 31 * hash + array[i];
+            }
+            return hash;
+        }
+        if (length < SHORT_REGION) {
+            for (int i = 0; i < length; i ++) {
+                hash = 31 * hash + charAt(kind, root, null, start + i);
+            }
+            return hash;
+        }
+        final char[] buffer = BUFFER.get();
+        for (int done = 0; done < length; ) {
+            final int n = Math.min(CHUNK, length - done);
+            copy(kind, root, start + done, n, buffer, 0);
+            for (int i = 0; i < n; i ++) {
+                hash = 31 * hash + buffer[i];
+            }
+            done += n;
+        }
+        return hash;
+    }
+
+    /**
+     * 忽略大小写比较两个字符，规则与 {@link String#regionMatches(boolean, int, String, int, int)} 一致
+     */
+    static boolean equalsIgnoreCase(final char c1, final char c2) {
+        if (c1 == c2) {
+            return true;
+        }
+        // 小写比较作用于转换后的大写字符，例如 '\u0130' 与 '\u0131' 的大写不同，但大写的小写相同
+        final char u1 = Character.toUpperCase(c1);
+        final char u2 = Character.toUpperCase(c2);
+        return u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2);
+    }
+
+    /**
+     * <p>查找 {@code subSequence} 在 {@code sequence} 从 {@code fromIndex} 之后首次出现的索引，语义与 {@link String#indexOf(String, int)} 一致。</p>
+     */
+    static int indexOf(final CharSequence sequence, final CharSequence subSequence, int fromIndex) {
+        final int length = sequence.length();
+        final int subLength = subSequence.length();
+        if (fromIndex >= length) {
+            return subLength == 0 ? length : CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (subLength == 0) {
+            return fromIndex;
+        }
+        if (sequence instanceof String && subSequence instanceof String) {
+            return ((String) sequence).indexOf((String) subSequence, fromIndex);
+        }
+        final char first = subSequence.charAt(0);
+        final int max = length - subLength;
+        for (int i = fromIndex; i <= max; i ++) {
+            i = indexOf(sequence, first, i, max + 1);
+            if (i < 0) {
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            if (subLength == 1 || regionMatches(false, sequence, i + 1, subSequence, 1, subLength - 1)) {
+                return i;
+            }
+        }
+        return CharSequenceAide.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>查找 {@code subSequence} 在 {@code sequence} 从 {@code fromIndex} 向前最后出现的索引，语义与 {@link String#lastIndexOf(String, int)} 一致。</p>
+     */
+    static int lastIndexOf(final CharSequence sequence, final CharSequence subSequence, int fromIndex) {
+        final int subLength = subSequence.length();
+        final int max = sequence.length() - subLength;
+        if (fromIndex > max) {
+            fromIndex = max;
+        }
+        if (fromIndex < 0) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        if (subLength == 0) {
+            return fromIndex;
+        }
+        if (sequence instanceof String && subSequence instanceof String) {
+            return ((String) sequence).lastIndexOf((String) subSequence, fromIndex);
+        }
+        final char first = subSequence.charAt(0);
+        for (int i = fromIndex; i >= 0; i --) {
+            i = lastIndexOf(sequence, first, i);
+            if (i < 0) {
+                return CharSequenceAide.INDEX_NOT_FOUND;
+            }
+            if (subLength == 1 || regionMatches(false, sequence, i + 1, subSequence, 1, subLength - 1)) {
+                return i;
+            }
+        }
+        return CharSequenceAide.INDEX_NOT_FOUND;
+    }
+}
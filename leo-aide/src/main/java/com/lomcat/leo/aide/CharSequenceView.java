@@ -0,0 +1,134 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+/**
+ * <p>字符序列视图，以零拷贝的方式表示另一个字符序列中的一段区域。</p>
+ *
+ * <p>视图不复制源字符序列的内容，源字符序列的修改对视图可见；
+ * 视图可通过 {@link #reset(CharSequence, int, int)} 重复使用，以避免为每个区域创建新对象。</p>
+ *
+ * <p>{@link CharSequenceAide} 能识别视图并直接访问其底层存储，因此对视图的比较、查找不会逐字符调用 {@link #charAt(int)}。</p>
+ *
+ * <p>视图是可变对象，{@link #equals(Object)} 与 {@link #hashCode()} 按对象标识比较（与 {@link StringBuilder} 一致），
+ * 比较内容请使用 {@link CharSequenceAide#equals(CharSequence, CharSequence)}。非线程安全。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class CharSequenceView implements CharSequence {
+
+    private CharSequence source = StringAide.EMPTY;
+    private int offset;
+    private int length;
+
+    /**
+     * 创建一个空视图，使用前需调用 {@link #reset(CharSequence, int, int)}
+     */
+    public CharSequenceView() {}
+
+    /**
+     * <p>创建 {@code source} 中 [{@code start}, {@code end}) 区域的视图。</p>
+     *
+     * @param source 源字符序列，不能为 {@code null}
+     * @param start 开始索引（包含）
+     * @param end 结束索引（不包含）
+     * @return 视图
+     * @throws IndexOutOfBoundsException 当区域超出 {@code source} 的范围时
+     */
+    public static CharSequenceView of(final CharSequence source, final int start, final int end) {
+        return new CharSequenceView().reset(source, start, end);
+    }
+
+    /**
+     * <p>将当前视图重新指向 {@code source} 中 [{@code start}, {@code end}) 区域。</p>
+     *
+     * <p>若 {@code source} 本身是一个视图，则直接指向其底层字符序列，视图不会层层嵌套。</p>
+     *
+     * @param source 源字符序列，不能为 {@code null}
+     * @param start 开始索引（包含）
+     * @param end 结束索引（不包含）
+     * @return 当前视图
+     * @throws IndexOutOfBoundsException 当区域超出 {@code source} 的范围时
+     */
+    public CharSequenceView reset(final CharSequence source, final int start, final int end) {
+        if (source == null) {
+            throw new NullPointerException("source");
+        }
+        if (start < 0 || end > source.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + source.length());
+        }
+        if (source instanceof CharSequenceView) {
+            final CharSequenceView view = (CharSequenceView) source;
+            this.source = view.source;
+            this.offset = view.offset + start;
+        } else {
+            this.source = source;
+            this.offset = start;
+        }
+        this.length = end - start;
+        return this;
+    }
+
+    /**
+     * @return 视图底层的字符序列（不会是 {@link CharSequenceView}）
+     */
+    public CharSequence source() {
+        return source;
+    }
+
+    /**
+     * @return 视图在底层字符序列中的起始索引
+     */
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return source.charAt(offset + index);
+    }
+
+    /**
+     * 返回子区域的新视图，不复制内容
+     */
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new CharSequenceView().reset(source, offset + start, offset + end);
+    }
+
+    @Override
+    public String toString() {
+        if (source instanceof String) {
+            return ((String) source).substring(offset, offset + length);
+        }
+        final char[] chars = new char[length];
+        CharSequenceAccess.getChars(this, 0, length, chars, 0);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,380 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>多键比较器的构建器，由 {@link ObjectAide#comparator(Class)} 创建。</p>
+ *
+ * <p>依次添加排序键（字段的 getter）及其 {@code null} 规则，{@link #build()} 生成一个扁平的比较器：
+ * {@code int}、{@code long}、{@code double} 键直接比较基本类型，不装箱；引用类型的键按 {@link ObjectAide#compare(Comparable, Comparable, boolean)}
+ * 的规则处理 {@code null}；一至三个键时各键直接作为比较器的字段依次比较，更多的键按数组顺序比较。
+ * 与层层嵌套的 {@code Comparator.comparing(...).thenComparing(...)} 相比，每次比较没有额外的包装层与装箱。</p>
+ *
+ * <pre>
+ * Comparator&lt;Person&gt; order = ObjectAide.comparator(Person.class)
+ *         .comparing(Person::getLastName, true)      // 姓氏升序，null 排在最后
+ *         .comparing(Person::getFirstName)           // 名字升序，null 排在最前
+ *         .comparingInt(Person::getAge).reversed()   // 年龄降序
+ *         .build();
+ * list.sort(order);
+ * </pre>
+ *
+ * <p>内联的限制：各键的 {@code compare}、{@code Comparator2}/{@code Comparator3} 中对各键的调用以及键内部对取键函数的调用
+ * （如 {@code key.applyAsInt(a)}）都是所有生成的比较器共享的调用点。同一进程中只使用一两种键组合时，JIT 可以把取键函数一路内联到排序循环中；
+ * 当使用的键类型或 getter 超过两种后，这些调用点变为多态（megamorphic），每个键退化为一次虚调用加一次接口调用，
+ * 此时与 {@code Comparator.comparing(...)} 链（其调用点同样是共享的）相比，节省的只是包装层与装箱。
+ * 对于排序极为频繁、键组合固定的热点，手写比较器仍是最快的方式。</p>
+ *
+ * <p>{@link #reversed()} 只反转最后添加的键的非 {@code null} 值的顺序，{@code null} 的位置保持不变，
+ * 即降序时 {@code null} 依然按指定的规则排在最前或最后。构建器不是线程安全的，生成的比较器是不可变的，可以在多个线程中共享。</p>
+ *
+ * @param <T> 被比较的对象类型
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class ComparatorBuilder<T> {
+
+    private final List<Key<T>> keys = new ArrayList<>();
+
+    ComparatorBuilder() {}
+
+    // ----- Keys ----- begin
+    /**
+     * 添加 {@code int} 类型的排序键，升序
+     *
+     * @param key 取键函数，不能为 {@code null}
+     * @return 本构建器
+     */
+    public ComparatorBuilder<T> comparingInt(final ToIntFunction<? super T> key) {
+        AssertAide.notNull(key, "The key is null.");
+        keys.add(new IntKey<>(key, false));
+        return this;
+    }
+
+    /**
+     * 添加 {@code long} 类型的排序键，升序
+     *
+     * @param key 取键函数，不能为 {@code null}
+     * @return 本构建器
+     */
+    public ComparatorBuilder<T> comparingLong(final ToLongFunction<? super T> key) {
+        AssertAide.notNull(key, "The key is null.");
+        keys.add(new LongKey<>(key, false));
+        return this;
+    }
+
+    /**
+     * 添加 {@code double} 类型的排序键，升序，规则与 {@link Double#compare(double, double)} 相同
+     *
+     * @param key 取键函数，不能为 {@code null}
+     * @return 本构建器
+     */
+    public ComparatorBuilder<T> comparingDouble(final ToDoubleFunction<? super T> key) {
+        AssertAide.notNull(key, "The key is null.");
+        keys.add(new DoubleKey<>(key, false));
+        return this;
+    }
+
+    /**
+     * 添加可比较的排序键，升序，{@code null} 排在最前
+     *
+     * @param key 取键函数，不能为 {@code null}
+     * @param <U> 键的类型
+     * @return 本构建器
+     */
+    public <U extends Comparable<? super U>> ComparatorBuilder<T> comparing(final Function<? super T, ? extends U> key) {
+        return comparing(key, false);
+    }
+
+    /**
+     * 添加可比较的排序键，升序
+     *
+     * @param key 取键函数，不能为 {@code null}
+     * @param nullGreater 为 {@code true} 时 {@code null} 排在最后，反之排在最前
+     * @param <U> 键的类型
+     * @return 本构建器
+     */
+    public <U extends Comparable<? super U>> ComparatorBuilder<T> comparing(final Function<? super T, ? extends U> key,
+                                                                            final boolean nullGreater) {
+        AssertAide.notNull(key, "The key is null.");
+        keys.add(new ComparableKey<>(key, nullGreater, false));
+        return this;
+    }
+
+    /**
+     * 添加使用指定比较器比较的排序键
+     *
+     * @param key 取键函数，不能为 {@code null}
+     * @param comparator 键的比较器，不能为 {@code null}，不会收到 {@code null} 键
+     * @param nullGreater 为 {@code true} 时 {@code null} 排在最后，反之排在最前
+     * @param <U> 键的类型
+     * @return 本构建器
+     */
+    public <U> ComparatorBuilder<T> comparing(final Function<? super T, ? extends U> key,
+                                              final Comparator<? super U> comparator, final boolean nullGreater) {
+        AssertAide.notNull(key, "The key is null.");
+        AssertAide.notNull(comparator, "The comparator is null.");
+        keys.add(new ComparatorKey<>(key, comparator, nullGreater, false));
+        return this;
+    }
+
+    /**
+     * 反转最后添加的键的顺序（升序变为降序），{@code null} 的位置不变
+     *
+     * @return 本构建器
+     * @throws IllegalStateException 尚未添加任何键时
+     */
+    public ComparatorBuilder<T> reversed() {
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No key to reverse.");
+        }
+        final int last = keys.size() - 1;
+        keys.set(last, keys.get(last).flip());
+        return this;
+    }
+    // ----- Keys ----- end
+
+    /**
+     * 按已添加的键生成比较器，之后对构建器的修改不影响已生成的比较器
+     *
+     * @return 比较器
+     * @throws IllegalStateException 尚未添加任何键时
+     */
+    public Comparator<T> build() {
+        switch (keys.size()) {
+            case 0:
+                throw new IllegalStateException("At least one key is required.");
+            case 1:
+                return keys.get(0);
+            case 2:
+                return new Comparator2<>(keys.get(0), keys.get(1));
+            case 3:
+                return new Comparator3<>(keys.get(0), keys.get(1), keys.get(2));
+            default:
+                return new ComparatorN<>(keys);
+        }
+    }
+
+    // ----- Inner classes ----- begin
+    /**
+     * 一个排序键，本身即为只比较该键的比较器
+     */
+    private abstract static class Key<T> implements Comparator<T> {
+        final boolean descending;
+
+        Key(final boolean descending) {
+            this.descending = descending;
+        }
+
+        abstract Key<T> flip();
+    }
+
+    private static final class IntKey<T> extends Key<T> {
+        private final ToIntFunction<? super T> key;
+
+        IntKey(final ToIntFunction<? super T> key, final boolean descending) {
+            super(descending);
+            this.key = key;
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            final int x = key.applyAsInt(a);
+            final int y = key.applyAsInt(b);
+            return descending ? Integer.compare(y, x) : Integer.compare(x, y);
+        }
+
+        @Override
+        Key<T> flip() {
+            return new IntKey<>(key, !descending);
+        }
+    }
+
+    private static final class LongKey<T> extends Key<T> {
+        private final ToLongFunction<? super T> key;
+
+        LongKey(final ToLongFunction<? super T> key, final boolean descending) {
+            super(descending);
+            this.key = key;
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            final long x = key.applyAsLong(a);
+            final long y = key.applyAsLong(b);
+            return descending ? Long.compare(y, x) : Long.compare(x, y);
+        }
+
+        @Override
+        Key<T> flip() {
+            return new LongKey<>(key, !descending);
+        }
+    }
+
+    private static final class DoubleKey<T> extends Key<T> {
+        private final ToDoubleFunction<? super T> key;
+
+        DoubleKey(final ToDoubleFunction<? super T> key, final boolean descending) {
+            super(descending);
+            this.key = key;
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            final double x = key.applyAsDouble(a);
+            final double y = key.applyAsDouble(b);
+            return descending ? Double.compare(y, x) : Double.compare(x, y);
+        }
+
+        @Override
+        Key<T> flip() {
+            return new DoubleKey<>(key, !descending);
+        }
+    }
+
+    private static final class ComparableKey<T, U extends Comparable<? super U>> extends Key<T> {
+        private final Function<? super T, ? extends U> key;
+        private final boolean nullGreater;
+
+        ComparableKey(final Function<? super T, ? extends U> key, final boolean nullGreater, final boolean descending) {
+            super(descending);
+            this.key = key;
+            this.nullGreater = nullGreater;
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            final U x = key.apply(a);
+            final U y = key.apply(b);
+            if (x == y) {
+                return 0;
+            } else if (x == null) {
+                return nullGreater ? 1 : -1;
+            } else if (y == null) {
+                return nullGreater ? -1 : 1;
+            }
+            return descending ? y.compareTo(x) : x.compareTo(y);
+        }
+
+        @Override
+        Key<T> flip() {
+            return new ComparableKey<>(key, nullGreater, !descending);
+        }
+    }
+
+    private static final class ComparatorKey<T, U> extends Key<T> {
+        private final Function<? super T, ? extends U> key;
+        private final Comparator<? super U> comparator;
+        private final boolean nullGreater;
+
+        ComparatorKey(final Function<? super T, ? extends U> key, final Comparator<? super U> comparator,
+                      final boolean nullGreater, final boolean descending) {
+            super(descending);
+            this.key = key;
+            this.comparator = comparator;
+            this.nullGreater = nullGreater;
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            final U x = key.apply(a);
+            final U y = key.apply(b);
+            if (x == y) {
+                return 0;
+            } else if (x == null) {
+                return nullGreater ? 1 : -1;
+            } else if (y == null) {
+                return nullGreater ? -1 : 1;
+            }
+            return descending ? comparator.compare(y, x) : comparator.compare(x, y);
+        }
+
+        @Override
+        Key<T> flip() {
+            return new ComparatorKey<>(key, comparator, nullGreater, !descending);
+        }
+    }
+
+    private static final class Comparator2<T> implements Comparator<T> {
+        private final Key<T> first;
+        private final Key<T> second;
+
+        Comparator2(final Key<T> first, final Key<T> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            final int result = first.compare(a, b);
+            return result != 0 ? result : second.compare(a, b);
+        }
+    }
+
+    private static final class Comparator3<T> implements Comparator<T> {
+        private final Key<T> first;
+        private final Key<T> second;
+        private final Key<T> third;
+
+        Comparator3(final Key<T> first, final Key<T> second, final Key<T> third) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            int result = first.compare(a, b);
+            if (result == 0) {
+                result = second.compare(a, b);
+                if (result == 0) {
+                    result = third.compare(a, b);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class ComparatorN<T> implements Comparator<T> {
+        private final Key<T>[] keys;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ComparatorN(final List<Key<T>> keys) {
+            this.keys = keys.toArray(new Key[0]);
+        }
+
+        @Override
+        public int compare(final T a, final T b) {
+            for (final Key<T> key : keys) {
+                final int result = key.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+    // ----- Inner classes ----- end
+}
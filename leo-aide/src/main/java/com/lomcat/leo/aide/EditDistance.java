@@ -0,0 +1,466 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.Arrays;
+
+/**
+ * <p>编辑距离与相似度算法（内部使用），由 {@link StringAide} 对外提供。</p>
+ *
+ * <ul>
+ *     <li>Levenshtein：不限阈值时使用 Myers 位并行算法，模式串不超过 64 个字符时为单字实现，
+ *     更长时为 Hyyrö 的分块实现，每个字符 {@code O(⌈m/64⌉)}；
+ *     阈值较小时使用宽度为 {@code 2k+1} 的带状动态规划，一旦某列最小值超过阈值立即返回。</li>
+ *     <li>Damerau：限制转置（Optimal String Alignment）距离，同样使用带状动态规划。</li>
+ *     <li>Jaro-Winkler：标准定义，前缀加权系数 0.1，最多 4 个字符，Jaro 相似度不低于 0.7 时才加权。</li>
+ * </ul>
+ *
+ * <p>所有算法通过 {@link CharSequence#charAt(int)} 直接读取输入，不复制字符序列；
+ * 计算用的数组在线程内复用，稳定状态下不产生临时对象。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class EditDistance {
+
+    /** 阈值小于此值时使用带状动态规划，否则使用位并行算法 */
+    private static final int BAND_LIMIT = 16;
+
+    /** 带状动态规划中带外单元格的值，加上序列长度也不会溢出 */
+    private static final int OUTSIDE = Integer.MAX_VALUE >> 1;
+
+    /** Jaro-Winkler 的前缀加权系数、最大前缀长度与加权阈值 */
+    private static final double PREFIX_SCALE = 0.1;
+    private static final int MAX_PREFIX = 4;
+    private static final double BOOST_THRESHOLD = 0.7;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private EditDistance() {}
+
+    // ----- Levenshtein ----- begin
+    /**
+     * @param max 最大距离，{@link Integer#MAX_VALUE} 表示不限
+     * @return 编辑距离，超过 {@code max} 时返回 -1
+     */
+    static int levenshtein(CharSequence a, CharSequence b, final int max) {
+        if (a.length() > b.length()) {
+            final CharSequence t = a;
+            a = b;
+            b = t;
+        }
+        int m = a.length();
+        int n = b.length();
+        if (n - m > max) {
+            return -1;
+        }
+        final int prefix = commonPrefix(a, b, m);
+        m -= prefix;
+        n -= prefix;
+        final int suffix = commonSuffix(a, prefix, m, b, prefix, n);
+        m -= suffix;
+        n -= suffix;
+        if (m == 0) {
+            return n;
+        }
+        final int distance;
+        if (max < BAND_LIMIT && 2 * max + 1 < m) {
+            distance = banded(false, a, prefix, m, b, prefix, n, max);
+        } else if (m <= Long.SIZE) {
+            distance = myers(a, prefix, m, b, prefix, n, max);
+        } else {
+            distance = myersBlocked(a, prefix, m, b, prefix, n, max);
+        }
+        return distance <= max ? distance : -1;
+    }
+
+    /**
+     * <p>单字 Myers 算法，{@code m <= 64}。</p>
+     *
+     * <p>{@code pv}/{@code mv} 的第 {@code i} 位表示第 {@code i + 1} 行与第 {@code i} 行的差为 +1/-1，
+     * 每处理一个字符即得到最后一行的新值；剩余字符最多能让距离减少同样多，据此提前结束。</p>
+     *
+     * @return 编辑距离，超过 {@code max} 时返回大于 {@code max} 的值
+     */
+    private static int myers(final CharSequence a, final int aFrom, final int m,
+                             final CharSequence b, final int bFrom, final int n, final int max) {
+        final Scratch scratch = SCRATCH.get();
+        final long[] masks = scratch.buildPeq(a, aFrom, m, 1);
+        try {
+            final long last = 1L << (m - 1);
+            long pv = -1L;
+            long mv = 0L;
+            int score = m;
+            for (int j = 0; j < n; j ++) {
+                final long eq = masks[scratch.row(b.charAt(bFrom + j))];
+                final long xv = eq | mv;
+                final long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+                if ((ph & last) != 0) {
+                    score ++;
+                } else if ((mh & last) != 0) {
+                    score --;
+                }
+                if (score - (n - 1 - j) > max) {
+                    return max + 1;
+                }
+                ph = (ph << 1) | 1L;
+                mh <<= 1;
+                pv = mh | ~(xv | ph);
+                mv = ph & xv;
+            }
+            return score;
+        } finally {
+            scratch.clearPeq(a, aFrom, m);
+        }
+    }
+
+    /**
+     * <p>分块 Myers 算法（Hyyrö），模式串按 64 行分块，块之间传递水平方向的差值。</p>
+     *
+     * @return 编辑距离，超过 {@code max} 时返回大于 {@code max} 的值
+     */
+    private static int myersBlocked(final CharSequence a, final int aFrom, final int m,
+                                    final CharSequence b, final int bFrom, final int n, final int max) {
+        final Scratch scratch = SCRATCH.get();
+        final int blocks = (m + Long.SIZE - 1) >>> 6;
+        final long[] masks = scratch.buildPeq(a, aFrom, m, blocks);
+        try {
+            final long[] pvs = scratch.longs(0, blocks);
+            final long[] mvs = scratch.longs(1, blocks);
+            for (int k = 0; k < blocks; k ++) {
+                pvs[k] = -1L;
+                mvs[k] = 0L;
+            }
+            final long last = 1L << ((m - 1) & (Long.SIZE - 1));
+            int score = m;
+            for (int j = 0; j < n; j ++) {
+                final int base = scratch.row(b.charAt(bFrom + j)) * blocks;
+                // 第 0 行 D[0][j] = j，进入第一块的水平差值恒为 +1
+                int carry = 1;
+                for (int k = 0; k < blocks; k ++) {
+                    long eq = masks[base + k];
+                    final long pv = pvs[k];
+                    final long mv = mvs[k];
+                    final long xv = eq | mv;
+                    if (carry < 0) {
+                        eq |= 1L;
+                    }
+                    final long xh = (((eq & pv) + pv) ^ pv) | eq;
+                    long ph = mv | ~(xh | pv);
+                    long mh = pv & xh;
+                    final long out = k == blocks - 1 ? last : Long.MIN_VALUE;
+                    final int next = (ph & out) != 0 ? 1 : (mh & out) != 0 ? -1 : 0;
+                    ph <<= 1;
+                    mh <<= 1;
+                    if (carry < 0) {
+                        mh |= 1L;
+                    } else if (carry > 0) {
+                        ph |= 1L;
+                    }
+                    pvs[k] = mh | ~(xv | ph);
+                    mvs[k] = ph & xv;
+                    carry = next;
+                }
+                score += carry;
+                if (score - (n - 1 - j) > max) {
+                    return max + 1;
+                }
+            }
+            return score;
+        } finally {
+            scratch.clearPeq(a, aFrom, m);
+        }
+    }
+    // ----- Levenshtein ----- end
+
+    // ----- Damerau ----- begin
+    /**
+     * @param max 最大距离，{@link Integer#MAX_VALUE} 表示不限
+     * @return 限制转置的 Damerau-Levenshtein 距离，超过 {@code max} 时返回 -1
+     */
+    static int damerau(CharSequence a, CharSequence b, final int max) {
+        if (a.length() > b.length()) {
+            final CharSequence t = a;
+            a = b;
+            b = t;
+        }
+        final int m = a.length();
+        final int n = b.length();
+        if (n - m > max) {
+            return -1;
+        }
+        if (m == 0) {
+            return n;
+        }
+        final int distance = banded(true, a, 0, m, b, 0, n, Math.min(max, n));
+        return distance <= max ? distance : -1;
+    }
+    // ----- Damerau ----- end
+
+    /**
+     * <p>带状动态规划，按列遍历较长的 {@code b}，每列只计算与对角线距离不超过 {@code k} 的单元格。</p>
+     *
+     * <p>任何到达终点的路径都会经过每一列，且路径上的值不减，因此某列（允许转置时为相邻两列）的最小值超过
+     * {@code k} 时结果必然超过 {@code k}。</p>
+     *
+     * @return 距离，超过 {@code k} 时返回大于 {@code k} 的值
+     */
+    private static int banded(final boolean transpositions, final CharSequence a, final int aFrom, final int m,
+                              final CharSequence b, final int bFrom, final int n, final int k) {
+        final Scratch scratch = SCRATCH.get();
+        int[] before = scratch.ints(0, m + 1);
+        int[] previous = scratch.ints(1, m + 1);
+        int[] current = scratch.ints(2, m + 1);
+        final int top = Math.min(m, k);
+        for (int i = 0; i <= top; i ++) {
+            previous[i] = i;
+        }
+        if (top < m) {
+            previous[top + 1] = OUTSIDE;
+        }
+        int previousMin = 0;
+        for (int j = 1; j <= n; j ++) {
+            final char cb = b.charAt(bFrom + j - 1);
+            final int lo = Math.max(1, j - k);
+            final int hi = Math.min(m, j + k);
+            int min;
+            if (lo == 1) {
+                current[0] = j;
+                min = j;
+            } else {
+                current[lo - 1] = OUTSIDE;
+                min = OUTSIDE;
+            }
+            for (int i = lo; i <= hi; i ++) {
+                final char ca = a.charAt(aFrom + i - 1);
+                int value = previous[i - 1] + (ca == cb ? 0 : 1);
+                value = Math.min(value, Math.min(previous[i], current[i - 1]) + 1);
+                if (transpositions && i > 1 && j > 1 && ca == b.charAt(bFrom + j - 2)
+                        && a.charAt(aFrom + i - 2) == cb) {
+                    value = Math.min(value, before[i - 2] + 1);
+                }
+                current[i] = value;
+                min = Math.min(min, value);
+            }
+            if (hi < m) {
+                current[hi + 1] = OUTSIDE;
+            }
+            if ((transpositions ? Math.min(min, previousMin) : min) > k) {
+                return k + 1;
+            }
+            previousMin = min;
+            final int[] t = before;
+            before = previous;
+            previous = current;
+            current = t;
+        }
+        return previous[m];
+    }
+
+    // ----- Jaro-Winkler ----- begin
+    /**
+     * @return Jaro-Winkler 相似度，范围 [0, 1]
+     */
+    static double jaroWinkler(final CharSequence a, final CharSequence b) {
+        final int m = a.length();
+        final int n = b.length();
+        if (m == 0 || n == 0) {
+            return m == n ? 1.0 : 0.0;
+        }
+        final Scratch scratch = SCRATCH.get();
+        final long[] matchedA = scratch.clearedLongs(0, (m + Long.SIZE - 1) >>> 6);
+        final long[] matchedB = scratch.clearedLongs(1, (n + Long.SIZE - 1) >>> 6);
+        final int range = Math.max(0, Math.max(m, n) / 2 - 1);
+        int matches = 0;
+        for (int i = 0; i < m; i ++) {
+            final char c = a.charAt(i);
+            final int end = Math.min(n, i + range + 1);
+            for (int j = Math.max(0, i - range); j < end; j ++) {
+                if ((matchedB[j >>> 6] & (1L << j)) == 0 && b.charAt(j) == c) {
+                    matchedA[i >>> 6] |= 1L << i;
+                    matchedB[j >>> 6] |= 1L << j;
+                    matches ++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        int halfTranspositions = 0;
+        for (int i = 0, j = 0; i < m; i ++) {
+            if ((matchedA[i >>> 6] & (1L << i)) != 0) {
+                while ((matchedB[j >>> 6] & (1L << j)) == 0) {
+                    j ++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    halfTranspositions ++;
+                }
+                j ++;
+            }
+        }
+        final double jaro = ((double) matches / m + (double) matches / n
+                + (double) (matches - halfTranspositions / 2) / matches) / 3.0;
+        if (jaro < BOOST_THRESHOLD) {
+            return jaro;
+        }
+        final int prefix = commonPrefix(a, b, Math.min(MAX_PREFIX, Math.min(m, n)));
+        return jaro + prefix * PREFIX_SCALE * (1.0 - jaro);
+    }
+    // ----- Jaro-Winkler ----- end
+
+    private static int commonPrefix(final CharSequence a, final CharSequence b, final int length) {
+        final int mismatch = CharSequenceAccess.mismatch(false, a, 0, b, 0, length);
+        return mismatch < 0 ? length : mismatch;
+    }
+
+    private static int commonSuffix(final CharSequence a, final int aFrom, final int m,
+                                    final CharSequence b, final int bFrom, final int n) {
+        int suffix = 0;
+        while (suffix < m && a.charAt(aFrom + m - 1 - suffix) == b.charAt(bFrom + n - 1 - suffix)) {
+            suffix ++;
+        }
+        return suffix;
+    }
+
+    // ----- Inner classes ----- begin
+    /**
+     * <p>线程内复用的计算空间。</p>
+     *
+     * <p>位并行算法的匹配掩码表（Peq）按行存放在 {@code masks} 中，每行 {@code blocks} 个 {@code long}：
+     * 第 0 ~ 255 行对应 Latin-1 字符，直接索引；其余字符通过开放寻址散列到其后的行；最后一行恒为 0，
+     * 表示模式串中不存在的字符。用完后只清零模式串用到的行。</p>
+     */
+    private static final class Scratch {
+        private static final int LATIN1 = 256;
+
+        private long[] masks = new long[LATIN1 + 1];
+        private char[] keys = new char[0];
+        private int[] stamps = new int[0];
+        private int stamp;
+        private int capacity;
+        private int blocks = 1;
+
+        private final int[][] ints = new int[3][];
+        private final long[][] longs = new long[2][];
+
+        long[] buildPeq(final CharSequence pattern, final int from, final int length, final int blocks) {
+            int capacity = 0;
+            for (int i = 0; i < length; i ++) {
+                if (pattern.charAt(from + i) >= LATIN1) {
+                    capacity = Integer.highestOneBit(Math.max(1, length) * 2 - 1) << 1;
+                    break;
+                }
+            }
+            if (keys.length < capacity) {
+                keys = new char[capacity];
+                stamps = new int[capacity];
+            }
+            final int rows = LATIN1 + capacity + 1;
+            if (masks.length < rows * blocks) {
+                masks = new long[rows * blocks];
+            }
+            this.capacity = capacity;
+            this.blocks = blocks;
+            if (++ stamp == 0) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+            for (int i = 0; i < length; i ++) {
+                final char c = pattern.charAt(from + i);
+                final int row = c < LATIN1 ? c : insert(c);
+                masks[row * blocks + (i >>> 6)] |= 1L << i;
+            }
+            return masks;
+        }
+
+        void clearPeq(final CharSequence pattern, final int from, final int length) {
+            for (int i = 0; i < length; i ++) {
+                final int base = row(pattern.charAt(from + i)) * blocks;
+                for (int k = 0; k < blocks; k ++) {
+                    masks[base + k] = 0L;
+                }
+            }
+        }
+
+        /**
+         * @return 字符在掩码表中的行号
+         */
+        int row(final char c) {
+            if (c < LATIN1) {
+                return c;
+            }
+            if (capacity == 0) {
+                return LATIN1;
+            }
+            final int mask = capacity - 1;
+            for (int i = hash(c) & mask; stamps[i] == stamp; i = (i + 1) & mask) {
+                if (keys[i] == c) {
+                    return LATIN1 + i;
+                }
+            }
+            return LATIN1 + capacity;
+        }
+
+        private int insert(final char c) {
+            final int mask = capacity - 1;
+            int i = hash(c) & mask;
+            while (stamps[i] == stamp) {
+                if (keys[i] == c) {
+                    return LATIN1 + i;
+                }
+                i = (i + 1) & mask;
+            }
+            stamps[i] = stamp;
+            keys[i] = c;
+            return LATIN1 + i;
+        }
+
+        private static int hash(final char c) {
+            return (c * 0x9E3779B9) >>> 16;
+        }
+
+        int[] ints(final int slot, final int length) {
+            int[] array = ints[slot];
+            if (array == null || array.length < length) {
+                array = new int[Math.max(length, 64)];
+                ints[slot] = array;
+            }
+            return array;
+        }
+
+        long[] longs(final int slot, final int length) {
+            long[] array = longs[slot];
+            if (array == null || array.length < length) {
+                array = new long[Math.max(length, 4)];
+                longs[slot] = array;
+            }
+            return array;
+        }
+
+        long[] clearedLongs(final int slot, final int length) {
+            final long[] array = longs(slot, length);
+            for (int i = 0; i < length; i ++) {
+                array[i] = 0L;
+            }
+            return array;
+        }
+    }
+    // ----- Inner classes ----- end
+}
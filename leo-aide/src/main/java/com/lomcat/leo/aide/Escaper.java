@@ -0,0 +1,545 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.io.IOException;
+
+/**
+ * <p>按预先计算的替换表转义字符序列，提供 JSON、HTML、XML 与 CSV 四种格式及对应的反转义。</p>
+ *
+ * <p>替换表以字符为下标，记录需要转义的字符的替换文本。转义时先查找第一个需要转义的字符：没有时直接返回原实例（或原样追加），
+ * 只扫描一遍、不分配内存；否则从该位置起计算结果的精确长度，写入一个容量恰好的数组，
+ * 或将两个转义字符之间的连续片段整段追加到 {@link StringBuilder}/{@link Appendable}。</p>
+ *
+ * <pre>
+ * Escaper.JSON.escape("say \"hi\"\n")        = "say \\\"hi\\\"\\n"
+ * Escaper.HTML.escape("&lt;a href='x'&gt;")        = "&amp;lt;a href=&amp;#39;x&amp;#39;&amp;gt;"
+ * Escaper.XML.escape("Tom &amp; Jerry")            = "Tom &amp;amp; Jerry"
+ * Escaper.CSV.escape("a,b")                   = "\"a,b\""
+ * Escaper.CSV.escape("plain")                 // 返回原实例
+ * Escaper.HTML.unescape("&amp;lt;&amp;#x4e2d;&amp;gt;")     = "&lt;中&gt;"
+ * </pre>
+ *
+ * <ul>
+ *     <li>JSON：转义 {@code "}、{@code \} 与控制字符（U+0000 至 U+001F），常用的控制字符使用 {@code \n} 等简写，其余使用 {@code \}{@code uXXXX}；
+ *     反转义支持 JSON 定义的全部转义序列，非法的转义序列抛出 {@link IllegalArgumentException}</li>
+ *     <li>HTML：转义 {@code & < > " '}，单引号转义为 {@code &#39;}</li>
+ *     <li>XML：转义 {@code & < > " '}，单引号转义为 {@code &apos;}</li>
+ *     <li>HTML 与 XML 的反转义支持上述五个命名实体及十进制、十六进制的数字字符引用，无法识别的实体原样保留</li>
+ *     <li>CSV：含有 {@code , " \r \n} 时用双引号括起，其中的双引号写作两个双引号（RFC 4180）；反转义时去掉外层的双引号</li>
+ * </ul>
+ *
+ * <p>{@code Escaper} 是不可变对象，可以在多个线程间共享。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class Escaper {
+
+    private static final int FORMAT_JSON = 0;
+    private static final int FORMAT_MARKUP = 1;
+    private static final int FORMAT_CSV = 2;
+
+    /** 结果长度上限，与 JDK 中数组的最大长度一致 */
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+    /** 命名实体或数字字符引用的最大长度（不含 {@code &} 与 {@code ;}） */
+    private static final int MAX_ENTITY_LENGTH = 8;
+
+    public static final Escaper JSON = new Escaper(FORMAT_JSON, jsonTable(), '\0');
+    public static final Escaper HTML = new Escaper(FORMAT_MARKUP, markupTable("&#39;"), '\0');
+    public static final Escaper XML = new Escaper(FORMAT_MARKUP, markupTable("&apos;"), '\0');
+    public static final Escaper CSV = new Escaper(FORMAT_CSV, csvTable(), '"');
+
+    private final int format;
+    /** 以字符为下标的替换文本，{@code null} 表示不需要转义；下标超出范围的字符都不需要转义 */
+    private final String[] replacements;
+    /** 需要转义的字符的位图，分别对应 U+0000 至 U+003F 与 U+0040 至 U+007F，扫描时不必逐个读取替换表 */
+    private final long lowMask;
+    private final long highMask;
+    /** 含有需要转义的字符时括住整个结果的引号，{@code '\0'} 表示不括 */
+    private final char quote;
+
+    private Escaper(final int format, final String[] replacements, final char quote) {
+        this.format = format;
+        this.replacements = replacements;
+        this.quote = quote;
+        long low = 0;
+        long high = 0;
+        for (int c = 0; c < replacements.length; c ++) {
+            if (replacements[c] != null) {
+                if (c < 0x40) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 0x40);
+                }
+            }
+        }
+        this.lowMask = low;
+        this.highMask = high;
+    }
+
+    // ----- table ----- begin
+    private static String[] jsonTable() {
+        final String[] table = new String[0x80];
+        for (int c = 0; c < 0x20; c ++) {
+            table[c] = String.format("\\u%04x", c);
+        }
+        table['\b'] = "\\b";
+        table['\t'] = "\\t";
+        table['\n'] = "\\n";
+        table['\f'] = "\\f";
+        table['\r'] = "\\r";
+        table['"'] = "\\\"";
+        table['\\'] = "\\\\";
+        return table;
+    }
+
+    private static String[] markupTable(final String apostrophe) {
+        final String[] table = new String[0x80];
+        table['&'] = "&amp;";
+        table['<'] = "&lt;";
+        table['>'] = "&gt;";
+        table['"'] = "&quot;";
+        table['\''] = apostrophe;
+        return table;
+    }
+
+    private static String[] csvTable() {
+        final String[] table = new String[0x80];
+        // 逗号与换行只需整体加引号，本身不变
+        table[','] = ",";
+        table['\r'] = "\r";
+        table['\n'] = "\n";
+        table['"'] = "\"\"";
+        return table;
+    }
+    // ----- table ----- end
+
+    // ----- escape ----- begin
+    /**
+     * <p>转义字符序列。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 转义后的字符串；没有需要转义的字符时返回 {@code sequence.toString()}（{@code String} 即原实例）；
+     * {@code sequence} 为 {@code null} 时返回 {@code null}
+     */
+    public String escape(final CharSequence sequence) {
+        if (sequence == null) {
+            return null;
+        }
+        final int length = sequence.length();
+        final int first = indexOfEscape(sequence, 0, length);
+        if (first == CharSequenceAide.INDEX_NOT_FOUND) {
+            return sequence.toString();
+        }
+        final int quotes = quote == '\0' ? 0 : 1;
+        final long escapedLength = length + 2L * quotes + extraLength(sequence, first, length);
+        if (escapedLength > MAX_LENGTH) {
+            throw new OutOfMemoryError("Escaped length " + escapedLength + " exceeds the maximum string length");
+        }
+        // 先将原字符复制到数组末尾，再从前往后就地展开：写入位置始终不会超过尚未读取的位置
+        final char[] chars = new char[(int) escapedLength];
+        final int offset = chars.length - length - quotes;
+        CharSequenceAccess.getChars(sequence, 0, length, chars, offset);
+        System.arraycopy(chars, offset, chars, quotes, first);
+        int position = quotes + first;
+        for (int i = offset + first, end = offset + length; i < end; i ++) {
+            final char c = chars[i];
+            final String replacement = replacement(c);
+            if (replacement == null) {
+                chars[position ++] = c;
+            } else {
+                replacement.getChars(0, replacement.length(), chars, position);
+                position += replacement.length();
+            }
+        }
+        if (quotes != 0) {
+            chars[0] = quote;
+            chars[position] = quote;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * <p>将转义后的字符序列追加到 {@code buffer}，两个转义字符之间的片段整段追加，不创建中间字符串。</p>
+     *
+     * @param sequence 字符序列，为 {@code null} 时不追加任何内容
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @return {@code buffer}
+     */
+    public StringBuilder escape(final CharSequence sequence, final StringBuilder buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("The buffer is null.");
+        }
+        if (sequence == null) {
+            return buffer;
+        }
+        try {
+            escapeTo(sequence, buffer);
+        } catch (final IOException e) {
+            // StringBuilder 不会抛出 IOException
+            throw new AssertionError(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * <p>将转义后的字符序列写入 {@code appendable}，如 {@link java.io.Writer}，两个转义字符之间的片段整段写入。</p>
+     *
+     * @param sequence 字符序列，为 {@code null} 时不写入任何内容
+     * @param appendable 目标，不能为 {@code null}
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     */
+    public <A extends Appendable> A escape(final CharSequence sequence, final A appendable) throws IOException {
+        AssertAide.notNull(appendable, "The appendable is null.");
+        if (sequence != null) {
+            escapeTo(sequence, appendable);
+        }
+        return appendable;
+    }
+
+    /**
+     * @return {@code sequence} 中是否有需要转义的字符
+     */
+    public boolean needsEscaping(final CharSequence sequence) {
+        return sequence != null && indexOfEscape(sequence, 0, sequence.length()) != CharSequenceAide.INDEX_NOT_FOUND;
+    }
+
+    private void escapeTo(final CharSequence sequence, final Appendable out) throws IOException {
+        final int length = sequence.length();
+        int from = indexOfEscape(sequence, 0, length);
+        if (from == CharSequenceAide.INDEX_NOT_FOUND) {
+            out.append(sequence);
+            return;
+        }
+        if (quote != '\0') {
+            out.append(quote);
+        }
+        out.append(sequence, 0, from);
+        while (from != CharSequenceAide.INDEX_NOT_FOUND) {
+            out.append(replacement(sequence.charAt(from)));
+            final int next = indexOfEscape(sequence, from + 1, length);
+            out.append(sequence, from + 1, next == CharSequenceAide.INDEX_NOT_FOUND ? length : next);
+            from = next;
+        }
+        if (quote != '\0') {
+            out.append(quote);
+        }
+    }
+
+    private String replacement(final char c) {
+        return needsEscaping(c) ? replacements[c] : null;
+    }
+
+    private boolean needsEscaping(final char c) {
+        // long 的移位只取移位数的低 6 位，按 c 是否小于 0x40 选择位图后可直接以 c 移位
+        return c < 0x80 && ((c < 0x40 ? lowMask : highMask) >>> c & 1) != 0;
+    }
+
+    /**
+     * @return [{@code fromIndex}, {@code toIndex}) 中的字符转义后增加的长度
+     */
+    private long extraLength(final CharSequence sequence, final int fromIndex, final int toIndex) {
+        final CharSequence root = CharSequenceAccess.root(sequence);
+        final int kind = CharSequenceAccess.kind(root);
+        final int start = CharSequenceAccess.start(sequence, root, kind);
+        final char[] array = CharSequenceAccess.array(root, kind);
+        long extra = 0;
+        for (int i = start + fromIndex, to = start + toIndex; i < to; i ++) {
+            final char c = CharSequenceAccess.charAt(kind, root, array, i);
+            if (needsEscaping(c)) {
+                extra += replacements[c].length() - 1;
+            }
+        }
+        return extra;
+    }
+
+    /**
+     * @return [{@code fromIndex}, {@code toIndex}) 中第一个需要转义的字符的索引，或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    private int indexOfEscape(final CharSequence sequence, final int fromIndex, final int toIndex) {
+        final long low = lowMask;
+        final long high = highMask;
+        if (sequence instanceof String) {
+            final String str = (String) sequence;
+            for (int i = fromIndex; i < toIndex; i ++) {
+                final char c = str.charAt(i);
+                if (c < 0x80 && ((c < 0x40 ? low : high) >>> c & 1) != 0) {
+                    return i;
+                }
+            }
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        final CharSequence root = CharSequenceAccess.root(sequence);
+        final int kind = CharSequenceAccess.kind(root);
+        final int start = CharSequenceAccess.start(sequence, root, kind);
+        final char[] array = CharSequenceAccess.array(root, kind);
+        for (int i = start + fromIndex, to = start + toIndex; i < to; i ++) {
+            final char c = CharSequenceAccess.charAt(kind, root, array, i);
+            if (c < 0x80 && ((c < 0x40 ? low : high) >>> c & 1) != 0) {
+                return i - start;
+            }
+        }
+        return CharSequenceAide.INDEX_NOT_FOUND;
+    }
+    // ----- escape ----- end
+
+    // ----- unescape ----- begin
+    /**
+     * <p>反转义字符序列，是 {@link #escape(CharSequence)} 的逆操作。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 反转义后的字符串；没有转义序列时返回 {@code sequence.toString()}（{@code String} 即原实例）；
+     * {@code sequence} 为 {@code null} 时返回 {@code null}
+     * @throws IllegalArgumentException JSON 中有非法的转义序列
+     */
+    public String unescape(final CharSequence sequence) {
+        if (sequence == null) {
+            return null;
+        }
+        final int first = indexOfUnescape(sequence);
+        if (first == CharSequenceAide.INDEX_NOT_FOUND) {
+            return sequence.toString();
+        }
+        // 反转义后不会变长
+        final StringBuilder buffer = new StringBuilder(sequence.length());
+        try {
+            unescapeTo(sequence, first, buffer);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * <p>将反转义后的字符序列追加到 {@code buffer}。</p>
+     *
+     * @param sequence 字符序列，为 {@code null} 时不追加任何内容
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @return {@code buffer}
+     * @throws IllegalArgumentException JSON 中有非法的转义序列
+     */
+    public StringBuilder unescape(final CharSequence sequence, final StringBuilder buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("The buffer is null.");
+        }
+        try {
+            unescape(sequence, (Appendable) buffer);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * <p>将反转义后的字符序列写入 {@code appendable}。</p>
+     *
+     * @param sequence 字符序列，为 {@code null} 时不写入任何内容
+     * @param appendable 目标，不能为 {@code null}
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     * @throws IllegalArgumentException JSON 中有非法的转义序列
+     */
+    public <A extends Appendable> A unescape(final CharSequence sequence, final A appendable) throws IOException {
+        AssertAide.notNull(appendable, "The appendable is null.");
+        if (sequence == null) {
+            return appendable;
+        }
+        final int first = indexOfUnescape(sequence);
+        if (first == CharSequenceAide.INDEX_NOT_FOUND) {
+            appendable.append(sequence);
+        } else {
+            unescapeTo(sequence, first, appendable);
+        }
+        return appendable;
+    }
+
+    /**
+     * @return 第一个转义序列的起始索引（CSV 为外层引号的位置），或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    private int indexOfUnescape(final CharSequence sequence) {
+        final int length = sequence.length();
+        switch (format) {
+            case FORMAT_JSON:
+                return CharSequenceAccess.indexOf(sequence, '\\', 0, length);
+            case FORMAT_MARKUP:
+                return CharSequenceAccess.indexOf(sequence, '&', 0, length);
+            default:
+                return length >= 2 && sequence.charAt(0) == quote && sequence.charAt(length - 1) == quote
+                        ? 0 : CharSequenceAide.INDEX_NOT_FOUND;
+        }
+    }
+
+    private void unescapeTo(final CharSequence sequence, final int first, final Appendable out) throws IOException {
+        switch (format) {
+            case FORMAT_JSON:
+                unescapeJson(sequence, first, out);
+                break;
+            case FORMAT_MARKUP:
+                unescapeMarkup(sequence, first, out);
+                break;
+            default:
+                unescapeCsv(sequence, out);
+        }
+    }
+
+    private static void unescapeJson(final CharSequence sequence, int from, final Appendable out) throws IOException {
+        final int length = sequence.length();
+        int run = 0;
+        while (from != CharSequenceAide.INDEX_NOT_FOUND) {
+            out.append(sequence, run, from);
+            if (from + 1 == length) {
+                throw new IllegalArgumentException("Unterminated escape sequence at index " + from);
+            }
+            final char c = sequence.charAt(from + 1);
+            run = from + 2;
+            switch (c) {
+                case '"':
+                case '\\':
+                case '/':
+                    out.append(c);
+                    break;
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'u': {
+                    final int value = from + 6 <= length ? parseHex(sequence, from + 2, from + 6) : -1;
+                    if (value < 0) {
+                        throw new IllegalArgumentException("Invalid unicode escape at index " + from);
+                    }
+                    out.append((char) value);
+                    run = from + 6;
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Invalid escape sequence '\\" + c + "' at index " + from);
+            }
+            from = CharSequenceAccess.indexOf(sequence, '\\', run, length);
+        }
+        out.append(sequence, run, length);
+    }
+
+    private static void unescapeMarkup(final CharSequence sequence, int from, final Appendable out) throws IOException {
+        final int length = sequence.length();
+        int run = 0;
+        while (from != CharSequenceAide.INDEX_NOT_FOUND) {
+            final int end = CharSequenceAccess.indexOf(sequence, ';', from + 1, Math.min(length, from + MAX_ENTITY_LENGTH + 2));
+            final int value = end < 0 ? -1 : entity(sequence, from + 1, end);
+            if (value >= 0) {
+                out.append(sequence, run, from);
+                if (value < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    out.append((char) value);
+                } else {
+                    out.append(Character.highSurrogate(value)).append(Character.lowSurrogate(value));
+                }
+                run = end + 1;
+            }
+            // 无法识别的实体原样保留
+            from = CharSequenceAccess.indexOf(sequence, '&', value >= 0 ? run : from + 1, length);
+        }
+        out.append(sequence, run, length);
+    }
+
+    /**
+     * @return 实体 [{@code from}, {@code to})（不含 {@code &} 与 {@code ;}）表示的码点，无法识别时返回 -1
+     */
+    private static int entity(final CharSequence sequence, final int from, final int to) {
+        final int length = to - from;
+        if (length >= 2 && sequence.charAt(from) == '#') {
+            final boolean hex = (sequence.charAt(from + 1) | 0x20) == 'x';
+            final int digits = hex ? from + 2 : from + 1;
+            if (digits == to) {
+                return -1;
+            }
+            final int value = hex ? parseHex(sequence, digits, to) : parseDecimal(sequence, digits, to);
+            return value <= Character.MAX_CODE_POINT ? value : -1;
+        }
+        if (length == 3 && CharSequenceAide.regionMatches(false, sequence, from, "amp", 0, 3)) {
+            return '&';
+        }
+        if (length == 2 && sequence.charAt(from + 1) == 't') {
+            final char c = sequence.charAt(from);
+            return c == 'l' ? '<' : c == 'g' ? '>' : -1;
+        }
+        if (length == 4) {
+            if (CharSequenceAide.regionMatches(false, sequence, from, "quot", 0, 4)) {
+                return '"';
+            }
+            if (CharSequenceAide.regionMatches(false, sequence, from, "apos", 0, 4)) {
+                return '\'';
+            }
+        }
+        return -1;
+    }
+
+    private void unescapeCsv(final CharSequence sequence, final Appendable out) throws IOException {
+        final int end = sequence.length() - 1;
+        int run = 1;
+        int from = CharSequenceAccess.indexOf(sequence, quote, run, end);
+        while (from != CharSequenceAide.INDEX_NOT_FOUND) {
+            // 两个双引号表示一个双引号
+            out.append(sequence, run, from + 1);
+            run = from + 1 < end && sequence.charAt(from + 1) == quote ? from + 2 : from + 1;
+            from = CharSequenceAccess.indexOf(sequence, quote, run, end);
+        }
+        out.append(sequence, run, end);
+    }
+
+    /**
+     * @return [{@code from}, {@code to}) 中十六进制数字的值，含有非数字或超出码点范围时返回 -1
+     */
+    private static int parseHex(final CharSequence sequence, final int from, final int to) {
+        int value = 0;
+        for (int i = from; i < to; i ++) {
+            final char c = sequence.charAt(i);
+            final int digit = c >= '0' && c <= '9' ? c - '0' : (c | 0x20) >= 'a' && (c | 0x20) <= 'f' ? (c | 0x20) - 'a' + 10 : -1;
+            if (digit < 0 || value > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private static int parseDecimal(final CharSequence sequence, final int from, final int to) {
+        int value = 0;
+        for (int i = from; i < to; i ++) {
+            final char c = sequence.charAt(i);
+            if (c < '0' || c > '9' || value > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    // ----- unescape ----- end
+}
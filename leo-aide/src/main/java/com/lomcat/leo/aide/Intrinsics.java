@@ -0,0 +1,189 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+/**
+ * <p>可由新版本 JDK 内建实现替换的基础操作（内部使用）。</p>
+ *
+ * <p>本类是 Java 8 的基线实现；多版本 jar 的 {@code META-INF/versions/11} 中包含同名同签名的替代实现，
+ * 在 Java 11 及以上版本中直接委托给 {@link String#isBlank()}、{@link String#strip()}、{@code Arrays.mismatch} 等
+ * 被 JIT 内建（intrinsified）的方法。两个实现的语义必须完全一致。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class Intrinsics {
+
+    private Intrinsics() {}
+
+    /**
+     * @return 字符串为空或只包含空白字符（{@link Character#isWhitespace(char)}）时返回 {@code true}
+     */
+    static boolean isBlank(final String str) {
+        for (int i = 0, n = str.length(); i < n; i ++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 移除两端空白字符后的字符串，未改变时返回原字符串
+     */
+    static String strip(final String str) {
+        final int length = str.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(str.charAt(start))) {
+            start ++;
+        }
+        int end = length;
+        while (end > start && Character.isWhitespace(str.charAt(end - 1))) {
+            end --;
+        }
+        return str.substring(start, end);
+    }
+
+    /**
+     * @return 移除左侧空白字符后的字符串，未改变时返回原字符串
+     */
+    static String stripLeading(final String str) {
+        final int length = str.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(str.charAt(start))) {
+            start ++;
+        }
+        return str.substring(start);
+    }
+
+    /**
+     * @return 移除右侧空白字符后的字符串，未改变时返回原字符串
+     */
+    static String stripTrailing(final String str) {
+        int end = str.length();
+        while (end > 0 && Character.isWhitespace(str.charAt(end - 1))) {
+            end --;
+        }
+        return str.substring(0, end);
+    }
+
+    /**
+     * @return 两个字符数组指定区域中第一个不同字符的相对索引，完全相同时返回 -1
+     */
+    static int mismatch(final char[] array1, final int from1, final char[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (array1[from1 + i] != array2[from2 + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 以下重载与 char[] 版本相同；float、double 与 Arrays.equals 一致按 floatToIntBits/doubleToLongBits 比较，
+    // 即 NaN 与 NaN 相等，0.0 与 -0.0 不相等
+    static int mismatch(final byte[] array1, final int from1, final byte[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (array1[from1 + i] != array2[from2 + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int mismatch(final short[] array1, final int from1, final short[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (array1[from1 + i] != array2[from2 + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int mismatch(final int[] array1, final int from1, final int[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (array1[from1 + i] != array2[from2 + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int mismatch(final long[] array1, final int from1, final long[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (array1[from1 + i] != array2[from2 + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int mismatch(final float[] array1, final int from1, final float[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (Float.floatToIntBits(array1[from1 + i]) != Float.floatToIntBits(array2[from2 + i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int mismatch(final double[] array1, final int from1, final double[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (Double.doubleToLongBits(array1[from1 + i]) != Double.doubleToLongBits(array2[from2 + i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int mismatch(final boolean[] array1, final int from1, final boolean[] array2, final int from2, final int length) {
+        for (int i = 0; i < length; i ++) {
+            if (array1[from1 + i] != array2[from2 + i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 两个数按无符号数相乘所得的 128 位乘积的高 64 位
+     */
+    static long unsignedMultiplyHigh(final long x, final long y) {
+        final long x0 = x & 0xFFFFFFFFL;
+        final long x1 = x >>> 32;
+        final long y0 = y & 0xFFFFFFFFL;
+        final long y1 = y >>> 32;
+        final long p00 = x0 * y0;
+        final long p10 = x1 * y0;
+        // 三项之和不超过 2^64 - 1，按无符号数不会溢出
+        final long middle = (p00 >>> 32) + (p10 & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (p10 >>> 32) + (middle >>> 32);
+    }
+
+    /**
+     * @return 从 {@code index} 开始的 8 个字节按小端序组成的 {@code long}，调用方保证范围合法
+     */
+    static long getLongLE(final byte[] array, final int index) {
+        return (array[index] & 0xFFL)
+                | (array[index + 1] & 0xFFL) << 8
+                | (array[index + 2] & 0xFFL) << 16
+                | (array[index + 3] & 0xFFL) << 24
+                | (array[index + 4] & 0xFFL) << 32
+                | (array[index + 5] & 0xFFL) << 40
+                | (array[index + 6] & 0xFFL) << 48
+                | (array[index + 7] & 0xFFL) << 56;
+    }
+}
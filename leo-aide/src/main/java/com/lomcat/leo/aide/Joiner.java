@@ -0,0 +1,227 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>字符串连接器，以分隔符连接数组或 {@link Iterable} 中的元素，可指定前缀、后缀以及 {@code null} 元素的处理方式。</p>
+ *
+ * <p>连接分两遍完成：第一遍计算结果的精确长度，第二遍将各部分批量复制到一个长度恰好的 {@code char[]}，
+ * 不会像 {@link StringBuilder} 默认容量或 {@link String#join(CharSequence, CharSequence...)} 那样在扩容时反复分配与复制。
+ * 最后由 {@link String#String(char[])} 构造结果，这是公开 API 下无法避免的一次复制（JDK 9 起同时压缩为 Latin-1）。</p>
+ *
+ * <pre>
+ * Joiner.on(", ").join("a", "b", "c")                          = "a, b, c"
+ * Joiner.on(',').join("a", null, "c")                          = "a,null,c"
+ * Joiner.on(',').nullDefault("-").join("a", null, "c")         = "a,-,c"
+ * Joiner.on(',').skipNulls().join("a", null, "c")              = "a,c"
+ * Joiner.on(", ").wrap("[", "]").join(Arrays.asList(1, 2, 3))  = "[1, 2, 3]"
+ * Joiner.on(',').wrap("[", "]").join()                         = "[]"
+ * </pre>
+ *
+ * <p>{@code null} 元素按 {@link ObjectAide#toString(Object, String)} 的方式转换为 {@code nullDefault}，默认为 {@code "null"}。
+ * {@code Joiner} 是不可变对象，可以作为常量在多个线程间共享。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class Joiner {
+
+    /** 结果长度上限，与 JDK 中数组的最大长度一致 */
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final String delimiter;
+    private final String prefix;
+    private final String suffix;
+    private final String nullDefault;
+
+    private Joiner(final String delimiter, final String prefix, final String suffix, final String nullDefault) {
+        this.delimiter = delimiter;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.nullDefault = nullDefault;
+    }
+
+    /**
+     * @param delimiter 分隔符，为 {@code null} 时作 {@code empty} 处理
+     * @return 以 {@code delimiter} 分隔的连接器
+     */
+    public static Joiner on(final CharSequence delimiter) {
+        return new Joiner(delimiter == null ? StringAide.EMPTY : delimiter.toString(), StringAide.EMPTY, StringAide.EMPTY, "null");
+    }
+
+    /**
+     * @param delimiter 分隔字符
+     * @return 以 {@code delimiter} 分隔的连接器
+     */
+    public static Joiner on(final char delimiter) {
+        return new Joiner(String.valueOf(delimiter), StringAide.EMPTY, StringAide.EMPTY, "null");
+    }
+
+    /**
+     * @param prefix 前缀，为 {@code null} 时作 {@code empty} 处理
+     * @param suffix 后缀，为 {@code null} 时作 {@code empty} 处理
+     * @return 在结果前后分别加上 {@code prefix} 与 {@code suffix} 的连接器（没有元素时结果为 {@code prefix + suffix}）
+     */
+    public Joiner wrap(final CharSequence prefix, final CharSequence suffix) {
+        return new Joiner(delimiter, prefix == null ? StringAide.EMPTY : prefix.toString(),
+                suffix == null ? StringAide.EMPTY : suffix.toString(), nullDefault);
+    }
+
+    /**
+     * @param nullDefault {@code null} 元素的替代文本，为 {@code null} 时忽略 {@code null} 元素（同 {@link #skipNulls()}）
+     * @return 以 {@code nullDefault} 替代 {@code null} 元素的连接器
+     */
+    public Joiner nullDefault(final String nullDefault) {
+        return new Joiner(delimiter, prefix, suffix, nullDefault);
+    }
+
+    /**
+     * @return 忽略 {@code null} 元素（连同其分隔符）的连接器
+     */
+    public Joiner skipNulls() {
+        return nullDefault(null);
+    }
+
+    /**
+     * <p>连接数组中的元素。</p>
+     *
+     * @param elements 要连接的元素，可以为 {@code null}
+     * @return 连接后的字符串，{@code elements} 为 {@code null} 时返回 {@code null}
+     */
+    public String join(final Object... elements) {
+        return elements == null ? null : join(elements, elements.length, false);
+    }
+
+    /**
+     * <p>连接 {@link Iterable} 中的元素，{@link Collection} 按其大小一次性取出元素，其余按迭代顺序收集。</p>
+     *
+     * @param elements 要连接的元素，可以为 {@code null}
+     * @return 连接后的字符串，{@code elements} 为 {@code null} 时返回 {@code null}
+     */
+    public String join(final Iterable<?> elements) {
+        if (elements == null) {
+            return null;
+        }
+        final Object[] array;
+        if (elements instanceof Collection) {
+            array = ((Collection<?>) elements).toArray();
+        } else {
+            final List<Object> list = new ArrayList<>();
+            for (final Object element : elements) {
+                list.add(element);
+            }
+            array = list.toArray();
+        }
+        // JDK 8 中部分集合的 toArray() 返回元素类型的数组（如 Integer[]），不能直接写入 String
+        return join(array, array.length, array.getClass() == Object[].class);
+    }
+
+    /**
+     * <p>连接 {@code elements} 中的前 {@code count} 个元素。</p>
+     *
+     * @param owned {@code elements} 是否为内部创建的 {@code Object[]}；是则直接用于保存非字符序列元素的 {@code toString} 结果，
+     *              否则在需要时先复制为 {@code Object[]}，以免修改调用方的数组，也避免写入 {@code Integer[]} 等数组时的
+     *              {@link ArrayStoreException}
+     */
+    private String join(Object[] elements, final int count, boolean owned) {
+        final int delimiterLength = delimiter.length();
+        long length = prefix.length() + suffix.length();
+        int parts = 0;
+        for (int i = 0; i < count; i ++) {
+            Object element = elements[i];
+            if (element == null) {
+                if (nullDefault == null) {
+                    continue;
+                }
+                element = nullDefault;
+            } else if (!(element instanceof CharSequence)) {
+                // 每个元素只调用一次 toString，结果留到第二遍使用
+                if (!owned) {
+                    elements = Arrays.copyOf(elements, count, Object[].class);
+                    owned = true;
+                }
+                element = element.toString();
+                elements[i] = element;
+            }
+            length += ((CharSequence) element).length();
+            if (parts ++ > 0) {
+                length += delimiterLength;
+            }
+        }
+        if (length > MAX_LENGTH) {
+            throw new OutOfMemoryError("Joined length " + length + " exceeds the maximum string length");
+        }
+        if (parts == 0) {
+            return prefix.isEmpty() ? suffix : prefix.concat(suffix);
+        }
+        final char[] chars = new char[(int) length];
+        int offset = put(prefix, chars, 0);
+        boolean first = true;
+        for (int i = 0; i < count; i ++) {
+            Object element = elements[i];
+            if (element == null) {
+                if (nullDefault == null) {
+                    continue;
+                }
+                element = nullDefault;
+            }
+            if (first) {
+                first = false;
+            } else {
+                offset = put(delimiter, chars, offset);
+            }
+            offset = put((CharSequence) element, chars, offset);
+        }
+        put(suffix, chars, offset);
+        return new String(chars);
+    }
+
+    /**
+     * <p>拼接多个字符序列，结果长度预先精确计算，{@code null} 按 {@code "null"} 处理（与字符串 {@code +} 运算一致）。</p>
+     */
+    static String concat(final CharSequence... parts) {
+        long length = 0;
+        for (final CharSequence part : parts) {
+            length += part == null ? 4 : part.length();
+        }
+        if (length > MAX_LENGTH) {
+            throw new OutOfMemoryError("Concatenated length " + length + " exceeds the maximum string length");
+        }
+        final char[] chars = new char[(int) length];
+        int offset = 0;
+        for (final CharSequence part : parts) {
+            offset = put(part == null ? "null" : part, chars, offset);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 将字符序列批量复制到 {@code chars} 的 {@code offset} 处，视图直接从其底层字符序列复制
+     *
+     * @return 复制后的偏移
+     */
+    private static int put(final CharSequence sequence, final char[] chars, final int offset) {
+        final int length = sequence.length();
+        CharSequenceAccess.getChars(sequence, 0, length, chars, offset);
+        return offset + length;
+    }
+}
@@ -0,0 +1,326 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.math.BigInteger;
+import java.util.Formattable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>预编译的消息模板，用于代替 {@link String#format(String, Object...)} 生成异常信息等文本。</p>
+ *
+ * <p>模板只在第一次使用时解析，按模板字符串缓存；渲染时先将参数转换为字符串，再写入容量恰好的缓冲区。
+ * 支持的占位符：</p>
+ *
+ * <ul>
+ *     <li>{@code {}}：按 {@link String#valueOf(Object)} 输出下一个参数，参数不足时原样保留 {@code {}}；</li>
+ *     <li>{@code %s}：与 {@code String.format} 一致，输出下一个参数；</li>
+ *     <li>{@code %d}：与 {@code String.format} 一致，输出下一个整数参数（{@link Integer}、{@link Long}、{@link Short}、
+ *     {@link Byte}、{@link BigInteger}），数字始终使用 ASCII 字符；</li>
+ *     <li>{@code %%} 与 {@code %n}：输出 {@code %} 与行分隔符。</li>
+ * </ul>
+ *
+ * <p>模板中含有其它格式说明（如 {@code %5d}、{@code %.2f}、{@code %x}），或参数与 {@code %s}/{@code %d} 不匹配
+ * （参数不足、{@code %d} 的参数不是整数、参数实现了 {@link Formattable}）时，整体交由 {@code String.format} 处理，
+ * 结果与异常均与其一致。此时 {@code {}} 仍是占位符：它与其它格式说明一起按出现顺序占用参数（不计
+ * {@code %1$s}、{@code %<s} 这类指定下标的说明），有对应参数时作 {@code %s} 交给 {@code String.format}，否则原样保留。</p>
+ *
+ * <p>因此模板中的 {@code {}} 总会占用一个参数，{@link AssertAide} 的消息中若要输出字面的 {@code {}}，
+ * 应将其作为参数传入，或保证其后没有多余的参数。</p>
+ *
+ * <pre>
+ * MessageTemplate.of("Index {} out of bounds for length {}").format(5, 3) = "Index 5 out of bounds for length 3"
+ * MessageTemplate.of("The value %s is not in [%d, %d]").format("x", 1, 9) = "The value x is not in [1, 9]"
+ * MessageTemplate.of("Missing {}").format()                               = "Missing {}"
+ * MessageTemplate.of("100%% done").format()                                = "100% done"
+ * MessageTemplate.of("Key {} has hash %08x").format("k", 255)             = "Key k has hash 000000ff"
+ * </pre>
+ *
+ * <p>{@code MessageTemplate} 是不可变对象，可以作为常量在多个线程间共享。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class MessageTemplate {
+
+    private static final byte BRACES = 0;
+    private static final byte STRING = 1;
+    private static final byte DECIMAL = 2;
+
+    /** 缓存的模板个数上限，超过后新模板不再缓存，以免动态拼接的模板撑满内存 */
+    private static final int CACHE_LIMIT = 1024;
+
+    private static final Map<String, MessageTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** {@link java.util.Formatter} 的格式说明 */
+    private static final Pattern SPECIFIER = Pattern.compile("%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+
+    private final String template;
+    /** 占位符之间的文本，比占位符多一个 */
+    private final String[] literals;
+    private final byte[] placeholders;
+    /** 含有不支持的格式说明，整体交由 {@code String.format} 处理 */
+    private final boolean delegate;
+    /** 交由 {@code String.format} 处理时使用：模板按 {@code {}} 切分的片段，不含 {@code {}} 时为 {@code null} */
+    private final String[] formatParts;
+    /** 每个 {@code {}} 占用的参数下标 */
+    private final int[] braceArgs;
+
+    private MessageTemplate(final String template) {
+        this.template = template;
+        final int length = template.length();
+        int count = 0;
+        boolean delegate = false;
+        for (int i = 0; i < length - 1; i ++) {
+            final char c = template.charAt(i);
+            if (c == '{' && template.charAt(i + 1) == '}') {
+                count ++;
+                i ++;
+            } else if (c == '%') {
+                final char next = template.charAt(i + 1);
+                if (next == 's' || next == 'd') {
+                    count ++;
+                } else if (next != '%' && next != 'n') {
+                    delegate = true;
+                }
+                i ++;
+            }
+        }
+        if (length > 0 && template.charAt(length - 1) == '%' && !endsWithEscapedPercent(template)) {
+            // 末尾单独的 '%'，String.format 会抛出 UnknownFormatConversionException
+            delegate = true;
+        }
+        this.delegate = delegate;
+        final int braces = countBraces(template);
+        this.formatParts = braces == 0 ? null : new String[braces + 1];
+        this.braceArgs = new int[braces];
+        if (braces > 0) {
+            splitBraces();
+        }
+        this.literals = new String[count + 1];
+        this.placeholders = new byte[count];
+        if (delegate) {
+            return;
+        }
+        final StringBuilder literal = new StringBuilder();
+        int index = 0;
+        for (int i = 0; i < length; i ++) {
+            final char c = template.charAt(i);
+            final char next = i + 1 < length ? template.charAt(i + 1) : '\0';
+            if (c == '{' && next == '}') {
+                placeholders[index] = BRACES;
+            } else if (c == '%' && (next == 's' || next == 'd')) {
+                placeholders[index] = next == 's' ? STRING : DECIMAL;
+            } else if (c == '%') {
+                literal.append(next == 'n' ? LINE_SEPARATOR : "%");
+                i ++;
+                continue;
+            } else {
+                literal.append(c);
+                continue;
+            }
+            literals[index ++] = literal.toString();
+            literal.setLength(0);
+            i ++;
+        }
+        literals[index] = literal.toString();
+    }
+
+    private static int countBraces(final String template) {
+        int count = 0;
+        for (int i = template.indexOf("{}"); i >= 0; i = template.indexOf("{}", i + 2)) {
+            count ++;
+        }
+        return count;
+    }
+
+    /**
+     * 按 {@code String.format} 的规则扫描格式说明，记录每个 {@code {}} 之前按顺序占用了几个参数
+     */
+    private void splitBraces() {
+        final int length = template.length();
+        final Matcher matcher = SPECIFIER.matcher(template);
+        int ordinary = 0;
+        int brace = 0;
+        int partStart = 0;
+        for (int i = 0; i < length - 1; ) {
+            final char c = template.charAt(i);
+            if (c == '{' && template.charAt(i + 1) == '}') {
+                formatParts[brace] = template.substring(partStart, i);
+                braceArgs[brace ++] = ordinary ++;
+                i += 2;
+                partStart = i;
+            } else if (c == '%' && matcher.region(i, length).lookingAt()) {
+                final String flags = matcher.group(2);
+                final char conversion = template.charAt(matcher.end() - 1);
+                if (matcher.group(1) == null && (flags == null || flags.indexOf('<') < 0)
+                        && conversion != '%' && conversion != 'n') {
+                    ordinary ++;
+                }
+                i = matcher.end();
+            } else {
+                i ++;
+            }
+        }
+        formatParts[brace] = template.substring(partStart);
+    }
+
+    private static boolean endsWithEscapedPercent(final String template) {
+        int percents = 0;
+        for (int i = template.length() - 1; i >= 0 && template.charAt(i) == '%'; i --) {
+            percents ++;
+        }
+        return (percents & 1) == 0;
+    }
+
+    /**
+     * <p>获取模板，相同的模板字符串返回缓存的同一实例。</p>
+     *
+     * @param template 模板字符串，为 {@code null} 时作 {@code "null"} 处理
+     * @return 消息模板
+     */
+    public static MessageTemplate of(final String template) {
+        final String key = template == null ? "null" : template;
+        final MessageTemplate cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final MessageTemplate created = new MessageTemplate(key);
+        if (CACHE.size() < CACHE_LIMIT) {
+            final MessageTemplate existing = CACHE.putIfAbsent(key, created);
+            return existing == null ? created : existing;
+        }
+        return created;
+    }
+
+    /**
+     * <p>使用 {@code args} 渲染模板，多余的参数被忽略。</p>
+     *
+     * <p>第一遍计算结果的精确长度：字符串参数直接取长度，整数参数只计算位数，其它参数调用一次 {@code toString}；
+     * 第二遍写入容量恰好的缓冲区，整数直接写入数字而不创建中间字符串。</p>
+     *
+     * @param args 参数
+     * @return 渲染后的文本
+     */
+    public String format(final Object... args) {
+        if (delegate) {
+            return formatByJdk(args);
+        }
+        final int count = placeholders.length;
+        if (count == 0) {
+            return literals[0];
+        }
+        final int argCount = args == null ? 0 : args.length;
+        // 占位符依次消耗参数，第 i 个占位符对应第 i 个参数
+        String[] converted = null;
+        int length = literals[count].length();
+        for (int i = 0; i < count; i ++) {
+            length += literals[i].length();
+            if (i >= argCount) {
+                if (placeholders[i] != BRACES) {
+                    return formatByJdk(args);
+                }
+                length += 2;
+                continue;
+            }
+            final Object arg = args[i];
+            if (placeholders[i] == DECIMAL && arg != null && !(arg instanceof Integer || arg instanceof Long
+                    || arg instanceof Short || arg instanceof Byte || arg instanceof BigInteger)) {
+                return formatByJdk(args);
+            }
+            if (arg == null || arg instanceof String) {
+                length += arg == null ? 4 : ((String) arg).length();
+            } else if (arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+                length += stringSize(((Number) arg).intValue());
+            } else if (arg instanceof Long) {
+                length += stringSize((Long) arg);
+            } else {
+                if (placeholders[i] == STRING && arg instanceof Formattable) {
+                    return formatByJdk(args);
+                }
+                if (converted == null) {
+                    converted = new String[count];
+                }
+                converted[i] = arg.toString();
+                length += converted[i].length();
+            }
+        }
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < count; i ++) {
+            builder.append(literals[i]);
+            if (i >= argCount) {
+                builder.append("{}");
+                continue;
+            }
+            final Object arg = args[i];
+            if (arg == null || arg instanceof String) {
+                builder.append((String) arg);
+            } else if (arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+                builder.append(((Number) arg).intValue());
+            } else if (arg instanceof Long) {
+                builder.append(((Long) arg).longValue());
+            } else {
+                builder.append(converted[i]);
+            }
+        }
+        return builder.append(literals[count]).toString();
+    }
+
+    /**
+     * 交由 {@code String.format} 处理，有对应参数的 {@code {}} 作 {@code %s}，其余原样保留
+     */
+    private String formatByJdk(final Object[] args) {
+        if (formatParts == null) {
+            return String.format(template, args);
+        }
+        final int argCount = args == null ? 0 : args.length;
+        final StringBuilder format = new StringBuilder(template.length());
+        for (int i = 0; i < braceArgs.length; i ++) {
+            format.append(formatParts[i]).append(braceArgs[i] < argCount ? "%s" : "{}");
+        }
+        return String.format(format.append(formatParts[braceArgs.length]).toString(), args);
+    }
+
+    private static int stringSize(final long value) {
+        if (value == Long.MIN_VALUE) {
+            return 20;
+        }
+        final int sign = value < 0 ? 1 : 0;
+        final long magnitude = Math.abs(value);
+        long power = 10;
+        for (int digits = 1; digits < 19; digits ++) {
+            if (magnitude < power) {
+                return digits + sign;
+            }
+            power *= 10;
+        }
+        return 19 + sign;
+    }
+
+    /**
+     * @return 模板字符串
+     */
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,278 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>以 {@code byte[]} 保存的可变 ASCII 字符序列，用法类似只接受 ASCII 字符的 {@link StringBuilder}。</p>
+ *
+ * <p>适合作为解析、拼接标识符时的复用缓冲区：{@link #reset(byte[], int, int)} 直接装入网络或文件中的 ASCII 字节，
+ * 无需先解码为 {@link String} 即可用 {@link CharSequenceAide} 比较与查找；需要保存时通过 {@link #toAsciiSequence()} 得到不可变副本。</p>
+ *
+ * <pre>
+ * MutableAsciiSequence buffer = new MutableAsciiSequence(32);
+ * buffer.append("SKU-").append(42);
+ * CharSequenceAide.equals(buffer, "SKU-42")   = true
+ * buffer.reset(bytes, offset, length);       // 复用缓冲区
+ * </pre>
+ *
+ * <p>与 {@link StringBuilder} 一样，{@link #equals(Object)} 与 {@link #hashCode()} 按对象标识比较，
+ * 比较内容请使用 {@link #contentEquals(CharSequence)}。非线程安全。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ * @see AsciiSequence
+ */
+public final class MutableAsciiSequence implements CharSequence, Appendable {
+
+    /** 字节数组，只有前 {@link #count} 个字节有效 */
+    byte[] value;
+    int count;
+
+    public MutableAsciiSequence() {
+        this(16);
+    }
+
+    /**
+     * @param capacity 初始容量
+     */
+    public MutableAsciiSequence(final int capacity) {
+        this.value = new byte[capacity];
+    }
+
+    /**
+     * @param sequence 只包含 ASCII 字符的初始内容
+     * @throws IllegalArgumentException 包含非 ASCII 字符
+     */
+    public MutableAsciiSequence(final CharSequence sequence) {
+        this(sequence.length() + 16);
+        append(sequence);
+    }
+
+    // ----- Modification ----- begin
+    /**
+     * @param c ASCII 字符
+     * @return 当前序列
+     * @throws IllegalArgumentException {@code c} 不是 ASCII 字符
+     */
+    @Override
+    public MutableAsciiSequence append(final char c) {
+        if (c >= 0x80) {
+            throw new IllegalArgumentException("Non-ASCII character '" + c + "'");
+        }
+        ensureCapacity(count + 1);
+        value[count ++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * @param sequence 只包含 ASCII 字符的字符序列，为 {@code null} 时追加 {@code "null"}
+     * @return 当前序列
+     * @throws IllegalArgumentException 包含非 ASCII 字符，此时当前序列不变
+     */
+    @Override
+    public MutableAsciiSequence append(final CharSequence sequence) {
+        final CharSequence source = sequence == null ? "null" : sequence;
+        return append(source, 0, source.length());
+    }
+
+    /**
+     * @param sequence 只包含 ASCII 字符的字符序列，为 {@code null} 时按 {@code "null"} 处理
+     * @param start 开始索引（包含）
+     * @param end 结束索引（不包含）
+     * @return 当前序列
+     * @throws IllegalArgumentException 包含非 ASCII 字符，此时当前序列不变
+     */
+    @Override
+    public MutableAsciiSequence append(final CharSequence sequence, final int start, final int end) {
+        final CharSequence source = sequence == null ? "null" : sequence;
+        if (start < 0 || end > source.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + source.length());
+        }
+        final int length = end - start;
+        if (source instanceof AsciiSequence) {
+            return append(((AsciiSequence) source).value, start, length);
+        }
+        if (source instanceof MutableAsciiSequence) {
+            return append(((MutableAsciiSequence) source).value, start, length);
+        }
+        ensureCapacity(count + length);
+        final byte[] value = this.value;
+        for (int i = 0; i < length; i ++) {
+            final char c = source.charAt(start + i);
+            if (c >= 0x80) {
+                throw new IllegalArgumentException("Non-ASCII character '" + c + "' at index " + (start + i));
+            }
+            value[count + i] = (byte) c;
+        }
+        count += length;
+        return this;
+    }
+
+    /**
+     * <p>追加整数的十进制表示，不创建中间字符串。</p>
+     *
+     * @param number 整数
+     * @return 当前序列
+     */
+    public MutableAsciiSequence append(final long number) {
+        if (number == Long.MIN_VALUE) {
+            return append("-9223372036854775808");
+        }
+        long magnitude = Math.abs(number);
+        int digits = 1;
+        for (long power = 10; digits < 19 && magnitude >= power; power *= 10) {
+            digits ++;
+        }
+        final int size = digits + (number < 0 ? 1 : 0);
+        ensureCapacity(count + size);
+        int position = count + size;
+        do {
+            value[-- position] = (byte) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude != 0);
+        if (number < 0) {
+            value[count] = '-';
+        }
+        count += size;
+        return this;
+    }
+
+    /**
+     * @param bytes ASCII 字节
+     * @param offset 开始位置
+     * @param length 字节数
+     * @return 当前序列
+     * @throws IllegalArgumentException 包含大于 {@code 0x7F} 的字节，此时当前序列不变
+     */
+    public MutableAsciiSequence append(final byte[] bytes, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + bytes.length);
+        }
+        if (!AsciiBytes.isAscii(bytes, offset, offset + length)) {
+            throw new IllegalArgumentException("The bytes are not ASCII.");
+        }
+        ensureCapacity(count + length);
+        System.arraycopy(bytes, offset, value, count, length);
+        count += length;
+        return this;
+    }
+
+    /**
+     * <p>清空后装入 {@code bytes} 中的一段 ASCII 字节。</p>
+     *
+     * @return 当前序列
+     * @throws IllegalArgumentException 包含大于 {@code 0x7F} 的字节，此时当前序列为空
+     */
+    public MutableAsciiSequence reset(final byte[] bytes, final int offset, final int length) {
+        count = 0;
+        return append(bytes, offset, length);
+    }
+
+    /**
+     * @param index 索引
+     * @param c ASCII 字符
+     * @throws IllegalArgumentException {@code c} 不是 ASCII 字符
+     */
+    public void setCharAt(final int index, final char c) {
+        if (index < 0 || index >= count) {
+            throw new StringIndexOutOfBoundsException("index " + index + ", length " + count);
+        }
+        if (c >= 0x80) {
+            throw new IllegalArgumentException("Non-ASCII character '" + c + "'");
+        }
+        value[index] = (byte) c;
+    }
+
+    /**
+     * @param length 新的长度，增加的部分以 {@code '\0'} 填充
+     */
+    public void setLength(final int length) {
+        if (length < 0) {
+            throw new StringIndexOutOfBoundsException(length);
+        }
+        ensureCapacity(length);
+        if (length > count) {
+            Arrays.fill(value, count, length, (byte) 0);
+        }
+        count = length;
+    }
+
+    /**
+     * @return 清空后的当前序列，保留容量
+     */
+    public MutableAsciiSequence clear() {
+        count = 0;
+        return this;
+    }
+
+    private void ensureCapacity(final int minimum) {
+        if (minimum < 0) {
+            throw new OutOfMemoryError("Required capacity overflows");
+        }
+        if (minimum > value.length) {
+            value = Arrays.copyOf(value, Math.max(minimum, value.length << 1));
+        }
+    }
+    // ----- Modification ----- end
+
+    @Override
+    public int length() {
+        return count;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= count) {
+            throw new StringIndexOutOfBoundsException("index " + index + ", length " + count);
+        }
+        return (char) value[index];
+    }
+
+    /**
+     * @return 区域的不可变副本
+     */
+    @Override
+    public AsciiSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > count || start > end) {
+            throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + count);
+        }
+        return new AsciiSequence(Arrays.copyOfRange(value, start, end));
+    }
+
+    /**
+     * @param sequence 任意字符序列
+     * @return 内容与 {@code sequence} 相同时返回 {@code true}
+     */
+    public boolean contentEquals(final CharSequence sequence) {
+        return CharSequenceAide.equals(this, sequence);
+    }
+
+    /**
+     * @return 当前内容的不可变副本
+     */
+    public AsciiSequence toAsciiSequence() {
+        return count == 0 ? AsciiSequence.EMPTY : new AsciiSequence(Arrays.copyOf(value, count));
+    }
+
+    @Override
+    public String toString() {
+        return new String(value, 0, count, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,365 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>允许 {@code null} 键与 {@code null} 值的并发映射，内部由 {@link ConcurrentHashMap} 实现。</p>
+ *
+ * <p>写入时以 {@link ObjectAide#maskNull(Object)} 将 {@code null} 替换为 {@link ObjectAide#NULL}，
+ * 读取时以 {@link ObjectAide#unmaskNull(Object)} 还原，对调用方完全透明。
+ * 映射到 {@code null} 的键视为存在：{@link #containsKey(Object)} 返回 {@code true}，
+ * {@link #putIfAbsent(Object, Object)} 不会覆盖它。</p>
+ *
+ * <p>{@link #computeIfAbsent(Object, Function, boolean)} 可以缓存计算结果为 {@code null} 的“未找到”，
+ * 之后对同一个键的查询直接命中，不会再次执行代价高昂的计算：</p>
+ *
+ * <pre>
+ * NullTolerantConcurrentMap&lt;String, User&gt; cache = new NullTolerantConcurrentMap&lt;&gt;();
+ * cache.computeIfAbsent("kuniel", repository::find, true);   // 未找到时缓存 null
+ * cache.containsKey("kuniel")                                 = true
+ * cache.get("kuniel")                                         = null
+ *
+ * cache.put(null, user);
+ * cache.get(null)                                             = user
+ * </pre>
+ *
+ * <p>{@link #computeIfAbsent(Object, Function)}、{@link #computeIfPresent(Object, BiFunction)}、
+ * {@link #compute(Object, BiFunction)}、{@link #merge(Object, Object, BiFunction)} 保持 {@link Map} 的约定：
+ * 函数返回 {@code null} 表示不建立（或删除）映射。各方法的原子性与 {@link ConcurrentHashMap} 相同，迭代器是弱一致的。</p>
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class NullTolerantConcurrentMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentHashMap<Object, Object> map;
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    public NullTolerantConcurrentMap() {
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param initialCapacity 初始容量
+     */
+    public NullTolerantConcurrentMap(final int initialCapacity) {
+        this.map = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    /**
+     * @param source 复制其中的全部映射，可以包含 {@code null} 键与 {@code null} 值
+     */
+    public NullTolerantConcurrentMap(final Map<? extends K, ? extends V> source) {
+        this.map = new ConcurrentHashMap<>(Math.max(16, source.size() * 4 / 3 + 1));
+        putAll(source);
+    }
+
+    // ----- Query ----- begin
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return map.containsKey(ObjectAide.maskNull(key));
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return map.containsValue(ObjectAide.maskNull(value));
+    }
+
+    @Override
+    public V get(final Object key) {
+        return ObjectAide.unmaskNull(map.get(ObjectAide.maskNull(key)));
+    }
+
+    /**
+     * @return 键不存在时返回 {@code defaultValue}；键映射到 {@code null} 时返回 {@code null}
+     */
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final Object value = map.get(ObjectAide.maskNull(key));
+        return value == null ? defaultValue : ObjectAide.unmaskNull(value);
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        map.forEach((key, value) -> action.accept(ObjectAide.unmaskNull(key), ObjectAide.unmaskNull(value)));
+    }
+    // ----- Query ----- end
+
+    // ----- Modification ----- begin
+    @Override
+    public V put(final K key, final V value) {
+        return ObjectAide.unmaskNull(map.put(ObjectAide.maskNull(key), ObjectAide.maskNull(value)));
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> source) {
+        for (final Map.Entry<? extends K, ? extends V> entry : source.entrySet()) {
+            map.put(ObjectAide.maskNull(entry.getKey()), ObjectAide.maskNull(entry.getValue()));
+        }
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        return ObjectAide.unmaskNull(map.putIfAbsent(ObjectAide.maskNull(key), ObjectAide.maskNull(value)));
+    }
+
+    @Override
+    public V remove(final Object key) {
+        return ObjectAide.unmaskNull(map.remove(ObjectAide.maskNull(key)));
+    }
+
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        return map.remove(ObjectAide.maskNull(key), ObjectAide.maskNull(value));
+    }
+
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        return map.replace(ObjectAide.maskNull(key), ObjectAide.maskNull(oldValue), ObjectAide.maskNull(newValue));
+    }
+
+    @Override
+    public V replace(final K key, final V value) {
+        return ObjectAide.unmaskNull(map.replace(ObjectAide.maskNull(key), ObjectAide.maskNull(value)));
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+    // ----- Modification ----- end
+
+    // ----- Compute ----- begin
+    /**
+     * <p>与 {@link Map#computeIfAbsent(Object, Function)} 一致：键不存在时计算并保存结果，结果为 {@code null} 时不建立映射。
+     * 已映射到 {@code null} 的键视为存在，不会再次计算。</p>
+     */
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        return computeIfAbsent(key, mappingFunction, false);
+    }
+
+    /**
+     * <p>键不存在时计算并保存结果，计算过程对同一个键是原子的。</p>
+     *
+     * <p>{@code cacheNull} 为 {@code true} 时，结果为 {@code null} 也会被保存（负缓存），之后的查询直接返回 {@code null}，
+     * 不再调用 {@code mappingFunction}；为 {@code false} 时与 {@link Map#computeIfAbsent(Object, Function)} 一致。
+     * 键已存在时只做一次无锁的读取。</p>
+     *
+     * @param key 键，可以为 {@code null}
+     * @param mappingFunction 计算函数，不能为 {@code null}
+     * @param cacheNull 是否保存 {@code null} 结果
+     * @return 当前（已存在的或新计算的）值
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction, final boolean cacheNull) {
+        if (mappingFunction == null) {
+            throw new NullPointerException("mappingFunction");
+        }
+        final Object masked = ObjectAide.maskNull(key);
+        final Object existing = map.get(masked);
+        if (existing != null) {
+            return ObjectAide.unmaskNull(existing);
+        }
+        final Object value = map.computeIfAbsent(masked, k -> {
+            final V computed = mappingFunction.apply(key);
+            return computed == null && !cacheNull ? null : ObjectAide.maskNull(computed);
+        });
+        return ObjectAide.unmaskNull(value);
+    }
+
+    /**
+     * <p>与 {@link Map#computeIfPresent(Object, BiFunction)} 一致，映射到 {@code null} 的键视为存在，函数返回 {@code null} 时删除映射。</p>
+     */
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (remappingFunction == null) {
+            throw new NullPointerException("remappingFunction");
+        }
+        return ObjectAide.unmaskNull(map.computeIfPresent(ObjectAide.maskNull(key), (k, old) ->
+                remappingFunction.apply(key, ObjectAide.unmaskNull(old))));
+    }
+
+    /**
+     * <p>与 {@link Map#compute(Object, BiFunction)} 一致，函数返回 {@code null} 时删除映射。</p>
+     */
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (remappingFunction == null) {
+            throw new NullPointerException("remappingFunction");
+        }
+        return ObjectAide.unmaskNull(map.compute(ObjectAide.maskNull(key), (k, old) ->
+                remappingFunction.apply(key, old == null ? null : ObjectAide.unmaskNull(old))));
+    }
+
+    /**
+     * <p>与 {@link Map#merge(Object, Object, BiFunction)} 一致，键不存在或映射到 {@code null} 时直接保存 {@code value}，
+     * 函数返回 {@code null} 时删除映射。</p>
+     *
+     * @param value 要合并的值，不能为 {@code null}
+     */
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        if (remappingFunction == null) {
+            throw new NullPointerException("remappingFunction");
+        }
+        return ObjectAide.unmaskNull(map.compute(ObjectAide.maskNull(key), (k, old) ->
+                old == null || old == ObjectAide.NULL ? value
+                        : remappingFunction.apply(ObjectAide.unmaskNull(old), value)));
+    }
+    // ----- Compute ----- end
+
+    // ----- Views ----- begin
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        final Set<Map.Entry<K, V>> entries = entrySet;
+        return entries != null ? entries : (entrySet = new EntrySet());
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            final Iterator<Map.Entry<Object, Object>> iterator = map.entrySet().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    return new Entry(iterator.next());
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            final Object value = map.get(ObjectAide.maskNull(entry.getKey()));
+            return value != null && value.equals(ObjectAide.maskNull(entry.getValue()));
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return map.remove(ObjectAide.maskNull(entry.getKey()), ObjectAide.maskNull(entry.getValue()));
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+
+    /**
+     * 还原 {@code null} 的条目，{@link #setValue(Object)} 写回底层映射
+     */
+    private final class Entry implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+
+        Entry(final Map.Entry<Object, Object> entry) {
+            this.key = ObjectAide.unmaskNull(entry.getKey());
+            this.value = ObjectAide.unmaskNull(entry.getValue());
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final V old = this.value;
+            this.value = value;
+            put(key, value);
+            return old;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return ObjectAide.equals(key, entry.getKey()) && ObjectAide.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+    // ----- Views ----- end
+}
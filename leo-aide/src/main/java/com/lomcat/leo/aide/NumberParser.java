@@ -0,0 +1,356 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.math.BigInteger;
+
+/**
+ * <p>直接从字符序列的区域解析整数与浮点数（内部使用），供 {@link CharSequenceAide#parseInt(CharSequence, int, int)} 等使用，不创建子字符串。</p>
+ *
+ * <p>区域两端小于等于 {@code ' '} 的字符被忽略，与 {@link String#trim()} 一致。整数只接受 ASCII 数字，规则与
+ * {@link Long#parseLong(String)} 相同；浮点数按 Eisel-Lemire 算法将十进制的有效数字与指数直接转换为最接近的 {@code double}：
+ * 有效数字乘以预先计算的 5 的幂的 128 位近似值，只取乘积的高位即可确定正确舍入的结果。
+ * 无法确定舍入方向（恰好在两个 {@code double} 中间附近）、结果为次正规数、以及十六进制浮点数等少见的情况交给
+ * {@link Double#parseDouble(String)}，因此结果总是与 JDK 完全相同。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class NumberParser {
+
+    /** 最多累积的有效数字个数，19 位十进制数总能以无符号 {@code long} 表示 */
+    private static final int MAX_DIGITS = 19;
+    /** 指数的绝对值超过此值时结果必然为 0 或无穷大，继续累积没有意义 */
+    private static final int MAX_EXPONENT = 100_000;
+    /** 可以精确表示为 {@code double} 的 10 的幂，用于有效数字与指数都较小时的快速路径 */
+    private static final double[] SMALL_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private NumberParser() {}
+
+    // ----- integer ----- begin
+    /**
+     * <p>解析 [{@code from}, {@code to}) 中的十进制整数，结果必须在 [{@code min}, {@code max}] 之内。</p>
+     *
+     * @param strict 为 {@code true} 时格式错误或溢出抛出 {@link NumberFormatException}，否则返回 {@code defaultValue}
+     */
+    static long parseLong(final CharSequence sequence, int from, int to, final long min, final long max,
+                          final boolean strict, final long defaultValue) {
+        while (from < to && sequence.charAt(from) <= ' ') {
+            from ++;
+        }
+        while (to > from && sequence.charAt(to - 1) <= ' ') {
+            to --;
+        }
+        int i = from;
+        boolean negative = false;
+        if (i < to) {
+            final char first = sequence.charAt(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                i ++;
+            }
+        }
+        if (i == to) {
+            return fail(sequence, from, to, strict, defaultValue);
+        }
+        // 与 Long.parseLong 一样按负数累积，使最小值也能表示
+        final long limit = negative ? min : -max;
+        final long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < to; i ++) {
+            final int digit = sequence.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return fail(sequence, from, to, strict, defaultValue);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return fail(sequence, from, to, strict, defaultValue);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static long fail(final CharSequence sequence, final int from, final int to, final boolean strict, final long defaultValue) {
+        if (strict) {
+            throw numberFormatException(sequence, from, to);
+        }
+        return defaultValue;
+    }
+
+    private static NumberFormatException numberFormatException(final CharSequence sequence, final int from, final int to) {
+        return new NumberFormatException("For input string: \"" + sequence.subSequence(from, to) + '"');
+    }
+    // ----- integer ----- end
+
+    // ----- floating point ----- begin
+    /**
+     * <p>解析 [{@code from}, {@code to}) 中的浮点数，接受 {@link Double#parseDouble(String)} 的全部格式。</p>
+     *
+     * @param strict 为 {@code true} 时格式错误抛出 {@link NumberFormatException}，否则返回 {@code defaultValue}
+     */
+    static double parseDouble(final CharSequence sequence, int from, int to, final boolean strict, final double defaultValue) {
+        while (from < to && sequence.charAt(from) <= ' ') {
+            from ++;
+        }
+        while (to > from && sequence.charAt(to - 1) <= ' ') {
+            to --;
+        }
+        int i = from;
+        boolean negative = false;
+        if (i < to && (sequence.charAt(i) == '-' || sequence.charAt(i) == '+')) {
+            negative = sequence.charAt(i) == '-';
+            i ++;
+        }
+        if (i == to) {
+            return failDouble(sequence, from, to, strict, defaultValue);
+        }
+        char c = sequence.charAt(i);
+        if (c == 'N' || c == 'I') {
+            if (matchesToEnd(sequence, i, to, "NaN")) {
+                return Double.NaN;
+            }
+            if (matchesToEnd(sequence, i, to, "Infinity")) {
+                return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            return failDouble(sequence, from, to, strict, defaultValue);
+        }
+        if (c == '0' && i + 1 < to && (sequence.charAt(i + 1) | 0x20) == 'x') {
+            // 十六进制浮点数
+            return parseByJdk(sequence, from, to, strict, defaultValue);
+        }
+        // 有效数字：忽略前导 0，最多累积 19 位，其余的位只调整指数并记录是否被截断
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean anyDigit = false;
+        for (; i < to; i ++) {
+            c = sequence.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            anyDigit = true;
+            if (digits < MAX_DIGITS) {
+                significand = significand * 10 + (c - '0');
+                if (significand != 0) {
+                    digits ++;
+                }
+            } else {
+                exponent ++;
+                truncated |= c != '0';
+            }
+        }
+        if (i < to && sequence.charAt(i) == '.') {
+            for (i ++; i < to; i ++) {
+                c = sequence.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                anyDigit = true;
+                if (digits < MAX_DIGITS) {
+                    significand = significand * 10 + (c - '0');
+                    if (significand != 0) {
+                        digits ++;
+                    }
+                    exponent --;
+                } else {
+                    truncated |= c != '0';
+                }
+            }
+        }
+        if (!anyDigit) {
+            return failDouble(sequence, from, to, strict, defaultValue);
+        }
+        if (i < to && (sequence.charAt(i) | 0x20) == 'e') {
+            i ++;
+            boolean negativeExponent = false;
+            if (i < to && (sequence.charAt(i) == '-' || sequence.charAt(i) == '+')) {
+                negativeExponent = sequence.charAt(i) == '-';
+                i ++;
+            }
+            final int start = i;
+            int value = 0;
+            for (; i < to; i ++) {
+                c = sequence.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (value < MAX_EXPONENT) {
+                    value = value * 10 + (c - '0');
+                }
+            }
+            if (i == start) {
+                return failDouble(sequence, from, to, strict, defaultValue);
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        // Double.parseDouble 允许的类型后缀
+        if (i + 1 == to && "fFdD".indexOf(sequence.charAt(i)) >= 0) {
+            i ++;
+        }
+        if (i != to) {
+            return failDouble(sequence, from, to, strict, defaultValue);
+        }
+        double value = toDouble(significand, exponent);
+        // 被截断时真实值在 [significand, significand + 1) · 10^exponent 之间，两端舍入结果相同才能确定
+        if (truncated && !Double.isNaN(value) && value != toDouble(significand + 1, exponent)) {
+            value = Double.NaN;
+        }
+        if (Double.isNaN(value)) {
+            return parseByJdk(sequence, from, to, strict, defaultValue);
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean matchesToEnd(final CharSequence sequence, final int from, final int to, final String expected) {
+        return to - from == expected.length() && CharSequenceAide.regionMatches(false, sequence, from, expected, 0, expected.length());
+    }
+
+    private static double failDouble(final CharSequence sequence, final int from, final int to, final boolean strict,
+                                     final double defaultValue) {
+        if (strict) {
+            throw numberFormatException(sequence, from, to);
+        }
+        return defaultValue;
+    }
+
+    private static double parseByJdk(final CharSequence sequence, final int from, final int to, final boolean strict,
+                                     final double defaultValue) {
+        try {
+            return Double.parseDouble(sequence.subSequence(from, to).toString());
+        } catch (final NumberFormatException e) {
+            if (strict) {
+                throw e;
+            }
+            return defaultValue;
+        }
+    }
+
+    /**
+     * <p>将 {@code significand · 10^exponent}（{@code significand} 按无符号数解释）转换为最接近的 {@code double}。</p>
+     *
+     * @return 转换结果；无法快速确定时返回 {@code NaN}
+     */
+    static double toDouble(final long significand, final int exponent) {
+        if (significand == 0) {
+            return 0.0;
+        }
+        // 有效数字与 10 的幂都能精确表示时，一次乘除即为正确舍入的结果
+        if (exponent >= -22 && exponent <= 22 && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+            final double value = significand;
+            return exponent < 0 ? value / SMALL_POWERS[-exponent] : value * SMALL_POWERS[exponent];
+        }
+        if (exponent < Powers.SMALLEST) {
+            return 0.0;
+        }
+        if (exponent > Powers.LARGEST) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return eiselLemire(significand, exponent);
+    }
+
+    /**
+     * Eisel-Lemire 算法（Daniel Lemire, Number Parsing at a Gigabyte per Second, 2021）
+     */
+    private static double eiselLemire(final long significand, final int exponent) {
+        final int index = exponent - Powers.SMALLEST;
+        final long factorHigh = Powers.HIGH[index];
+        // 以 2 为底的指数：floor(exponent · log2(10)) + 偏移
+        final long binaryExponent = (((152170 + 65536) * exponent) >> 16) + 1023 + 64;
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        final long normalized = significand << leadingZeros;
+        long upper = Intrinsics.unsignedMultiplyHigh(normalized, factorHigh);
+        long lower = normalized * factorHigh;
+        // 高位乘积的低 9 位全为 1 时可能受低位进位影响，用 5 的幂的低 64 位补足精度
+        if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + normalized, lower) < 0) {
+            final long factorLow = Powers.LOW[index];
+            final long productLow = normalized * factorLow;
+            final long productMiddle = lower + Intrinsics.unsignedMultiplyHigh(normalized, factorLow);
+            if (Long.compareUnsigned(productMiddle, lower) < 0) {
+                upper ++;
+            }
+            if (productMiddle + 1 == 0 && (upper & 0x1FF) == 0x1FF
+                    && Long.compareUnsigned(productLow + normalized, productLow) < 0) {
+                return Double.NaN;
+            }
+            lower = productMiddle;
+        }
+        final long upperBit = upper >>> 63;
+        long mantissa = upper >>> (upperBit + 9);
+        leadingZeros += (int) (1 ^ upperBit);
+        // 可能恰好在两个 double 的中间，需要更高的精度才能按“向偶数舍入”确定结果
+        if ((upper & 0x1FF) == 0x1FF || (upper & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            return Double.NaN;
+        }
+        mantissa = (mantissa + 1) >>> 1;
+        if (mantissa >= 1L << 53) {
+            mantissa = 1L << 52;
+            leadingZeros --;
+        }
+        final long biasedExponent = binaryExponent - leadingZeros;
+        // 次正规数与溢出
+        if (biasedExponent < 1 || biasedExponent > 2046) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(mantissa & ~(1L << 52) | biasedExponent << 52);
+    }
+
+    /**
+     * <p>5 的幂的 128 位近似值（高 64 位与低 64 位），最高位为 1；首次解析需要它的浮点数时才计算。</p>
+     *
+     * <p>非负的幂为 5<sup>q</sup> 截断到 128 位，负的幂为 2<sup>b</sup> / 5<sup>-q</sup> 向上取整到 128 位。</p>
+     */
+    private static final class Powers {
+
+        static final int SMALLEST = -342;
+        static final int LARGEST = 308;
+        static final long[] HIGH = new long[LARGEST - SMALLEST + 1];
+        static final long[] LOW = new long[LARGEST - SMALLEST + 1];
+
+        static {
+            final BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+            final BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+            final BigInteger five = BigInteger.valueOf(5);
+            for (int q = SMALLEST; q <= LARGEST; q ++) {
+                final BigInteger power = five.pow(Math.abs(q));
+                BigInteger value;
+                if (q >= 0) {
+                    value = power;
+                    if (value.compareTo(two127) < 0) {
+                        value = value.shiftLeft(127 - value.bitLength() + 1);
+                    } else {
+                        value = value.shiftRight(value.bitLength() - 128);
+                    }
+                } else {
+                    final int z = power.bitLength();
+                    final int b = q >= -27 ? z + 127 : 2 * z + 128;
+                    value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                    while (value.compareTo(two128) >= 0) {
+                        value = value.shiftRight(1);
+                    }
+                }
+                HIGH[q - SMALLEST] = value.shiftRight(64).longValue();
+                LOW[q - SMALLEST] = value.longValue();
+            }
+        }
+    }
+    // ----- floating point ----- end
+}
@@ -0,0 +1,457 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+
+/**
+ * <p>将整数与浮点数直接写入 {@code char[]}（内部使用），供 {@link StringAide#appendDecimal(StringBuilder, long)} 等使用，
+ * 不创建临时字符串。</p>
+ *
+ * <p>浮点数按 Schubfach 算法（Raffaello Giulietti, The Schubfach way to render doubles, 2020）输出能唯一还原该值的最短十进制数，
+ * 格式与 Java 19 起的 {@link Double#toString(double)} 完全相同（Java 18 及以前的实现偶尔会多输出一位，如 {@code 2.0E-3}）。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class NumberWriter {
+
+    /** {@code long} 十进制表示的最大长度（含负号） */
+    static final int MAX_DECIMAL_LENGTH = 20;
+    /** {@code double} 表示的最大长度，如 {@code -2.2250738585072014E-308} */
+    static final int MAX_DOUBLE_LENGTH = 24;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** 写入 {@link StringBuilder} 或 {@link Appendable} 之前的暂存区，长度不小于 {@link #MAX_DOUBLE_LENGTH} */
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[32]);
+
+    private NumberWriter() {}
+
+    // ----- integer ----- begin
+    /**
+     * @return {@code value} 十进制表示的长度（含负号）
+     */
+    static int decimalLength(final long value) {
+        // 按负数比较，使最小值也能处理
+        long negative = value < 0 ? value : -value;
+        int length = value < 0 ? 2 : 1;
+        for (long bound = -10; length < MAX_DECIMAL_LENGTH && negative <= bound; bound *= 10) {
+            length ++;
+            if (bound == -1_000_000_000_000_000_000L) {
+                break;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 将 {@code value} 的十进制表示写入 {@code buffer} 的 {@code offset} 处，宽度不足 {@code width} 时在符号之后补 0
+     *
+     * @return 写入的结束位置
+     */
+    static int writeDecimal(final long value, final int width, final char[] buffer, final int offset) {
+        final int length = decimalLength(value);
+        final int end = offset + Math.max(length, width);
+        int position = end;
+        long negative = value < 0 ? value : -value;
+        while (negative <= -100) {
+            final long quotient = negative / 100;
+            final int remainder = (int) (quotient * 100 - negative);
+            buffer[-- position] = (char) ('0' + remainder % 10);
+            buffer[-- position] = (char) ('0' + remainder / 10);
+            negative = quotient;
+        }
+        final int last = (int) -negative;
+        buffer[-- position] = (char) ('0' + last % 10);
+        if (last >= 10) {
+            buffer[-- position] = (char) ('0' + last / 10);
+        }
+        final int start = value < 0 ? offset + 1 : offset;
+        while (position > start) {
+            buffer[-- position] = '0';
+        }
+        if (value < 0) {
+            buffer[offset] = '-';
+        }
+        return end;
+    }
+
+    /**
+     * @return 无符号数 {@code unsigned} 十六进制表示的长度
+     */
+    static int hexLength(final long unsigned) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(unsigned) + 3) >> 2);
+    }
+
+    /**
+     * 将 {@code value} 的低 {@code bits} 位按无符号数的十六进制（小写）写入 {@code buffer}，宽度不足 {@code width} 时在前面补 0
+     *
+     * @return 写入的结束位置
+     */
+    static int writeHex(final long value, final int bits, final int width, final char[] buffer, final int offset) {
+        final long unsigned = bits == Long.SIZE ? value : value & 0xFFFFFFFFL;
+        final int length = hexLength(unsigned);
+        final int end = offset + Math.max(length, width);
+        int position = end;
+        long rest = unsigned;
+        for (int i = 0; i < length; i ++) {
+            buffer[-- position] = HEX_DIGITS[(int) rest & 0xF];
+            rest >>>= 4;
+        }
+        while (position > offset) {
+            buffer[-- position] = '0';
+        }
+        return end;
+    }
+    // ----- integer ----- end
+
+    // ----- append ----- begin
+    /** {@link #appendInteger(Appendable, long, int, int)} 按十进制输出 */
+    static final int DECIMAL = 0;
+
+    /**
+     * 将整数写入 {@code out}：{@code bits} 为 {@link #DECIMAL} 时按十进制，为 32 或 64 时按该位数的无符号十六进制；
+     * 先写入当前线程的暂存区再整段追加，宽度超过暂存区时多出的 0 逐个追加
+     */
+    static void appendInteger(final Appendable out, final long value, final int bits, final int width) throws IOException {
+        final char[] scratch = SCRATCH.get();
+        if (width <= scratch.length) {
+            append(out, scratch, 0, writeInteger(value, bits, width, scratch));
+            return;
+        }
+        final int end = writeInteger(value, bits, 0, scratch);
+        int from = 0;
+        if (scratch[0] == '-') {
+            out.append('-');
+            from = 1;
+        }
+        for (int i = end; i < width; i ++) {
+            out.append('0');
+        }
+        append(out, scratch, from, end);
+    }
+
+    /**
+     * 将 {@code value} 的最短十进制表示写入 {@code out}
+     */
+    static void appendDouble(final Appendable out, final double value) throws IOException {
+        final char[] scratch = SCRATCH.get();
+        append(out, scratch, 0, writeDouble(value, scratch, 0));
+    }
+
+    private static int writeInteger(final long value, final int bits, final int width, final char[] buffer) {
+        return bits == DECIMAL ? writeDecimal(value, width, buffer, 0) : writeHex(value, bits, width, buffer, 0);
+    }
+
+    /**
+     * 将 {@code chars} 的 [{@code from}, {@code to}) 写入 {@code out}，{@link StringBuilder} 与 {@link Writer} 整段写入
+     */
+    private static void append(final Appendable out, final char[] chars, final int from, final int to) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, from, to - from);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(chars, from, to - from);
+        } else {
+            for (int i = from; i < to; i ++) {
+                out.append(chars[i]);
+            }
+        }
+    }
+
+    /**
+     * 当 {@code buffer} 在 {@code offset} 之后的空间不足 {@link #MAX_DOUBLE_LENGTH} 时，先写入暂存区，确认放得下后再复制
+     *
+     * @return 写入的结束位置，放不下时返回 {@code -1} 且不修改 {@code buffer}
+     */
+    static int writeDoubleChecked(final double value, final char[] buffer, final int offset) {
+        if (buffer.length - offset >= MAX_DOUBLE_LENGTH) {
+            return writeDouble(value, buffer, offset);
+        }
+        final char[] scratch = SCRATCH.get();
+        final int length = writeDouble(value, scratch, 0);
+        if (length > buffer.length - offset) {
+            return -1;
+        }
+        System.arraycopy(scratch, 0, buffer, offset, length);
+        return offset + length;
+    }
+    // ----- append ----- end
+
+    // ----- double ----- begin
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final int BQ_MASK = 0x7FF;
+    private static final long T_MASK = (1L << (P - 1)) - 1;
+    /** 次正规数中有效位小于此值时多计算一位，见 Schubfach 论文第 9 节 */
+    private static final long C_TINY = 3;
+    /** 输出的最大有效数字个数 */
+    private static final int H = 17;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L
+    };
+
+    /**
+     * 将 {@code value} 的最短十进制表示写入 {@code buffer} 的 {@code offset} 处，需要 {@link #MAX_DOUBLE_LENGTH} 个字符的空间
+     *
+     * @return 写入的结束位置
+     */
+    static int writeDouble(final double value, final char[] buffer, final int offset) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long t = bits & T_MASK;
+        final int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+        if (bq == BQ_MASK) {
+            return writeSpecial(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity", buffer, offset);
+        }
+        int position = offset;
+        if (bits < 0) {
+            buffer[position ++] = '-';
+        }
+        if (bq != 0) {
+            // 正规数
+            final int mq = -Q_MIN + 1 - bq;
+            final long c = C_MIN | t;
+            // 小于 2^53 的整数直接输出
+            if (0 < mq && mq < P) {
+                final long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, buffer, position);
+                }
+            }
+            return toDecimal(-mq, c, 0, buffer, position);
+        }
+        if (t != 0) {
+            // 次正规数
+            return t < C_TINY ? toDecimal(Q_MIN, 10 * t, -1, buffer, position) : toDecimal(Q_MIN, t, 0, buffer, position);
+        }
+        return writeSpecial("0.0", buffer, position);
+    }
+
+    private static int writeSpecial(final String text, final char[] buffer, final int offset) {
+        text.getChars(0, text.length(), buffer, offset);
+        return offset + text.length();
+    }
+
+    /**
+     * 求 {@code c · 2^q} 的最短十进制表示 {@code f · 10^e} 并写入
+     */
+    private static int toDecimal(final int q, final long c, final int dk, final char[] buffer, final int offset) {
+        final int out = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        // 有效位为 2 的幂时左侧的舍入区间只有右侧的一半
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        final int h = q + floorLog2Pow10(-k) + 2;
+        final long g1 = Powers.G[(k - Powers.K_MIN) << 1];
+        final long g0 = Powers.G[(k - Powers.K_MIN) << 1 | 1];
+        final long vb = roundToOdd(g1, g0, cb << h);
+        final long vbl = roundToOdd(g1, g0, cbl << h);
+        final long vbr = roundToOdd(g1, g0, cbr << h);
+        final long s = vb >> 2;
+        if (s >= 100) {
+            // 少一位数字的候选值 sp10 与 tp10 中恰有一个在舍入区间内时选择它
+            final long sp10 = 10 * Intrinsics.unsignedMultiplyHigh(s, 115_292_150_460_684_698L << 4);
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buffer, offset);
+            }
+        }
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buffer, offset);
+        }
+        // 两者都在区间内时选择更接近的，一样接近时选择偶数
+        final long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, offset);
+    }
+
+    /**
+     * 按“向奇数舍入”计算 {@code g · cp / 2^127}
+     */
+    private static long roundToOdd(final long g1, final long g0, final long cp) {
+        final long x1 = Intrinsics.unsignedMultiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = Intrinsics.unsignedMultiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int floorLog10Pow2(final int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int floorLog10ThreeQuartersPow2(final int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int floorLog2Pow10(final int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * 按 {@link Double#toString(double)} 的格式写入 {@code f · 10^e}：10<sup>-3</sup> 至 10<sup>7</sup> 之间使用普通格式，否则使用科学计数法
+     */
+    private static int toChars(long f, int e, final char[] buffer, final int offset) {
+        int length = floorLog10Pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POW10[length]) {
+            length ++;
+        }
+        // 规范化为 17 位数字：10^16 <= f < 10^17，值为 0.f · 10^e
+        f *= POW10[H - length];
+        e += length;
+        // 拆分为最高位 h、中间 8 位 m 与最低 8 位 l，各部分用 int 逐位提取
+        final long hm = Intrinsics.unsignedMultiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        final int l = (int) (f - 100_000_000L * hm);
+        final int h = (int) (hm * 1_441_151_881L >>> 57);
+        final int m = (int) (hm - 100_000_000 * h);
+        int position = offset;
+        if (0 < e && e <= 7) {
+            // 普通格式，没有前导 0
+            buffer[position ++] = (char) ('0' + h);
+            int y = eightDigitsPrefix(m);
+            int i = 1;
+            for (; i < e; i ++) {
+                final int d = 10 * y;
+                buffer[position ++] = (char) ('0' + (d >>> 28));
+                y = d & MASK_28;
+            }
+            buffer[position ++] = '.';
+            for (; i <= 8; i ++) {
+                final int d = 10 * y;
+                buffer[position ++] = (char) ('0' + (d >>> 28));
+                y = d & MASK_28;
+            }
+            return lowDigits(l, buffer, position);
+        }
+        if (-3 < e && e <= 0) {
+            // 普通格式，有前导 0
+            buffer[position ++] = '0';
+            buffer[position ++] = '.';
+            for (; e < 0; e ++) {
+                buffer[position ++] = '0';
+            }
+            buffer[position ++] = (char) ('0' + h);
+            position = eightDigits(m, buffer, position);
+            return lowDigits(l, buffer, position);
+        }
+        // 科学计数法
+        buffer[position ++] = (char) ('0' + h);
+        buffer[position ++] = '.';
+        position = eightDigits(m, buffer, position);
+        position = lowDigits(l, buffer, position);
+        return exponent(e - 1, buffer, position);
+    }
+
+    private static int lowDigits(final int l, final char[] buffer, int position) {
+        if (l != 0) {
+            position = eightDigits(l, buffer, position);
+        }
+        // 去掉末尾的 0，但保留小数点后的第一位
+        while (buffer[position - 1] == '0') {
+            position --;
+        }
+        if (buffer[position - 1] == '.') {
+            position ++;
+        }
+        return position;
+    }
+
+    private static int eightDigits(final int m, final char[] buffer, int position) {
+        int y = eightDigitsPrefix(m);
+        for (int i = 0; i < 8; i ++) {
+            final int d = 10 * y;
+            buffer[position ++] = (char) ('0' + (d >>> 28));
+            y = d & MASK_28;
+        }
+        return position;
+    }
+
+    /**
+     * 从左到右逐位提取 8 位数字的初值：{@code floor((a + 1) · 2^28 / 10^8) - 1}
+     */
+    private static int eightDigitsPrefix(final int a) {
+        return (int) (Intrinsics.unsignedMultiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int exponent(int e, final char[] buffer, int position) {
+        buffer[position ++] = 'E';
+        if (e < 0) {
+            buffer[position ++] = '-';
+            e = -e;
+        }
+        if (e >= 100) {
+            final int d = e * 1_311 >>> 17;
+            buffer[position ++] = (char) ('0' + d);
+            e -= 100 * d;
+            buffer[position ++] = (char) ('0' + e / 10);
+        } else if (e >= 10) {
+            buffer[position ++] = (char) ('0' + e / 10);
+        }
+        buffer[position ++] = (char) ('0' + e % 10);
+        return position;
+    }
+
+    /**
+     * <p>10 的幂的 126 位近似值 {@code g = g1 · 2^63 + g0}：对 [{@code K_MIN}, {@code K_MAX}] 中的每个 k，
+     * 10<sup>-k</sup> = β · 2<sup>r</sup>，2<sup>125</sup> ≤ β &lt; 2<sup>126</sup>，g = floor(β) + 1。首次输出浮点数时才计算。</p>
+     */
+    private static final class Powers {
+
+        static final int K_MIN = -324;
+        static final int K_MAX = 292;
+        static final long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+
+        static {
+            final BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+            for (int k = K_MIN; k <= K_MAX; k ++) {
+                final BigInteger power = BigInteger.TEN.pow(Math.abs(k));
+                final BigInteger beta;
+                if (k <= 0) {
+                    // 10^-k 为整数，取最高的 126 位
+                    final int shift = power.bitLength() - 126;
+                    beta = shift >= 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+                } else {
+                    beta = BigInteger.ONE.shiftLeft(125 + power.bitLength()).divide(power);
+                }
+                final BigInteger g = beta.add(BigInteger.ONE);
+                G[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+                G[(k - K_MIN) << 1 | 1] = g.and(mask63).longValue();
+            }
+        }
+    }
+    // ----- double ----- end
+}
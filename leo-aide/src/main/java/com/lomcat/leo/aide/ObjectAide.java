@@ -1,559 +1,961 @@
-/* 
- * Copyright Lomcat and/or its affiliates.
- * 
- * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
- * 
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *      http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, 
- * software distributed under the License is distributed on an "AS IS" BASIS, 
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
- * See the License for the specific language governing permissions and limitations under the License.
- */
-package com.lomcat.leo.aide;
-
-import com.lomcat.leo.aide.exception.CloneException;
-
-import java.io.Serializable;
-import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.Objects;
-
-/**
- * {@code Object} 操作
- *
- * @author Kuniel - kuniel@lomcat.com
- * @since 1.0.0
- */
-public class ObjectAide {
-
-    private ObjectAide() {}
-
-    /**
-     * <p>当 {@code null} 有多个意义时，用于表示 {@code null} 的占位符。</p>
-     *
-     * <p>
-     *     例如，{@link java.util.HashMap HashMap} 中的 {@link java.util.HashMap#get(java.lang.Object) get(Object)} 方法返回 {@code null} 时，
-     *     可能是这个Map中包含了一个 {@code null}，也可能是没有匹配的key，{@link NULL} 占位符即可用于区分这两种情况。
-     * </p>
-     *
-     * <p>再如，{@link java.util.Hashtable Hashtable} 无法存储 {@code null}，可用 {@link NULL} 占位符表示 {@code null}。</p>
-     */
-    public static final NULL NULL = new NULL();
-
-    /**
-     * <p>判断对象是否为 {@code null}。</p>
-     *
-     * @param object 一个对象
-     * @return 参数为 {@code null} 时返回 {@code true}，否则 {@code false}
-     * @see Objects#isNull(Object)
-     */
-    public static boolean isNull(Object object) {
-        return Objects.isNull(object);
-    }
-
-    /**
-     * <p>判断对象是否为 non-{@code null}。</p>
-     *
-     * @param object 一个对象
-     * @return 参数为 non-{@code null} 时返回 {@code true}，否则 {@code false}
-     * @see Objects#nonNull(Object)
-     */
-    public static boolean isNotNull(Object object) {
-        return Objects.nonNull(object);
-    }
-
-    /**
-     * <p>检查参数中是否包含 {@code null}。</p>
-     *
-     * <p>如果参数为 {@code null} 或 empty 或参数中的值全为 non-{@code null} 时返回 {@code false}，否则返回 {@code true}。</p>
-     *
-     * <pre>
-     *     ObjectAide.containNull(*)                = false
-     *     ObjectAide.containNull(*, null)          = true
-     *     ObjectAide.containNull(null, *)          = true
-     *     ObjectAide.containNull(null, null, *, *)     = true
-     *     ObjectAide.containNull(null)             = true
-     *     ObjectAide.containNull(null, null)       = true
-     * </pre>
-     *
-     * @param values 要检查的值
-     * @return 参数中至少包含一个 {@code null} 的值时返回 {@code true}；
-     *          参数为 {@code null} 或 {@code empty} 或全为 non-{@code null} 时返回 {@code false}
-     */
-    public static boolean containNull(final Object... values) {
-        if (ArrayAide.isNotEmpty(values)) {
-            for (final Object value : values) {
-                if (value == null) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    /**
-     * <p>检查参数中是否包含 non-{@code null} 的值。</p>
-     *
-     * <p>如果参数为 {@code null} 或 empty 或参数中的值全为 {@code null} 时返回 {@code false}，否则返回 {@code true}。</p>
-     *
-     * <pre>
-     *     ObjectAide.containNonNull(*)                = true
-     *     ObjectAide.containNonNull(*, null)          = true
-     *     ObjectAide.containNonNull(null, *)          = true
-     *     ObjectAide.anyNotNull(null, null, *, *)     = true
-     *     ObjectAide.containNonNull(null)             = false
-     *     ObjectAide.containNonNull(null, null)       = false
-     * </pre>
-     *
-     * @param values 要检查的值
-     * @return 参数中至少包含一个 non-{@code null} 的值时返回 {@code true}；
-     *          参数为 {@code null} 或 {@code empty} 或全为 {@code null} 时返回 {@code false}
-     */
-    public static boolean containNonNull(final Object... values) {
-        return firstNonNull(values) != null;
-    }
-
-    /**
-     * <p>检查参数中的值是否全部为 {@code null}。</p>
-     *
-     * @param values 要检查的值
-     * @return 全为 {@code null} 时返回 {@code true}，否则返回 {@code false}
-     */
-    public static boolean isAllNull(final Object... values) {
-        return firstNonNull(values) == null;
-    }
-
-    /**
-     * <p>检查参数中的值是否全部为 non-{@code null}。
-     *
-     * @param values 要检查的值
-     * @return 不包含 {@code null} 时返回 {@code true}，否则返回 {@code false}
-     */
-    public static boolean isAllNonNull(final Object... values) {
-        return !containNull(values);
-    }
-
-    /**
-     * <p>返回数组中第一个非 {@code null} 的元素。</p>
-     *
-     * <p>如果数组为 {@code null} 或 empty 或数组中没有非 {@code null} 的值，则返回 {@code null}。</p>
-     *
-     * <pre>
-     *     ObjectAide.firstNonNull(null, null)      = null
-     *     ObjectAide.firstNonNull(null, "")        = ""
-     *     ObjectAide.firstNonNull(null, null, "")  = ""
-     *     ObjectAide.firstNonNull(null, "zz")      = "zz"
-     *     ObjectAide.firstNonNull("abc", *)        = "abc"
-     *     ObjectAide.firstNonNull(null, "xyz", *)  = "xyz"
-     *     ObjectAide.firstNonNull(Boolean.TRUE, *) = Boolean.TRUE
-     *     ObjectAide.firstNonNull()                = null
-     * </pre>
-     *
-     * @param values 要检验的值，可以为 {@code null} 或 empty
-     * @param <T> 数组元素的类型
-     * @return {@code values} 中第一个非 {@code null} 的值，或 {@code null}
-     */
-    @SafeVarargs
-    public static <T> T firstNonNull(final T... values) {
-        if (ArrayAide.isNotEmpty(values)) {
-            for (final T value : values) {
-                if (value != null) {
-                    return value;
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * <p>如果参数相等则返回 {@code true}，否则返回 {@code false}。</p>
-     *
-     * <p>
-     *     如果参数都为 {@code null}，则返回 {@code true}；
-     *     如果只有一个参数为 {@code null}，则返回 {@code false}；
-     *     如果参数都不为 {@code null}，则使用第一个参数的 {@link Object#equals(Object) equals} 方法进行比较并返回。
-     * </p>
-     *
-     * <pre>
-     *     ObjectAide.equals(null, null)                  = true
-     *     ObjectAide.equals(null, "")                    = false
-     *     ObjectAide.equals("", null)                    = false
-     *     ObjectAide.equals("", "")                      = true
-     *     ObjectAide.equals(Boolean.TRUE, null)          = false
-     *     ObjectAide.equals(Boolean.TRUE, "true")        = false
-     *     ObjectAide.equals(Boolean.TRUE, Boolean.TRUE)  = true
-     *     ObjectAide.equals(Boolean.TRUE, Boolean.FALSE) = false
-     * </pre>
-     *
-     * @param a 一个对象
-     * @param b 一个与 {@code a} 进行相等性比较的对象
-     * @return 相等为 {@code true}，否则 {@code false}
-     * @see Objects#equals(Object, Object)
-     */
-    public static boolean equals(Object a, Object b) {
-        return Objects.equals(a, b);
-    }
-
-    /**
-     * <p>与 {@link #equals(Object, Object)} 相反。</p>
-     *
-     * <pre>
-     *     ObjectAide.notEquals(null, null)                  = false
-     *     ObjectAide.notEquals(null, "")                    = true
-     *     ObjectAide.notEquals("", null)                    = true
-     *     ObjectAide.notEquals("", "")                      = false
-     *     ObjectAide.notEqual(Boolean.TRUE, null)          = true
-     *     ObjectAide.notEquals(Boolean.TRUE, "true")        = true
-     *     ObjectAide.notEquals(Boolean.TRUE, Boolean.TRUE)  = false
-     *     ObjectAide.notEquals(Boolean.TRUE, Boolean.FALSE) = true
-     * </pre>
-     *
-     * @param a 一个对象
-     * @param b 一个与 {@code a} 进行比较的对象
-     * @return 不相等为 {@code true}，相等为 {@code false}
-     * @see #equals(Object, Object)
-     */
-    public static boolean notEquals(Object a, Object b) {
-        return !equals(a, b);
-    }
-
-    /**
-     * <p>如果参数深层相等则返回 {@code true}，否则返回 {@code false}。两个 null 值深层相等。</p>
-     *
-     * <p>
-     *     如果两个参数为数组，则使用 {@link Arrays#deepEquals(Object[], Object[]) Arrays.deepEquals} 方法比较。
-     *     否则使用第一个参数的 {@link Object#equals equals} 方法比较。
-     * </p>
-     *
-     * @param a 一个对象
-     * @param b 一个与 {@code a} 进行比较的独享
-     * @return 深层相等为 {@code true}，否则 {@code false}
-     * @see Objects#deepEquals(Object, Object)
-     */
-    public static boolean deepEquals(Object a, Object b) {
-        return Objects.deepEquals(a, b);
-    }
-
-    /**
-     * <p>与 {@link #deepEquals(Object, Object)} 相反。</p>
-     *
-     * @param a 一个对象
-     * @param b 一个与 {@code a} 进行比较的对象
-     * @return 非深层相等为 {@code true}，深层相等为 {@code false}
-     * @see #deepEquals(Object, Object)
-     */
-    public static boolean notDeepEquals(Object a, Object b) {
-        return !deepEquals(a, b);
-    }
-
-    /**
-     * <p>比较多个对象是否相等。</p>
-     *
-     * <pre>
-     *     ObjectAide.allEquals(null)                        = true
-     *     ObjectAide.allEquals()                            = true
-     *     ObjectAide.allEquals("a")                         = true
-     *     ObjectAide.allEquals(null, null)                  = true
-     *     ObjectAide.allEquals(null, "")                    = false
-     *     ObjectAide.allEquals("a", "a")                    = true
-     *     ObjectAide.allEquals("a", "b")                    = false
-     *     ObjectAide.allEquals(Boolean.TRUE, true)          = true
-     *     ObjectAide.allEquals(Boolean.TRUE, "true")        = false
-     *     ObjectAide.allEquals(Boolean.TRUE, Boolean.TRUE)  = true
-     *     ObjectAide.allEquals(Boolean.TRUE, Boolean.FALSE) = false
-     * </pre>
-     *
-     * @param values 要比较的对象
-     * @return 若所有对象均相等，则返回 {@code true}，否则返回 {@code false}，
-     * 			values 为 {@code null} 或  empty 或只有一个对象时返回 {@code true}
-     */
-    public static boolean allEquals(final Object... values) {
-        if (ArrayAide.length(values) <= 1) {
-            return true;
-        }
-        for (int i = 0; i < values.length; i ++) {
-            if (notEquals(values[i], values[i + 1])) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * <p>如果传递的object为 {@code null}，则返回指定的默认值。</p>
-     *
-     * <pre>
-     *     ObjectAide.defaultIfNull(null, null)      = null
-     *     ObjectAide.defaultIfNull(null, "")        = ""
-     *     ObjectAide.defaultIfNull(null, "zz")      = "zz"
-     *     ObjectAide.defaultIfNull("abc", *)        = "abc"
-     *     ObjectAide.defaultIfNull(Boolean.TRUE, *) = Boolean.TRUE
-     *     ObjectAide.defaultIfNull(ObjectAide.NULL, *) = ObjectAide.NULL
-     * </pre>
-     *
-     * @param <T> 所传递的value的类型
-     * @param value 要判断的对象
-     * @param defaultValue 当object为 {@code null} 时返回的默认值
-     * @return 当所传递的object为 {@code null} 时，返回defaultValue，否则直接返回object
-     */
-    public static <T> T defaultIfNull(final T value, final T defaultValue) {
-        return value != null ? value : defaultValue;
-    }
-
-    /**
-     * <p>参数为 {@code null} 时返回 0，否则返回其 hash code。</p>
-     *
-     * @param object 一个对象
-     * @return hash code 或 0
-     * @see Objects#hashCode(Object)
-     */
-    public static int hashCode(Object object) {
-        return Objects.hashCode(object);
-    }
-
-    /**
-     * <p>为多个参数生成一个 hash code。</p>
-     *
-     * @param objects 一个或多个对象
-     * @return hash code
-     * @see Objects#hash(Object...)
-     */
-    public static int hash(Object... objects) {
-        return Objects.hash(objects);
-    }
-
-    /**
-     * <p>参数为 {@code null} 时返回 {@code "null"}，否则调用其 {@code toString} 方法返回。</p>
-     *
-     * @param object 一个对象
-     * @return {@code "null"} 或 参数的 {@code toString} 方法返回值
-     * @see Objects#toString(Object)
-     */
-    public static String toString(Object object) {
-        return Objects.toString(object);
-    }
-
-    /**
-     * <p>第一个参数为 {@code null} 时返回第二个参数指定的值，否则使用第一个参数的 {@code toString} 方法返回。</p>
-     *
-     * @param object 一个对象
-     * @param nullDefault 当 {@code object} 为 {@code null} 时的默认值
-     * @return {@code nullDefault} 或 {@code object} 的 {@code toString}
-     * @see Objects#toString(Object, String)
-     */
-    public static String toString(Object object, String nullDefault) {
-        return Objects.toString(object, nullDefault);
-    }
-
-    /**
-     * <p>如果参数 {@code a} 和 {@code b} 相等（==），则返回 0，否则使用参数 {@code c} 指定的比较器进行运算并返回。</p>
-     *
-     * @param a 一个对象
-     * @param b 一个与 {@code a} 进行比较的对象
-     * @param c 比较器
-     * @param <T> {@code a} 和 {@code b} 的类型
-     * @return 0 或 使用 {@code c} 的比较结果
-     * @see Objects#compare(Object, Object, Comparator)
-     */
-    public static <T> int compare(T a, T b, Comparator<? super T> c) {
-        return Objects.compare(a, b ,c);
-    }
-
-    /**
-     * <p>比较两个对象的大小，{@code null} 小于 non-{@code null}。</p>
-     *
-     * @param a 一个可比较的对象
-     * @param b 另一个可比较的对象
-     * @param <T> 参数类型
-     * @return 如果 a &lt; b 返回负数；如果 a = b 返回 0；如果 a &gt; b 返回正数
-     */
-    public static <T extends Comparable<? super T>> int compare(final T a, final T b) {
-        return compare(a, b, false);
-    }
-
-    /**
-     * <p>比较两个对象的大小。</p>
-     *
-     * @param a 一个可比较的对象
-     * @param b 另一个可比较的对象
-     * @param nullGreater 如果为 {@code true} 则认为 {@code null} 大于 non-{@code null} ，反之 non-{@code null} 大于 {@code null}。
-     * @param <T> 参数类型
-     * @return 如果 a &lt; b 返回负数；如果 a = b 返回 0；如果 a &gt; b 返回正数
-     */
-    public static <T extends Comparable<? super T>> int compare(final T a, final T b, boolean nullGreater) {
-        if (a == b) {
-            return 0;
-        } else if (a == null) {
-            return nullGreater ? 1 : -1;
-        } else if (b == null) {
-            return nullGreater ? -1 : 1;
-        }
-        return a.compareTo(b);
-    }
-
-    /**
-     * <p>返回参数中的最小对象。</p>
-     *
-     * @param values 可比较的对象集
-     * @param <T> 参数类型
-     * @return
-     *  <ul>
-     *      <li>如果所有对象都 non-{@code null} 且不相等，返回最小对象</li>
-     *      <li>如果所有对象都 non-{@code null} 且相等，返回第一个对象</li>
-     *      <li>如果存在 {@code null} 对象，则 non-{@code null} 对象较小</li>
-     *      <li>如果所有对象都为 {@code null}，则返回 {@code null}</li>
-     *  </ul>
-     */
-    @SafeVarargs
-    public static <T extends Comparable<? super T>> T min(final T... values) {
-        T result = null;
-        if (ArrayAide.isNotEmpty(values)) {
-            for (final T value : values) {
-                if (compare(value, result, true) < 0) {
-                    result = value;
-                }
-            }
-        }
-        return result;
-    }
-
-    /**
-     * <p>返回参数中的最大对象。</p>
-     *
-     * @param values 可比较的对象集
-     * @param <T> 参数类型
-     * @return
-     *  <ul>
-     *      <li>如果所有对象都 non-{@code null} 且不相等，返回最大对象</li>
-     *      <li>如果所有对象都 non-{@code null} 且相等，返回第一个对象</li>
-     *      <li>如果存在 {@code null} 对象，则 non-{@code null} 对象较大</li>
-     *      <li>如果所有对象都为 {@code null}，则返回 {@code null}</li>
-     *  </ul>
-     */
-    @SafeVarargs
-    public static <T extends Comparable<? super T>> T max(final T... values) {
-        T result = null;
-        if (ArrayAide.isNotEmpty(values)) {
-            for (final T value : values) {
-                if (compare(value, result, false) > 0) {
-                    result = value;
-                }
-            }
-        }
-        return result;
-    }
-
-    /**
-     * <p>获取对象默认的 {@code toString} 方法计算的文本，当参数为 {@code null} 时返回 {@code null}。</p>
-     *
-     * 格式为：
-     * <pre>
-     *     object.getClass().getName() + '@' + Integer.toHexString(hashCode())
-     * </pre>
-     *
-     * <pre>
-     *     ObjectAide.identityString(null)         = null
-     *     ObjectAide.identityString("")           = "java.lang.String@4ee285c6"
-     *     ObjectAide.identityString(Boolean.TRUE) = "java.lang.Boolean@5b80350b"
-     * </pre>
-     *
-     * @param object 一个对象
-     * @return 对象默认 {@code toString} 文本
-     */
-    public static String defaultIdentity(final Object object) {
-        if (object == null) {
-            return null;
-        }
-        return object.getClass().getName() + '@' + Integer.toHexString(hashCode(object));
-    }
-
-    /**
-     * <p>克隆对象</p>
-     *
-     * @param src 要克隆的源对象，当为 {@code null} 时返回 {@code null}
-     * @param <T> 对象类型
-     * @return 如果对象实现了 {@link Cloneable} 则返回其克隆，否则返回 {@code null}
-     * @throws CloneException 当对象可克隆（cloneable）但克隆失败时抛出此异常
-     */
-    public static <T> T clone(final T src) throws CloneException {
-        if (src instanceof Cloneable) {
-            final Object result;
-            if (src.getClass().isArray()) {
-                final Class<?> componentType = src.getClass().getComponentType();
-                if (!componentType.isPrimitive()) {
-                    result = ((Object[]) src).clone();
-                } else {
-                    int length = Array.getLength(src);
-                    result = Array.newInstance(componentType, length);
-                    while (length-- > 0) {
-                        Array.set(result, length, Array.get(src, length));
-                    }
-                }
-            } else {
-                try {
-                    final Method clone = src.getClass().getMethod("clone");
-                    result = clone.invoke(src);
-                } catch (NoSuchMethodException e) {
-                    throw new CloneException("Cloneable type " + src.getClass().getName() + " has no clone method", e);
-                } catch (IllegalAccessException e) {
-                    throw new CloneException("Cannot clone Cloneable type " + src.getClass().getName(), e);
-                } catch (InvocationTargetException e) {
-                    throw new CloneException("Exception cloning Cloneable type " + src.getClass().getName(), e.getCause());
-                }
-            }
-            @SuppressWarnings("unchecked")
-            final T checked = (T) result;
-            return checked;
-        }
-        return null;
-    }
-
-    /**
-     * <p>直接将提供的参数返回，可以防止 javac 内联常量字段。</p>
-     *
-     * 如：
-     * <pre>
-     *     public final static String MAGIC_STRING = ObjectAide.CONST("abc");
-     * </pre>
-     *
-     * <p>如果字段的值将来发生更改，则引用此字段的任何 jar 都不必重新编译。</p>
-     *
-     *
-     * @param value 要返回的值
-     * @param <T> 参数类型
-     * @return 直接将提供的参数返回
-     */
-    public static <T> T CONST(final T value) {
-        return value;
-    }
-
-    // ----- Inner classes ----- begin
-    /**
-     * 当 {@code null} 有多个意义时，用于表示 {@code null} 的占位符。
-     *
-     * <p>
-     *     例如，{@link java.util.HashMap HashMap} 中的 {@link java.util.HashMap#get(java.lang.Object) get(Object)} 方法返回 {@code null} 时，
-     *     可能是这个Map中包含了一个 {@code null}，也可能是没有匹配的key，{@link NULL} 占位符即可用于区分这两种情况。
-     * </p>
-     *
-     * <p>再如，{@link java.util.Hashtable Hashtable} 无法存储 {@code null}，可用 {@link NULL} 占位符表示 {@code null}。</p>
-     *
-     * <p>单例，可序列化。</p>
-     */
-    public static class NULL implements Serializable {
-        private static final long serialVersionUID = -3624154868651403387L;
-
-        private NULL() {
-            super();
-        }
-    }
-    // ----- Inner classes ----- end
-}
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import com.lomcat.leo.aide.exception.CloneException;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+/**
+ * {@code Object} 操作
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class ObjectAide {
+
+    private ObjectAide() {}
+
+    /**
+     * <p>当 {@code null} 有多个意义时，用于表示 {@code null} 的占位符。</p>
+     *
+     * <p>
+     *     例如，{@link java.util.HashMap HashMap} 中的 {@link java.util.HashMap#get(java.lang.Object) get(Object)} 方法返回 {@code null} 时，
+     *     可能是这个Map中包含了一个 {@code null}，也可能是没有匹配的key，{@link NULL} 占位符即可用于区分这两种情况。
+     * </p>
+     *
+     * <p>再如，{@link java.util.Hashtable Hashtable} 无法存储 {@code null}，可用 {@link NULL} 占位符表示 {@code null}。</p>
+     */
+    public static final NULL NULL = new NULL();
+
+    /**
+     * <p>判断对象是否为 {@code null}。</p>
+     *
+     * @param object 一个对象
+     * @return 参数为 {@code null} 时返回 {@code true}，否则 {@code false}
+     * @see Objects#isNull(Object)
+     */
+    public static boolean isNull(Object object) {
+        return Objects.isNull(object);
+    }
+
+    /**
+     * <p>判断对象是否为 non-{@code null}。</p>
+     *
+     * @param object 一个对象
+     * @return 参数为 non-{@code null} 时返回 {@code true}，否则 {@code false}
+     * @see Objects#nonNull(Object)
+     */
+    public static boolean isNotNull(Object object) {
+        return Objects.nonNull(object);
+    }
+
+    /**
+     * <p>检查参数中是否包含 {@code null}。</p>
+     *
+     * <p>如果参数为 {@code null} 或 empty 或参数中的值全为 non-{@code null} 时返回 {@code false}，否则返回 {@code true}。</p>
+     *
+     * <pre>
+     *     ObjectAide.containNull(*)                = false
+     *     ObjectAide.containNull(*, null)          = true
+     *     ObjectAide.containNull(null, *)          = true
+     *     ObjectAide.containNull(null, null, *, *)     = true
+     *     ObjectAide.containNull(null)             = true
+     *     ObjectAide.containNull(null, null)       = true
+     * </pre>
+     *
+     * @param values 要检查的值
+     * @return 参数中至少包含一个 {@code null} 的值时返回 {@code true}；
+     *          参数为 {@code null} 或 {@code empty} 或全为 non-{@code null} 时返回 {@code false}
+     */
+    public static boolean containNull(final Object... values) {
+        if (ArrayAide.isNotEmpty(values)) {
+            for (final Object value : values) {
+                if (value == null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>检查两个参数中是否包含 {@code null}，不创建可变参数数组。</p>
+     *
+     * @param value1 要检查的值
+     * @param value2 要检查的值
+     * @return 至少有一个参数为 {@code null} 时返回 {@code true}，否则返回 {@code false}
+     * @see #containNull(Object...)
+     */
+    public static boolean containNull(final Object value1, final Object value2) {
+        return value1 == null || value2 == null;
+    }
+
+    /**
+     * <p>检查三个参数中是否包含 {@code null}，不创建可变参数数组。</p>
+     *
+     * @param value1 要检查的值
+     * @param value2 要检查的值
+     * @param value3 要检查的值
+     * @return 至少有一个参数为 {@code null} 时返回 {@code true}，否则返回 {@code false}
+     * @see #containNull(Object...)
+     */
+    public static boolean containNull(final Object value1, final Object value2, final Object value3) {
+        return value1 == null || value2 == null || value3 == null;
+    }
+
+    /**
+     * <p>检查参数中是否包含 non-{@code null} 的值。</p>
+     *
+     * <p>如果参数为 {@code null} 或 empty 或参数中的值全为 {@code null} 时返回 {@code false}，否则返回 {@code true}。</p>
+     *
+     * <pre>
+     *     ObjectAide.containNonNull(*)                = true
+     *     ObjectAide.containNonNull(*, null)          = true
+     *     ObjectAide.containNonNull(null, *)          = true
+     *     ObjectAide.anyNotNull(null, null, *, *)     = true
+     *     ObjectAide.containNonNull(null)             = false
+     *     ObjectAide.containNonNull(null, null)       = false
+     * </pre>
+     *
+     * @param values 要检查的值
+     * @return 参数中至少包含一个 non-{@code null} 的值时返回 {@code true}；
+     *          参数为 {@code null} 或 {@code empty} 或全为 {@code null} 时返回 {@code false}
+     */
+    public static boolean containNonNull(final Object... values) {
+        return firstNonNull(values) != null;
+    }
+
+    /**
+     * <p>检查参数中的值是否全部为 {@code null}。</p>
+     *
+     * @param values 要检查的值
+     * @return 全为 {@code null} 时返回 {@code true}，否则返回 {@code false}
+     */
+    public static boolean isAllNull(final Object... values) {
+        return firstNonNull(values) == null;
+    }
+
+    /**
+     * <p>检查参数中的值是否全部为 non-{@code null}。
+     *
+     * @param values 要检查的值
+     * @return 不包含 {@code null} 时返回 {@code true}，否则返回 {@code false}
+     */
+    public static boolean isAllNonNull(final Object... values) {
+        return !containNull(values);
+    }
+
+    /**
+     * <p>返回数组中第一个非 {@code null} 的元素。</p>
+     *
+     * <p>如果数组为 {@code null} 或 empty 或数组中没有非 {@code null} 的值，则返回 {@code null}。</p>
+     *
+     * <pre>
+     *     ObjectAide.firstNonNull(null, null)      = null
+     *     ObjectAide.firstNonNull(null, "")        = ""
+     *     ObjectAide.firstNonNull(null, null, "")  = ""
+     *     ObjectAide.firstNonNull(null, "zz")      = "zz"
+     *     ObjectAide.firstNonNull("abc", *)        = "abc"
+     *     ObjectAide.firstNonNull(null, "xyz", *)  = "xyz"
+     *     ObjectAide.firstNonNull(Boolean.TRUE, *) = Boolean.TRUE
+     *     ObjectAide.firstNonNull()                = null
+     * </pre>
+     *
+     * @param values 要检验的值，可以为 {@code null} 或 empty
+     * @param <T> 数组元素的类型
+     * @return {@code values} 中第一个非 {@code null} 的值，或 {@code null}
+     */
+    @SafeVarargs
+    public static <T> T firstNonNull(final T... values) {
+        if (ArrayAide.isNotEmpty(values)) {
+            for (final T value : values) {
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * <p>如果参数相等则返回 {@code true}，否则返回 {@code false}。</p>
+     *
+     * <p>
+     *     如果参数都为 {@code null}，则返回 {@code true}；
+     *     如果只有一个参数为 {@code null}，则返回 {@code false}；
+     *     如果参数都不为 {@code null}，则使用第一个参数的 {@link Object#equals(Object) equals} 方法进行比较并返回。
+     * </p>
+     *
+     * <pre>
+     *     ObjectAide.equals(null, null)                  = true
+     *     ObjectAide.equals(null, "")                    = false
+     *     ObjectAide.equals("", null)                    = false
+     *     ObjectAide.equals("", "")                      = true
+     *     ObjectAide.equals(Boolean.TRUE, null)          = false
+     *     ObjectAide.equals(Boolean.TRUE, "true")        = false
+     *     ObjectAide.equals(Boolean.TRUE, Boolean.TRUE)  = true
+     *     ObjectAide.equals(Boolean.TRUE, Boolean.FALSE) = false
+     * </pre>
+     *
+     * @param a 一个对象
+     * @param b 一个与 {@code a} 进行相等性比较的对象
+     * @return 相等为 {@code true}，否则 {@code false}
+     * @see Objects#equals(Object, Object)
+     */
+    public static boolean equals(Object a, Object b) {
+        return Objects.equals(a, b);
+    }
+
+    /**
+     * <p>与 {@link #equals(Object, Object)} 相反。</p>
+     *
+     * <pre>
+     *     ObjectAide.notEquals(null, null)                  = false
+     *     ObjectAide.notEquals(null, "")                    = true
+     *     ObjectAide.notEquals("", null)                    = true
+     *     ObjectAide.notEquals("", "")                      = false
+     *     ObjectAide.notEqual(Boolean.TRUE, null)          = true
+     *     ObjectAide.notEquals(Boolean.TRUE, "true")        = true
+     *     ObjectAide.notEquals(Boolean.TRUE, Boolean.TRUE)  = false
+     *     ObjectAide.notEquals(Boolean.TRUE, Boolean.FALSE) = true
+     * </pre>
+     *
+     * @param a 一个对象
+     * @param b 一个与 {@code a} 进行比较的对象
+     * @return 不相等为 {@code true}，相等为 {@code false}
+     * @see #equals(Object, Object)
+     */
+    public static boolean notEquals(Object a, Object b) {
+        return !equals(a, b);
+    }
+
+    /**
+     * <p>如果参数深层相等则返回 {@code true}，否则返回 {@code false}。两个 null 值深层相等。</p>
+     *
+     * <p>
+     *     如果两个参数为数组，则与 {@link Arrays#deepEquals(Object[], Object[]) Arrays.deepEquals} 语义相同：
+     *     先比较引用与长度，基本类型数组整体比较（Java 11 及以上版本向量化），嵌套数组递归比较。
+     *     否则使用第一个参数的 {@link Object#equals equals} 方法比较。
+     * </p>
+     *
+     * @param a 一个对象
+     * @param b 一个与 {@code a} 进行比较的独享
+     * @return 深层相等为 {@code true}，否则 {@code false}
+     * @see Objects#deepEquals(Object, Object)
+     */
+    public static boolean deepEquals(Object a, Object b) {
+        return ArrayMismatch.deepEquals(a, b);
+    }
+
+    /**
+     * <p>与 {@link #deepEquals(Object, Object)} 相反。</p>
+     *
+     * @param a 一个对象
+     * @param b 一个与 {@code a} 进行比较的对象
+     * @return 非深层相等为 {@code true}，深层相等为 {@code false}
+     * @see #deepEquals(Object, Object)
+     */
+    public static boolean notDeepEquals(Object a, Object b) {
+        return !deepEquals(a, b);
+    }
+
+    /**
+     * <p>查找两个数组中第一个不同元素的索引，{@code mismatch(a, b) == -1} 当且仅当 {@code deepEquals(a, b)}。</p>
+     *
+     * <p>基本类型数组与 {@code Arrays.mismatch} 一致（Java 11 及以上版本向量化），{@code float}、{@code double}
+     * 与 {@link Arrays#equals(float[], float[])} 一样按位比较；引用类型数组的元素按 {@link #deepEquals(Object, Object)} 比较。</p>
+     *
+     * <pre>
+     *     ObjectAide.mismatch(new int[]{1, 2, 3}, new int[]{1, 2, 3})       = -1
+     *     ObjectAide.mismatch(new int[]{1, 2, 3}, new int[]{1, 5, 3})       = 1
+     *     ObjectAide.mismatch(new int[]{1, 2}, new int[]{1, 2, 3})          = 2
+     *     ObjectAide.mismatch(new Object[]{"a", new int[]{1}},
+     *                         new Object[]{"a", new int[]{2}})              = 1
+     *     ObjectAide.mismatch(new int[]{1}, new long[]{1})                  = 0
+     *     ObjectAide.mismatch(null, null)                                   = -1
+     *     ObjectAide.mismatch(null, new int[0])                             = 0
+     * </pre>
+     *
+     * @param a 一个数组，可以为 {@code null}
+     * @param b 另一个数组，可以为 {@code null}
+     * @return 第一个不同元素的索引；较短数组是较长数组的前缀时返回较短数组的长度；
+     *         其中一个为 {@code null} 或数组类型不同（如 {@code int[]} 与 {@code long[]}）时返回 0；深层相等时返回 -1
+     * @throws IllegalArgumentException 参数不是数组
+     * @see #mismatchPath(Object, Object)
+     */
+    public static int mismatch(final Object a, final Object b) {
+        return mismatch(a, b, false);
+    }
+
+    /**
+     * <p>与 {@link #mismatch(Object, Object)} 相同，但长度很大时（默认 1048576 个元素以上，可通过系统属性
+     * {@code -Dleo.aide.parallelMismatchThreshold=<n>} 调整）拆分为多个区间，在 {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * 中并行比较。适用于比较大块的快照缓冲区等场景。</p>
+     *
+     * @param a 一个数组，可以为 {@code null}
+     * @param b 另一个数组，可以为 {@code null}
+     * @return 同 {@link #mismatch(Object, Object)}
+     * @throws IllegalArgumentException 参数不是数组
+     */
+    public static int parallelMismatch(final Object a, final Object b) {
+        return mismatch(a, b, true);
+    }
+
+    private static int mismatch(final Object a, final Object b, final boolean parallel) {
+        final int kind1 = a == null ? ArrayMismatch.NONE : ArrayMismatch.kind(a);
+        final int kind2 = b == null ? ArrayMismatch.NONE : ArrayMismatch.kind(b);
+        if ((a != null && kind1 == ArrayMismatch.NONE) || (b != null && kind2 == ArrayMismatch.NONE)) {
+            throw new IllegalArgumentException("The arguments must be arrays: "
+                    + (a == null ? null : a.getClass().getName()) + ", " + (b == null ? null : b.getClass().getName()));
+        }
+        if (a == b) {
+            return -1;
+        } else if (a == null || b == null || kind1 != kind2) {
+            return 0;
+        }
+        return ArrayMismatch.mismatch(a, b, kind1, parallel);
+    }
+
+    /**
+     * <p>查找两个对象深层比较时第一个不同之处的索引路径：引用类型数组中对应的元素是相同类型的数组时继续深入。</p>
+     *
+     * <pre>
+     *     ObjectAide.mismatchPath(new int[]{1, 2}, new int[]{1, 2})                 = null
+     *     ObjectAide.mismatchPath(new int[]{1, 2}, new int[]{1, 3})                 = [1]
+     *     ObjectAide.mismatchPath(new Object[]{"a", new int[][]{{1}, {2, 3}}},
+     *                             new Object[]{"a", new int[][]{{1}, {2, 4}}})      = [1, 1, 1]
+     *     ObjectAide.mismatchPath(new Object[]{"a", "b"}, new Object[]{"a", "c"})   = [1]
+     *     ObjectAide.mismatchPath(new int[]{1}, new int[]{1, 2})                    = [1]
+     *     ObjectAide.mismatchPath("a", "b")                                         = []
+     *     ObjectAide.mismatchPath("a", "a")                                         = null
+     * </pre>
+     *
+     * @param a 一个对象，可以为 {@code null}
+     * @param b 另一个对象，可以为 {@code null}
+     * @return 从外到内的索引路径；{@code a} 与 {@code b} 本身即不同（不是相同类型的数组）时返回空数组；
+     *         深层相等时返回 {@code null}
+     * @see #mismatch(Object, Object)
+     */
+    public static int[] mismatchPath(final Object a, final Object b) {
+        return ArrayMismatch.mismatchPath(a, b);
+    }
+
+    /**
+     * <p>按字典序比较两个相同类型的数组，{@code null} 小于 non-{@code null}。</p>
+     *
+     * <p>基本类型数组先找到第一个不同的元素，再按对应包装类型的 {@code compare} 比较该元素（{@code byte} 等为有符号比较）；
+     * 引用类型数组的元素按 {@link Comparable#compareTo(Object)} 比较，嵌套数组递归比较，{@code null} 元素小于 non-{@code null}。
+     * 公共前缀相同时较短的数组较小。</p>
+     *
+     * <pre>
+     *     ObjectAide.compareArrays(new int[]{1, 2}, new int[]{1, 3})            &lt; 0
+     *     ObjectAide.compareArrays(new int[]{1, 2}, new int[]{1, 2})            = 0
+     *     ObjectAide.compareArrays(new int[]{1, 2, 0}, new int[]{1, 2})         &gt; 0
+     *     ObjectAide.compareArrays(new String[]{"a", "b"}, new String[]{"b"})   &lt; 0
+     *     ObjectAide.compareArrays(null, new int[0])                           &lt; 0
+     * </pre>
+     *
+     * @param a 一个数组，可以为 {@code null}
+     * @param b 另一个数组，可以为 {@code null}
+     * @return 如果 a &lt; b 返回负数；如果 a = b 返回 0；如果 a &gt; b 返回正数
+     * @throws IllegalArgumentException 参数不是数组或数组类型不同
+     * @throws ClassCastException 引用类型数组中的元素不可比较
+     */
+    public static int compareArrays(final Object a, final Object b) {
+        if (a == b) {
+            return 0;
+        }
+        final int kind1 = a == null ? ArrayMismatch.NONE : ArrayMismatch.kind(a);
+        final int kind2 = b == null ? ArrayMismatch.NONE : ArrayMismatch.kind(b);
+        if ((a != null && kind1 == ArrayMismatch.NONE) || (b != null && kind2 == ArrayMismatch.NONE)
+                || (a != null && b != null && kind1 != kind2)) {
+            throw new IllegalArgumentException("The arguments must be arrays of the same type: "
+                    + (a == null ? null : a.getClass().getName()) + ", " + (b == null ? null : b.getClass().getName()));
+        }
+        if (a == null) {
+            return -1;
+        } else if (b == null) {
+            return 1;
+        }
+        return ArrayMismatch.compare(a, b, kind1);
+    }
+
+    /**
+     * <p>比较多个对象是否相等。</p>
+     *
+     * <pre>
+     *     ObjectAide.allEquals(null)                        = true
+     *     ObjectAide.allEquals()                            = true
+     *     ObjectAide.allEquals("a")                         = true
+     *     ObjectAide.allEquals(null, null)                  = true
+     *     ObjectAide.allEquals(null, "")                    = false
+     *     ObjectAide.allEquals("a", "a")                    = true
+     *     ObjectAide.allEquals("a", "b")                    = false
+     *     ObjectAide.allEquals(Boolean.TRUE, true)          = true
+     *     ObjectAide.allEquals(Boolean.TRUE, "true")        = false
+     *     ObjectAide.allEquals(Boolean.TRUE, Boolean.TRUE)  = true
+     *     ObjectAide.allEquals(Boolean.TRUE, Boolean.FALSE) = false
+     * </pre>
+     *
+     * @param values 要比较的对象
+     * @return 若所有对象均相等，则返回 {@code true}，否则返回 {@code false}，
+     * 			values 为 {@code null} 或  empty 或只有一个对象时返回 {@code true}
+     */
+    public static boolean allEquals(final Object... values) {
+        if (ArrayAide.length(values) <= 1) {
+            return true;
+        }
+        for (int i = 0; i < values.length; i ++) {
+            if (notEquals(values[i], values[i + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>如果传递的object为 {@code null}，则返回指定的默认值。</p>
+     *
+     * <pre>
+     *     ObjectAide.defaultIfNull(null, null)      = null
+     *     ObjectAide.defaultIfNull(null, "")        = ""
+     *     ObjectAide.defaultIfNull(null, "zz")      = "zz"
+     *     ObjectAide.defaultIfNull("abc", *)        = "abc"
+     *     ObjectAide.defaultIfNull(Boolean.TRUE, *) = Boolean.TRUE
+     *     ObjectAide.defaultIfNull(ObjectAide.NULL, *) = ObjectAide.NULL
+     * </pre>
+     *
+     * @param <T> 所传递的value的类型
+     * @param value 要判断的对象
+     * @param defaultValue 当object为 {@code null} 时返回的默认值
+     * @return 当所传递的object为 {@code null} 时，返回defaultValue，否则直接返回object
+     */
+    public static <T> T defaultIfNull(final T value, final T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * <p>将 {@code null} 替换为 {@link #NULL} 占位符，用于在不允许 {@code null} 的容器中存储 {@code null}。</p>
+     *
+     * <pre>
+     *     ObjectAide.maskNull(null)  = ObjectAide.NULL
+     *     ObjectAide.maskNull("abc") = "abc"
+     * </pre>
+     *
+     * @param value 一个对象
+     * @return {@link #NULL} 或 参数本身
+     * @see #unmaskNull(Object)
+     */
+    public static Object maskNull(final Object value) {
+        return value == null ? NULL : value;
+    }
+
+    /**
+     * <p>将 {@link #NULL} 占位符还原为 {@code null}，是 {@link #maskNull(Object)} 的逆操作。</p>
+     *
+     * <pre>
+     *     ObjectAide.unmaskNull(ObjectAide.NULL) = null
+     *     ObjectAide.unmaskNull(null)            = null
+     *     ObjectAide.unmaskNull("abc")           = "abc"
+     * </pre>
+     *
+     * @param value 一个对象
+     * @param <T> 还原后的类型
+     * @return {@code null} 或 参数本身
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T unmaskNull(final Object value) {
+        return value == NULL ? null : (T) value;
+    }
+
+    /**
+     * <p>参数为 {@code null} 时返回 0，否则返回其 hash code。</p>
+     *
+     * @param object 一个对象
+     * @return hash code 或 0
+     * @see Objects#hashCode(Object)
+     */
+    public static int hashCode(Object object) {
+        return Objects.hashCode(object);
+    }
+
+    /**
+     * <p>为多个参数生成一个 hash code。</p>
+     *
+     * @param objects 一个或多个对象
+     * @return hash code
+     * @see Objects#hash(Object...)
+     */
+    public static int hash(Object... objects) {
+        return Objects.hash(objects);
+    }
+
+    /**
+     * <p>参数为 {@code null} 时返回 {@code "null"}，否则调用其 {@code toString} 方法返回。</p>
+     *
+     * @param object 一个对象
+     * @return {@code "null"} 或 参数的 {@code toString} 方法返回值
+     * @see Objects#toString(Object)
+     */
+    public static String toString(Object object) {
+        return Objects.toString(object);
+    }
+
+    /**
+     * <p>第一个参数为 {@code null} 时返回第二个参数指定的值，否则使用第一个参数的 {@code toString} 方法返回。</p>
+     *
+     * @param object 一个对象
+     * @param nullDefault 当 {@code object} 为 {@code null} 时的默认值
+     * @return {@code nullDefault} 或 {@code object} 的 {@code toString}
+     * @see Objects#toString(Object, String)
+     */
+    public static String toString(Object object, String nullDefault) {
+        return Objects.toString(object, nullDefault);
+    }
+
+    /**
+     * <p>如果参数 {@code a} 和 {@code b} 相等（==），则返回 0，否则使用参数 {@code c} 指定的比较器进行运算并返回。</p>
+     *
+     * @param a 一个对象
+     * @param b 一个与 {@code a} 进行比较的对象
+     * @param c 比较器
+     * @param <T> {@code a} 和 {@code b} 的类型
+     * @return 0 或 使用 {@code c} 的比较结果
+     * @see Objects#compare(Object, Object, Comparator)
+     */
+    public static <T> int compare(T a, T b, Comparator<? super T> c) {
+        return Objects.compare(a, b ,c);
+    }
+
+    /**
+     * <p>比较两个对象的大小，{@code null} 小于 non-{@code null}。</p>
+     *
+     * @param a 一个可比较的对象
+     * @param b 另一个可比较的对象
+     * @param <T> 参数类型
+     * @return 如果 a &lt; b 返回负数；如果 a = b 返回 0；如果 a &gt; b 返回正数
+     */
+    public static <T extends Comparable<? super T>> int compare(final T a, final T b) {
+        return compare(a, b, false);
+    }
+
+    /**
+     * <p>比较两个对象的大小。</p>
+     *
+     * @param a 一个可比较的对象
+     * @param b 另一个可比较的对象
+     * @param nullGreater 如果为 {@code true} 则认为 {@code null} 大于 non-{@code null} ，反之 non-{@code null} 大于 {@code null}。
+     * @param <T> 参数类型
+     * @return 如果 a &lt; b 返回负数；如果 a = b 返回 0；如果 a &gt; b 返回正数
+     */
+    public static <T extends Comparable<? super T>> int compare(final T a, final T b, boolean nullGreater) {
+        if (a == b) {
+            return 0;
+        } else if (a == null) {
+            return nullGreater ? 1 : -1;
+        } else if (b == null) {
+            return nullGreater ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * <p>创建按多个字段排序的比较器的构建器，{@code int}、{@code long}、{@code double} 字段不装箱比较，
+     * 引用类型字段的 {@code null} 规则与 {@link #compare(Comparable, Comparable, boolean)} 相同。</p>
+     *
+     * <pre>
+     * Comparator&lt;Person&gt; order = ObjectAide.comparator(Person.class)
+     *         .comparing(Person::getLastName, true)
+     *         .comparingInt(Person::getAge).reversed()
+     *         .build();
+     * </pre>
+     *
+     * @param type 被比较的对象类型，仅用于推断泛型参数
+     * @param <T> 被比较的对象类型
+     * @return 构建器
+     * @see ComparatorBuilder
+     */
+    public static <T> ComparatorBuilder<T> comparator(final Class<T> type) {
+        return new ComparatorBuilder<>();
+    }
+
+    /**
+     * <p>返回参数中的最小对象。</p>
+     *
+     * @param values 可比较的对象集
+     * @param <T> 参数类型
+     * @return
+     *  <ul>
+     *      <li>如果所有对象都 non-{@code null} 且不相等，返回最小对象</li>
+     *      <li>如果所有对象都 non-{@code null} 且相等，返回第一个对象</li>
+     *      <li>如果存在 {@code null} 对象，则 non-{@code null} 对象较小</li>
+     *      <li>如果所有对象都为 {@code null}，则返回 {@code null}</li>
+     *  </ul>
+     */
+    @SafeVarargs
+    public static <T extends Comparable<? super T>> T min(final T... values) {
+        T result = null;
+        if (ArrayAide.isNotEmpty(values)) {
+            for (final T value : values) {
+                if (compare(value, result, true) < 0) {
+                    result = value;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>返回参数中的最大对象。</p>
+     *
+     * @param values 可比较的对象集
+     * @param <T> 参数类型
+     * @return
+     *  <ul>
+     *      <li>如果所有对象都 non-{@code null} 且不相等，返回最大对象</li>
+     *      <li>如果所有对象都 non-{@code null} 且相等，返回第一个对象</li>
+     *      <li>如果存在 {@code null} 对象，则 non-{@code null} 对象较大</li>
+     *      <li>如果所有对象都为 {@code null}，则返回 {@code null}</li>
+     *  </ul>
+     */
+    @SafeVarargs
+    public static <T extends Comparable<? super T>> T max(final T... values) {
+        T result = null;
+        if (ArrayAide.isNotEmpty(values)) {
+            for (final T value : values) {
+                if (compare(value, result, false) > 0) {
+                    result = value;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>返回迭代器中最小的 {@code k} 个对象，按升序排列。</p>
+     *
+     * <p>与 {@link #min(Comparable[])} 一样 non-{@code null} 对象较小，只有 non-{@code null} 对象不足 {@code k} 个时结果中才会出现 {@code null}。
+     * 只维护一个大小为 {@code k} 的堆，适合数以百万计的流式数据：时间复杂度 O(n log k)，内存与 n 无关。</p>
+     *
+     * <pre>
+     * ObjectAide.minK(Arrays.asList(5, null, 3, 9, 1).iterator(), 3)     = [1, 3, 5]
+     * ObjectAide.minK(Arrays.asList(5, null).iterator(), 3)              = [5, null]
+     * ObjectAide.minK(Collections.emptyIterator(), 3)                    = []
+     * </pre>
+     *
+     * @param iterator 迭代器，不能为 {@code null}
+     * @param k 最多返回的对象个数，不能为负数
+     * @param <T> 元素类型
+     * @return 最小的 {@code k} 个对象，可修改
+     */
+    public static <T extends Comparable<? super T>> List<T> minK(final Iterator<? extends T> iterator, final int k) {
+        checkTopKArguments(iterator, k);
+        return TopK.of(iterator, k, false);
+    }
+
+    /**
+     * <p>返回 {@link Spliterator} 中剩余元素里最小的 {@code k} 个对象，按升序排列，规则同 {@link #minK(Iterator, int)}。</p>
+     *
+     * @param spliterator 分割迭代器，不能为 {@code null}
+     * @param k 最多返回的对象个数，不能为负数
+     * @param <T> 元素类型
+     * @return 最小的 {@code k} 个对象，可修改
+     */
+    public static <T extends Comparable<? super T>> List<T> minK(final Spliterator<? extends T> spliterator, final int k) {
+        checkTopKArguments(spliterator, k);
+        return TopK.of(spliterator, k, false);
+    }
+
+    /**
+     * <p>返回流中最小的 {@code k} 个对象，按升序排列，规则同 {@link #minK(Iterator, int)}。</p>
+     *
+     * <p>并行流的每个分段各自保留最小的 {@code k} 个对象，最后合并。</p>
+     *
+     * @param stream 流，不能为 {@code null}
+     * @param k 最多返回的对象个数，不能为负数
+     * @param <T> 元素类型
+     * @return 最小的 {@code k} 个对象，可修改
+     */
+    public static <T extends Comparable<? super T>> List<T> minK(final Stream<? extends T> stream, final int k) {
+        checkTopKArguments(stream, k);
+        return TopK.of(stream, k, false);
+    }
+
+    /**
+     * <p>返回迭代器中最大的 {@code k} 个对象，按降序排列。</p>
+     *
+     * <p>与 {@link #max(Comparable[])} 一样 non-{@code null} 对象较大，只有 non-{@code null} 对象不足 {@code k} 个时结果中才会出现 {@code null}。
+     * 只维护一个大小为 {@code k} 的堆，时间复杂度 O(n log k)，内存与 n 无关。</p>
+     *
+     * <pre>
+     * ObjectAide.maxK(Arrays.asList(5, null, 3, 9, 1).iterator(), 3)     = [9, 5, 3]
+     * ObjectAide.maxK(Arrays.asList(5, null).iterator(), 3)              = [5, null]
+     * </pre>
+     *
+     * @param iterator 迭代器，不能为 {@code null}
+     * @param k 最多返回的对象个数，不能为负数
+     * @param <T> 元素类型
+     * @return 最大的 {@code k} 个对象，可修改
+     */
+    public static <T extends Comparable<? super T>> List<T> maxK(final Iterator<? extends T> iterator, final int k) {
+        checkTopKArguments(iterator, k);
+        return TopK.of(iterator, k, true);
+    }
+
+    /**
+     * <p>返回 {@link Spliterator} 中剩余元素里最大的 {@code k} 个对象，按降序排列，规则同 {@link #maxK(Iterator, int)}。</p>
+     *
+     * @param spliterator 分割迭代器，不能为 {@code null}
+     * @param k 最多返回的对象个数，不能为负数
+     * @param <T> 元素类型
+     * @return 最大的 {@code k} 个对象，可修改
+     */
+    public static <T extends Comparable<? super T>> List<T> maxK(final Spliterator<? extends T> spliterator, final int k) {
+        checkTopKArguments(spliterator, k);
+        return TopK.of(spliterator, k, true);
+    }
+
+    /**
+     * <p>返回流中最大的 {@code k} 个对象，按降序排列，规则同 {@link #maxK(Iterator, int)}。</p>
+     *
+     * <p>并行流的每个分段各自保留最大的 {@code k} 个对象，最后合并。</p>
+     *
+     * @param stream 流，不能为 {@code null}
+     * @param k 最多返回的对象个数，不能为负数
+     * @param <T> 元素类型
+     * @return 最大的 {@code k} 个对象，可修改
+     */
+    public static <T extends Comparable<? super T>> List<T> maxK(final Stream<? extends T> stream, final int k) {
+        checkTopKArguments(stream, k);
+        return TopK.of(stream, k, true);
+    }
+
+    private static void checkTopKArguments(final Object source, final int k) {
+        AssertAide.notNull(source, "The source is null.");
+        AssertAide.isTrue(k >= 0, "The k must not be negative: %s", k);
+    }
+
+    /**
+     * <p>获取对象默认的 {@code toString} 方法计算的文本，当参数为 {@code null} 时返回 {@code null}。</p>
+     *
+     * 格式为：
+     * <pre>
+     *     object.getClass().getName() + '@' + Integer.toHexString(hashCode())
+     * </pre>
+     *
+     * <pre>
+     *     ObjectAide.identityString(null)         = null
+     *     ObjectAide.identityString("")           = "java.lang.String@4ee285c6"
+     *     ObjectAide.identityString(Boolean.TRUE) = "java.lang.Boolean@5b80350b"
+     * </pre>
+     *
+     * @param object 一个对象
+     * @return 对象默认 {@code toString} 文本
+     */
+    public static String defaultIdentity(final Object object) {
+        if (object == null) {
+            return null;
+        }
+        return object.getClass().getName() + '@' + Integer.toHexString(hashCode(object));
+    }
+
+    /**
+     * <p>估算对象本身在堆中占用的字节数（shallow size），不包括其引用的对象。</p>
+     *
+     * <p>对象头、引用大小与对齐字节数按当前虚拟机是否启用压缩指针确定，各类的字段布局只计算一次并缓存。</p>
+     *
+     * <pre>
+     *     ObjectAide.shallowSizeOf(null)          = 0
+     *     ObjectAide.shallowSizeOf(new byte[100]) = 120       // 压缩指针下：16 字节数组头 + 100，按 8 字节对齐
+     *     ObjectAide.shallowSizeOf(1L)            = 24
+     * </pre>
+     *
+     * @param object 一个对象
+     * @return 对象本身占用的字节数，{@code null} 为 0
+     */
+    public static long shallowSizeOf(final Object object) {
+        return ObjectSizer.shallowSizeOf(object);
+    }
+
+    /**
+     * <p>估算对象及其可达的全部对象在堆中占用的字节数（retained size 的上界），可用于按字节而不是按个数限制缓存。</p>
+     *
+     * <p>以 identity 判断对象是否已计算，共享或循环引用的对象只计算一次；类对象、枚举常量、类加载器与线程被全局共享，不计入。
+     * Java 9 以上无法读取字段的 JDK 内部集合按元素个数估算其内部结构，详见 {@link #deepSizeOf(Object, int, int)}。</p>
+     *
+     * <pre>
+     *     ObjectAide.deepSizeOf(null)                       = 0
+     *     ObjectAide.deepSizeOf("abc")                      = 48    // Java 17，压缩指针：String 24 + byte[3] 24
+     *     ObjectAide.deepSizeOf(new String[]{"abc", "abc"}) = 72    // 同一字符串只计算一次
+     * </pre>
+     *
+     * @param object 一个对象
+     * @return 估算的字节数
+     */
+    public static long deepSizeOf(final Object object) {
+        return ObjectSizer.deepSizeOf(object, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * <p>估算对象及其在 {@code maxDepth} 层引用以内可达的对象占用的字节数。</p>
+     *
+     * @param object 一个对象
+     * @param maxDepth 最大遍历深度，0 表示只计算 {@code object} 本身（同 {@link #shallowSizeOf(Object)}）
+     * @return 估算的字节数
+     */
+    public static long deepSizeOf(final Object object, final int maxDepth) {
+        return deepSizeOf(object, maxDepth, 0);
+    }
+
+    /**
+     * <p>估算对象占用的字节数，对大数组与大集合抽样：元素个数超过 {@code sampleSize} 时，
+     * 等间隔地只计算约 {@code sampleSize} 个元素（及其可达的对象），再按元素个数比例推算整体，
+     * 对元素大小相近的大型缓存可以用很小的代价得到足够准确的估算。</p>
+     *
+     * <pre>
+     *     // 约计算 64 个值，推算 100 万个条目的大小
+     *     long bytes = ObjectAide.deepSizeOf(cache, Integer.MAX_VALUE, 64);
+     * </pre>
+     *
+     * <p>Java 9 以上版本中，未向本模块开放的 JDK 内部类（如 {@code HashMap}、{@code ArrayList}）无法读取字段：
+     * 字符串按其编码精确计算；{@link java.util.Collection} 与 {@link java.util.Map} 按元素个数估算内部数组与节点，
+     * 再遍历其中的元素；其它此类对象只计算实例本身。</p>
+     *
+     * @param object 一个对象
+     * @param maxDepth 最大遍历深度，0 表示只计算 {@code object} 本身
+     * @param sampleSize 抽样的元素个数，小于等于 0 时不抽样
+     * @return 估算的字节数
+     */
+    public static long deepSizeOf(final Object object, final int maxDepth, final int sampleSize) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The maxDepth must not be negative: " + maxDepth);
+        }
+        return ObjectSizer.deepSizeOf(object, maxDepth, sampleSize);
+    }
+
+    /**
+     * <p>克隆对象</p>
+     *
+     * @param src 要克隆的源对象，当为 {@code null} 时返回 {@code null}
+     * @param <T> 对象类型
+     * @return 如果对象实现了 {@link Cloneable} 则返回其克隆，否则返回 {@code null}
+     * @throws CloneException 当对象可克隆（cloneable）但克隆失败时抛出此异常
+     */
+    public static <T> T clone(final T src) throws CloneException {
+        if (AideMonitor.ENABLED) {
+            return AideMonitor.clone(src);
+        }
+        return cloneObject(src);
+    }
+
+    static <T> T cloneObject(final T src) throws CloneException {
+        if (src instanceof Cloneable) {
+            final Object result;
+            if (src.getClass().isArray()) {
+                final Class<?> componentType = src.getClass().getComponentType();
+                if (!componentType.isPrimitive()) {
+                    result = ((Object[]) src).clone();
+                } else {
+                    int length = Array.getLength(src);
+                    result = Array.newInstance(componentType, length);
+                    while (length-- > 0) {
+                        Array.set(result, length, Array.get(src, length));
+                    }
+                }
+            } else {
+                try {
+                    final Method clone = src.getClass().getMethod("clone");
+                    result = clone.invoke(src);
+                } catch (NoSuchMethodException e) {
+                    throw new CloneException("Cloneable type " + src.getClass().getName() + " has no clone method", e);
+                } catch (IllegalAccessException e) {
+                    throw new CloneException("Cannot clone Cloneable type " + src.getClass().getName(), e);
+                } catch (InvocationTargetException e) {
+                    throw new CloneException("Exception cloning Cloneable type " + src.getClass().getName(), e.getCause());
+                }
+            }
+            @SuppressWarnings("unchecked")
+            final T checked = (T) result;
+            return checked;
+        }
+        return null;
+    }
+
+    /**
+     * <p>直接将提供的参数返回，可以防止 javac 内联常量字段。</p>
+     *
+     * 如：
+     * <pre>
+     *     public final static String MAGIC_STRING = ObjectAide.CONST("abc");
+     * </pre>
+     *
+     * <p>如果字段的值将来发生更改，则引用此字段的任何 jar 都不必重新编译。</p>
+     *
+     *
+     * @param value 要返回的值
+     * @param <T> 参数类型
+     * @return 直接将提供的参数返回
+     */
+    public static <T> T CONST(final T value) {
+        return value;
+    }
+
+    // ----- Inner classes ----- begin
+    /**
+     * 当 {@code null} 有多个意义时，用于表示 {@code null} 的占位符。
+     *
+     * <p>
+     *     例如，{@link java.util.HashMap HashMap} 中的 {@link java.util.HashMap#get(java.lang.Object) get(Object)} 方法返回 {@code null} 时，
+     *     可能是这个Map中包含了一个 {@code null}，也可能是没有匹配的key，{@link NULL} 占位符即可用于区分这两种情况。
+     * </p>
+     *
+     * <p>再如，{@link java.util.Hashtable Hashtable} 无法存储 {@code null}，可用 {@link NULL} 占位符表示 {@code null}。</p>
+     *
+     * <p>单例，可序列化。</p>
+     */
+    public static class NULL implements Serializable {
+        private static final long serialVersionUID = -3624154868651403387L;
+
+        private NULL() {
+            super();
+        }
+
+        /**
+         * 反序列化时返回单例，保证 {@code ==} 比较依然成立
+         */
+        private Object readResolve() {
+            return ObjectAide.NULL;
+        }
+
+        @Override
+        public String toString() {
+            return "NULL";
+        }
+    }
+    // ----- Inner classes ----- end
+}
@@ -0,0 +1,369 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>估算对象在堆中占用的字节数（内部使用），由 {@link ObjectAide#shallowSizeOf(Object)} 与
+ * {@link ObjectAide#deepSizeOf(Object)} 对外提供。</p>
+ *
+ * <p>启动时通过 HotSpot 诊断接口读取是否启用压缩指针（{@code UseCompressedOops}、{@code UseCompressedClassPointers}）
+ * 与对象对齐字节数（{@code ObjectAlignmentInBytes}），得到对象头、数组头与引用的大小；每个类的字段布局
+ * （实例大小与引用字段）只在第一次遇到时通过 {@link ClassValue} 计算一次。实例大小按字段紧密排列估算，
+ * 与 JDK 15 以后的字段布局一致，较早的版本可能略有偏差。</p>
+ *
+ * <p>在 Java 9 以上版本中，未向本模块开放的 JDK 内部类（如 {@code java.util.HashMap}）无法读取其字段，
+ * 对这些类：字符串按其编码精确计算，{@link Collection} 与 {@link Map} 按元素个数估算内部数组与节点，
+ * 再继续遍历其中的元素；其它类只计算实例本身。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class ObjectSizer {
+
+    /** 引用的字节数 */
+    static final int REFERENCE_SIZE;
+    /** 对象头的字节数 */
+    static final int OBJECT_HEADER;
+    /** 数组头（对象头加长度）对齐后的字节数，即数组第一个元素的偏移 */
+    static final int ARRAY_HEADER;
+    /** 对象对齐的字节数 */
+    static final int ALIGNMENT;
+
+    /** 字符串是否以 byte[] 保存（Java 9 以上），且启用了 Latin-1 紧凑编码 */
+    private static final boolean BYTE_STRINGS;
+    private static final boolean COMPACT_STRINGS;
+
+    static {
+        final boolean is64Bit = !"32".equals(System.getProperty("sun.arch.data.model"));
+        final String compressedOops = vmOption("UseCompressedOops");
+        final String compressedClassPointers = vmOption("UseCompressedClassPointers");
+        final String alignment = vmOption("ObjectAlignmentInBytes");
+        final boolean oops = compressedOops == null ? Runtime.getRuntime().maxMemory() < (32L << 30) : Boolean.parseBoolean(compressedOops);
+        final boolean classPointers = compressedClassPointers == null ? oops : Boolean.parseBoolean(compressedClassPointers);
+        REFERENCE_SIZE = is64Bit && !oops ? 8 : 4;
+        OBJECT_HEADER = is64Bit ? (classPointers ? 12 : 16) : 8;
+        ALIGNMENT = alignment == null ? 8 : Integer.parseInt(alignment);
+        // 数组元素从 8 字节边界开始
+        ARRAY_HEADER = (OBJECT_HEADER + 4 + 7) & ~7;
+
+        boolean byteStrings;
+        try {
+            byteStrings = String.class.getDeclaredField("value").getType() == byte[].class;
+        } catch (final NoSuchFieldException | RuntimeException e) {
+            byteStrings = false;
+        }
+        BYTE_STRINGS = byteStrings;
+        COMPACT_STRINGS = byteStrings && !"false".equals(vmOption("CompactStrings"));
+    }
+
+    /** {@code HashMap.Node} 等链表节点的估算大小：hash、key、value、next */
+    private static final long MAP_NODE_SIZE = align(OBJECT_HEADER + 4 + 3L * REFERENCE_SIZE);
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<Layout>() {
+        @Override
+        protected Layout computeValue(final Class<?> type) {
+            return new Layout(type);
+        }
+    };
+
+    private final int maxDepth;
+    private final int sampleSize;
+    private final Map<Object, Object> visited = new IdentityHashMap<>();
+    private Object[] stack = new Object[64];
+    private int[] depths = new int[64];
+    private int top;
+
+    private ObjectSizer(final int maxDepth, final int sampleSize) {
+        this.maxDepth = maxDepth;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * @return HotSpot 虚拟机参数的值，不是 HotSpot 或无法读取时返回 {@code null}
+     */
+    private static String vmOption(final String name) {
+        try {
+            final Class<?> type = Class.forName("com.sun.management.HotSpotDiagnosticMXBean");
+            final Object bean = ManagementFactory.class.getMethod("getPlatformMXBean", Class.class).invoke(null, type);
+            final Object option = type.getMethod("getVMOption", String.class).invoke(bean, name);
+            final Method getValue = option.getClass().getMethod("getValue");
+            getValue.setAccessible(true);
+            return (String) getValue.invoke(option);
+        } catch (final Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    static long align(final long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * @return 对象本身占用的字节数，不包括其引用的对象
+     */
+    static long shallowSizeOf(final Object object) {
+        if (object == null) {
+            return 0;
+        }
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return arraySize(type.getComponentType(), java.lang.reflect.Array.getLength(object));
+        }
+        return LAYOUTS.get(type).size;
+    }
+
+    private static int primitiveSize(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return REFERENCE_SIZE;
+        } else if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * <p>遍历 {@code root} 可达的对象图，每个对象只计算一次。</p>
+     *
+     * @param maxDepth 最大遍历深度，0 表示只计算 {@code root} 本身
+     * @param sampleSize 大于 0 时，元素个数超过它的数组与集合只抽样计算约 {@code sampleSize} 个元素，按比例推算整体
+     */
+    static long deepSizeOf(final Object root, final int maxDepth, final int sampleSize) {
+        if (root == null) {
+            return 0;
+        }
+        return new ObjectSizer(maxDepth, sampleSize).walk(root, 0);
+    }
+
+    private long walk(final Object root, final int rootDepth) {
+        final int base = top;
+        long total = 0;
+        push(root, rootDepth);
+        while (top > base) {
+            top --;
+            final Object object = stack[top];
+            final int depth = depths[top];
+            stack[top] = null;
+            if (visited.put(object, Boolean.TRUE) != null || isShared(object)) {
+                continue;
+            }
+            total += visit(object, depth);
+        }
+        return total;
+    }
+
+    private long visit(final Object object, final int depth) {
+        final Class<?> type = object.getClass();
+        final boolean expand = depth < maxDepth;
+        if (type.isArray()) {
+            final int length = java.lang.reflect.Array.getLength(object);
+            final long size = arraySize(type.getComponentType(), length);
+            if (!expand || !(object instanceof Object[])) {
+                return size;
+            }
+            final Object[] array = (Object[]) object;
+            if (sampleSize <= 0 || length <= sampleSize) {
+                for (final Object element : array) {
+                    push(element, depth + 1);
+                }
+                return size;
+            }
+            final int step = (length + sampleSize - 1) / sampleSize;
+            long sampled = 0;
+            int count = 0;
+            for (int i = 0; i < length; i += step) {
+                sampled += walk(array[i], depth + 1);
+                count ++;
+            }
+            return size + sampled * length / count;
+        }
+        if (object instanceof String) {
+            return LAYOUTS.get(String.class).size + (expand ? stringValueSize((String) object) : 0);
+        }
+        final Layout layout = LAYOUTS.get(type);
+        if (!layout.opaque || !expand) {
+            if (expand) {
+                for (final Field field : layout.references) {
+                    push(get(field, object), depth + 1);
+                }
+            }
+            return layout.size;
+        }
+        // 估算的内部数组与节点与集合本身计入同一层，其中的元素在下一层
+        if (object instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) object;
+            final int size = map.size();
+            final long internal = tableSize(size) + size * MAP_NODE_SIZE;
+            return layout.size + internal + elements(map.entrySet(), size, depth);
+        }
+        if (object instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) object;
+            final int size = collection.size();
+            return layout.size + arraySize(Object.class, size) + elements(collection, size, depth);
+        }
+        return layout.size;
+    }
+
+    /**
+     * 遍历无法读取字段的集合中的元素，{@link Map.Entry} 只计算其键和值
+     */
+    private long elements(final Collection<?> elements, final int size, final int depth) {
+        if (sampleSize <= 0 || size <= sampleSize) {
+            for (final Object element : elements) {
+                pushElement(element, depth + 1);
+            }
+            return 0;
+        }
+        final int step = (size + sampleSize - 1) / sampleSize;
+        long sampled = 0;
+        int count = 0;
+        int index = 0;
+        for (final Iterator<?> iterator = elements.iterator(); iterator.hasNext(); index ++) {
+            final Object element = iterator.next();
+            if (index % step != 0) {
+                continue;
+            }
+            if (element instanceof Map.Entry) {
+                final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+                sampled += walk(entry.getKey(), depth + 1) + walk(entry.getValue(), depth + 1);
+            } else {
+                sampled += walk(element, depth + 1);
+            }
+            count ++;
+        }
+        return count == 0 ? 0 : sampled * size / count;
+    }
+
+    private void pushElement(final Object element, final int depth) {
+        if (element instanceof Map.Entry) {
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+            push(entry.getKey(), depth);
+            push(entry.getValue(), depth);
+        } else {
+            push(element, depth);
+        }
+    }
+
+    private static long tableSize(final int size) {
+        int capacity = 16;
+        while (capacity < size / 0.75f && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return size == 0 ? 0 : arraySize(Object.class, capacity);
+    }
+
+    private static long stringValueSize(final String string) {
+        final int length = string.length();
+        if (!BYTE_STRINGS) {
+            return arraySize(char.class, length);
+        }
+        if (COMPACT_STRINGS) {
+            boolean latin1 = true;
+            for (int i = 0; i < length && latin1; i ++) {
+                latin1 = string.charAt(i) < 256;
+            }
+            if (latin1) {
+                return arraySize(byte.class, length);
+            }
+        }
+        return arraySize(byte.class, (long) length << 1);
+    }
+
+    private static long arraySize(final Class<?> componentType, final long length) {
+        return align(ARRAY_HEADER + length * primitiveSize(componentType));
+    }
+
+    /**
+     * 类对象、枚举常量、类加载器与线程被全局共享，不计入
+     */
+    private static boolean isShared(final Object object) {
+        return object instanceof Class || object instanceof Enum || object instanceof ClassLoader
+                || object instanceof Thread || object == ObjectAide.NULL;
+    }
+
+    private void push(final Object object, final int depth) {
+        if (object == null) {
+            return;
+        }
+        if (top == stack.length) {
+            stack = java.util.Arrays.copyOf(stack, top << 1);
+            depths = java.util.Arrays.copyOf(depths, top << 1);
+        }
+        stack[top] = object;
+        depths[top] = depth;
+        top ++;
+    }
+
+    private static Object get(final Field field, final Object object) {
+        try {
+            return field.get(object);
+        } catch (final IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 类的实例大小与引用字段
+     */
+    private static final class Layout {
+        final long size;
+        final Field[] references;
+        /** 存在无法读取的引用字段 */
+        final boolean opaque;
+
+        Layout(final Class<?> type) {
+            long size = OBJECT_HEADER;
+            final List<Field> references = new ArrayList<>();
+            boolean opaque = false;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    size += primitiveSize(field.getType());
+                    if (field.getType().isPrimitive() || opaque) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        references.add(field);
+                    } catch (final RuntimeException e) {
+                        // Java 9 以上未开放的模块抛出 InaccessibleObjectException
+                        opaque = true;
+                    }
+                }
+            }
+            this.size = align(size);
+            this.references = references.toArray(new Field[0]);
+            this.opaque = opaque;
+        }
+    }
+}
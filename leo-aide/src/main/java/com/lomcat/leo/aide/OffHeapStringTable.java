@@ -0,0 +1,447 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>只追加的堆外字符串表，用于在内存中保存数以亿计的短字符串（编号、SKU 等），而不在堆中创建同样多的 {@link String}。</p>
+ *
+ * <p>字符串依次写入若干个大块的直接缓冲区（{@link ByteBuffer#allocateDirect(int)}），每条记录为变长整数编码的长度与编码标记，
+ * 后跟字符数据：全部字符小于 {@code 256} 时每个字符 1 字节（Latin-1），否则每个字符 2 字节（UTF-16）。
+ * 每个字符串以一个 {@code long} 句柄（块序号与块内偏移）标识，堆中只保留缓冲区与按内容查找的开放寻址索引
+ * （句柄与哈希值两个数组），不论保存多少字符串，GC 需要扫描的对象只有寥寥几个。</p>
+ *
+ * <pre>
+ * OffHeapStringTable table = new OffHeapStringTable();
+ * long handle = table.intern("SKU-000042");
+ * table.intern("SKU-000042") == handle                     = true
+ * table.find("SKU-000042")                                 = handle
+ * table.find("SKU-404")                                    = OffHeapStringTable.NOT_FOUND
+ *
+ * OffHeapStringTable.View view = table.view();              // 可复用的享元视图
+ * CharSequenceAide.equals(view.reset(handle), "SKU-000042") = true
+ * CharSequenceAide.indexOf(view, '-')                       = 3
+ * </pre>
+ *
+ * <p>{@link View} 实现了 {@link CharSequence}，可直接用于 {@link CharSequenceAide}、{@link StringAide}、{@link Splitter} 等。
+ * 本类非线程安全：写入需由调用方同步；写入完成并安全发布后，可由多个线程并发读取（每个线程使用各自的视图）。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class OffHeapStringTable {
+
+    /** {@link #find(CharSequence)} 未找到时返回的句柄 */
+    public static final long NOT_FOUND = -1L;
+
+    /** 默认的块大小：16 MiB */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 24;
+
+    private static final int INITIAL_INDEX_CAPACITY = 1 << 10;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private int position;
+    private long bytes;
+    private int size;
+
+    /** 开放寻址索引：句柄加 1（0 表示空槽），不建索引时为 {@code null} */
+    private long[] slots;
+    /** 与 {@link #slots} 对应的哈希值，用于快速排除与扩容时重新定位 */
+    private int[] hashes;
+    private int indexed;
+
+    /**
+     * 使用默认块大小并建立内容索引
+     */
+    public OffHeapStringTable() {
+        this(DEFAULT_CHUNK_SIZE, true);
+    }
+
+    /**
+     * @param chunkSize 每个直接缓冲区的字节数，超过它的字符串单独占用一个块
+     * @param indexed 是否建立按内容查找的索引；不建立时 {@link #find(CharSequence)} 与 {@link #intern(CharSequence)} 不可用，
+     *                可节省每个字符串 12 字节以上的堆内存
+     */
+    public OffHeapStringTable(final int chunkSize, final boolean indexed) {
+        if (chunkSize < 16) {
+            throw new IllegalArgumentException("The chunkSize must be at least 16: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        if (indexed) {
+            this.slots = new long[INITIAL_INDEX_CAPACITY];
+            this.hashes = new int[INITIAL_INDEX_CAPACITY];
+        }
+    }
+
+    // ----- Write ----- begin
+    /**
+     * <p>追加一个字符串，即使表中已有相同内容。建立了索引时，内容第一次出现的句柄被记入索引。</p>
+     *
+     * @param sequence 字符序列，不能为 {@code null}
+     * @return 新字符串的句柄
+     */
+    public long add(final CharSequence sequence) {
+        final long handle = append(sequence);
+        if (slots != null) {
+            final int hash = CharSequenceAccess.hashCode(sequence);
+            if (lookup(sequence, hash) < 0) {
+                insert(handle, hash);
+            }
+        }
+        return handle;
+    }
+
+    /**
+     * <p>返回内容相同的已有字符串的句柄，不存在时追加并记入索引。</p>
+     *
+     * @param sequence 字符序列，不能为 {@code null}
+     * @return 句柄
+     * @throws IllegalStateException 未建立索引
+     */
+    public long intern(final CharSequence sequence) {
+        requireIndex();
+        final int hash = CharSequenceAccess.hashCode(sequence);
+        final long found = lookup(sequence, hash);
+        if (found >= 0) {
+            return found;
+        }
+        final long handle = append(sequence);
+        insert(handle, hash);
+        return handle;
+    }
+
+    private long append(final CharSequence sequence) {
+        final int length = sequence.length();
+        if (length >= 1 << 30) {
+            throw new IllegalArgumentException("The sequence is too long: " + length);
+        }
+        boolean latin1 = true;
+        for (int i = 0; i < length && latin1; i ++) {
+            latin1 = sequence.charAt(i) < 256;
+        }
+        final int header = length << 1 | (latin1 ? 0 : 1);
+        final int headerSize = varIntSize(header);
+        final long recordSize = headerSize + (latin1 ? (long) length : (long) length << 1);
+        if (recordSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The sequence is too long: " + length);
+        }
+        if (current == null || position + recordSize > current.capacity()) {
+            current = ByteBuffer.allocateDirect((int) Math.max(chunkSize, recordSize));
+            chunks.add(current);
+            position = 0;
+        }
+        final ByteBuffer buffer = current;
+        final long handle = (long) (chunks.size() - 1) << 32 | position;
+        int offset = writeVarInt(buffer, position, header);
+        if (latin1) {
+            for (int i = 0; i < length; i ++) {
+                buffer.put(offset ++, (byte) sequence.charAt(i));
+            }
+        } else {
+            for (int i = 0; i < length; i ++, offset += 2) {
+                buffer.putChar(offset, sequence.charAt(i));
+            }
+        }
+        position = offset;
+        bytes += recordSize;
+        size ++;
+        return handle;
+    }
+
+    private static int varIntSize(final int value) {
+        return value < (1 << 7) ? 1 : value < (1 << 14) ? 2 : value < (1 << 21) ? 3 : value < (1 << 28) ? 4 : 5;
+    }
+
+    private static int writeVarInt(final ByteBuffer buffer, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put(offset ++, (byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put(offset ++, (byte) value);
+        return offset;
+    }
+    // ----- Write ----- end
+
+    // ----- Read ----- begin
+    /**
+     * <p>按内容查找字符串。</p>
+     *
+     * @param sequence 字符序列，为 {@code null} 时返回 {@link #NOT_FOUND}
+     * @return 句柄，不存在时返回 {@link #NOT_FOUND}
+     * @throws IllegalStateException 未建立索引
+     */
+    public long find(final CharSequence sequence) {
+        requireIndex();
+        if (sequence == null) {
+            return NOT_FOUND;
+        }
+        final long found = lookup(sequence, CharSequenceAccess.hashCode(sequence));
+        return found < 0 ? NOT_FOUND : found;
+    }
+
+    /**
+     * @param handle 句柄
+     * @return 字符串的长度
+     */
+    public int length(final long handle) {
+        final ByteBuffer buffer = chunk(handle);
+        return readHeader(buffer, (int) handle) >>> 1;
+    }
+
+    /**
+     * @param handle 句柄
+     * @return 复制到堆中的字符串
+     */
+    public String toString(final long handle) {
+        return view(handle).toString();
+    }
+
+    /**
+     * @return 一个未指向任何字符串的视图，通过 {@link View#reset(long)} 指向字符串
+     */
+    public View view() {
+        return new View(this);
+    }
+
+    /**
+     * @param handle 句柄
+     * @return 指向 {@code handle} 的新视图
+     */
+    public View view(final long handle) {
+        return new View(this).reset(handle);
+    }
+
+    /**
+     * @return 字符串个数（包括内容重复的字符串）
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 记录占用的堆外字节数（不含块中未使用的部分）
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return 已分配的堆外字节数
+     */
+    public long capacity() {
+        long capacity = 0;
+        for (final ByteBuffer chunk : chunks) {
+            capacity += chunk.capacity();
+        }
+        return capacity;
+    }
+
+    private ByteBuffer chunk(final long handle) {
+        final int index = (int) (handle >>> 32);
+        if (handle < 0 || index >= chunks.size()) {
+            throw new IllegalArgumentException("Invalid handle: " + handle);
+        }
+        return chunks.get(index);
+    }
+
+    private static int readHeader(final ByteBuffer buffer, int offset) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            final byte b = buffer.get(offset ++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+    // ----- Read ----- end
+
+    // ----- Index ----- begin
+    private void requireIndex() {
+        if (slots == null) {
+            throw new IllegalStateException("The table is not indexed.");
+        }
+    }
+
+    private static int slot(final int hash, final int mask) {
+        final int mixed = hash * 0x9E3779B9;
+        return (mixed ^ mixed >>> 16) & mask;
+    }
+
+    /**
+     * @return 内容相同的字符串的句柄，不存在时返回 -1
+     */
+    private long lookup(final CharSequence sequence, final int hash) {
+        final long[] slots = this.slots;
+        final int mask = slots.length - 1;
+        for (int i = slot(hash, mask); ; i = (i + 1) & mask) {
+            final long slot = slots[i];
+            if (slot == 0) {
+                return -1;
+            }
+            if (hashes[i] == hash && contentEquals(slot - 1, sequence)) {
+                return slot - 1;
+            }
+        }
+    }
+
+    private void insert(final long handle, final int hash) {
+        if ((indexed + 1) << 1 > slots.length) {
+            resize();
+        }
+        final int mask = slots.length - 1;
+        int i = slot(hash, mask);
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = handle + 1;
+        hashes[i] = hash;
+        indexed ++;
+    }
+
+    private void resize() {
+        final long[] oldSlots = slots;
+        final int[] oldHashes = hashes;
+        if (oldSlots.length >= 1 << 30) {
+            throw new IllegalStateException("The index is full.");
+        }
+        final long[] newSlots = new long[oldSlots.length << 1];
+        final int[] newHashes = new int[newSlots.length];
+        final int mask = newSlots.length - 1;
+        for (int j = 0; j < oldSlots.length; j ++) {
+            if (oldSlots[j] == 0) {
+                continue;
+            }
+            int i = slot(oldHashes[j], mask);
+            while (newSlots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            newSlots[i] = oldSlots[j];
+            newHashes[i] = oldHashes[j];
+        }
+        slots = newSlots;
+        hashes = newHashes;
+    }
+
+    private boolean contentEquals(final long handle, final CharSequence sequence) {
+        final ByteBuffer buffer = chunks.get((int) (handle >>> 32));
+        int offset = (int) handle;
+        final int header = readHeader(buffer, offset);
+        final int length = header >>> 1;
+        if (length != sequence.length()) {
+            return false;
+        }
+        offset += varIntSize(header);
+        if ((header & 1) == 0) {
+            for (int i = 0; i < length; i ++) {
+                if ((char) (buffer.get(offset + i) & 0xFF) != sequence.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = 0; i < length; i ++) {
+                if (buffer.getChar(offset + (i << 1)) != sequence.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    // ----- Index ----- end
+
+    // ----- Inner classes ----- begin
+    /**
+     * <p>指向表中一个字符串的享元视图，通过 {@link #reset(long)} 重复使用，不复制字符数据。</p>
+     *
+     * <p>视图非线程安全。{@link #subSequence(int, int)} 与 {@link #toString()} 返回堆中的字符串副本；
+     * 视图不重写 {@code equals}/{@code hashCode}，比较内容请使用 {@link CharSequenceAide#equals(CharSequence, CharSequence)}。</p>
+     */
+    public static final class View implements CharSequence {
+        private final OffHeapStringTable table;
+        private ByteBuffer buffer;
+        private int offset;
+        private int length;
+        private boolean latin1 = true;
+        private long handle = NOT_FOUND;
+
+        private View(final OffHeapStringTable table) {
+            this.table = table;
+        }
+
+        /**
+         * @param handle 句柄
+         * @return 当前视图
+         */
+        public View reset(final long handle) {
+            final ByteBuffer buffer = table.chunk(handle);
+            final int header = readHeader(buffer, (int) handle);
+            this.buffer = buffer;
+            this.offset = (int) handle + varIntSize(header);
+            this.length = header >>> 1;
+            this.latin1 = (header & 1) == 0;
+            this.handle = handle;
+            return this;
+        }
+
+        /**
+         * @return 当前指向的句柄，未指向任何字符串时返回 {@link #NOT_FOUND}
+         */
+        public long handle() {
+            return handle;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length) {
+                throw new StringIndexOutOfBoundsException("index " + index + ", length " + length);
+            }
+            return latin1 ? (char) (buffer.get(offset + index) & 0xFF) : buffer.getChar(offset + (index << 1));
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+            }
+            return copy(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return copy(0, length);
+        }
+
+        private String copy(final int start, final int end) {
+            final char[] chars = new char[end - start];
+            for (int i = start; i < end; i ++) {
+                chars[i - start] = charAt(i);
+            }
+            return new String(chars);
+        }
+    }
+    // ----- Inner classes ----- end
+}
@@ -0,0 +1,392 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>数值数据的近似分位数草图（KLL sketch），内存有界、可合并，用于在数以亿计的流式数据上估计百分位数。</p>
+ *
+ * <p>草图由若干层压缩器组成，第 h 层的每个值代表 2<sup>h</sup> 个原始值；某一层满时将其排序，随机保留奇数位或偶数位的一半提升到上一层。
+ * 第 h 层的容量为 {@code k·(2/3)}<sup>H-1-h</sup>（不小于 8），H 为层数，保留的值总数约为 {@code 3k}，与数据量无关。
+ * 估计的分位数的秩误差约为 {@code 2 / k}（{@code k = 200} 时约 1%，以高概率成立）。</p>
+ *
+ * <p>{@link #merge(QuantileSketch)} 将另一个草图的各层直接并入后再压缩，结果与在同一个草图中依次写入全部数据的精度相同，
+ * 因此可以由多个线程（或多台机器）各自统计一部分数据后合并：</p>
+ *
+ * <pre>
+ * QuantileSketch latency = new QuantileSketch();
+ * latency.update(12.5);
+ * ...
+ * latency.quantile(0.5)                 // 中位数
+ * latency.quantiles(0.9, 0.99, 0.999)  // p90、p99、p999
+ * latency.rank(100.0)                   // 不超过 100 的比例
+ *
+ * QuantileSketch merged = values.parallel()      // DoubleStream
+ *         .collect(QuantileSketch::new, QuantileSketch::update, QuantileSketch::merge);
+ * </pre>
+ *
+ * <p>{@code NaN} 被忽略。非线程安全，多个线程写入时应各自使用一个草图再合并。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class QuantileSketch {
+
+    /** 默认精度参数 */
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_K = 8;
+    private static final int MAX_K = 1 << 16;
+    /** 每层的最小容量 */
+    private static final int MIN_CAPACITY = 8;
+
+    private final int k;
+    private double[][] levels;
+    private int[] sizes;
+    /** 各层的容量，层数变化时重新计算 */
+    private int[] capacities;
+    private int levelCount;
+    /** 各层容量之和 */
+    private int capacity;
+    /** 各层保留的值的个数之和 */
+    private int retained;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long random;
+
+    /** 排好序的保留值及其累计权重，写入或合并后失效 */
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * @param k 精度参数，取值范围为 [8, 65536]，越大越精确，内存约为 {@code 3k} 个 {@code double}
+     */
+    public QuantileSketch(final int k) {
+        AssertAide.isTrue(k >= MIN_K && k <= MAX_K, "The k must be in [%s, %s]: %s", MIN_K, MAX_K, k);
+        this.k = k;
+        this.levels = new double[][] {new double[MIN_CAPACITY]};
+        this.sizes = new int[1];
+        this.capacities = new int[1];
+        this.levelCount = 1;
+        this.capacities[0] = levelCapacity(0);
+        this.capacity = capacities[0];
+        this.random = ThreadLocalRandom.current().nextLong() | 1;
+    }
+
+    // ----- Update ----- begin
+    /**
+     * 写入一个值，{@code NaN} 被忽略
+     *
+     * @param value 值
+     */
+    public void update(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else if (value < min) {
+            min = value;
+        } else if (value > max) {
+            max = value;
+        }
+        count ++;
+        append(0, value);
+        retained ++;
+        sortedValues = null;
+        if (retained > capacity) {
+            compress();
+        }
+    }
+
+    /**
+     * 将另一个草图的数据并入本草图，{@code other} 不变
+     *
+     * @param other 另一个草图，不能为 {@code null}
+     */
+    public void merge(final QuantileSketch other) {
+        AssertAide.notNull(other, "The other sketch is null.");
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0 || other.min < min) {
+            min = other.min;
+        }
+        if (count == 0 || other.max > max) {
+            max = other.max;
+        }
+        final int otherLevels = other.levelCount;
+        final int[] otherSizes = other.sizes.clone();
+        while (levelCount < otherLevels) {
+            addLevel();
+        }
+        for (int h = 0; h < otherLevels; h ++) {
+            final int n = otherSizes[h];
+            ensureCapacity(h, sizes[h] + n);
+            System.arraycopy(other.levels[h], 0, levels[h], sizes[h], n);
+            sizes[h] += n;
+            retained += n;
+        }
+        count += other.count;
+        sortedValues = null;
+        compress();
+    }
+    // ----- Update ----- end
+
+    // ----- Query ----- begin
+    /**
+     * @return 写入的值的个数（不包括 {@code NaN}）
+     */
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return 精确的最小值，为空时返回 {@code NaN}
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * @return 精确的最大值，为空时返回 {@code NaN}
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * @return 精度参数
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * <p>估计分位数：返回一个值，使不超过它的值约占全部值的 {@code fraction}。</p>
+     *
+     * <p>{@code fraction} 为 0 与 1 时分别返回精确的最小值与最大值。</p>
+     *
+     * @param fraction 比例，取值范围为 [0, 1]
+     * @return 分位数，为空时返回 {@code NaN}
+     */
+    public double quantile(final double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("The fraction must be in [0, 1]: " + fraction);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0) {
+            return min;
+        }
+        if (fraction == 1) {
+            return max;
+        }
+        sortedView();
+        final long target = (long) Math.ceil(fraction * count);
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return sortedValues[Math.min(index, sortedValues.length - 1)];
+    }
+
+    /**
+     * 同时估计多个分位数，见 {@link #quantile(double)}
+     *
+     * @param fractions 比例，取值范围均为 [0, 1]
+     * @return 与 {@code fractions} 一一对应的分位数
+     */
+    public double[] quantiles(final double... fractions) {
+        final double[] quantiles = new double[fractions.length];
+        for (int i = 0; i < fractions.length; i ++) {
+            quantiles[i] = quantile(fractions[i]);
+        }
+        return quantiles;
+    }
+
+    /**
+     * 估计不超过 {@code value} 的值所占的比例（归一化的秩）
+     *
+     * @param value 值
+     * @return 比例，取值范围为 [0, 1]，为空时返回 {@code NaN}
+     */
+    public double rank(final double value) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        sortedView();
+        // 最后一个不超过 value 的位置
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sortedValues[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low == 0 ? 0.0 : (double) cumulativeWeights[low - 1] / count;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch[k=" + k + ", count=" + count + ", retained=" + retained + ", levels=" + levelCount
+                + ", min=" + min + ", max=" + max + ']';
+    }
+    // ----- Query ----- end
+
+    // ----- Compaction ----- begin
+    /**
+     * 第 h 层的容量：最高层为 k，每往下一层乘以 2/3
+     */
+    private int levelCapacity(final int level) {
+        final double scaled = k * Math.pow(2.0 / 3.0, levelCount - 1 - level);
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(scaled));
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount + 1);
+            sizes = Arrays.copyOf(sizes, levelCount + 1);
+            capacities = Arrays.copyOf(capacities, levelCount + 1);
+        }
+        levels[levelCount] = new double[MIN_CAPACITY];
+        levelCount ++;
+        int total = 0;
+        for (int h = 0; h < levelCount; h ++) {
+            capacities[h] = levelCapacity(h);
+            total += capacities[h];
+        }
+        capacity = total;
+    }
+
+    /**
+     * 不断压缩最低的已满的层，直到保留的值的总数不超过总容量
+     */
+    private void compress() {
+        while (retained > capacity) {
+            int level = 0;
+            while (sizes[level] < capacities[level]) {
+                level ++;
+            }
+            if (level + 1 == levelCount) {
+                addLevel();
+            }
+            compact(level);
+        }
+    }
+
+    /**
+     * 将第 {@code level} 层排序后随机保留奇数位或偶数位的值提升到上一层；个数为奇数时最小的值留在本层
+     */
+    private void compact(final int level) {
+        final double[] items = levels[level];
+        final int n = sizes[level];
+        Arrays.sort(items, 0, n);
+        final int keep = n & 1;
+        final int promoted = (n - keep) >>> 1;
+        ensureCapacity(level + 1, sizes[level + 1] + promoted);
+        final double[] upper = levels[level + 1];
+        int to = sizes[level + 1];
+        for (int i = keep + nextBit(); i < n; i += 2) {
+            upper[to ++] = items[i];
+        }
+        sizes[level + 1] = to;
+        sizes[level] = keep;
+        retained -= n - keep - promoted;
+    }
+
+    private void append(final int level, final double value) {
+        ensureCapacity(level, sizes[level] + 1);
+        levels[level][sizes[level] ++] = value;
+    }
+
+    private void ensureCapacity(final int level, final int required) {
+        final double[] items = levels[level];
+        if (required > items.length) {
+            levels[level] = Arrays.copyOf(items, Math.max(required, items.length + (items.length >>> 1)));
+        }
+    }
+
+    /**
+     * xorshift 伪随机位，决定压缩时保留奇数位还是偶数位
+     */
+    private int nextBit() {
+        long x = random;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        random = x;
+        return (int) (x >>> 63);
+    }
+
+    /**
+     * 构建排好序的保留值及其累计权重
+     */
+    private void sortedView() {
+        if (sortedValues != null) {
+            return;
+        }
+        final double[] values = new double[retained];
+        final long[] weights = new long[retained];
+        int size = 0;
+        for (int h = 0; h < levelCount; h ++) {
+            final int n = sizes[h];
+            if (n == 0) {
+                continue;
+            }
+            final double[] level = Arrays.copyOf(levels[h], n);
+            Arrays.sort(level);
+            // 与已合并的部分做一次归并，从后往前写入，无需额外的缓冲区
+            int i = size - 1;
+            int j = n - 1;
+            int to = size + n - 1;
+            final long weight = 1L << h;
+            while (j >= 0) {
+                if (i >= 0 && values[i] > level[j]) {
+                    values[to] = values[i];
+                    weights[to --] = weights[i --];
+                } else {
+                    values[to] = level[j --];
+                    weights[to --] = weight;
+                }
+            }
+            size += n;
+        }
+        for (int i = 1; i < size; i ++) {
+            weights[i] += weights[i - 1];
+        }
+        this.cumulativeWeights = weights;
+        this.sortedValues = values;
+    }
+    // ----- Compaction ----- end
+}
@@ -0,0 +1,532 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.Arrays;
+
+/**
+ * <p>不可变的绳索（rope）字符序列，适合在大文本中间反复插入、删除。</p>
+ *
+ * <p>内容按块（叶子，每块 {@value #MIN_LEAF} 至 {@value #MAX_LEAF} 个字符）保存在一棵平衡 B 树中，所有叶子深度相同，
+ * 每个分支节点有 {@value #MIN_CHILDREN} 至 {@value #MAX_CHILDREN} 个子节点（根节点除外）。
+ * {@link #insert(int, CharSequence)}、{@link #delete(int, int)}、{@link #subSequence(int, int)}、{@link #charAt(int)}
+ * 的时间复杂度均为 O(log n)，与文本长度几乎无关；{@link StringBuilder} 在中间插入、删除则需要移动其后的全部字符。</p>
+ *
+ * <p>每次修改都返回新的 {@code Rope}，未受影响的叶子与分支在新旧版本之间共享，因此保留任意版本作为快照几乎没有额外开销，
+ * 并且可以在线程间自由传递。</p>
+ *
+ * <pre>
+ * Rope document = Rope.of(largeText);
+ * Rope snapshot = document;
+ * document = document.insert(1_000_000, "插入的段落").delete(20, 40);
+ * snapshot.length() == largeText.length()           = true
+ * CharSequenceAide.indexOf(document, "插入的段落")     = 999980
+ * </pre>
+ *
+ * <p>{@link CharSequenceAide} 与 {@link StringAide} 能识别 {@code Rope}：{@code indexOf}、{@code isBlank} 直接逐块扫描叶子，
+ * {@code equals}、{@code regionMatches}、{@code compare} 等通过 {@link #getChars(int, int, char[], int)} 批量复制叶子，
+ * 都不会逐字符调用 {@link #charAt(int)}。</p>
+ *
+ * <p>与 {@link String} 一样，{@link #equals(Object)} 与另一个内容相同的 {@code Rope} 相等，{@link #hashCode()}
+ * 与内容相同的 {@link String#hashCode()} 相等；与其它字符序列比较内容请使用 {@link #contentEquals(CharSequence)}。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class Rope implements CharSequence {
+
+    /** 非根叶子的最小字符数 */
+    static final int MIN_LEAF = 512;
+    /** 叶子的最大字符数 */
+    static final int MAX_LEAF = 1024;
+    /** 非根分支的最小子节点数 */
+    static final int MIN_CHILDREN = 8;
+    /** 分支的最大子节点数 */
+    static final int MAX_CHILDREN = 16;
+
+    /** 空序列 */
+    public static final Rope EMPTY = new Rope(new Leaf(new char[0]));
+
+    private final Node root;
+
+    /** 缓存的哈希值，0 表示尚未计算（与 {@link String} 相同） */
+    private int hash;
+
+    private Rope(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param sequence 字符序列，不能为 {@code null}
+     * @return 内容相同的绳索，{@code sequence} 本身是 {@code Rope} 时直接返回
+     */
+    public static Rope of(final CharSequence sequence) {
+        if (sequence instanceof Rope) {
+            return (Rope) sequence;
+        }
+        final int length = sequence.length();
+        return length == 0 ? EMPTY : new Rope(build(sequence, 0, length));
+    }
+
+    // ----- Modification ----- begin
+    /**
+     * @param index 插入位置
+     * @param text 插入的文本，不能为 {@code null}
+     * @return 插入后的新绳索
+     * @throws IndexOutOfBoundsException {@code index} 超出 [0, {@link #length()}]
+     */
+    public Rope insert(final int index, final CharSequence text) {
+        checkIndex(index);
+        return replace(index, index, text);
+    }
+
+    /**
+     * @param text 追加的文本，不能为 {@code null}
+     * @return 追加后的新绳索
+     */
+    public Rope append(final CharSequence text) {
+        return replace(root.length, root.length, text);
+    }
+
+    /**
+     * @param start 开始索引（包含）
+     * @param end 结束索引（不包含）
+     * @return 删除 [{@code start}, {@code end}) 后的新绳索
+     * @throws IndexOutOfBoundsException 区域超出范围
+     */
+    public Rope delete(final int start, final int end) {
+        return replace(start, end, StringAide.EMPTY);
+    }
+
+    /**
+     * <p>以 {@code text} 替换 [{@code start}, {@code end}) 区域，{@code text} 本身是 {@code Rope} 时共享其节点而不复制。</p>
+     *
+     * @param start 开始索引（包含）
+     * @param end 结束索引（不包含）
+     * @param text 替换的文本，不能为 {@code null}
+     * @return 替换后的新绳索
+     * @throws IndexOutOfBoundsException 区域超出范围
+     */
+    public Rope replace(final int start, final int end, final CharSequence text) {
+        checkRegion(start, end);
+        final Rope middle = of(text);
+        if (start == end && middle.root.length == 0) {
+            return this;
+        }
+        Node node = start == 0 ? middle.root : concat(slice(root, 0, start), middle.root);
+        if (end < root.length) {
+            node = concat(node, slice(root, end, root.length));
+        }
+        return node.length == 0 ? EMPTY : new Rope(node);
+    }
+    // ----- Modification ----- end
+
+    @Override
+    public int length() {
+        return root.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= root.length) {
+            throw new StringIndexOutOfBoundsException("index " + index + ", length " + root.length);
+        }
+        Node node = root;
+        int offset = index;
+        while (node.height > 0) {
+            final Branch branch = (Branch) node;
+            final int i = branch.childIndex(offset);
+            offset -= branch.starts[i];
+            node = branch.children[i];
+        }
+        return ((Leaf) node).chars[offset];
+    }
+
+    /**
+     * @return 与当前绳索共享节点的子序列，时间复杂度 O(log n)
+     */
+    @Override
+    public Rope subSequence(final int start, final int end) {
+        checkRegion(start, end);
+        if (start == 0 && end == root.length) {
+            return this;
+        }
+        return start == end ? EMPTY : new Rope(slice(root, start, end));
+    }
+
+    /**
+     * <p>将 [{@code srcBegin}, {@code srcEnd}) 的字符复制到 {@code dst} 的 {@code dstBegin} 处，与 {@link String#getChars(int, int, char[], int)} 一致。</p>
+     */
+    public void getChars(final int srcBegin, final int srcEnd, final char[] dst, final int dstBegin) {
+        checkRegion(srcBegin, srcEnd);
+        if (dstBegin < 0 || dstBegin > dst.length - (srcEnd - srcBegin)) {
+            throw new IndexOutOfBoundsException("dstBegin " + dstBegin + ", count " + (srcEnd - srcBegin) + ", dst length " + dst.length);
+        }
+        getChars(root, srcBegin, srcEnd, dst, dstBegin);
+    }
+
+    /**
+     * @param sequence 任意字符序列
+     * @return 内容与 {@code sequence} 相同时返回 {@code true}
+     */
+    public boolean contentEquals(final CharSequence sequence) {
+        return CharSequenceAide.equals(this, sequence);
+    }
+
+    /**
+     * @return 与另一个内容相同的 {@code Rope} 相等
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Rope)) {
+            return false;
+        }
+        final Rope other = (Rope) o;
+        return other.root.length == root.length && (hash == 0 || other.hash == 0 || hash == other.hash)
+                && CharSequenceAccess.mismatch(false, this, 0, other, 0, root.length) < 0;
+    }
+
+    /**
+     * @return 与内容相同的 {@link String#hashCode()} 相等
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && root.length > 0) {
+            h = hash(root, 0);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        final char[] chars = new char[root.length];
+        getChars(root, 0, root.length, chars, 0);
+        return new String(chars);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index > root.length) {
+            throw new StringIndexOutOfBoundsException("index " + index + ", length " + root.length);
+        }
+    }
+
+    private void checkRegion(final int start, final int end) {
+        if (start < 0 || end > root.length || start > end) {
+            throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + root.length);
+        }
+    }
+
+    // ----- Search ----- begin
+    /**
+     * <p>逐块查找字符 {@code ch}（不是增补字符）在 [{@code from}, {@code to}) 中首次出现的索引，供 {@link CharSequenceAccess} 使用。</p>
+     *
+     * @return 索引，不存在时返回 -1
+     */
+    int indexOf(final int ch, final int from, final int to) {
+        return from < to ? indexOf(root, ch, from, to) : -1;
+    }
+
+    /**
+     * <p>逐块查找 [{@code from}, {@code to}) 中第一个非空白字符的索引，供 {@link CharSequenceAccess} 使用。</p>
+     *
+     * @return 索引，不存在时返回 -1
+     */
+    int indexOfNonWhitespace(final int from, final int to) {
+        return from < to ? indexOfNonWhitespace(root, from, to) : -1;
+    }
+
+    private static int indexOf(final Node node, final int ch, final int from, final int to) {
+        if (node.height == 0) {
+            final char[] chars = ((Leaf) node).chars;
+            for (int i = from; i < to; i ++) {
+                if (chars[i] == ch) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final Branch branch = (Branch) node;
+        for (int i = branch.childIndex(from); i < branch.children.length && branch.starts[i] < to; i ++) {
+            final int start = branch.starts[i];
+            final Node child = branch.children[i];
+            final int found = indexOf(child, ch, Math.max(from - start, 0), Math.min(to - start, child.length));
+            if (found >= 0) {
+                return start + found;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfNonWhitespace(final Node node, final int from, final int to) {
+        if (node.height == 0) {
+            final char[] chars = ((Leaf) node).chars;
+            for (int i = from; i < to; i ++) {
+                if (!Character.isWhitespace(chars[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final Branch branch = (Branch) node;
+        for (int i = branch.childIndex(from); i < branch.children.length && branch.starts[i] < to; i ++) {
+            final int start = branch.starts[i];
+            final Node child = branch.children[i];
+            final int found = indexOfNonWhitespace(child, Math.max(from - start, 0), Math.min(to - start, child.length));
+            if (found >= 0) {
+                return start + found;
+            }
+        }
+        return -1;
+    }
+
+    private static void getChars(final Node node, final int from, final int to, final char[] dst, final int dstBegin) {
+        if (node.height == 0) {
+            System.arraycopy(((Leaf) node).chars, from, dst, dstBegin, to - from);
+            return;
+        }
+        final Branch branch = (Branch) node;
+        for (int i = branch.childIndex(from); i < branch.children.length && branch.starts[i] < to; i ++) {
+            final int start = branch.starts[i];
+            final Node child = branch.children[i];
+            final int childFrom = Math.max(from - start, 0);
+            getChars(child, childFrom, Math.min(to - start, child.length), dst, dstBegin + start + childFrom - from);
+        }
+    }
+
+    private static int hash(final Node node, int hash) {
+        if (node.height == 0) {
+            for (final char c : ((Leaf) node).chars) {
+                hash = 31 * hash + c;
+            }
+            return hash;
+        }
+        for (final Node child : ((Branch) node).children) {
+            hash = hash(child, hash);
+        }
+        return hash;
+    }
+    // ----- Search ----- end
+
+    // ----- Tree ----- begin
+    /**
+     * 将 [{@code start}, {@code end}) 的字符均匀地分成叶子，再逐层均匀地分组为分支，所有非根节点都满足最小容量
+     */
+    private static Node build(final CharSequence sequence, final int start, final int end) {
+        final int length = end - start;
+        int count = (length + MAX_LEAF - 1) / MAX_LEAF;
+        Node[] nodes = new Node[count];
+        for (int i = 0; i < count; i ++) {
+            final int from = start + (int) ((long) length * i / count);
+            final int to = start + (int) ((long) length * (i + 1) / count);
+            final char[] chars = new char[to - from];
+            CharSequenceAccess.getChars(sequence, from, to, chars, 0);
+            nodes[i] = new Leaf(chars);
+        }
+        while (count > 1) {
+            final int groups = (count + MAX_CHILDREN - 1) / MAX_CHILDREN;
+            final Node[] parents = new Node[groups];
+            for (int i = 0; i < groups; i ++) {
+                parents[i] = new Branch(Arrays.copyOfRange(nodes, count * i / groups, count * (i + 1) / groups));
+            }
+            nodes = parents;
+            count = groups;
+        }
+        return nodes[0];
+    }
+
+    /**
+     * @return 表示 {@code node} 中 [{@code start}, {@code end}) 的子树（{@code start < end}），完整包含的子节点直接共享
+     */
+    private static Node slice(final Node node, final int start, final int end) {
+        if (start == 0 && end == node.length) {
+            return node;
+        }
+        if (node.height == 0) {
+            return new Leaf(Arrays.copyOfRange(((Leaf) node).chars, start, end));
+        }
+        final Branch branch = (Branch) node;
+        Node result = null;
+        for (int i = branch.childIndex(start); i < branch.children.length && branch.starts[i] < end; i ++) {
+            final int childStart = branch.starts[i];
+            final Node child = branch.children[i];
+            final Node part = slice(child, Math.max(start - childStart, 0), Math.min(end - childStart, child.length));
+            result = result == null ? part : concat(result, part);
+        }
+        return result;
+    }
+
+    /**
+     * <p>连接两棵子树，返回的树仍满足 B 树约束，高度为两者中较高者或再加一。</p>
+     *
+     * <p>较矮的一棵沿较高一棵的左（右）边界下降到相同高度后合并，沿途只复制边界上的分支，其余节点共享。</p>
+     */
+    private static Node concat(final Node left, final Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        if (left.height < right.height) {
+            final Node[] children = ((Branch) right).children;
+            if (left.height == right.height - 1 && left.isFull()) {
+                return merge(new Node[] {left}, 0, 1, children, 0, children.length);
+            }
+            final Node node = concat(left, children[0]);
+            if (node.height == right.height - 1) {
+                return merge(new Node[] {node}, 0, 1, children, 1, children.length);
+            }
+            final Node[] nodeChildren = ((Branch) node).children;
+            return merge(nodeChildren, 0, nodeChildren.length, children, 1, children.length);
+        }
+        if (left.height > right.height) {
+            final Node[] children = ((Branch) left).children;
+            final int last = children.length - 1;
+            if (right.height == left.height - 1 && right.isFull()) {
+                return merge(children, 0, children.length, new Node[] {right}, 0, 1);
+            }
+            final Node node = concat(children[last], right);
+            if (node.height == left.height - 1) {
+                return merge(children, 0, last, new Node[] {node}, 0, 1);
+            }
+            final Node[] nodeChildren = ((Branch) node).children;
+            return merge(children, 0, last, nodeChildren, 0, nodeChildren.length);
+        }
+        if (left.isFull() && right.isFull()) {
+            return new Branch(new Node[] {left, right});
+        }
+        if (left.height == 0) {
+            return mergeLeaves((Leaf) left, (Leaf) right);
+        }
+        final Node[] children1 = ((Branch) left).children;
+        final Node[] children2 = ((Branch) right).children;
+        return merge(children1, 0, children1.length, children2, 0, children2.length);
+    }
+
+    /**
+     * 将两组同高度的节点合并为一个分支，超过 {@link #MAX_CHILDREN} 时分为两个分支再加一层
+     */
+    private static Node merge(final Node[] nodes1, final int from1, final int to1,
+                              final Node[] nodes2, final int from2, final int to2) {
+        final int count1 = to1 - from1;
+        final int count = count1 + to2 - from2;
+        final Node[] nodes = new Node[count];
+        System.arraycopy(nodes1, from1, nodes, 0, count1);
+        System.arraycopy(nodes2, from2, nodes, count1, to2 - from2);
+        if (count <= MAX_CHILDREN) {
+            return new Branch(nodes);
+        }
+        final int split = Math.min(MAX_CHILDREN, count - MIN_CHILDREN);
+        return new Branch(new Node[] {
+                new Branch(Arrays.copyOfRange(nodes, 0, split)),
+                new Branch(Arrays.copyOfRange(nodes, split, count))
+        });
+    }
+
+    /**
+     * 合并两个叶子，超过 {@link #MAX_LEAF} 时平分为两个叶子
+     */
+    private static Node mergeLeaves(final Leaf left, final Leaf right) {
+        final int length = left.length + right.length;
+        final char[] chars = Arrays.copyOf(left.chars, length);
+        System.arraycopy(right.chars, 0, chars, left.length, right.length);
+        if (length <= MAX_LEAF) {
+            return new Leaf(chars);
+        }
+        final int half = length >>> 1;
+        return new Branch(new Node[] {
+                new Leaf(Arrays.copyOfRange(chars, 0, half)),
+                new Leaf(Arrays.copyOfRange(chars, half, length))
+        });
+    }
+
+    private abstract static class Node {
+
+        final int length;
+        /** 叶子为 0 */
+        final int height;
+
+        Node(final int length, final int height) {
+            this.length = length;
+            this.height = height;
+        }
+
+        /**
+         * @return 满足非根节点的最小容量
+         */
+        abstract boolean isFull();
+    }
+
+    private static final class Leaf extends Node {
+
+        /** 创建后不再修改，可被多个版本共享 */
+        final char[] chars;
+
+        Leaf(final char[] chars) {
+            super(chars.length, 0);
+            this.chars = chars;
+        }
+
+        @Override
+        boolean isFull() {
+            return length >= MIN_LEAF;
+        }
+    }
+
+    private static final class Branch extends Node {
+
+        final Node[] children;
+        /** 各子节点第 0 个字符相对于本节点的索引 */
+        final int[] starts;
+
+        Branch(final Node[] children) {
+            super(sum(children), children[0].height + 1);
+            this.children = children;
+            this.starts = new int[children.length];
+            for (int i = 1; i < children.length; i ++) {
+                starts[i] = starts[i - 1] + children[i - 1].length;
+            }
+        }
+
+        private static int sum(final Node[] children) {
+            int length = 0;
+            for (final Node child : children) {
+                length += child.length;
+            }
+            return length;
+        }
+
+        @Override
+        boolean isFull() {
+            return children.length >= MIN_CHILDREN;
+        }
+
+        /**
+         * @return 包含 {@code index} 处字符的子节点下标
+         */
+        int childIndex(final int index) {
+            final int found = Arrays.binarySearch(starts, index);
+            return found >= 0 ? found : -found - 2;
+        }
+    }
+    // ----- Tree ----- end
+}
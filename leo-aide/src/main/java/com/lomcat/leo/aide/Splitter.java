@@ -0,0 +1,370 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>字符序列拆分器，按单个字符、固定字符串或字符集合拆分任意 {@link CharSequence}，不使用正则表达式。</p>
+ *
+ * <p>拆分是惰性的：通过 {@link #cursor(CharSequence)} 获得的 {@link Cursor} 每次 {@link Cursor#next()} 只查找下一个分隔符，
+ * 以 {@link Cursor#start()}/{@link Cursor#end()} 给出分段在输入中的位置，或以 {@link Cursor#token()} 给出零拷贝的分段视图。
+ * 游标可通过 {@link Cursor#reset(CharSequence)} 重复用于多行输入，只需要前几个字段时也不必拆分整行。</p>
+ *
+ * <pre>
+ * Splitter.on(',').split("a,b,,c")                               = ["a", "b", "", "c"]
+ * Splitter.on(',').omitEmpty().split("a,b,,c")                   = ["a", "b", "c"]
+ * Splitter.on(',').trim().split(" a , b ")                       = ["a", "b"]
+ * Splitter.on("::").split("a::b::c")                             = ["a", "b", "c"]
+ * Splitter.onAnyOf(",;").split("a,b;c")                          = ["a", "b", "c"]
+ * Splitter.on(',').limit(2).split("a,b,c")                       = ["a", "b,c"]
+ * Splitter.on(',').split("")                                     = [""]
+ * Splitter.on(',').split("a,")                                   = ["a", ""]
+ *
+ * Splitter.Cursor cursor = Splitter.on(',').cursor(line);
+ * while (cursor.next()) {
+ *     CharSequence field = cursor.token();
+ * }
+ * </pre>
+ *
+ * <p>与 {@link String#split(String)} 不同，结尾的空分段会被保留，需要时使用 {@link #omitEmpty()}。
+ * {@code Splitter} 是不可变对象，可以作为常量在多个线程间共享；{@code Cursor} 非线程安全。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class Splitter {
+
+    private static final int CHAR = 0;
+    private static final int STRING = 1;
+    private static final int ANY_OF = 2;
+
+    private final int kind;
+    private final char separatorChar;
+    private final CharSequence separator;
+    /** 字符集合中 Latin-1 字符的位图 */
+    private final long[] latin1;
+    private final boolean trim;
+    private final boolean omitEmpty;
+    private final int limit;
+
+    private Splitter(final int kind, final char separatorChar, final CharSequence separator, final long[] latin1,
+                     final boolean trim, final boolean omitEmpty, final int limit) {
+        this.kind = kind;
+        this.separatorChar = separatorChar;
+        this.separator = separator;
+        this.latin1 = latin1;
+        this.trim = trim;
+        this.omitEmpty = omitEmpty;
+        this.limit = limit;
+    }
+
+    /**
+     * @param separator 分隔字符
+     * @return 按字符 {@code separator} 拆分的拆分器
+     */
+    public static Splitter on(final char separator) {
+        return new Splitter(CHAR, separator, null, null, false, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param separator 分隔字符串，不能为 {@code null} 或 {@code empty}
+     * @return 按固定字符串 {@code separator} 拆分的拆分器
+     */
+    public static Splitter on(final CharSequence separator) {
+        AssertAide.notEmpty(separator, "The separator is empty.");
+        if (separator.length() == 1) {
+            return on(separator.charAt(0));
+        }
+        return new Splitter(STRING, '\0', separator.toString(), null, false, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param separators 分隔字符集合，其中任一字符都作为分隔符，不能为 {@code null} 或 {@code empty}
+     * @return 按字符集合拆分的拆分器
+     */
+    public static Splitter onAnyOf(final CharSequence separators) {
+        AssertAide.notEmpty(separators, "The separators is empty.");
+        if (separators.length() == 1) {
+            return on(separators.charAt(0));
+        }
+        final long[] latin1 = new long[4];
+        for (int i = 0; i < separators.length(); i ++) {
+            final char c = separators.charAt(i);
+            if (c < 256) {
+                latin1[c >>> 6] |= 1L << c;
+            }
+        }
+        return new Splitter(ANY_OF, '\0', separators.toString(), latin1, false, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return 去掉每个分段首尾空白字符（由 {@link Character#isWhitespace(char)} 定义）的拆分器
+     */
+    public Splitter trim() {
+        return new Splitter(kind, separatorChar, separator, latin1, true, omitEmpty, limit);
+    }
+
+    /**
+     * @return 忽略空分段（在 {@link #trim()} 之后判断）的拆分器
+     */
+    public Splitter omitEmpty() {
+        return new Splitter(kind, separatorChar, separator, latin1, trim, true, limit);
+    }
+
+    /**
+     * <p>限制分段个数，达到 {@code limit} 时最后一个分段包含剩余的全部内容，不再拆分。</p>
+     *
+     * <p>同时使用 {@link #omitEmpty()} 时，最后一个分段从剩余内容中第一个非空分段开始，其前面的空分段被跳过，
+     * 与 Guava 的 {@code Splitter} 一致；剩余内容中间的分隔符与空分段原样保留。同时使用 {@link #trim()} 时，
+     * 最后一个分段与其他分段一样去掉首尾空白（Guava 在前一个分段为空时只去掉结尾的空白）：</p>
+     *
+     * <pre>
+     * Splitter.on(',').limit(1).split(",aa")                         = [",aa"]
+     * Splitter.on(',').omitEmpty().limit(1).split(",aa")             = ["aa"]
+     * Splitter.on(',').omitEmpty().limit(2).split("a,,b,,c")         = ["a", "b,,c"]
+     * Splitter.on(',').trim().omitEmpty().limit(2).split("a, ,b, c ") = ["a", "b, c"]
+     * Splitter.on(' ').trim().limit(2).split("a  b ")                = ["a", "b"]
+     * </pre>
+     *
+     * @param limit 最大分段个数，必须大于 0
+     * @return 限制分段个数的拆分器
+     */
+    public Splitter limit(final int limit) {
+        AssertAide.isTrue(limit > 0, "The limit must be positive: %s", limit);
+        return new Splitter(kind, separatorChar, separator, latin1, trim, omitEmpty, limit);
+    }
+
+    /**
+     * <p>创建拆分 {@code input} 的游标，游标可通过 {@link Cursor#reset(CharSequence)} 重复使用。</p>
+     *
+     * @param input 要拆分的字符序列，不能为 {@code null}
+     * @return 游标
+     */
+    public Cursor cursor(final CharSequence input) {
+        return new Cursor(this).reset(input);
+    }
+
+    /**
+     * <p>拆分 {@code input}，每个分段复制为一个新的字符串。</p>
+     *
+     * @param input 要拆分的字符序列，可以为 {@code null}
+     * @return 分段列表，{@code input} 为 {@code null} 时返回空列表
+     */
+    public List<String> split(final CharSequence input) {
+        final List<String> tokens = new ArrayList<>();
+        if (input == null) {
+            return tokens;
+        }
+        final Cursor cursor = cursor(input);
+        while (cursor.next()) {
+            tokens.add(cursor.tokenString());
+        }
+        return tokens;
+    }
+
+    /**
+     * @return 从 {@code fromIndex} 开始第一个分隔符的索引，或 {@link CharSequenceAide#INDEX_NOT_FOUND}
+     */
+    private int indexOf(final CharSequence input, final int fromIndex, final int length) {
+        switch (kind) {
+            case CHAR:
+                return CharSequenceAccess.indexOf(input, separatorChar, fromIndex, length);
+            case STRING:
+                return CharSequenceAccess.indexOf(input, separator, fromIndex);
+            default:
+                for (int i = fromIndex; i < length; i ++) {
+                    if (isSeparator(input.charAt(i))) {
+                        return i;
+                    }
+                }
+                return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+    }
+
+    private boolean isSeparator(final char c) {
+        if (c < 256) {
+            return (latin1[c >>> 6] & (1L << c)) != 0;
+        }
+        return ((String) separator).indexOf(c) >= 0;
+    }
+
+    // ----- Inner classes ----- begin
+    /**
+     * <p>拆分游标，依次定位每个分段。</p>
+     *
+     * <pre>
+     * Splitter.Cursor cursor = splitter.cursor(StringAide.EMPTY);
+     * for (String line : lines) {
+     *     cursor.reset(line);
+     *     if (cursor.next()) {
+     *         int id = CharSequenceAide.parseInt(line, cursor.start(), cursor.end());
+     *     }
+     *     if (cursor.next()) {
+     *         CharSequence name = cursor.token();
+     *     }
+     * }
+     * </pre>
+     *
+     * <p>{@link #token()} 返回的视图由游标复用，在下一次 {@link #next()} 或 {@link #reset(CharSequence)} 后失效，
+     * 需要保留时请调用 {@link #tokenString()}。</p>
+     */
+    public static final class Cursor {
+        private final Splitter splitter;
+        private final CharSequenceView view = new CharSequenceView();
+        private CharSequence input = StringAide.EMPTY;
+        private int position;
+        private int count;
+        private boolean finished;
+        private int start;
+        private int end;
+
+        private Cursor(final Splitter splitter) {
+            this.splitter = splitter;
+        }
+
+        /**
+         * <p>将游标重新指向 {@code input} 的开头。</p>
+         *
+         * @param input 要拆分的字符序列，不能为 {@code null}
+         * @return 当前游标
+         */
+        public Cursor reset(final CharSequence input) {
+            if (input == null) {
+                throw new NullPointerException("input");
+            }
+            this.input = input;
+            this.position = 0;
+            this.count = 0;
+            this.finished = false;
+            this.start = 0;
+            this.end = 0;
+            return this;
+        }
+
+        /**
+         * <p>定位到下一个分段。</p>
+         *
+         * @return 存在下一个分段时返回 {@code true}，否则 {@code false}
+         */
+        public boolean next() {
+            final Splitter splitter = this.splitter;
+            final CharSequence input = this.input;
+            final int length = input.length();
+            while (!finished) {
+                int from = position;
+                int to;
+                if (count == splitter.limit - 1) {
+                    if (splitter.omitEmpty) {
+                        from = skipEmptyTokens(from, length);
+                    }
+                    to = length;
+                    finished = true;
+                } else {
+                    final int found = splitter.indexOf(input, from, length);
+                    if (found < 0) {
+                        to = length;
+                        finished = true;
+                    } else {
+                        to = found;
+                        position = found + (splitter.kind == STRING ? splitter.separator.length() : 1);
+                    }
+                }
+                if (splitter.trim) {
+                    while (from < to && Character.isWhitespace(input.charAt(from))) {
+                        from ++;
+                    }
+                    while (to > from && Character.isWhitespace(input.charAt(to - 1))) {
+                        to --;
+                    }
+                }
+                if (splitter.omitEmpty && from == to) {
+                    continue;
+                }
+                start = from;
+                end = to;
+                count ++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return 从 {@code from} 开始第一个非空分段（按 {@link Splitter#trim()} 之后判断）的开始索引，
+         *         没有非空分段时返回最后一个分段的开始索引
+         */
+        private int skipEmptyTokens(int from, final int length) {
+            final Splitter splitter = this.splitter;
+            while (true) {
+                final int found = splitter.indexOf(input, from, length);
+                if (found < 0) {
+                    return from;
+                }
+                int start = from;
+                if (splitter.trim) {
+                    while (start < found && Character.isWhitespace(input.charAt(start))) {
+                        start ++;
+                    }
+                }
+                if (start < found) {
+                    return from;
+                }
+                from = found + (splitter.kind == STRING ? splitter.separator.length() : 1);
+            }
+        }
+
+        /**
+         * @return 当前分段在输入中的开始索引（包含）
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * @return 当前分段在输入中的结束索引（不包含）
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * @return 当前分段的序号，从 0 开始
+         */
+        public int index() {
+            return count - 1;
+        }
+
+        /**
+         * @return 当前分段的零拷贝视图，由游标复用
+         */
+        public CharSequence token() {
+            return view.reset(input, start, end);
+        }
+
+        /**
+         * @return 当前分段的字符串副本
+         */
+        public String tokenString() {
+            if (input instanceof String) {
+                return ((String) input).substring(start, end);
+            }
+            return view.reset(input, start, end).toString();
+        }
+    }
+    // ----- Inner classes ----- end
+}
@@ -1,440 +1,1473 @@
-/* 
- * Copyright Lomcat and/or its affiliates.
- * 
- * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
- * 
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *      http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, 
- * software distributed under the License is distributed on an "AS IS" BASIS, 
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
- * See the License for the specific language governing permissions and limitations under the License.
- */
-package com.lomcat.leo.aide;
-
-/**
- * 字符串操作
- *
- * <pre>
- *     {@code null}: 空
- *     {@code non-null}: 非空
- *     {@code empty}: 空串，包括 {@code null}，如""、 null
- *     {@code non-empty}: 非空 且 非空串
- *     {@code blank}: 空白，包括 {@code empty} 和 {@code null}，如"  "、 ""、 null，空白字符由 {@link Character#isWhitespace(char)} 定义
- *     {@code non-blank}: 非空 且 非空串 且 非空白
- * </pre>
- *
- * @author Kuniel - kuniel@lomcat.com
- * @since 1.0.0
- */
-public class StringAide extends CharSequenceAide {
-
-    public static final String EMPTY = "";
-
-    private StringAide() {
-        super();
-    }
-
-    /**
-     * 将字符串去掉首尾的空白字符后返回，若字符串为 {@code null} 则返回 {@code null}
-     *
-     * <pre>
-     * StringAide.trim(null)          = null
-     * StringAide.trim("")            = ""
-     * StringAide.trim("     ")       = ""
-     * StringAide.trim("abc")         = "abc"
-     * StringAide.trim("    abc    ") = "abc"
-     * </pre>
-     *
-     * @param str 字符串，可以为 {@code null}
-     * @return 去掉首尾空白字符后的字符串，或 {@code null}
-     */
-    public static String trim(final String str) {
-        return str == null ? null : str.trim();
-    }
-
-    /**
-     * 将字符串去掉首尾的空白字符后返回，若字符串为 {@code null} 或 {@code empty} 则返回 {@code null}
-     *
-     * <pre>
-     * StringAide.trimToNull(null)          = null
-     * StringAide.trimToNull("")            = null
-     * StringAide.trimToNull("     ")       = null
-     * StringAide.trimToNull("abc")         = "abc"
-     * StringAide.trimToNull("    abc    ") = "abc"
-     * </pre>
-     *
-     * @param str 字符串，可以为 {@code null}
-     * @return 去掉首尾空白字符后的字符串，或 {@code null}
-     */
-    public static String trimToNull(final String str) {
-        final String ts = trim(str);
-        return isEmpty(ts) ? null : ts;
-    }
-
-    /**
-     * 将字符串去掉首尾的空白字符后返回，若字符串为 {@code null} 或 {@code empty} 则返回 {@code empty}
-     *
-     * <pre>
-     * StringAide.trimToEmpty(null)          = ""
-     * StringAide.trimToEmpty("")            = ""
-     * StringAide.trimToEmpty("     ")       = ""
-     * StringAide.trimToEmpty("abc")         = "abc"
-     * StringAide.trimToEmpty("    abc    ") = "abc"
-     * </pre>
-     *
-     * @param str 字符串，可以为 {@code null}
-     * @return 去掉首尾空白字符后的字符串，或 {@code empty}
-     */
-    public static String trimToEmpty(final String str) {
-        return str == null ? EMPTY : str.trim();
-    }
-
-    /**
-     * <p>去掉字符串中的所有空白字符</p>
-     *
-     * @param str 字符串，可以为 {@code null}
-     * @return 去掉空白字符后的字符串，或 {@code null}
-     */
-    public static String trims(final String str) {
-        if (str == null) {
-            return null;
-        }
-        StringBuilder ts = new StringBuilder(trim(str));
-        if (isEmpty(ts)) {
-            return EMPTY;
-        }
-        for (int i = 0; i < ts.length(); i++) {
-            if (Character.isWhitespace(ts.charAt(i))) {
-                ts.deleteCharAt(i);
-            }
-        }
-        return ts.toString();
-    }
-
-    /**
-     * <p>去掉字符串中的所有空白字符，若字符串为 {@code null} 或 {@code empty} 则返回 {@code null}</p>
-     *
-     * @param str 字符串，可以为 {@code null}
-     * @return 去掉空白字符后的字符串，或 {@code null}
-     */
-    public static String trimsToNull(final String str) {
-        final String ts = trims(str);
-        return isEmpty(ts) ? null : ts;
-    }
-
-    /**
-     * <p>去掉字符串中的所有空白字符，若字符串为 {@code null} 或 {@code empty} 则返回 {@code empty}</p>
-     *
-     * @param str 字符串，可以为 {@code null}
-     * @return 去掉空白字符后的字符串，或 {@code empty}
-     */
-    public static String trimsToEmpty(final String str) {
-        return str == null ? EMPTY : trims(str);
-    }
-
-    /**
-     * <p>截取字符串，等同于 StringAide.truncate(str, 0, maxLength)</p>
-     *
-     * @param str 字符串，可为 {@code null}
-     * @param maxLength 截取的最大长度
-     * @return 截取后的字符串
-     * @see #truncate(String, int, int)
-     */
-    public static String truncate(final String str, int maxLength) {
-        return truncate(str, 0, maxLength);
-    }
-
-    /**
-     * <p>截取字符串</p>
-     *
-     * <ul>
-     *     <li>当字符串为 {@code null} 时返回 {@code null}</li>
-     *     <li>当 {@code offset} 小于 0 时，作 0 处理</li>
-     *     <li>当 {@code offset} 大于字符串长度时返回 {@code empty}</li>
-     *     <li>当 {@code maxLength} 小于 0 时返回 {@code null}</li>
-     *     <li>当 {@code maxLength} 大于字符串长度时则取到字符串最后一位</li>
-     *     <li>当截取范围（{@code offset} + {@code maxLength}）超出字符串长度时则取到字符串最后一位</li>
-     * </ul>
-     *
-     * <pre>
-     * StringAide.truncate(null, 0, 0)                                                  = null
-     * StringAide.truncate(null, 2, 4)                                                  = null
-     * StringAide.truncate("", 0, 10)                                                   = ""
-     * StringAide.truncate("", 2, 10)                                                   = ""
-     * StringAide.truncate("abcdefghij", 0, 3)                                          = "abc"
-     * StringAide.truncate("abcdefghij", 5, 6)                                          = "fghij"
-     * StringAide.truncate("raspberry peach", 10, 15)                                   = "peach"
-     * StringAide.truncate("abcdefghijklmno", 0, 10)                                    = "abcdefghij"
-     * StringAide.truncate("abcdefghijklmno", -1, 10)                                   = "abcdefghij"
-     * StringAide.truncate("abcdefghijklmno", Integer.MIN_VALUE, 10)                    = "abcdefghij"
-     * StringAide.truncate("abcdefghijklmno", Integer.MIN_VALUE, Integer.MAX_VALUE)     = "abcdefghijklmno"
-     * StringAide.truncate("abcdefghijklmno", 0, Integer.MAX_VALUE)                     = "abcdefghijklmno"
-     * StringAide.truncate("abcdefghijklmno", 1, 10)                                    = "bcdefghijk"
-     * StringAide.truncate("abcdefghijklmno", 2, 10)                                    = "cdefghijkl"
-     * StringAide.truncate("abcdefghijklmno", 5, 5)                                     = "fghij"
-     * StringAide.truncate("abcdefghijklmno", 5, 3)                                     = "fgh"
-     * StringAide.truncate("abcdefghijklmno", 10, 3)                                    = "klm"
-     * StringAide.truncate("abcdefghijklmno", 10, Integer.MAX_VALUE)                    = "klmno"
-     * StringAide.truncate("abcdefghijklmno", 13, 1)                                    = "n"
-     * StringAide.truncate("abcdefghijklmno", 13, Integer.MAX_VALUE)                    = "no"
-     * StringAide.truncate("abcdefghijklmno", 14, 1)                                    = "o"
-     * StringAide.truncate("abcdefghijklmno", 14, Integer.MAX_VALUE)                    = "o"
-     * StringAide.truncate("abcdefghijklmno", 15, 1)                                    = ""
-     * StringAide.truncate("abcdefghijklmno", 15, Integer.MAX_VALUE)                    = ""
-     * StringAide.truncate("abcdefghijklmno", Integer.MAX_VALUE, Integer.MAX_VALUE)     = ""
-     * StringAide.truncate("abcdefghij", 3, -1)                                         = null
-     * StringAide.truncate("abcdefghij", -2, 4)                                         = "abcd"
-     * </pre>
-     *
-     * @param str 字符串，可为 {@code null}
-     * @param offset 要截取的起始位置
-     * @param maxLength 截取的最大长度
-     * @return 截取后的字符串
-     */
-    public static String truncate(final String str, int offset, int maxLength) {
-        if (str == null || maxLength < 0) {
-            return null;
-        }
-        offset = Math.max(offset, 0);
-        if (offset > str.length()) {
-            return EMPTY;
-        }
-        if (maxLength >= str.length()) {
-            return str.substring(offset);
-        }
-        int endIndex = Math.min(offset + maxLength, str.length());
-        return str.substring(offset, endIndex);
-    }
-
-    /**
-     * <p>将指定字符集 {@code stripChars} 中的字符从字符串左侧移除</p>
-     *
-     * <p>当 {@code stripChars} 为 {@code null} 时，则作移除空白字符处理。</p>
-     *
-     * <p>若字符串 {@code str} 为 {@code null} 则返回 {@code null}，
-     * 若为 {@code empty} 则返回 {@code empty}。</p>
-     *
-     * <pre>
-     * StringAide.stripStart(null, *)          = null
-     * StringAide.stripStart("", *)            = ""
-     * StringAide.stripStart("abc", "")        = "abc"
-     * StringAide.stripStart("abc", null)      = "abc"
-     * StringAide.stripStart("  abc", null)    = "abc"
-     * StringAide.stripStart("abc  ", null)    = "abc  "
-     * StringAide.stripStart(" abc ", null)    = "abc "
-     * StringAide.stripStart("yxabc  ", "xyz") = "abc  "
-     * </pre>
-     *
-     * @param str 要处理的字符串，可以为 {@code null}
-     * @param stripChars 要移除的字符集
-     * @return 处理后的字符串，或 {@code null}
-     */
-    public static String stripStart(final String str, final String stripChars) {
-        int strLength = length(str);
-        if (strLength == 0) {
-            return str;
-        }
-        int start = 0;
-        if (stripChars == null) {
-            while (start < strLength && Character.isWhitespace(str.charAt(start))) {
-                start++;
-            }
-        } else if (stripChars.isEmpty()) {
-            return str;
-        } else {
-            while (start < strLength && stripChars.indexOf(str.charAt(start)) != -1) {
-                start++;
-            }
-        }
-        return str.substring(start);
-    }
-
-    /**
-     * <p>将指定字符集 {@code stripChars} 中的字符从字符串右侧移除</p>
-     *
-     * <p>当 {@code stripChars} 为 {@code null} 时，则作移除空白字符处理。</p>
-     *
-     * <p>若字符串 {@code str} 为 {@code null} 则返回 {@code null}，
-     * 若为 {@code empty} 则返回 {@code empty}。</p>
-     *
-     * <pre>
-     * StringUtils.stripEnd(null, *)          = null
-     * StringUtils.stripEnd("", *)            = ""
-     * StringUtils.stripEnd("abc", "")        = "abc"
-     * StringUtils.stripEnd("abc", null)      = "abc"
-     * StringUtils.stripEnd("  abc", null)    = "  abc"
-     * StringUtils.stripEnd("abc  ", null)    = "abc"
-     * StringUtils.stripEnd(" abc ", null)    = " abc"
-     * StringUtils.stripEnd("  abcyx", "xyz") = "  abc"
-     * StringUtils.stripEnd("120.00", ".0")   = "12"
-     * </pre>
-     *
-     * @param str 要处理的字符串，可以为 {@code null}
-     * @param stripChars 要移除的字符集
-     * @return 处理后的字符串，或 {@code null}
-     */
-    public static String stripEnd(final String str, final String stripChars) {
-        int endIndex = length(str);
-        if (endIndex == 0) {
-            return str;
-        }
-        if (stripChars == null) {
-            while (endIndex != 0 && Character.isWhitespace(str.charAt(endIndex - 1))) {
-                endIndex--;
-            }
-        } else if (stripChars.isEmpty()) {
-            return str;
-        } else {
-            while (endIndex != 0 && stripChars.indexOf(str.charAt(endIndex - 1)) != -1) {
-                endIndex--;
-            }
-        }
-        return str.substring(0, endIndex);
-    }
-
-    /**
-     * <p>将指定字符集 {@code stripChars} 中的字符从字符串两端移除</p>
-     *
-     * <p>当 {@code stripChars} 为 {@code null} 时，则作移除空白字符处理。</p>
-     *
-     * <p>若字符串 {@code str} 为 {@code null} 则返回 {@code null}，
-     * 若为 {@code empty} 则返回 {@code empty}。</p>
-     *
-     * @param str 要处理的字符串，可以为 {@code null}
-     * @param stripChars 要移除的字符集
-     * @return 处理后的字符串，或 {@code null}
-     */
-    public static String strip(String str, final String stripChars) {
-        if (isEmpty(str)) {
-            return str;
-        }
-        return stripEnd(stripStart(str, stripChars), stripChars);
-    }
-
-    /**
-     * <p>按字典顺序比较两个字符串。</p>
-     *
-     * <pre>
-     * StringAide.compare(null, null, *)     = 0
-     * StringAide.compare(null , "a", true)  &lt; 0
-     * StringAide.compare(null , "a", false) &gt; 0
-     * StringAide.compare("a", null, true)   &gt; 0
-     * StringAide.compare("a", null, false)  &lt; 0
-     * StringAide.compare("abc", "abc", *)   = 0
-     * StringAide.compare("a", "b", *)       &lt; 0
-     * StringAide.compare("b", "a", *)       &gt; 0
-     * StringAide.compare("a", "B", *)       &gt; 0
-     * StringAide.compare("ab", "abc", *)    &lt; 0
-     * </pre>
-     *
-     * @param str1 一个字符串
-     * @param str2 另一个字符串
-     * @param nullIsLess 如果为 true 则 {@code null} 小于 {@code non-null}
-     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
-     * @see #compare(String, String)
-     */
-    public static int compare(final String str1, final String str2, final boolean nullIsLess) {
-        if (equals(str1, str2)) {
-            return 0;
-        }
-        if (str1 == null) {
-            return nullIsLess ? -1 : 1;
-        }
-        if (str2 == null) {
-            return nullIsLess ? 1 : -1;
-        }
-        return str1.compareTo(str2);
-    }
-
-    /**
-     * <p>按字典顺序比较两个字符串（{@code null} 小于 {@code non-null}）。</p>
-     *
-     * <pre>
-     * StringAide.compare(null, null)   = 0
-     * StringAide.compare(null , "a")   &lt; 0
-     * StringAide.compare("a", null)    &gt; 0
-     * StringAide.compare("abc", "abc") = 0
-     * StringAide.compare("a", "b")     &lt; 0
-     * StringAide.compare("b", "a")     &gt; 0
-     * StringAide.compare("a", "B")     &gt; 0
-     * StringAide.compare("ab", "abc")  &lt; 0
-     * </pre>
-     *
-     * @param str1 一个字符串
-     * @param str2 另一个字符串
-     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
-     * @see #compare(String, String, boolean)
-     */
-    public static int compare(final String str1, final String str2) {
-        return compare(str1, str2, true);
-    }
-
-    /**
-     * <p>按字典顺序比较两个字符串，忽略大小写。</p>
-     *
-     * <pre>
-     * StringAide.compareIgnoreCase(null, null, *)     = 0
-     * StringAide.compareIgnoreCase(null , "a", true)  &lt; 0
-     * StringAide.compareIgnoreCase(null , "a", false) &gt; 0
-     * StringAide.compareIgnoreCase("a", null, true)   &gt; 0
-     * StringAide.compareIgnoreCase("a", null, false)  &lt; 0
-     * StringAide.compareIgnoreCase("abc", "abc", *)   = 0
-     * StringAide.compareIgnoreCase("abc", "ABC", *)   = 0
-     * StringAide.compareIgnoreCase("a", "b", *)       &lt; 0
-     * StringAide.compareIgnoreCase("b", "a", *)       &gt; 0
-     * StringAide.compareIgnoreCase("a", "B", *)       &lt; 0
-     * StringAide.compareIgnoreCase("A", "b", *)       &lt; 0
-     * StringAide.compareIgnoreCase("ab", "abc", *)    &lt; 0
-     * </pre>
-     *
-     * @param str1 一个字符串
-     * @param str2 另一个字符串
-     * @param nullIsLess 如果为 true 则 {@code null} 小于 {@code non-null}
-     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
-     * @see #compareIgnoreCase(String, String)
-     */
-    public static int compareIgnoreCase(final String str1, final String str2, final boolean nullIsLess) {
-        if (equals(str1, str2)) {
-            return 0;
-        }
-        if (str1 == null) {
-            return nullIsLess ? -1 : 1;
-        }
-        if (str2 == null) {
-            return nullIsLess ? 1 : -1;
-        }
-        return str1.compareToIgnoreCase(str2);
-    }
-
-    /**
-     * <p>按字典顺序比较两个字符串，忽略大小写（{@code null} 小于 {@code non-null}）。</p>
-     *
-     * <pre>
-     * StringAide.compareIgnoreCase(null, null)   = 0
-     * StringAide.compareIgnoreCase(null , "a")   &lt; 0
-     * StringAide.compareIgnoreCase("a", null)    &gt; 0
-     * StringAide.compareIgnoreCase("abc", "abc") = 0
-     * StringAide.compareIgnoreCase("abc", "ABC") = 0
-     * StringAide.compareIgnoreCase("a", "b")     &lt; 0
-     * StringAide.compareIgnoreCase("b", "a")     &gt; 0
-     * StringAide.compareIgnoreCase("a", "B")     &lt; 0
-     * StringAide.compareIgnoreCase("A", "b")     &lt; 0
-     * StringAide.compareIgnoreCase("ab", "ABC")  &lt; 0
-     * </pre>
-     *
-     * @param str1 一个字符串
-     * @param str2 另一个字符串
-     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
-     * @see #compareIgnoreCase(String, String, boolean)
-     */
-    public static int compareIgnoreCase(final String str1, final String str2) {
-        return compareIgnoreCase(str1, str2, true);
-    }
-
-
-}
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * 字符串操作
+ *
+ * <pre>
+ *     {@code null}: 空
+ *     {@code non-null}: 非空
+ *     {@code empty}: 空串，包括 {@code null}，如""、 null
+ *     {@code non-empty}: 非空 且 非空串
+ *     {@code blank}: 空白，包括 {@code empty} 和 {@code null}，如"  "、 ""、 null，空白字符由 {@link Character#isWhitespace(char)} 定义
+ *     {@code non-blank}: 非空 且 非空串 且 非空白
+ * </pre>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class StringAide extends CharSequenceAide {
+
+    public static final String EMPTY = "";
+
+    private StringAide() {
+        super();
+    }
+
+    /**
+     * 将字符串去掉首尾的空白字符后返回，若字符串为 {@code null} 则返回 {@code null}
+     *
+     * <pre>
+     * StringAide.trim(null)          = null
+     * StringAide.trim("")            = ""
+     * StringAide.trim("     ")       = ""
+     * StringAide.trim("abc")         = "abc"
+     * StringAide.trim("    abc    ") = "abc"
+     * </pre>
+     *
+     * @param str 字符串，可以为 {@code null}
+     * @return 去掉首尾空白字符后的字符串，或 {@code null}
+     */
+    public static String trim(final String str) {
+        return str == null ? null : str.trim();
+    }
+
+    /**
+     * 将字符串去掉首尾的空白字符后返回，若字符串为 {@code null} 或 {@code empty} 则返回 {@code null}
+     *
+     * <pre>
+     * StringAide.trimToNull(null)          = null
+     * StringAide.trimToNull("")            = null
+     * StringAide.trimToNull("     ")       = null
+     * StringAide.trimToNull("abc")         = "abc"
+     * StringAide.trimToNull("    abc    ") = "abc"
+     * </pre>
+     *
+     * @param str 字符串，可以为 {@code null}
+     * @return 去掉首尾空白字符后的字符串，或 {@code null}
+     */
+    public static String trimToNull(final String str) {
+        final String ts = trim(str);
+        return isEmpty(ts) ? null : ts;
+    }
+
+    /**
+     * 将字符串去掉首尾的空白字符后返回，若字符串为 {@code null} 或 {@code empty} 则返回 {@code empty}
+     *
+     * <pre>
+     * StringAide.trimToEmpty(null)          = ""
+     * StringAide.trimToEmpty("")            = ""
+     * StringAide.trimToEmpty("     ")       = ""
+     * StringAide.trimToEmpty("abc")         = "abc"
+     * StringAide.trimToEmpty("    abc    ") = "abc"
+     * </pre>
+     *
+     * @param str 字符串，可以为 {@code null}
+     * @return 去掉首尾空白字符后的字符串，或 {@code empty}
+     */
+    public static String trimToEmpty(final String str) {
+        return str == null ? EMPTY : str.trim();
+    }
+
+    /**
+     * <p>去掉字符串中的所有空白字符，空白字符由 {@link Character#isWhitespace(char)} 定义</p>
+     *
+     * <p>若字符串中不包含空白字符，则直接返回原字符串。</p>
+     *
+     * <pre>
+     * StringAide.trims(null)          = null
+     * StringAide.trims("")            = ""
+     * StringAide.trims("  ")          = ""
+     * StringAide.trims("abc")         = "abc"
+     * StringAide.trims(" a  b\tc ")    = "abc"
+     * </pre>
+     *
+     * @param str 字符串，可以为 {@code null}
+     * @return 去掉空白字符后的字符串，或 {@code null}
+     */
+    public static String trims(final String str) {
+        if (str == null) {
+            return null;
+        }
+        final int length = str.length();
+        int i = CharSequenceAccess.indexOfWhitespace(str, 0, length);
+        if (i == INDEX_NOT_FOUND) {
+            return str;
+        }
+        final char[] chars = new char[length - 1];
+        str.getChars(0, i, chars, 0);
+        int count = i;
+        while (++i < length) {
+            final char ch = str.charAt(i);
+            if (!Character.isWhitespace(ch)) {
+                chars[count++] = ch;
+            }
+        }
+        return count == 0 ? EMPTY : new String(chars, 0, count);
+    }
+
+    /**
+     * <p>去掉字符串中的所有空白字符，若字符串为 {@code null} 或 {@code empty} 则返回 {@code null}</p>
+     *
+     * @param str 字符串，可以为 {@code null}
+     * @return 去掉空白字符后的字符串，或 {@code null}
+     */
+    public static String trimsToNull(final String str) {
+        final String ts = trims(str);
+        return isEmpty(ts) ? null : ts;
+    }
+
+    /**
+     * <p>去掉字符串中的所有空白字符，若字符串为 {@code null} 或 {@code empty} 则返回 {@code empty}</p>
+     *
+     * @param str 字符串，可以为 {@code null}
+     * @return 去掉空白字符后的字符串，或 {@code empty}
+     */
+    public static String trimsToEmpty(final String str) {
+        return str == null ? EMPTY : trims(str);
+    }
+
+    /**
+     * <p>截取字符串，等同于 StringAide.truncate(str, 0, maxLength)</p>
+     *
+     * @param str 字符串，可为 {@code null}
+     * @param maxLength 截取的最大长度
+     * @return 截取后的字符串
+     * @see #truncate(String, int, int)
+     */
+    public static String truncate(final String str, int maxLength) {
+        return truncate(str, 0, maxLength);
+    }
+
+    /**
+     * <p>截取字符串</p>
+     *
+     * <ul>
+     *     <li>当字符串为 {@code null} 时返回 {@code null}</li>
+     *     <li>当 {@code offset} 小于 0 时，作 0 处理</li>
+     *     <li>当 {@code offset} 大于字符串长度时返回 {@code empty}</li>
+     *     <li>当 {@code maxLength} 小于 0 时返回 {@code null}</li>
+     *     <li>当 {@code maxLength} 大于字符串长度时则取到字符串最后一位</li>
+     *     <li>当截取范围（{@code offset} + {@code maxLength}）超出字符串长度时则取到字符串最后一位</li>
+     * </ul>
+     *
+     * <pre>
+     * StringAide.truncate(null, 0, 0)                                                  = null
+     * StringAide.truncate(null, 2, 4)                                                  = null
+     * StringAide.truncate("", 0, 10)                                                   = ""
+     * StringAide.truncate("", 2, 10)                                                   = ""
+     * StringAide.truncate("abcdefghij", 0, 3)                                          = "abc"
+     * StringAide.truncate("abcdefghij", 5, 6)                                          = "fghij"
+     * StringAide.truncate("raspberry peach", 10, 15)                                   = "peach"
+     * StringAide.truncate("abcdefghijklmno", 0, 10)                                    = "abcdefghij"
+     * StringAide.truncate("abcdefghijklmno", -1, 10)                                   = "abcdefghij"
+     * StringAide.truncate("abcdefghijklmno", Integer.MIN_VALUE, 10)                    = "abcdefghij"
+     * StringAide.truncate("abcdefghijklmno", Integer.MIN_VALUE, Integer.MAX_VALUE)     = "abcdefghijklmno"
+     * StringAide.truncate("abcdefghijklmno", 0, Integer.MAX_VALUE)                     = "abcdefghijklmno"
+     * StringAide.truncate("abcdefghijklmno", 1, 10)                                    = "bcdefghijk"
+     * StringAide.truncate("abcdefghijklmno", 2, 10)                                    = "cdefghijkl"
+     * StringAide.truncate("abcdefghijklmno", 5, 5)                                     = "fghij"
+     * StringAide.truncate("abcdefghijklmno", 5, 3)                                     = "fgh"
+     * StringAide.truncate("abcdefghijklmno", 10, 3)                                    = "klm"
+     * StringAide.truncate("abcdefghijklmno", 10, Integer.MAX_VALUE)                    = "klmno"
+     * StringAide.truncate("abcdefghijklmno", 13, 1)                                    = "n"
+     * StringAide.truncate("abcdefghijklmno", 13, Integer.MAX_VALUE)                    = "no"
+     * StringAide.truncate("abcdefghijklmno", 14, 1)                                    = "o"
+     * StringAide.truncate("abcdefghijklmno", 14, Integer.MAX_VALUE)                    = "o"
+     * StringAide.truncate("abcdefghijklmno", 15, 1)                                    = ""
+     * StringAide.truncate("abcdefghijklmno", 15, Integer.MAX_VALUE)                    = ""
+     * StringAide.truncate("abcdefghijklmno", Integer.MAX_VALUE, Integer.MAX_VALUE)     = ""
+     * StringAide.truncate("abcdefghij", 3, -1)                                         = null
+     * StringAide.truncate("abcdefghij", -2, 4)                                         = "abcd"
+     * </pre>
+     *
+     * @param str 字符串，可为 {@code null}
+     * @param offset 要截取的起始位置
+     * @param maxLength 截取的最大长度
+     * @return 截取后的字符串
+     */
+    public static String truncate(final String str, int offset, int maxLength) {
+        if (str == null || maxLength < 0) {
+            return null;
+        }
+        offset = Math.max(offset, 0);
+        if (offset > str.length()) {
+            return EMPTY;
+        }
+        if (maxLength >= str.length()) {
+            return str.substring(offset);
+        }
+        int endIndex = Math.min(offset + maxLength, str.length());
+        return str.substring(offset, endIndex);
+    }
+
+    /**
+     * <p>按 UTF-8 编码的字节数截取字符串，保留不超过 {@code maxBytes} 个字节的最长前缀。</p>
+     *
+     * <ul>
+     *     <li>当字符串为 {@code null} 或 {@code maxBytes} 小于 0 时返回 {@code null}</li>
+     *     <li>字符串本身不超过 {@code maxBytes} 个字节时返回原实例</li>
+     *     <li>不会拆开代理对：放不下完整的增补字符时将其整个去掉</li>
+     * </ul>
+     *
+     * <p>只扫描到截断位置，不进行编码；字节数按 {@link CharSequenceAide#utf8Length(CharSequence)} 的规则计算。</p>
+     *
+     * <pre>
+     * StringAide.truncateToUtf8Bytes(null, 10)          = null
+     * StringAide.truncateToUtf8Bytes("abc", -1)         = null
+     * StringAide.truncateToUtf8Bytes("abc", 3)          = "abc"
+     * StringAide.truncateToUtf8Bytes("abc", 2)          = "ab"
+     * StringAide.truncateToUtf8Bytes("中文字符", 7)     = "中文"
+     * StringAide.truncateToUtf8Bytes("a😀", 4)    = "a"
+     * </pre>
+     *
+     * @param str 字符串，可为 {@code null}
+     * @param maxBytes UTF-8 编码的最大字节数
+     * @return 截取后的字符串
+     */
+    public static String truncateToUtf8Bytes(final String str, final int maxBytes) {
+        if (str == null || maxBytes < 0) {
+            return null;
+        }
+        final int length = str.length();
+        // 每个字符最多 3 个字节（代理对两个字符共 4 个字节），足够短时无需扫描
+        if (length <= maxBytes / 3) {
+            return str;
+        }
+        long bytes = 0;
+        for (int i = 0; i < length; i ++) {
+            final char c = str.charAt(i);
+            int width = 1;
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    width = 2;
+                } else if (!Character.isSurrogate(c)) {
+                    width = 3;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    width = 4;
+                }
+            }
+            bytes += width;
+            if (bytes > maxBytes) {
+                return i == 0 ? EMPTY : str.substring(0, i);
+            }
+            if (width == 4) {
+                i ++;
+            }
+        }
+        return str;
+    }
+
+    /**
+     * <p>将指定字符集 {@code stripChars} 中的字符从字符串左侧移除</p>
+     *
+     * <p>当 {@code stripChars} 为 {@code null} 时，则作移除空白字符处理。</p>
+     *
+     * <p>若字符串 {@code str} 为 {@code null} 则返回 {@code null}，
+     * 若为 {@code empty} 则返回 {@code empty}。</p>
+     *
+     * <pre>
+     * StringAide.stripStart(null, *)          = null
+     * StringAide.stripStart("", *)            = ""
+     * StringAide.stripStart("abc", "")        = "abc"
+     * StringAide.stripStart("abc", null)      = "abc"
+     * StringAide.stripStart("  abc", null)    = "abc"
+     * StringAide.stripStart("abc  ", null)    = "abc  "
+     * StringAide.stripStart(" abc ", null)    = "abc "
+     * StringAide.stripStart("yxabc  ", "xyz") = "abc  "
+     * </pre>
+     *
+     * @param str 要处理的字符串，可以为 {@code null}
+     * @param stripChars 要移除的字符集
+     * @return 处理后的字符串，或 {@code null}
+     */
+    public static String stripStart(final String str, final String stripChars) {
+        int strLength = length(str);
+        if (strLength == 0) {
+            return str;
+        }
+        int start = 0;
+        if (stripChars == null) {
+            return Intrinsics.stripLeading(str);
+        } else if (stripChars.isEmpty()) {
+            return str;
+        } else {
+            while (start < strLength && stripChars.indexOf(str.charAt(start)) != -1) {
+                start++;
+            }
+        }
+        return str.substring(start);
+    }
+
+    /**
+     * <p>将指定字符集 {@code stripChars} 中的字符从字符串右侧移除</p>
+     *
+     * <p>当 {@code stripChars} 为 {@code null} 时，则作移除空白字符处理。</p>
+     *
+     * <p>若字符串 {@code str} 为 {@code null} 则返回 {@code null}，
+     * 若为 {@code empty} 则返回 {@code empty}。</p>
+     *
+     * <pre>
+     * StringUtils.stripEnd(null, *)          = null
+     * StringUtils.stripEnd("", *)            = ""
+     * StringUtils.stripEnd("abc", "")        = "abc"
+     * StringUtils.stripEnd("abc", null)      = "abc"
+     * StringUtils.stripEnd("  abc", null)    = "  abc"
+     * StringUtils.stripEnd("abc  ", null)    = "abc"
+     * StringUtils.stripEnd(" abc ", null)    = " abc"
+     * StringUtils.stripEnd("  abcyx", "xyz") = "  abc"
+     * StringUtils.stripEnd("120.00", ".0")   = "12"
+     * </pre>
+     *
+     * @param str 要处理的字符串，可以为 {@code null}
+     * @param stripChars 要移除的字符集
+     * @return 处理后的字符串，或 {@code null}
+     */
+    public static String stripEnd(final String str, final String stripChars) {
+        int endIndex = length(str);
+        if (endIndex == 0) {
+            return str;
+        }
+        if (stripChars == null) {
+            return Intrinsics.stripTrailing(str);
+        } else if (stripChars.isEmpty()) {
+            return str;
+        } else {
+            while (endIndex != 0 && stripChars.indexOf(str.charAt(endIndex - 1)) != -1) {
+                endIndex--;
+            }
+        }
+        return str.substring(0, endIndex);
+    }
+
+    /**
+     * <p>将指定字符集 {@code stripChars} 中的字符从字符串两端移除</p>
+     *
+     * <p>当 {@code stripChars} 为 {@code null} 时，则作移除空白字符处理。</p>
+     *
+     * <p>若字符串 {@code str} 为 {@code null} 则返回 {@code null}，
+     * 若为 {@code empty} 则返回 {@code empty}。</p>
+     *
+     * @param str 要处理的字符串，可以为 {@code null}
+     * @param stripChars 要移除的字符集
+     * @return 处理后的字符串，或 {@code null}
+     */
+    public static String strip(String str, final String stripChars) {
+        if (isEmpty(str)) {
+            return str;
+        }
+        if (stripChars == null) {
+            return Intrinsics.strip(str);
+        }
+        return stripEnd(stripStart(str, stripChars), stripChars);
+    }
+
+    /**
+     * <p>对数组中的每个元素执行 {@link #trimToNull(String)}，结果写回原数组。</p>
+     *
+     * <p>未改变的元素保留原实例且不会被写回；元素个数较多时并行处理，
+     * 阈值可通过系统属性 {@code -Dleo.aide.parallelThreshold} 调整（默认 65536）。</p>
+     *
+     * <pre>
+     * StringAide.trimToNullAll(null)                       = null
+     * StringAide.trimToNullAll([])                         = []
+     * StringAide.trimToNullAll(["abc", "  ", " d ", null]) = ["abc", null, "d", null]
+     * </pre>
+     *
+     * @param array 字符串数组，可以为 {@code null}
+     * @return 原数组，或 {@code null}
+     */
+    public static String[] trimToNullAll(final String[] array) {
+        return array == null ? null : BulkTransform.apply(array, array, StringAide::trimToNull);
+    }
+
+    /**
+     * <p>对 {@code source} 中的每个元素执行 {@link #trimToNull(String)}，结果写入 {@code target} 的相同位置。</p>
+     *
+     * @param source 源数组，不能为 {@code null}
+     * @param target 目标数组，长度不能小于 {@code source}，可以与 {@code source} 相同
+     * @return {@code target}
+     * @see #trimToNullAll(String[])
+     */
+    public static String[] trimToNullAll(final String[] source, final String[] target) {
+        checkBulkArguments(source, target);
+        return BulkTransform.apply(source, target, StringAide::trimToNull);
+    }
+
+    /**
+     * <p>对列表中的每个元素执行 {@link #trimToNull(String)}，结果写回原列表，列表需支持 {@link List#set(int, Object)}。</p>
+     *
+     * <p>只有 {@link java.util.ArrayList} 与 {@link java.util.Arrays#asList(Object[])} 返回的列表在元素个数达到阈值时并行处理；
+     * 其他列表（如 {@code Vector}、{@code CopyOnWriteArrayList}、同步包装的列表、{@code subList} 视图与链表）始终顺序处理。</p>
+     *
+     * @param list 字符串列表，可以为 {@code null}
+     * @return 原列表，或 {@code null}
+     * @see #trimToNullAll(String[])
+     */
+    public static List<String> trimToNullAll(final List<String> list) {
+        return list == null ? null : BulkTransform.apply(list, StringAide::trimToNull);
+    }
+
+    /**
+     * <p>对数组中的每个元素执行 {@link #strip(String, String)}，结果写回原数组。</p>
+     *
+     * <pre>
+     * StringAide.stripAll(null, *)                  = null
+     * StringAide.stripAll(["abc", "  abc"], null)   = ["abc", "abc"]
+     * StringAide.stripAll(["abc  ", null], null)    = ["abc", null]
+     * StringAide.stripAll(["yabcz", null], "yz")    = ["abc", null]
+     * </pre>
+     *
+     * @param array 字符串数组，可以为 {@code null}
+     * @param stripChars 要移除的字符集，为 {@code null} 时移除空白字符
+     * @return 原数组，或 {@code null}
+     * @see #trimToNullAll(String[])
+     */
+    public static String[] stripAll(final String[] array, final String stripChars) {
+        return array == null ? null : BulkTransform.apply(array, array, str -> strip(str, stripChars));
+    }
+
+    /**
+     * <p>对 {@code source} 中的每个元素执行 {@link #strip(String, String)}，结果写入 {@code target} 的相同位置。</p>
+     *
+     * @param source 源数组，不能为 {@code null}
+     * @param target 目标数组，长度不能小于 {@code source}，可以与 {@code source} 相同
+     * @param stripChars 要移除的字符集，为 {@code null} 时移除空白字符
+     * @return {@code target}
+     */
+    public static String[] stripAll(final String[] source, final String[] target, final String stripChars) {
+        checkBulkArguments(source, target);
+        return BulkTransform.apply(source, target, str -> strip(str, stripChars));
+    }
+
+    /**
+     * <p>对列表中的每个元素执行 {@link #strip(String, String)}，结果写回原列表，列表需支持 {@link List#set(int, Object)}。</p>
+     *
+     * <p>并行处理的规则与 {@link #trimToNullAll(List)} 相同，只有 {@code ArrayList} 与 {@code Arrays.asList} 返回的列表会并行处理。</p>
+     *
+     * @param list 字符串列表，可以为 {@code null}
+     * @param stripChars 要移除的字符集，为 {@code null} 时移除空白字符
+     * @return 原列表，或 {@code null}
+     */
+    public static List<String> stripAll(final List<String> list, final String stripChars) {
+        return list == null ? null : BulkTransform.apply(list, str -> strip(str, stripChars));
+    }
+
+    /**
+     * <p>对数组中的每个元素执行 {@link #truncate(String, int)}，结果写回原数组。</p>
+     *
+     * <pre>
+     * StringAide.truncateAll(null, *)               = null
+     * StringAide.truncateAll(["abcdef", "ab"], 3)   = ["abc", "ab"]
+     * StringAide.truncateAll(["abcdef", null], 0)   = ["", null]
+     * </pre>
+     *
+     * @param array 字符串数组，可以为 {@code null}
+     * @param maxLength 截取的最大长度
+     * @return 原数组，或 {@code null}
+     * @see #trimToNullAll(String[])
+     */
+    public static String[] truncateAll(final String[] array, final int maxLength) {
+        return array == null ? null : BulkTransform.apply(array, array, str -> truncate(str, maxLength));
+    }
+
+    /**
+     * <p>对 {@code source} 中的每个元素执行 {@link #truncate(String, int)}，结果写入 {@code target} 的相同位置。</p>
+     *
+     * @param source 源数组，不能为 {@code null}
+     * @param target 目标数组，长度不能小于 {@code source}，可以与 {@code source} 相同
+     * @param maxLength 截取的最大长度
+     * @return {@code target}
+     */
+    public static String[] truncateAll(final String[] source, final String[] target, final int maxLength) {
+        checkBulkArguments(source, target);
+        return BulkTransform.apply(source, target, str -> truncate(str, maxLength));
+    }
+
+    /**
+     * <p>对列表中的每个元素执行 {@link #truncate(String, int)}，结果写回原列表，列表需支持 {@link List#set(int, Object)}。</p>
+     *
+     * <p>并行处理的规则与 {@link #trimToNullAll(List)} 相同，只有 {@code ArrayList} 与 {@code Arrays.asList} 返回的列表会并行处理。</p>
+     *
+     * @param list 字符串列表，可以为 {@code null}
+     * @param maxLength 截取的最大长度
+     * @return 原列表，或 {@code null}
+     */
+    public static List<String> truncateAll(final List<String> list, final int maxLength) {
+        return list == null ? null : BulkTransform.apply(list, str -> truncate(str, maxLength));
+    }
+
+    private static void checkBulkArguments(final String[] source, final String[] target) {
+        AssertAide.notNull(source, "The source array is null.");
+        AssertAide.notNull(target, "The target array is null.");
+        AssertAide.isTrue(target.length >= source.length,
+                "The target array is shorter than the source array: %s < %s", target.length, source.length);
+    }
+
+    /**
+     * <p>将字符序列转换为小写，规则与 {@code toString().toLowerCase(Locale.ROOT)} 相同。</p>
+     *
+     * <p>{@code String} 没有需要转换的字符时返回原实例。其它字符序列先就地查找需要转换的字符（不调用 {@code toString()}），
+     * 没有时只构造一次字符串，{@link AsciiSequence} 按字（每次 8 字节）查找大写字母。</p>
+     *
+     * <pre>
+     * StringAide.lowerCase(null)                            = null
+     * StringAide.lowerCase("content-type")                  // 返回原实例
+     * StringAide.lowerCase("Content-Type")                  = "content-type"
+     * StringAide.lowerCase(new StringBuilder("ÀÉÎ"))        = "àéî"
+     * StringAide.lowerCase("ΟΔΟΣ")                          = "οδος"  // 词尾为 ς
+     * </pre>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 小写字符串，或 {@code null}
+     */
+    public static String lowerCase(final CharSequence sequence) {
+        return sequence == null ? null : toCase(sequence, false);
+    }
+
+    /**
+     * <p>将字符序列转换为大写，规则与 {@code toString().toUpperCase(Locale.ROOT)} 相同，{@code ß} 等会变为多个字符。</p>
+     *
+     * <pre>
+     * StringAide.upperCase(null)          = null
+     * StringAide.upperCase("GET")         // 返回原实例
+     * StringAide.upperCase("get")         = "GET"
+     * StringAide.upperCase("straße")      = "STRASSE"
+     * </pre>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 大写字符串，或 {@code null}
+     * @see #lowerCase(CharSequence)
+     */
+    public static String upperCase(final CharSequence sequence) {
+        return sequence == null ? null : toCase(sequence, true);
+    }
+
+    /**
+     * <p>将字符序列转换为小写后追加到 {@code buffer}，规则同 {@link #lowerCase(CharSequence)}。</p>
+     *
+     * <p>不创建中间字符串：ASCII 字符直接翻转大小写位，其它字符按 {@link Character#toLowerCase(int)} 逐个转换，
+     * 只有 {@code İ}、{@code Σ} 这类结果与上下文或长度有关的字符才交给 JDK 处理整个序列。</p>
+     *
+     * <pre>
+     * StringBuilder key = new StringBuilder(64);
+     * StringAide.lowerCase(header, key.append("header."));
+     * </pre>
+     *
+     * @param sequence 字符序列，为 {@code null} 时不追加任何内容
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @return {@code buffer}
+     */
+    public static StringBuilder lowerCase(final CharSequence sequence, final StringBuilder buffer) {
+        if (buffer == null) {
+            // 不经过 AssertAide 的可变参数，避免每次调用创建空数组
+            throw new NullPointerException("The buffer is null.");
+        }
+        return sequence == null ? buffer : appendCase(sequence, false, buffer);
+    }
+
+    /**
+     * <p>将字符序列转换为大写后追加到 {@code buffer}，规则同 {@link #upperCase(CharSequence)}，不创建中间字符串。</p>
+     *
+     * @param sequence 字符序列，为 {@code null} 时不追加任何内容
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @return {@code buffer}
+     */
+    public static StringBuilder upperCase(final CharSequence sequence, final StringBuilder buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("The buffer is null.");
+        }
+        return sequence == null ? buffer : appendCase(sequence, true, buffer);
+    }
+
+    private static String toCase(final CharSequence sequence, final boolean upper) {
+        // String 由 JDK 直接处理压缩存储的字节，没有字符需要转换时返回原实例
+        if (!(sequence instanceof String)
+                && CharSequenceAccess.indexOfCaseChange(sequence, 0, sequence.length(), upper) == INDEX_NOT_FOUND) {
+            return sequence.toString();
+        }
+        return toCaseByJdk(sequence, upper);
+    }
+
+    private static StringBuilder appendCase(final CharSequence sequence, final boolean upper, final StringBuilder buffer) {
+        final int length = sequence.length();
+        final int first = CharSequenceAccess.indexOfCaseChange(sequence, 0, length, upper);
+        if (first == INDEX_NOT_FOUND) {
+            return buffer.append(sequence);
+        }
+        final int mark = buffer.length();
+        buffer.ensureCapacity(mark + length);
+        buffer.append(sequence, 0, first);
+        for (int i = first; i < length; i ++) {
+            final char c = sequence.charAt(i);
+            if (c < 0x80) {
+                buffer.append((char) (c - (upper ? 'a' : 'A')) < 26 ? (char) (c ^ 0x20) : c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(sequence.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, sequence.charAt(++ i));
+                buffer.appendCodePoint(upper ? Character.toUpperCase(codePoint) : Character.toLowerCase(codePoint));
+            } else if (CharSequenceAccess.isSpecialCase(c, upper)) {
+                buffer.setLength(mark);
+                return buffer.append(toCaseByJdk(sequence, upper));
+            } else {
+                buffer.append(upper ? Character.toUpperCase(c) : Character.toLowerCase(c));
+            }
+        }
+        return buffer;
+    }
+
+    private static String toCaseByJdk(final CharSequence sequence, final boolean upper) {
+        final String str = sequence.toString();
+        return upper ? str.toUpperCase(Locale.ROOT) : str.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * <p>按 JSON 字符串的规则转义，没有需要转义的字符时返回原实例（{@code String}）。</p>
+     *
+     * <pre>
+     * StringAide.escapeJson(null)               = null
+     * StringAide.escapeJson("plain")            // 返回原实例
+     * StringAide.escapeJson("say \"hi\"\n")     = "say \\\"hi\\\"\\n"
+     * </pre>
+     *
+     * <p>追加到 {@link StringBuilder} 或 {@link Appendable} 见 {@link Escaper#JSON}。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 转义后的字符串，或 {@code null}
+     */
+    public static String escapeJson(final CharSequence sequence) {
+        return Escaper.JSON.escape(sequence);
+    }
+
+    /**
+     * <p>反转义 JSON 字符串的转义序列，是 {@link #escapeJson(CharSequence)} 的逆操作。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 反转义后的字符串，或 {@code null}
+     * @throws IllegalArgumentException 有非法的转义序列
+     */
+    public static String unescapeJson(final CharSequence sequence) {
+        return Escaper.JSON.unescape(sequence);
+    }
+
+    /**
+     * <p>转义 HTML 中的特殊字符 {@code & < > " '}，没有需要转义的字符时返回原实例（{@code String}）。</p>
+     *
+     * <pre>
+     * StringAide.escapeHtml("a &lt; b")      = "a &amp;lt; b"
+     * </pre>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 转义后的字符串，或 {@code null}
+     * @see Escaper#HTML
+     */
+    public static String escapeHtml(final CharSequence sequence) {
+        return Escaper.HTML.escape(sequence);
+    }
+
+    /**
+     * <p>反转义 HTML 中的 {@code &amp; &lt; &gt; &quot; &apos;} 与数字字符引用，无法识别的实体原样保留。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 反转义后的字符串，或 {@code null}
+     */
+    public static String unescapeHtml(final CharSequence sequence) {
+        return Escaper.HTML.unescape(sequence);
+    }
+
+    /**
+     * <p>转义 XML 中的特殊字符 {@code & < > " '}，没有需要转义的字符时返回原实例（{@code String}）。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 转义后的字符串，或 {@code null}
+     * @see Escaper#XML
+     */
+    public static String escapeXml(final CharSequence sequence) {
+        return Escaper.XML.escape(sequence);
+    }
+
+    /**
+     * <p>反转义 XML 中的预定义实体与数字字符引用，无法识别的实体原样保留。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 反转义后的字符串，或 {@code null}
+     */
+    public static String unescapeXml(final CharSequence sequence) {
+        return Escaper.XML.unescape(sequence);
+    }
+
+    /**
+     * <p>按 RFC 4180 转义 CSV 字段：含有 {@code , " \r \n} 时用双引号括起，其中的双引号写作两个双引号；否则返回原实例（{@code String}）。</p>
+     *
+     * <pre>
+     * StringAide.escapeCsv("plain")         // 返回原实例
+     * StringAide.escapeCsv("a,b")           = "\"a,b\""
+     * StringAide.escapeCsv("say \"hi\"")    = "\"say \"\"hi\"\"\""
+     * </pre>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 转义后的字符串，或 {@code null}
+     * @see Escaper#CSV
+     */
+    public static String escapeCsv(final CharSequence sequence) {
+        return Escaper.CSV.escape(sequence);
+    }
+
+    /**
+     * <p>反转义 CSV 字段：去掉外层的双引号，并将其中的两个双引号还原为一个；没有外层双引号时返回原实例（{@code String}）。</p>
+     *
+     * @param sequence 字符序列，可以为 {@code null}
+     * @return 反转义后的字符串，或 {@code null}
+     */
+    public static String unescapeCsv(final CharSequence sequence) {
+        return Escaper.CSV.unescape(sequence);
+    }
+
+    /**
+     * <p>将 {@code value} 的十进制表示追加到 {@code buffer}，与 {@link StringBuilder#append(long)} 相同，不创建中间字符串。</p>
+     *
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @param value 整数
+     * @return {@code buffer}
+     */
+    public static StringBuilder appendDecimal(final StringBuilder buffer, final long value) {
+        if (buffer == null) {
+            throw new NullPointerException("The buffer is null.");
+        }
+        return buffer.append(value);
+    }
+
+    /**
+     * <p>将 {@code value} 的十进制表示追加到 {@code buffer}，长度（含负号）不足 {@code width} 时在负号之后补 0，
+     * 与 {@code String.format("%0{width}d", value)} 相同，但不创建任何对象。</p>
+     *
+     * <pre>
+     * StringAide.appendDecimal(buffer, 42, 5)      // 追加 "00042"
+     * StringAide.appendDecimal(buffer, -42, 5)     // 追加 "-0042"
+     * StringAide.appendDecimal(buffer, 123456, 3)  // 追加 "123456"
+     * </pre>
+     *
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @return {@code buffer}
+     */
+    public static StringBuilder appendDecimal(final StringBuilder buffer, final long value, final int width) {
+        return appendInteger(buffer, value, NumberWriter.DECIMAL, width);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）追加到 {@code buffer}，与 {@link Integer#toHexString(int)} 相同，不创建中间字符串。</p>
+     *
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @param value 整数
+     * @return {@code buffer}
+     */
+    public static StringBuilder appendHex(final StringBuilder buffer, final int value) {
+        return appendInteger(buffer, value, Integer.SIZE, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）追加到 {@code buffer}，与 {@link Long#toHexString(long)} 相同，不创建中间字符串。</p>
+     *
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @param value 整数
+     * @return {@code buffer}
+     */
+    public static StringBuilder appendHex(final StringBuilder buffer, final long value) {
+        return appendInteger(buffer, value, Long.SIZE, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）追加到 {@code buffer}，长度不足 {@code width} 时在前面补 0，
+     * 与 {@code String.format("%0{width}x", value)} 相同。</p>
+     *
+     * <pre>
+     * StringAide.appendHex(buffer, 0xAB, 4)        // 追加 "00ab"
+     * StringAide.appendHex(buffer, -1, 4)          // 追加 "ffffffff"
+     * </pre>
+     *
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @return {@code buffer}
+     */
+    public static StringBuilder appendHex(final StringBuilder buffer, final int value, final int width) {
+        return appendInteger(buffer, value, Integer.SIZE, width);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）追加到 {@code buffer}，长度不足 {@code width} 时在前面补 0。</p>
+     *
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @return {@code buffer}
+     * @see #appendHex(StringBuilder, int, int)
+     */
+    public static StringBuilder appendHex(final StringBuilder buffer, final long value, final int width) {
+        return appendInteger(buffer, value, Long.SIZE, width);
+    }
+
+    /**
+     * <p>将 {@code value} 的最短十进制表示追加到 {@code buffer}，不创建中间字符串。</p>
+     *
+     * <p>输出能唯一还原该值的最短数字（Schubfach 算法），格式与 Java 19 起的 {@link Double#toString(double)} 完全相同：
+     * 10<sup>-3</sup> 至 10<sup>7</sup> 之间使用普通格式，否则使用科学计数法。Java 18 及以前的 {@code Double.toString}
+     * 偶尔会多输出一位，如 {@code 2.0E-3}，这里输出 {@code 0.002}。</p>
+     *
+     * <pre>
+     * StringAide.appendDouble(buffer, 0.1)         // 追加 "0.1"
+     * StringAide.appendDouble(buffer, 100)         // 追加 "100.0"
+     * StringAide.appendDouble(buffer, 1e23)        // 追加 "1.0E23"
+     * StringAide.appendDouble(buffer, Double.NaN)  // 追加 "NaN"
+     * </pre>
+     *
+     * @param buffer 目标缓冲区，不能为 {@code null}
+     * @param value 浮点数
+     * @return {@code buffer}
+     */
+    public static StringBuilder appendDouble(final StringBuilder buffer, final double value) {
+        if (buffer == null) {
+            throw new NullPointerException("The buffer is null.");
+        }
+        try {
+            NumberWriter.appendDouble(buffer, value);
+        } catch (final IOException e) {
+            // StringBuilder 不会抛出 IOException
+            throw new AssertionError(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * <p>将 {@code value} 的十进制表示写入 {@code appendable}，如 {@link java.io.Writer}，整段写入。</p>
+     *
+     * @param appendable 目标，不能为 {@code null}
+     * @param value 整数
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     */
+    public static <A extends Appendable> A appendDecimal(final A appendable, final long value) throws IOException {
+        return appendDecimal(appendable, value, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 的十进制表示写入 {@code appendable}，长度不足 {@code width} 时在负号之后补 0。</p>
+     *
+     * @param appendable 目标，不能为 {@code null}
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     * @see #appendDecimal(StringBuilder, long, int)
+     */
+    public static <A extends Appendable> A appendDecimal(final A appendable, final long value, final int width) throws IOException {
+        return appendInteger(appendable, value, NumberWriter.DECIMAL, width);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code appendable}。</p>
+     *
+     * @param appendable 目标，不能为 {@code null}
+     * @param value 整数
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     */
+    public static <A extends Appendable> A appendHex(final A appendable, final int value) throws IOException {
+        return appendInteger(appendable, value, Integer.SIZE, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code appendable}。</p>
+     *
+     * @param appendable 目标，不能为 {@code null}
+     * @param value 整数
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     */
+    public static <A extends Appendable> A appendHex(final A appendable, final long value) throws IOException {
+        return appendInteger(appendable, value, Long.SIZE, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code appendable}，长度不足 {@code width} 时在前面补 0。</p>
+     *
+     * @param appendable 目标，不能为 {@code null}
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     */
+    public static <A extends Appendable> A appendHex(final A appendable, final int value, final int width) throws IOException {
+        return appendInteger(appendable, value, Integer.SIZE, width);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code appendable}，长度不足 {@code width} 时在前面补 0。</p>
+     *
+     * @param appendable 目标，不能为 {@code null}
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     */
+    public static <A extends Appendable> A appendHex(final A appendable, final long value, final int width) throws IOException {
+        return appendInteger(appendable, value, Long.SIZE, width);
+    }
+
+    /**
+     * <p>将 {@code value} 的最短十进制表示写入 {@code appendable}，格式同 {@link #appendDouble(StringBuilder, double)}。</p>
+     *
+     * @param appendable 目标，不能为 {@code null}
+     * @param value 浮点数
+     * @param <A> 目标类型
+     * @return {@code appendable}
+     * @throws IOException 写入失败
+     */
+    public static <A extends Appendable> A appendDouble(final A appendable, final double value) throws IOException {
+        AssertAide.notNull(appendable, "The appendable is null.");
+        NumberWriter.appendDouble(appendable, value);
+        return appendable;
+    }
+
+    /**
+     * <p>将 {@code value} 的十进制表示写入 {@code buffer} 的 {@code offset} 处，返回写入的结束位置。</p>
+     *
+     * <pre>
+     * char[] line = new char[64];
+     * int end = StringAide.writeDecimal(line, 0, id);
+     * line[end ++] = ',';
+     * end = StringAide.writeDouble(line, end, price);
+     * </pre>
+     *
+     * @param buffer 目标数组，不能为 {@code null}
+     * @param offset 写入位置
+     * @param value 整数
+     * @return 写入的结束位置（不含）
+     * @throws IndexOutOfBoundsException {@code buffer} 放不下，此时不修改 {@code buffer}
+     */
+    public static int writeDecimal(final char[] buffer, final int offset, final long value) {
+        return writeDecimal(buffer, offset, value, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 的十进制表示写入 {@code buffer} 的 {@code offset} 处，长度不足 {@code width} 时在负号之后补 0。</p>
+     *
+     * @param buffer 目标数组，不能为 {@code null}
+     * @param offset 写入位置
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @return 写入的结束位置（不含）
+     * @throws IndexOutOfBoundsException {@code buffer} 放不下，此时不修改 {@code buffer}
+     * @see #appendDecimal(StringBuilder, long, int)
+     */
+    public static int writeDecimal(final char[] buffer, final int offset, final long value, final int width) {
+        checkWriteRange(buffer, offset, Math.max(NumberWriter.decimalLength(value), width));
+        return NumberWriter.writeDecimal(value, width, buffer, offset);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code buffer} 的 {@code offset} 处，返回写入的结束位置。</p>
+     *
+     * @param buffer 目标数组，不能为 {@code null}
+     * @param offset 写入位置
+     * @param value 整数
+     * @return 写入的结束位置（不含）
+     * @throws IndexOutOfBoundsException {@code buffer} 放不下，此时不修改 {@code buffer}
+     */
+    public static int writeHex(final char[] buffer, final int offset, final int value) {
+        return writeHex(buffer, offset, value, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code buffer} 的 {@code offset} 处，返回写入的结束位置。</p>
+     *
+     * @param buffer 目标数组，不能为 {@code null}
+     * @param offset 写入位置
+     * @param value 整数
+     * @return 写入的结束位置（不含）
+     * @throws IndexOutOfBoundsException {@code buffer} 放不下，此时不修改 {@code buffer}
+     */
+    public static int writeHex(final char[] buffer, final int offset, final long value) {
+        return writeHex(buffer, offset, value, 0);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code buffer} 的 {@code offset} 处，长度不足 {@code width} 时在前面补 0。</p>
+     *
+     * @param buffer 目标数组，不能为 {@code null}
+     * @param offset 写入位置
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @return 写入的结束位置（不含）
+     * @throws IndexOutOfBoundsException {@code buffer} 放不下，此时不修改 {@code buffer}
+     */
+    public static int writeHex(final char[] buffer, final int offset, final int value, final int width) {
+        checkWriteRange(buffer, offset, Math.max(NumberWriter.hexLength(value & 0xFFFFFFFFL), width));
+        return NumberWriter.writeHex(value, Integer.SIZE, width, buffer, offset);
+    }
+
+    /**
+     * <p>将 {@code value} 按无符号数的十六进制（小写）写入 {@code buffer} 的 {@code offset} 处，长度不足 {@code width} 时在前面补 0。</p>
+     *
+     * @param buffer 目标数组，不能为 {@code null}
+     * @param offset 写入位置
+     * @param value 整数
+     * @param width 最小宽度，不大于实际长度时不补 0
+     * @return 写入的结束位置（不含）
+     * @throws IndexOutOfBoundsException {@code buffer} 放不下，此时不修改 {@code buffer}
+     */
+    public static int writeHex(final char[] buffer, final int offset, final long value, final int width) {
+        checkWriteRange(buffer, offset, Math.max(NumberWriter.hexLength(value), width));
+        return NumberWriter.writeHex(value, Long.SIZE, width, buffer, offset);
+    }
+
+    /**
+     * <p>将 {@code value} 的最短十进制表示写入 {@code buffer} 的 {@code offset} 处，格式同 {@link #appendDouble(StringBuilder, double)}，
+     * 最多 24 个字符。</p>
+     *
+     * @param buffer 目标数组，不能为 {@code null}
+     * @param offset 写入位置
+     * @param value 浮点数
+     * @return 写入的结束位置（不含）
+     * @throws IndexOutOfBoundsException {@code buffer} 放不下，此时不修改 {@code buffer}
+     */
+    public static int writeDouble(final char[] buffer, final int offset, final double value) {
+        checkWriteRange(buffer, offset, 0);
+        final int end = NumberWriter.writeDoubleChecked(value, buffer, offset);
+        if (end < 0) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + buffer.length + ", value " + value);
+        }
+        return end;
+    }
+
+    private static StringBuilder appendInteger(final StringBuilder buffer, final long value, final int bits, final int width) {
+        if (buffer == null) {
+            // 不经过 AssertAide 的可变参数，避免每次调用创建空数组
+            throw new NullPointerException("The buffer is null.");
+        }
+        try {
+            NumberWriter.appendInteger(buffer, value, bits, width);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+        return buffer;
+    }
+
+    private static <A extends Appendable> A appendInteger(final A appendable, final long value, final int bits, final int width) throws IOException {
+        AssertAide.notNull(appendable, "The appendable is null.");
+        NumberWriter.appendInteger(appendable, value, bits, width);
+        return appendable;
+    }
+
+    private static void checkWriteRange(final char[] buffer, final int offset, final int required) {
+        if (buffer == null) {
+            throw new NullPointerException("The buffer is null.");
+        }
+        if (offset < 0 || offset > buffer.length - required) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", required " + required + ", length " + buffer.length);
+        }
+    }
+
+    /**
+     * <p>以分隔符连接多个字符序列，{@code null} 元素按 {@code "null"} 处理（与 {@link String#join(CharSequence, CharSequence...)} 一致）。</p>
+     *
+     * <p>结果长度预先精确计算，只分配一次缓冲区。</p>
+     *
+     * <pre>
+     * StringAide.join(",")                   = ""
+     * StringAide.join(",", "a")              = "a"
+     * StringAide.join(", ", "a", "b", "c")   = "a, b, c"
+     * StringAide.join(",", "a", null, "c")   = "a,null,c"
+     * </pre>
+     *
+     * @param delimiter 分隔符，为 {@code null} 时作 {@code empty} 处理
+     * @param elements 要连接的字符序列，可以为 {@code null}
+     * @return 连接后的字符串，{@code elements} 为 {@code null} 时返回 {@code null}
+     * @see Joiner
+     */
+    public static String join(final CharSequence delimiter, final CharSequence... elements) {
+        return Joiner.on(delimiter).join((Object[]) elements);
+    }
+
+    /**
+     * <p>以分隔符连接 {@link Iterable} 中的元素，{@code null} 元素按 {@code "null"} 处理。</p>
+     *
+     * @param delimiter 分隔符，为 {@code null} 时作 {@code empty} 处理
+     * @param elements 要连接的元素，可以为 {@code null}
+     * @return 连接后的字符串，{@code elements} 为 {@code null} 时返回 {@code null}
+     * @see #join(Iterable, CharSequence, CharSequence, CharSequence, String)
+     */
+    public static String join(final CharSequence delimiter, final Iterable<?> elements) {
+        return Joiner.on(delimiter).join(elements);
+    }
+
+    /**
+     * <p>以分隔符连接数组中的元素，{@code null} 元素的处理与 {@link ObjectAide#toString(Object, String)} 一致。</p>
+     *
+     * <pre>
+     * StringAide.join((Object[]) null, *, *)         = null
+     * StringAide.join(["a", null, 1], ",", "-")      = "a,-,1"
+     * StringAide.join(["a", null, 1], ",", null)     = "a,1"
+     * </pre>
+     *
+     * @param array 要连接的数组，可以为 {@code null}
+     * @param delimiter 分隔符，为 {@code null} 时作 {@code empty} 处理
+     * @param nullDefault {@code null} 元素的替代文本，为 {@code null} 时忽略 {@code null} 元素
+     * @return 连接后的字符串，{@code array} 为 {@code null} 时返回 {@code null}
+     */
+    public static String join(final Object[] array, final CharSequence delimiter, final String nullDefault) {
+        return Joiner.on(delimiter).nullDefault(nullDefault).join(array);
+    }
+
+    /**
+     * <p>以分隔符连接数组中的元素，并加上前缀与后缀。</p>
+     *
+     * <pre>
+     * StringAide.join(["a", "b"], ", ", "[", "]", "null")  = "[a, b]"
+     * StringAide.join([], ", ", "[", "]", "null")          = "[]"
+     * StringAide.join([null], ", ", "[", "]", null)        = "[]"
+     * </pre>
+     *
+     * @param array 要连接的数组，可以为 {@code null}
+     * @param delimiter 分隔符，为 {@code null} 时作 {@code empty} 处理
+     * @param prefix 前缀，为 {@code null} 时作 {@code empty} 处理
+     * @param suffix 后缀，为 {@code null} 时作 {@code empty} 处理
+     * @param nullDefault {@code null} 元素的替代文本，为 {@code null} 时忽略 {@code null} 元素
+     * @return 连接后的字符串，{@code array} 为 {@code null} 时返回 {@code null}
+     */
+    public static String join(final Object[] array, final CharSequence delimiter, final CharSequence prefix,
+                              final CharSequence suffix, final String nullDefault) {
+        return Joiner.on(delimiter).wrap(prefix, suffix).nullDefault(nullDefault).join(array);
+    }
+
+    /**
+     * <p>以分隔符连接 {@link Iterable} 中的元素，{@code null} 元素的处理与 {@link ObjectAide#toString(Object, String)} 一致。</p>
+     *
+     * @param elements 要连接的元素，可以为 {@code null}
+     * @param delimiter 分隔符，为 {@code null} 时作 {@code empty} 处理
+     * @param nullDefault {@code null} 元素的替代文本，为 {@code null} 时忽略 {@code null} 元素
+     * @return 连接后的字符串，{@code elements} 为 {@code null} 时返回 {@code null}
+     */
+    public static String join(final Iterable<?> elements, final CharSequence delimiter, final String nullDefault) {
+        return Joiner.on(delimiter).nullDefault(nullDefault).join(elements);
+    }
+
+    /**
+     * <p>以分隔符连接 {@link Iterable} 中的元素，并加上前缀与后缀。</p>
+     *
+     * @param elements 要连接的元素，可以为 {@code null}
+     * @param delimiter 分隔符，为 {@code null} 时作 {@code empty} 处理
+     * @param prefix 前缀，为 {@code null} 时作 {@code empty} 处理
+     * @param suffix 后缀，为 {@code null} 时作 {@code empty} 处理
+     * @param nullDefault {@code null} 元素的替代文本，为 {@code null} 时忽略 {@code null} 元素
+     * @return 连接后的字符串，{@code elements} 为 {@code null} 时返回 {@code null}
+     */
+    public static String join(final Iterable<?> elements, final CharSequence delimiter, final CharSequence prefix,
+                              final CharSequence suffix, final String nullDefault) {
+        return Joiner.on(delimiter).wrap(prefix, suffix).nullDefault(nullDefault).join(elements);
+    }
+
+    /**
+     * <p>拼接多个字符序列，结果长度预先精确计算，{@code null} 按 {@code "null"} 处理（与字符串的 {@code +} 运算一致）。</p>
+     *
+     * <pre>
+     * StringAide.concat()                    = ""
+     * StringAide.concat("user:", "42", ":")  = "user:42:"
+     * StringAide.concat("a", null)           = "anull"
+     * </pre>
+     *
+     * @param parts 要拼接的字符序列
+     * @return 拼接后的字符串
+     */
+    public static String concat(final CharSequence... parts) {
+        return parts == null ? EMPTY : Joiner.concat(parts);
+    }
+
+    /**
+     * <p>按字典顺序比较两个字符串。</p>
+     *
+     * <pre>
+     * StringAide.compare(null, null, *)     = 0
+     * StringAide.compare(null , "a", true)  &lt; 0
+     * StringAide.compare(null , "a", false) &gt; 0
+     * StringAide.compare("a", null, true)   &gt; 0
+     * StringAide.compare("a", null, false)  &lt; 0
+     * StringAide.compare("abc", "abc", *)   = 0
+     * StringAide.compare("a", "b", *)       &lt; 0
+     * StringAide.compare("b", "a", *)       &gt; 0
+     * StringAide.compare("a", "B", *)       &gt; 0
+     * StringAide.compare("ab", "abc", *)    &lt; 0
+     * </pre>
+     *
+     * @param str1 一个字符串
+     * @param str2 另一个字符串
+     * @param nullIsLess 如果为 true 则 {@code null} 小于 {@code non-null}
+     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
+     * @see #compare(String, String)
+     */
+    public static int compare(final String str1, final String str2, final boolean nullIsLess) {
+        if (equals(str1, str2)) {
+            return 0;
+        }
+        if (str1 == null) {
+            return nullIsLess ? -1 : 1;
+        }
+        if (str2 == null) {
+            return nullIsLess ? 1 : -1;
+        }
+        return str1.compareTo(str2);
+    }
+
+    /**
+     * <p>按字典顺序比较两个字符串（{@code null} 小于 {@code non-null}）。</p>
+     *
+     * <pre>
+     * StringAide.compare(null, null)   = 0
+     * StringAide.compare(null , "a")   &lt; 0
+     * StringAide.compare("a", null)    &gt; 0
+     * StringAide.compare("abc", "abc") = 0
+     * StringAide.compare("a", "b")     &lt; 0
+     * StringAide.compare("b", "a")     &gt; 0
+     * StringAide.compare("a", "B")     &gt; 0
+     * StringAide.compare("ab", "abc")  &lt; 0
+     * </pre>
+     *
+     * @param str1 一个字符串
+     * @param str2 另一个字符串
+     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
+     * @see #compare(String, String, boolean)
+     */
+    public static int compare(final String str1, final String str2) {
+        return compare(str1, str2, true);
+    }
+
+    /**
+     * <p>按字典顺序比较两个字符串，忽略大小写。</p>
+     *
+     * <pre>
+     * StringAide.compareIgnoreCase(null, null, *)     = 0
+     * StringAide.compareIgnoreCase(null , "a", true)  &lt; 0
+     * StringAide.compareIgnoreCase(null , "a", false) &gt; 0
+     * StringAide.compareIgnoreCase("a", null, true)   &gt; 0
+     * StringAide.compareIgnoreCase("a", null, false)  &lt; 0
+     * StringAide.compareIgnoreCase("abc", "abc", *)   = 0
+     * StringAide.compareIgnoreCase("abc", "ABC", *)   = 0
+     * StringAide.compareIgnoreCase("a", "b", *)       &lt; 0
+     * StringAide.compareIgnoreCase("b", "a", *)       &gt; 0
+     * StringAide.compareIgnoreCase("a", "B", *)       &lt; 0
+     * StringAide.compareIgnoreCase("A", "b", *)       &lt; 0
+     * StringAide.compareIgnoreCase("ab", "abc", *)    &lt; 0
+     * </pre>
+     *
+     * @param str1 一个字符串
+     * @param str2 另一个字符串
+     * @param nullIsLess 如果为 true 则 {@code null} 小于 {@code non-null}
+     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
+     * @see #compareIgnoreCase(String, String)
+     */
+    public static int compareIgnoreCase(final String str1, final String str2, final boolean nullIsLess) {
+        if (equals(str1, str2)) {
+            return 0;
+        }
+        if (str1 == null) {
+            return nullIsLess ? -1 : 1;
+        }
+        if (str2 == null) {
+            return nullIsLess ? 1 : -1;
+        }
+        return str1.compareToIgnoreCase(str2);
+    }
+
+    /**
+     * <p>按字典顺序比较两个字符串，忽略大小写（{@code null} 小于 {@code non-null}）。</p>
+     *
+     * <pre>
+     * StringAide.compareIgnoreCase(null, null)   = 0
+     * StringAide.compareIgnoreCase(null , "a")   &lt; 0
+     * StringAide.compareIgnoreCase("a", null)    &gt; 0
+     * StringAide.compareIgnoreCase("abc", "abc") = 0
+     * StringAide.compareIgnoreCase("abc", "ABC") = 0
+     * StringAide.compareIgnoreCase("a", "b")     &lt; 0
+     * StringAide.compareIgnoreCase("b", "a")     &gt; 0
+     * StringAide.compareIgnoreCase("a", "B")     &lt; 0
+     * StringAide.compareIgnoreCase("A", "b")     &lt; 0
+     * StringAide.compareIgnoreCase("ab", "ABC")  &lt; 0
+     * </pre>
+     *
+     * @param str1 一个字符串
+     * @param str2 另一个字符串
+     * @return 0：相等；正数：{@code str1} 大于 {@code str2}；负数：{@code str1} 小于 {@code str2}
+     * @see #compareIgnoreCase(String, String, boolean)
+     */
+    public static int compareIgnoreCase(final String str1, final String str2) {
+        return compareIgnoreCase(str1, str2, true);
+    }
+
+    /**
+     * <p>计算两个字符序列的 Levenshtein 编辑距离，即将一个序列变为另一个所需的最少单字符插入、删除、替换次数。</p>
+     *
+     * <pre>
+     * StringAide.levenshtein("", "")              = 0
+     * StringAide.levenshtein("", "abc")           = 3
+     * StringAide.levenshtein("kitten", "sitting") = 3
+     * StringAide.levenshtein("flaw", "lawn")      = 2
+     * StringAide.levenshtein("abc", "acb")        = 2
+     * </pre>
+     *
+     * @param sequence1 一个字符序列，不能为 {@code null}
+     * @param sequence2 另一个字符序列，不能为 {@code null}
+     * @return 编辑距离
+     * @see #levenshtein(CharSequence, CharSequence, int)
+     */
+    public static int levenshtein(final CharSequence sequence1, final CharSequence sequence2) {
+        return levenshtein(sequence1, sequence2, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>计算两个字符序列的 Levenshtein 编辑距离，超过 {@code maxDistance} 时返回 -1。</p>
+     *
+     * <p>用于判断“编辑距离是否不超过 k”：长度差超过阈值时直接返回，否则在确定距离必然超过阈值时立即结束，
+     * 大多数不相似的序列只需比较少量字符。</p>
+     *
+     * <pre>
+     * StringAide.levenshtein("kitten", "sitting", 3) = 3
+     * StringAide.levenshtein("kitten", "sitting", 2) = -1
+     * StringAide.levenshtein("abc", "abcdef", 2)     = -1
+     * </pre>
+     *
+     * @param sequence1 一个字符序列，不能为 {@code null}
+     * @param sequence2 另一个字符序列，不能为 {@code null}
+     * @param maxDistance 最大距离，不能为负数
+     * @return 编辑距离，超过 {@code maxDistance} 时返回 -1
+     */
+    public static int levenshtein(final CharSequence sequence1, final CharSequence sequence2, final int maxDistance) {
+        checkDistanceArguments(sequence1, sequence2, maxDistance);
+        return EditDistance.levenshtein(sequence1, sequence2, maxDistance);
+    }
+
+    /**
+     * <p>计算两个字符序列的 Damerau-Levenshtein 编辑距离，在 Levenshtein 的基础上允许交换相邻两个字符，
+     * 每个子串最多编辑一次（Optimal String Alignment）。</p>
+     *
+     * <pre>
+     * StringAide.damerauLevenshtein("abc", "acb")  = 1
+     * StringAide.damerauLevenshtein("ca", "abc")   = 3
+     * StringAide.damerauLevenshtein("flaw", "lawn") = 2
+     * </pre>
+     *
+     * @param sequence1 一个字符序列，不能为 {@code null}
+     * @param sequence2 另一个字符序列，不能为 {@code null}
+     * @return 编辑距离
+     * @see #damerauLevenshtein(CharSequence, CharSequence, int)
+     */
+    public static int damerauLevenshtein(final CharSequence sequence1, final CharSequence sequence2) {
+        return damerauLevenshtein(sequence1, sequence2, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>计算两个字符序列的 Damerau-Levenshtein（Optimal String Alignment）编辑距离，超过 {@code maxDistance} 时返回 -1。</p>
+     *
+     * @param sequence1 一个字符序列，不能为 {@code null}
+     * @param sequence2 另一个字符序列，不能为 {@code null}
+     * @param maxDistance 最大距离，不能为负数
+     * @return 编辑距离，超过 {@code maxDistance} 时返回 -1
+     */
+    public static int damerauLevenshtein(final CharSequence sequence1, final CharSequence sequence2, final int maxDistance) {
+        checkDistanceArguments(sequence1, sequence2, maxDistance);
+        return EditDistance.damerau(sequence1, sequence2, maxDistance);
+    }
+
+    /**
+     * <p>计算两个字符序列的 Jaro-Winkler 相似度，范围为 [0, 1]，1 表示完全相同。</p>
+     *
+     * <p>Jaro 相似度不低于 0.7 时，按共同前缀（最多 4 个字符）以系数 0.1 加权，适合比较人名等较短的字符串。</p>
+     *
+     * <pre>
+     * StringAide.jaroWinkler("", "")                = 1.0
+     * StringAide.jaroWinkler("", "a")               = 0.0
+     * StringAide.jaroWinkler("MARTHA", "MARHTA")    = 0.961...
+     * StringAide.jaroWinkler("DIXON", "DICKSONX")   = 0.813...
+     * </pre>
+     *
+     * @param sequence1 一个字符序列，不能为 {@code null}
+     * @param sequence2 另一个字符序列，不能为 {@code null}
+     * @return 相似度
+     */
+    public static double jaroWinkler(final CharSequence sequence1, final CharSequence sequence2) {
+        checkDistanceArguments(sequence1, sequence2, 0);
+        return EditDistance.jaroWinkler(sequence1, sequence2);
+    }
+
+    /**
+     * <p>为代价较高的字符串变换加上容量为 {@code maxEntries} 的并发缓存，内容相同的输入只变换一次。</p>
+     *
+     * <p>返回的 {@link StringMemoizer} 按字符序列的内容查找，命中时无需先构造 {@link String}；
+     * 采用 W-TinyLFU 淘汰策略并提供命中率统计，详见 {@link StringMemoizer}。</p>
+     *
+     * <pre>
+     * StringMemoizer normalize = StringAide.memoize(s -&gt; StringAide.strip(StringAide.trims(s), "-"), 10_000);
+     * normalize.apply(" -a b c- ")  = "abc"
+     * normalize.apply(" -a b c- ")  = "abc"   // 命中
+     * normalize.hitRate()           = 0.5
+     * </pre>
+     *
+     * @param transform 变换，不能为 {@code null}，应为无副作用的纯函数
+     * @param maxEntries 最多缓存的条目数，必须为正数
+     * @return 带缓存的变换
+     */
+    public static StringMemoizer memoize(final Function<? super String, String> transform, final int maxEntries) {
+        AssertAide.notNull(transform, "The transform is null.");
+        AssertAide.isTrue(maxEntries > 0, "The maxEntries must be positive: %s", maxEntries);
+        return new StringMemoizer(transform, maxEntries);
+    }
+
+    /**
+     * 校验距离计算的参数，只在参数非法时才格式化异常信息
+     */
+    private static void checkDistanceArguments(final CharSequence sequence1, final CharSequence sequence2,
+                                               final int maxDistance) {
+        if (sequence1 == null || sequence2 == null || maxDistance < 0) {
+            AssertAide.notNull(sequence1, "The sequence1 is null.");
+            AssertAide.notNull(sequence2, "The sequence2 is null.");
+            AssertAide.isTrue(maxDistance >= 0, "The maxDistance must not be negative: %s", maxDistance);
+        }
+    }
+
+}
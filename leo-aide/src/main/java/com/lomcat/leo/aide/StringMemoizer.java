@@ -0,0 +1,427 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>带容量上限的字符串变换缓存，由 {@link StringAide#memoize(Function, int)} 创建，适合输入高度重复的规范化链
+ * （{@code strip}、{@code trims}、大小写转换、{@code truncate} 等的组合）。</p>
+ *
+ * <p>按字符序列的内容查找：{@link #apply(CharSequence)} 可以直接传入 {@link StringBuilder}、{@link CharSequenceView}、
+ * {@link AsciiSequence} 等，命中时不会先构造 {@link String}，只有未命中时才调用 {@code toString()} 并执行变换。</p>
+ *
+ * <p>淘汰策略为 W-TinyLFU：新条目先进入占容量 1% 的 LRU 窗口，被挤出窗口时与主区域（分段 LRU，试用区 20%、保护区 80%）
+ * 中最久未使用的条目比较近期访问频率，频率更高者留下。访问频率由 4 位计数的 Count-Min Sketch 近似统计，
+ * 计数总和达到容量的 10 倍时全部减半，使频率随时间衰减。与单纯的 LRU 相比，偶发的一次性输入不会冲掉真正的热点，
+ * 对 Zipf 分布的输入命中率明显更高。</p>
+ *
+ * <p>缓存按哈希值分为若干段，每段独立加锁并各自执行上述策略，多线程并发访问时只在同一段上竞争；
+ * 变换在锁外执行，耗时的变换不会阻塞其它线程。多个线程同时未命中同一个输入时可能各自执行一次变换，只保留先写入的结果。</p>
+ *
+ * <pre>
+ * StringMemoizer normalize = StringAide.memoize(s -&gt; StringAide.truncate(StringAide.trims(s), 32), 10_000);
+ * normalize.apply(" SKU - 0042 ")                       = "SKU-0042"
+ * normalize.apply(new StringBuilder(" SKU - 0042 "))    = "SKU-0042"   // 命中，不构造 String
+ * normalize.hitCount()                                  = 1
+ * normalize.hitRate()                                   = 0.5
+ * </pre>
+ *
+ * <p>变换结果为 {@code null} 时同样被缓存；输入为 {@code null} 时直接交给变换处理，不缓存也不计入统计。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class StringMemoizer implements Function<CharSequence, String> {
+
+    /** 每段的最小容量，容量过小时减少分段数 */
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final Function<? super String, String> transform;
+    private final int maxEntries;
+    private final Segment[] segments;
+    /** 哈希值右移此位数得到段号 */
+    private final int segmentShift;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    StringMemoizer(final Function<? super String, String> transform, final int maxEntries) {
+        this.transform = transform;
+        this.maxEntries = maxEntries;
+        final int wanted = Integer.highestOneBit(Math.max(1, ForkJoinPool.getCommonPoolParallelism() * 4 - 1)) << 1;
+        final int limit = Integer.highestOneBit(Math.max(1, maxEntries / MIN_SEGMENT_CAPACITY));
+        final int count = Math.min(wanted, limit);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i ++) {
+            // 余数分给前几段，各段容量之和恰好为 maxEntries
+            segments[i] = new Segment(maxEntries / count + (i < maxEntries % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * <p>返回 {@code input} 变换后的结果，内容相同的输入已缓存时直接返回缓存的结果。</p>
+     *
+     * @param input 输入，可以为 {@code null}
+     * @return 变换结果
+     */
+    @Override
+    public String apply(final CharSequence input) {
+        if (input == null) {
+            return transform.apply(null);
+        }
+        final int hash = spread(CharSequenceAccess.hashCode(input));
+        final Segment segment = segmentFor(hash);
+        final Node found = segment.get(hash, input);
+        if (found != null) {
+            hits.increment();
+            return found.value;
+        }
+        misses.increment();
+        final String key = input.toString();
+        final String value = transform.apply(key);
+        return segment.put(hash, key, value, evictions);
+    }
+
+    // ----- Statistics ----- begin
+    /**
+     * @return 命中次数
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return 未命中（执行变换）的次数
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return 因容量不足被淘汰（包括未被准入）的条目数
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return 命中率，尚无任何查询时返回 1.0
+     */
+    public double hitRate() {
+        final long hit = hits.sum();
+        final long total = hit + misses.sum();
+        return total == 0 ? 1.0 : (double) hit / total;
+    }
+
+    /**
+     * @return 当前缓存的条目数
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return 容量上限
+     */
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * 清空缓存与访问频率，统计计数不变
+     */
+    public void clear() {
+        for (final Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StringMemoizer[size=" + size() + ", maxEntries=" + maxEntries + ", hits=" + hitCount()
+                + ", misses=" + missCount() + ", evictions=" + evictionCount() + ']';
+    }
+    // ----- Statistics ----- end
+
+    private Segment segmentFor(final int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    /**
+     * 打散 {@link String#hashCode()}，使高位（段号）与低位（桶号）都分布均匀
+     */
+    private static int spread(final int hash) {
+        final int mixed = hash * 0x9E3779B9;
+        return mixed ^ mixed >>> 16;
+    }
+
+    // ----- Inner classes ----- begin
+    /**
+     * 缓存条目，同时位于哈希桶的链表与所在区域的双向链表中
+     */
+    private static final class Node {
+        static final byte WINDOW = 0;
+        static final byte PROBATION = 1;
+        static final byte PROTECTED = 2;
+
+        final int hash;
+        final String key;
+        final String value;
+        /** 同一个桶中的下一个条目 */
+        Node next;
+        Node prev;
+        Node after;
+        byte queue;
+
+        Node(final int hash, final String key, final String value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        /** 链表头（哨兵） */
+        Node() {
+            this(0, null, null);
+            prev = this;
+            after = this;
+        }
+    }
+
+    /**
+     * 一段缓存：固定大小的哈希表、三个按访问顺序排列的区域与一个频率草图，所有操作都在 {@code this} 上同步
+     */
+    private static final class Segment {
+        private final Node[] table;
+        private final int capacity;
+        private final int windowCapacity;
+        private final int protectedCapacity;
+        /** 各区域的链表头，表头的后继最久未使用 */
+        private final Node window = new Node();
+        private final Node probation = new Node();
+        private final Node protectedQueue = new Node();
+        private final FrequencySketch sketch;
+        private int windowSize;
+        private int protectedSize;
+        private int size;
+
+        Segment(final int capacity) {
+            this.capacity = capacity;
+            this.windowCapacity = Math.max(1, capacity / 100);
+            this.protectedCapacity = (capacity - windowCapacity) * 4 / 5;
+            // 容量固定，负载因子不超过 0.75，无需扩容
+            this.table = new Node[Integer.highestOneBit(Math.max(2, capacity * 4 / 3 + 1) - 1) << 1];
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        synchronized Node get(final int hash, final CharSequence key) {
+            final Node node = find(hash, key);
+            if (node == null) {
+                return null;
+            }
+            sketch.increment(hash);
+            if (node.queue == Node.PROBATION) {
+                // 试用区中再次被访问的条目晋升到保护区，保护区溢出时最久未使用的条目降回试用区
+                unlink(node);
+                node.queue = Node.PROTECTED;
+                linkLast(protectedQueue, node);
+                protectedSize ++;
+                if (protectedSize > protectedCapacity) {
+                    final Node demoted = protectedQueue.after;
+                    unlink(demoted);
+                    demoted.queue = Node.PROBATION;
+                    linkLast(probation, demoted);
+                    protectedSize --;
+                }
+            } else {
+                moveToLast(node.queue == Node.WINDOW ? window : protectedQueue, node);
+            }
+            return node;
+        }
+
+        /**
+         * @return 缓存中的值：其它线程已先写入同一个键时返回已有的值
+         */
+        synchronized String put(final int hash, final String key, final String value, final LongAdder evictions) {
+            final Node existing = find(hash, key);
+            if (existing != null) {
+                return existing.value;
+            }
+            final Node node = new Node(hash, key, value);
+            final int index = hash & (table.length - 1);
+            node.next = table[index];
+            table[index] = node;
+            linkLast(window, node);
+            windowSize ++;
+            size ++;
+            sketch.increment(hash);
+            if (windowSize > windowCapacity) {
+                // 挤出窗口的候选者进入试用区，主区域溢出时与试用区中最久未使用的条目比较频率
+                final Node candidate = window.after;
+                unlink(candidate);
+                windowSize --;
+                candidate.queue = Node.PROBATION;
+                linkLast(probation, candidate);
+                if (size > capacity) {
+                    Node victim = probation.after;
+                    if (victim == candidate) {
+                        victim = protectedQueue.after != protectedQueue ? protectedQueue.after : candidate;
+                    }
+                    final Node evicted = victim == candidate || sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)
+                            ? victim : candidate;
+                    evict(evicted);
+                    evictions.increment();
+                }
+            }
+            return value;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(table, null);
+            window.prev = window.after = window;
+            probation.prev = probation.after = probation;
+            protectedQueue.prev = protectedQueue.after = protectedQueue;
+            windowSize = 0;
+            protectedSize = 0;
+            size = 0;
+            sketch.clear();
+        }
+
+        private Node find(final int hash, final CharSequence key) {
+            final int length = key.length();
+            for (Node node = table[hash & (table.length - 1)]; node != null; node = node.next) {
+                if (node.hash == hash && node.key.length() == length
+                        && (node.key == key || CharSequenceAccess.mismatch(false, node.key, 0, key, 0, length) < 0)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        private void evict(final Node node) {
+            unlink(node);
+            if (node.queue == Node.PROTECTED) {
+                protectedSize --;
+            }
+            final int index = node.hash & (table.length - 1);
+            if (table[index] == node) {
+                table[index] = node.next;
+            } else {
+                Node previous = table[index];
+                while (previous.next != node) {
+                    previous = previous.next;
+                }
+                previous.next = node.next;
+            }
+            size --;
+        }
+
+        private static void linkLast(final Node head, final Node node) {
+            final Node last = head.prev;
+            node.prev = last;
+            node.after = head;
+            last.after = node;
+            head.prev = node;
+        }
+
+        private static void unlink(final Node node) {
+            node.prev.after = node.after;
+            node.after.prev = node.prev;
+        }
+
+        private static void moveToLast(final Node head, final Node node) {
+            if (head.prev != node) {
+                unlink(node);
+                linkLast(head, node);
+            }
+        }
+    }
+
+    /**
+     * <p>4 位计数的 Count-Min Sketch，估计条目的近期访问频率（最大 15）。</p>
+     *
+     * <p>每个 {@code long} 保存 16 个计数，每个条目在 4 个不同的 {@code long} 中各占一个计数，频率取其最小值。
+     * 成功累加的次数达到样本大小时所有计数减半。</p>
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(final int capacity) {
+            this.table = new long[Integer.highestOneBit(Math.max(2, capacity) - 1) << 1];
+            this.sampleSize = 10 * Math.max(1, capacity);
+        }
+
+        int frequency(final int hash) {
+            final int start = (hash & 3) << 2;
+            int frequency = 15;
+            for (int i = 0; i < 4; i ++) {
+                final int offset = (start + i) << 2;
+                frequency = Math.min(frequency, (int) (table[indexOf(hash, i)] >>> offset & 0xF));
+            }
+            return frequency;
+        }
+
+        void increment(final int hash) {
+            final int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i ++) {
+                final int index = indexOf(hash, i);
+                final int offset = (start + i) << 2;
+                if ((table[index] >>> offset & 0xF) != 0xF) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++ additions == sampleSize) {
+                for (int i = 0; i < table.length; i ++) {
+                    table[i] = table[i] >>> 1 & RESET_MASK;
+                }
+                additions >>>= 1;
+            }
+        }
+
+        void clear() {
+            Arrays.fill(table, 0L);
+            additions = 0;
+        }
+
+        private int indexOf(final int hash, final int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & (table.length - 1);
+        }
+    }
+    // ----- Inner classes ----- end
+}
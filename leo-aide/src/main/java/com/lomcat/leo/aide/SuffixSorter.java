@@ -0,0 +1,175 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>后缀数组的并行构建（内部使用），供 {@link TextIndex} 使用。</p>
+ *
+ * <p>采用前缀倍增：先按前两个字符排序，之后每一轮将前 h 个字符相同的后缀（一个组）按第 h 个字符起的后缀的组号排序，
+ * 使有序的前缀长度翻倍，直到每个组只剩一个后缀。已经只剩一个后缀的组不再参与之后的轮次。</p>
+ *
+ * <p>同一轮中各组互不影响，文本长度达到阈值时拆分为多个组区间，在 {@link ForkJoinPool#commonPool()} 中并行排序，
+ * 特别大的组使用 {@link Arrays#parallelSort(long[], int, int)}；阈值默认为 65536 个字符，
+ * 与 {@link BulkTransform} 一样可通过系统属性 {@code -Dleo.aide.parallelThreshold=<n>} 调整。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class SuffixSorter extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 每个子任务处理的最小后缀个数 */
+    private static final int MIN_LEAF = 1 << 14;
+
+    private final int[] sa;
+    private final int[] rank;
+    private final long[] keys;
+    /** 尚未排好的组，第 i 个组为 [{@code groups[2i]}, {@code groups[2i + 1]}) */
+    private final int[] groups;
+    private final int h;
+    private final int from;
+    private final int to;
+    private final int leaf;
+
+    private SuffixSorter(final int[] sa, final int[] rank, final long[] keys, final int[] groups,
+                         final int h, final int from, final int to, final int leaf) {
+        this.sa = sa;
+        this.rank = rank;
+        this.keys = keys;
+        this.groups = groups;
+        this.h = h;
+        this.from = from;
+        this.to = to;
+        this.leaf = leaf;
+    }
+
+    /**
+     * @return {@code text} 的后缀数组：第 i 小的后缀的起始位置
+     */
+    static int[] suffixArray(final char[] text) {
+        final int n = text.length;
+        final int[] sa = new int[n];
+        final int[] rank = new int[n];
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i ++) {
+            // 高 33 位为前两个字符（第二个字符加一，文本末尾为 0），低 31 位为位置；翻转符号位使有符号排序等同于无符号排序
+            final long second = i + 1 < n ? text[i + 1] + 1L : 0L;
+            keys[i] = (((long) text[i] << 17 | second) << 31 | i) ^ Long.MIN_VALUE;
+        }
+        final boolean parallel = n >= BulkTransform.PARALLEL_THRESHOLD;
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        // 组号为组在后缀数组中的起始位置，首轮只有一个包含全部后缀的组，已按前两个字符排好
+        int[] groups = {0, n};
+        int count = 1;
+        for (int h = 0; count > 0 && h < n; h = h == 0 ? 2 : h << 1) {
+            if (h > 0) {
+                final SuffixSorter task = new SuffixSorter(sa, rank, keys, groups, h, 0, count, leaf(n));
+                if (parallel) {
+                    ForkJoinPool.commonPool().invoke(task);
+                } else {
+                    task.sort(0, count);
+                }
+            }
+            int size = 0;
+            for (int g = 0; g < count; g ++) {
+                size += groups[2 * g + 1] - groups[2 * g];
+            }
+            // 新组至少包含两个后缀，组数不超过 size / 2
+            final int[] next = new int[size];
+            count = refine(sa, rank, keys, h == 0 ? 31 : 32, groups, count, next);
+            groups = next;
+        }
+        return sa;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from == 1 || groups[2 * to - 1] - groups[2 * from] <= leaf) {
+            sort(from, to);
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        invokeAll(new SuffixSorter(sa, rank, keys, groups, h, from, middle, leaf),
+                new SuffixSorter(sa, rank, keys, groups, h, middle, to, leaf));
+    }
+
+    /**
+     * 将第 [{@code groupFrom}, {@code groupTo}) 个组中的后缀按第 h 个字符起的后缀的组号排序，结果暂存在 {@link #keys} 中
+     */
+    private void sort(final int groupFrom, final int groupTo) {
+        final int n = sa.length;
+        for (int g = groupFrom; g < groupTo; g ++) {
+            final int start = groups[2 * g];
+            final int end = groups[2 * g + 1];
+            for (int i = start; i < end; i ++) {
+                final int suffix = sa[i];
+                // 超出文本的部分视为最小
+                final long next = h < n - suffix ? rank[suffix + h] + 1L : 0L;
+                keys[i] = next << 32 | suffix;
+            }
+            if (end - start >= BulkTransform.PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(keys, start, end);
+            } else {
+                Arrays.sort(keys, start, end);
+            }
+        }
+    }
+
+    /**
+     * 根据排好的键（高位为排序依据，低 {@code shift} 位为位置）更新组内的后缀顺序与组号，并将仍包含多个后缀的新组写入 {@code next}
+     *
+     * @return 新的组数
+     */
+    private static int refine(final int[] sa, final int[] rank, final long[] keys, final int shift,
+                              final int[] groups, final int count, final int[] next) {
+        final long mask = (1L << shift) - 1;
+        int newCount = 0;
+        for (int g = 0; g < count; g ++) {
+            final int start = groups[2 * g];
+            final int end = groups[2 * g + 1];
+            for (int i = start; i < end; i ++) {
+                sa[i] = (int) (keys[i] & mask);
+            }
+            for (int i = start, subStart = start; i < end; i ++) {
+                if (i > start && keys[i] >>> shift != keys[i - 1] >>> shift) {
+                    subStart = i;
+                }
+                rank[sa[i]] = subStart;
+                if (i > subStart && (i + 1 == end || keys[i + 1] >>> shift != keys[i] >>> shift)) {
+                    next[2 * newCount] = subStart;
+                    next[2 * newCount + 1] = i + 1;
+                    newCount ++;
+                }
+            }
+        }
+        return newCount;
+    }
+
+    private static int leaf(final int length) {
+        // 每个工作线程约 4 个子任务，兼顾负载均衡与任务开销
+        return Math.max(MIN_LEAF, length / (ForkJoinPool.getCommonPoolParallelism() << 2));
+    }
+}
@@ -0,0 +1,406 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <p>为同一段静态文本预先构建的全文索引，适合对大文本反复执行大量查找。</p>
+ *
+ * <p>索引由后缀数组与其上的小波矩阵组成：出现某个模式的所有位置在后缀数组中是连续的一段，二分查找得到这一段，
+ * 每一步跳过左右边界已经匹配的公共前缀；段内第 k 小的位置、小于某位置的个数由小波矩阵回答。
+ * 因此 {@link #count(CharSequence)}、{@link #indexOf(CharSequence, int)}、{@link #lastIndexOf(CharSequence, int)}、
+ * {@link #ordinalIndexOf(CharSequence, int)} 的时间复杂度为 O(m log n)（m 为模式长度，n 为文本长度），与出现次数无关，
+ * 不必像 {@link CharSequenceAide#indexOf(CharSequence, CharSequence)} 那样每次从头扫描文本。</p>
+ *
+ * <pre>
+ * TextIndex index = TextIndex.of("abracadabra");
+ * index.count("abra")                  = 2
+ * index.indexOf("a", 1)                = 3
+ * index.lastIndexOf("abra")            = 7
+ * index.ordinalIndexOf("a", 3)         = 5
+ * index.ordinalLastIndexOf("a", 2)     = 7
+ * index.indexesOf("bra")               = [1, 8]
+ * </pre>
+ *
+ * <p>查找结果与 {@link CharSequenceAide} 中同名方法一致（包括重叠出现与空模式的处理）。构建时后缀排序在
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()} 中并行执行；构建后索引不可变，可以被多个线程同时查询，
+ * 也可以通过 {@link #save(Path)} 保存到文件，之后用 {@link #load(Path)} 直接载入而无需重新构建。</p>
+ *
+ * <p>内存占用约为每个字符 6 字节（文本与后缀数组），再加上小波矩阵的每个字符约 1.5 × log<sub>2</sub>n 位。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class TextIndex {
+
+    /** 文件格式标识 "LTIX" */
+    private static final int MAGIC = 0x4C544958;
+    private static final int VERSION = 1;
+
+    /** 批量读写数组时使用的缓冲区字节数 */
+    private static final int IO_BUFFER = 1 << 16;
+
+    private final char[] text;
+    /** 后缀数组：第 i 小的后缀的起始位置 */
+    private final int[] suffixes;
+    /** 后缀数组上的小波矩阵 */
+    private final WaveletMatrix positions;
+
+    private TextIndex(final char[] text, final int[] suffixes, final WaveletMatrix positions) {
+        this.text = text;
+        this.suffixes = suffixes;
+        this.positions = positions;
+    }
+
+    /**
+     * <p>为 {@code text} 构建索引，会复制其当前内容，之后对 {@code text} 的修改不影响索引。</p>
+     *
+     * @param text 文本，不能为 {@code null}
+     * @return 索引
+     */
+    public static TextIndex of(final CharSequence text) {
+        final char[] chars = new char[text.length()];
+        CharSequenceAccess.getChars(text, 0, chars.length, chars, 0);
+        final int[] suffixes = SuffixSorter.suffixArray(chars);
+        return new TextIndex(chars, suffixes, new WaveletMatrix(suffixes, Math.max(1, chars.length)));
+    }
+
+    /**
+     * @return 文本长度
+     */
+    public int length() {
+        return text.length;
+    }
+
+    // ----- Query ----- begin
+    /**
+     * @param pattern 模式
+     * @return {@code pattern} 在文本中出现的次数（包括重叠的出现），{@code pattern} 为 {@code null} 时返回 0，为空时返回文本长度加一
+     */
+    public int count(final CharSequence pattern) {
+        if (pattern == null) {
+            return 0;
+        }
+        if (pattern.length() == 0) {
+            // 空模式出现在每个位置，包括文本末尾，与 indexesOf 一致
+            return text.length + 1;
+        }
+        final char[] chars = chars(pattern);
+        return upperBound(chars) - lowerBound(chars);
+    }
+
+    /**
+     * @see CharSequenceAide#indexOf(CharSequence, CharSequence)
+     */
+    public int indexOf(final CharSequence pattern) {
+        return indexOf(pattern, 0);
+    }
+
+    /**
+     * @param pattern 模式
+     * @param fromIndex 开始查找的位置，负数作 0 处理
+     * @return {@code pattern} 在 {@code fromIndex} 之后首次出现的索引，不存在或 {@code pattern} 为 {@code null} 时返回 -1
+     * @see CharSequenceAide#indexOf(CharSequence, CharSequence, int)
+     */
+    public int indexOf(final CharSequence pattern, int fromIndex) {
+        if (pattern == null) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        fromIndex = Math.max(fromIndex, 0);
+        if (pattern.length() == 0) {
+            return Math.min(fromIndex, text.length);
+        }
+        if (fromIndex >= text.length) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        final char[] chars = chars(pattern);
+        final int from = lowerBound(chars);
+        final int to = upperBound(chars);
+        final int before = positions.countLess(from, to, fromIndex);
+        return before == to - from ? CharSequenceAide.INDEX_NOT_FOUND : positions.quantile(from, to, before);
+    }
+
+    /**
+     * @see CharSequenceAide#lastIndexOf(CharSequence, CharSequence, int)
+     */
+    public int lastIndexOf(final CharSequence pattern) {
+        return lastIndexOf(pattern, text.length);
+    }
+
+    /**
+     * @param pattern 模式
+     * @param fromIndex 开始向前查找的位置，大于最大可能位置时作最大位置处理
+     * @return {@code pattern} 在 {@code fromIndex} 处或之前最后出现的索引，不存在或 {@code pattern} 为 {@code null} 时返回 -1
+     * @see CharSequenceAide#lastIndexOf(CharSequence, CharSequence, int)
+     */
+    public int lastIndexOf(final CharSequence pattern, int fromIndex) {
+        if (pattern == null) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        fromIndex = Math.min(fromIndex, text.length - pattern.length());
+        if (fromIndex < 0) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        if (pattern.length() == 0) {
+            return fromIndex;
+        }
+        final char[] chars = chars(pattern);
+        final int from = lowerBound(chars);
+        final int to = upperBound(chars);
+        final int before = positions.countLess(from, to, fromIndex + 1);
+        return before == 0 ? CharSequenceAide.INDEX_NOT_FOUND : positions.quantile(from, to, before - 1);
+    }
+
+    /**
+     * @param pattern 模式
+     * @param ordinal 次序，从 1 开始
+     * @return {@code pattern} 第 {@code ordinal} 次出现的索引，不存在时返回 -1
+     * @see CharSequenceAide#ordinalIndexOf(CharSequence, CharSequence, int)
+     */
+    public int ordinalIndexOf(final CharSequence pattern, final int ordinal) {
+        return ordinalIndexOf(pattern, ordinal, false);
+    }
+
+    /**
+     * @param pattern 模式
+     * @param ordinal 从后向前的次序，从 1 开始
+     * @return {@code pattern} 倒数第 {@code ordinal} 次出现的索引，不存在时返回 -1
+     * @see CharSequenceAide#ordinalLastIndexOf(CharSequence, CharSequence, int)
+     */
+    public int ordinalLastIndexOf(final CharSequence pattern, final int ordinal) {
+        return ordinalIndexOf(pattern, ordinal, true);
+    }
+
+    private int ordinalIndexOf(final CharSequence pattern, final int ordinal, final boolean lastIndex) {
+        if (pattern == null || ordinal <= 0) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        if (pattern.length() == 0) {
+            return lastIndex ? text.length : 0;
+        }
+        final char[] chars = chars(pattern);
+        final int from = lowerBound(chars);
+        final int to = upperBound(chars);
+        if (ordinal > to - from) {
+            return CharSequenceAide.INDEX_NOT_FOUND;
+        }
+        return positions.quantile(from, to, lastIndex ? to - from - ordinal : ordinal - 1);
+    }
+
+    /**
+     * @param pattern 模式
+     * @return {@code pattern} 所有出现位置（包括重叠的出现），按升序排列；{@code pattern} 为 {@code null} 时返回空数组
+     */
+    public int[] indexesOf(final CharSequence pattern) {
+        if (pattern == null) {
+            return new int[0];
+        }
+        if (pattern.length() == 0) {
+            final int[] indexes = new int[text.length + 1];
+            for (int i = 0; i < indexes.length; i ++) {
+                indexes[i] = i;
+            }
+            return indexes;
+        }
+        final char[] chars = chars(pattern);
+        final int[] indexes = Arrays.copyOfRange(suffixes, lowerBound(chars), upperBound(chars));
+        Arrays.sort(indexes);
+        return indexes;
+    }
+
+    private static char[] chars(final CharSequence pattern) {
+        final char[] chars = new char[pattern.length()];
+        CharSequenceAccess.getChars(pattern, 0, chars.length, chars, 0);
+        return chars;
+    }
+
+    /**
+     * @return 后缀数组中第一个不小于 {@code pattern} 的后缀的下标
+     */
+    private int lowerBound(final char[] pattern) {
+        return bound(pattern, false);
+    }
+
+    /**
+     * @return 后缀数组中第一个大于 {@code pattern} 且不以其开头的后缀的下标
+     */
+    private int upperBound(final char[] pattern) {
+        return bound(pattern, true);
+    }
+
+    private int bound(final char[] pattern, final boolean upper) {
+        final int n = text.length;
+        final int m = pattern.length;
+        // 二分区间 (left, right]，leftMatched/rightMatched 为模式与边界后缀的公共前缀长度，
+        // 两者之间的后缀都至少有 min(leftMatched, rightMatched) 个字符与模式相同，比较时直接跳过
+        int left = -1;
+        int right = n;
+        int leftMatched = 0;
+        int rightMatched = 0;
+        while (right - left > 1) {
+            final int middle = (left + right) >>> 1;
+            final int suffix = suffixes[middle];
+            int k = Math.min(leftMatched, rightMatched);
+            while (k < m && suffix + k < n && text[suffix + k] == pattern[k]) {
+                k ++;
+            }
+            final boolean before;
+            if (k == m) {
+                before = upper;
+            } else if (suffix + k == n) {
+                before = true;
+            } else {
+                before = text[suffix + k] < pattern[k];
+            }
+            if (before) {
+                left = middle;
+                leftMatched = k;
+            } else {
+                right = middle;
+                rightMatched = k;
+            }
+        }
+        return right;
+    }
+    // ----- Query ----- end
+
+    // ----- Persistence ----- begin
+    /**
+     * <p>将索引（包括文本）保存到文件，已存在时覆盖。</p>
+     *
+     * @param file 文件
+     * @throws IOException 写入失败
+     */
+    public void save(final Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            writeTo(out);
+        }
+    }
+
+    /**
+     * <p>从 {@link #save(Path)} 保存的文件载入索引。</p>
+     *
+     * @param file 文件
+     * @return 索引
+     * @throws IOException 读取失败或文件格式不正确
+     */
+    public static TextIndex load(final Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), IO_BUFFER)) {
+            return readFrom(in);
+        }
+    }
+
+    /**
+     * <p>将索引写入输出流，不关闭输出流。</p>
+     *
+     * @param out 输出流
+     * @throws IOException 写入失败
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, IO_BUFFER));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(text.length);
+        final ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER);
+        for (int i = 0; i < text.length; ) {
+            final int n = Math.min(text.length - i, IO_BUFFER / Character.BYTES);
+            buffer.asCharBuffer().put(text, i, n);
+            data.write(buffer.array(), 0, n * Character.BYTES);
+            i += n;
+        }
+        for (int i = 0; i < suffixes.length; ) {
+            final int n = Math.min(suffixes.length - i, IO_BUFFER / Integer.BYTES);
+            buffer.asIntBuffer().put(suffixes, i, n);
+            data.write(buffer.array(), 0, n * Integer.BYTES);
+            i += n;
+        }
+        positions.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * <p>从输入流读取 {@link #writeTo(OutputStream)} 写入的索引，不关闭输入流。</p>
+     *
+     * @param in 输入流
+     * @return 索引
+     * @throws IOException 读取失败或格式不正确
+     */
+    public static TextIndex readFrom(final InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a text index");
+        }
+        final int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported text index version " + version);
+        }
+        final int length = data.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupted text index: length " + length);
+        }
+        final char[] text = new char[length];
+        final int[] suffixes = new int[length];
+        final byte[] bytes = new byte[IO_BUFFER];
+        for (int i = 0; i < length; ) {
+            final int n = Math.min(length - i, IO_BUFFER / Character.BYTES);
+            data.readFully(bytes, 0, n * Character.BYTES);
+            ByteBuffer.wrap(bytes).asCharBuffer().get(text, i, n);
+            i += n;
+        }
+        for (int i = 0; i < length; ) {
+            final int n = Math.min(length - i, IO_BUFFER / Integer.BYTES);
+            data.readFully(bytes, 0, n * Integer.BYTES);
+            ByteBuffer.wrap(bytes).asIntBuffer().get(suffixes, i, n);
+            i += n;
+        }
+        return new TextIndex(text, suffixes, WaveletMatrix.readFrom(data));
+    }
+
+    static void write(final DataOutputStream out, final long[] array) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER);
+        for (int i = 0; i < array.length; ) {
+            final int n = Math.min(array.length - i, IO_BUFFER / Long.BYTES);
+            buffer.asLongBuffer().put(array, i, n);
+            out.write(buffer.array(), 0, n * Long.BYTES);
+            i += n;
+        }
+    }
+
+    static long[] readLongs(final DataInputStream in, final int length) throws IOException {
+        final long[] array = new long[length];
+        final byte[] bytes = new byte[IO_BUFFER];
+        for (int i = 0; i < length; ) {
+            final int n = Math.min(length - i, IO_BUFFER / Long.BYTES);
+            in.readFully(bytes, 0, n * Long.BYTES);
+            ByteBuffer.wrap(bytes).asLongBuffer().get(array, i, n);
+            i += n;
+        }
+        return array;
+    }
+    // ----- Persistence ----- end
+}
@@ -0,0 +1,155 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <p>有界堆（内部使用），在流式数据中保留按 {@link ObjectAide#compare(Comparable, Comparable, boolean)} 排在最前的 k 个元素，
+ * 供 {@link ObjectAide#minK(Iterator, int)}、{@link ObjectAide#maxK(Iterator, int)} 等使用。</p>
+ *
+ * <p>堆顶为已保留元素中排在最后的一个，新元素只有排在堆顶之前时才替换堆顶，每个元素的代价为 O(log k)，
+ * 内存只与 k（以及实际元素个数）有关。两个堆可以合并，用于并行流的各个分段。</p>
+ *
+ * @param <T> 元素类型
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class TopK<T extends Comparable<? super T>> implements Consumer<T> {
+
+    /** 首次分配的堆容量上限，k 很大而元素很少时不预先分配 k 个槽位 */
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    /** 为 {@code true} 时保留最大的 k 个元素，{@code null} 最小；反之保留最小的 k 个元素，{@code null} 最大 */
+    private final boolean largest;
+    private Object[] heap;
+    private int size;
+
+    TopK(final int k, final boolean largest) {
+        this.k = k;
+        this.largest = largest;
+        this.heap = new Object[Math.min(k, INITIAL_CAPACITY)];
+    }
+
+    static <T extends Comparable<? super T>> List<T> of(final Iterator<? extends T> iterator, final int k, final boolean largest) {
+        final TopK<T> top = new TopK<>(k, largest);
+        if (k > 0) {
+            while (iterator.hasNext()) {
+                top.accept(iterator.next());
+            }
+        }
+        return top.toList();
+    }
+
+    static <T extends Comparable<? super T>> List<T> of(final Spliterator<? extends T> spliterator, final int k, final boolean largest) {
+        final TopK<T> top = new TopK<>(k, largest);
+        if (k > 0) {
+            spliterator.forEachRemaining(top);
+        }
+        return top.toList();
+    }
+
+    static <T extends Comparable<? super T>> List<T> of(final Stream<? extends T> stream, final int k, final boolean largest) {
+        if (k == 0) {
+            return new ArrayList<>(0);
+        }
+        // 并行流的各个分段各自维护一个堆，最后两两合并
+        return stream.collect(() -> new TopK<T>(k, largest), TopK::accept, TopK::merge).toList();
+    }
+
+    /**
+     * 按保留的顺序比较：{@code a} 应排在 {@code b} 之前时返回负数
+     */
+    @SuppressWarnings("unchecked")
+    private int order(final Object a, final Object b) {
+        return largest ? ObjectAide.compare((T) b, (T) a, false) : ObjectAide.compare((T) a, (T) b, true);
+    }
+
+    @Override
+    public void accept(final T element) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(k, (long) size << 1));
+            }
+            heap[size] = element;
+            siftUp(size ++);
+        } else if (order(element, heap[0]) < 0) {
+            // 与堆顶相同的元素不替换，相同的元素中保留先出现的
+            heap[0] = element;
+            siftDown(0);
+        }
+    }
+
+    void merge(final TopK<T> other) {
+        for (int i = 0; i < other.size; i ++) {
+            @SuppressWarnings("unchecked")
+            final T element = (T) other.heap[i];
+            accept(element);
+        }
+    }
+
+    /**
+     * @return 按保留的顺序排好的元素：最小的 k 个时升序，最大的 k 个时降序
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toList() {
+        final Object[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, this::order);
+        final List<T> list = new ArrayList<>(size);
+        for (final Object element : sorted) {
+            list.add((T) element);
+        }
+        return list;
+    }
+
+    private void siftUp(int index) {
+        final Object element = heap[index];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (order(element, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = element;
+    }
+
+    private void siftDown(int index) {
+        final Object element = heap[index];
+        final int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            if (child + 1 < size && order(heap[child + 1], heap[child]) > 0) {
+                child ++;
+            }
+            if (order(element, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = element;
+    }
+}
@@ -0,0 +1,180 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * <p>非负整数序列的小波矩阵（wavelet matrix，内部使用），供 {@link TextIndex} 在后缀数组的区间上回答位置查询。</p>
+ *
+ * <p>每个二进制位一层，每层一个位向量，并在每个 64 位字前记录累计的 1 的个数；
+ * 区间内第 k 小的值与区间内小于 x 的值的个数都只需逐层各做两次 rank，时间复杂度 O(log σ)，σ 为值域大小。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class WaveletMatrix {
+
+    private final int size;
+    private final int levels;
+    /** 第 l 层对应第 {@code levels - 1 - l} 位 */
+    private final long[][] bits;
+    /** 每层每个字之前 1 的个数 */
+    private final int[][] ranks;
+    /** 每层 0 的个数 */
+    private final int[] zeros;
+
+    /**
+     * @param values 值均在 [0, {@code bound}) 内，不会被修改
+     * @param bound 值的上界（不包含）
+     */
+    WaveletMatrix(final int[] values, final int bound) {
+        this.size = values.length;
+        this.levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(bound - 1));
+        this.bits = new long[levels][];
+        this.zeros = new int[levels];
+        int[] current = values.clone();
+        int[] next = new int[size];
+        final int[] ones = new int[size];
+        for (int level = 0; level < levels; level ++) {
+            final int bit = levels - 1 - level;
+            final long[] words = new long[(size + 63) >>> 6];
+            // 稳定划分：该位为 0 的值在前，为 1 的值在后；两侧都写入再移动指针，避免无法预测的分支
+            int zero = 0;
+            int one = 0;
+            for (int i = 0; i < size; i ++) {
+                final int value = current[i];
+                final int b = value >>> bit & 1;
+                words[i >>> 6] |= (long) b << i;
+                next[zero] = value;
+                ones[one] = value;
+                zero += b ^ 1;
+                one += b;
+            }
+            System.arraycopy(ones, 0, next, zero, one);
+            bits[level] = words;
+            zeros[level] = zero;
+            final int[] swap = current;
+            current = next;
+            next = swap;
+        }
+        this.ranks = ranks(bits);
+    }
+
+    private WaveletMatrix(final int size, final long[][] bits, final int[] zeros) {
+        this.size = size;
+        this.levels = bits.length;
+        this.bits = bits;
+        this.zeros = zeros;
+        this.ranks = ranks(bits);
+    }
+
+    private static int[][] ranks(final long[][] bits) {
+        final int[][] ranks = new int[bits.length][];
+        for (int level = 0; level < bits.length; level ++) {
+            final long[] words = bits[level];
+            final int[] rank = new int[words.length + 1];
+            for (int i = 0; i < words.length; i ++) {
+                rank[i + 1] = rank[i] + Long.bitCount(words[i]);
+            }
+            ranks[level] = rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * @return 第 {@code level} 层 [0, {@code index}) 中 0 的个数
+     */
+    private int rank0(final int level, final int index) {
+        final long word = bits[level].length == index >>> 6 ? 0 : bits[level][index >>> 6];
+        return index - ranks[level][index >>> 6] - Long.bitCount(word & ((1L << index) - 1));
+    }
+
+    /**
+     * @return [{@code from}, {@code to}) 中第 {@code k} 小（从 0 开始）的值，调用方保证 {@code k < to - from}
+     */
+    int quantile(int from, int to, int k) {
+        int value = 0;
+        for (int level = 0; level < levels; level ++) {
+            final int zeroFrom = rank0(level, from);
+            final int zeroTo = rank0(level, to);
+            final int zero = zeroTo - zeroFrom;
+            if (k < zero) {
+                from = zeroFrom;
+                to = zeroTo;
+            } else {
+                k -= zero;
+                value |= 1 << levels - 1 - level;
+                from = zeros[level] + from - zeroFrom;
+                to = zeros[level] + to - zeroTo;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return [{@code from}, {@code to}) 中小于 {@code bound} 的值的个数
+     */
+    int countLess(int from, int to, final int bound) {
+        if (bound <= 0) {
+            return 0;
+        }
+        if (bound >>> levels != 0) {
+            return to - from;
+        }
+        int count = 0;
+        for (int level = 0; level < levels && from < to; level ++) {
+            final int zeroFrom = rank0(level, from);
+            final int zeroTo = rank0(level, to);
+            if ((bound >>> levels - 1 - level & 1) == 0) {
+                from = zeroFrom;
+                to = zeroTo;
+            } else {
+                count += zeroTo - zeroFrom;
+                from = zeros[level] + from - zeroFrom;
+                to = zeros[level] + to - zeroTo;
+            }
+        }
+        return count;
+    }
+
+    void writeTo(final DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(levels);
+        for (int level = 0; level < levels; level ++) {
+            out.writeInt(zeros[level]);
+            TextIndex.write(out, bits[level]);
+        }
+    }
+
+    static WaveletMatrix readFrom(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final int levels = in.readInt();
+        if (size < 0 || levels <= 0 || levels > 32) {
+            throw new IOException("Corrupted wavelet matrix: size " + size + ", levels " + levels);
+        }
+        final long[][] bits = new long[levels][];
+        final int[] zeros = new int[levels];
+        for (int level = 0; level < levels; level ++) {
+            zeros[level] = in.readInt();
+            bits[level] = TextIndex.readLongs(in, (size + 63) >>> 6);
+        }
+        return new WaveletMatrix(size, bits, zeros);
+    }
+}
@@ -0,0 +1,634 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>通配符匹配器，将 {@code *}、{@code ?}、{@code [abc]} 形式的通配符模式预先编译为不回溯的自动机，不使用正则表达式。</p>
+ *
+ * <p>支持的语法：</p>
+ * <ul>
+ *     <li>{@code *}：任意个（包括 0 个）任意字符</li>
+ *     <li>{@code ?}：一个任意字符</li>
+ *     <li>{@code [abc]}、{@code [a-z0-9]}：一个属于集合的字符；{@code [!abc]} 或 {@code [^abc]}：一个不属于集合的字符；
+ *         紧跟在 {@code [}、{@code [!}、{@code [^} 之后的 {@code ]} 以及位于结尾的 {@code -} 按普通字符处理</li>
+ *     <li>{@code \}：转义下一个字符</li>
+ * </ul>
+ *
+ * <pre>
+ * WildcardMatcher.compile("*.java").matches("Aide.java")                       = true
+ * WildcardMatcher.compile("*.JAVA", true).matches("Aide.java")                 = true
+ * WildcardMatcher.compile("log-????-[0-9][0-9].txt").matches("log-2024-05.txt") = true
+ * WildcardMatcher.compile("[!.]*").matches(".hidden")                          = false
+ * WildcardMatcher.compileAny("*.java", "*.kt").firstMatch("Main.kt")           = 1
+ * </pre>
+ *
+ * <p>模式编译为按位并行的非确定自动机（Shift-And）：每个状态对应模式中已匹配的单字符元素个数，所有状态保存在一个（或多个）
+ * {@code long} 的二进制位中，{@code *} 是状态上的自环。每读入一个字符只需一次移位、与、或运算，匹配时间与文本长度成线性关系，
+ * 不会像正则表达式那样因回溯退化，也不会在每次匹配时创建对象。ASCII 字符通过预先计算的掩码表查找。</p>
+ *
+ * <p>单个模式开头与结尾的普通字符先通过 {@link CharSequenceAide#regionMatches(boolean, CharSequence, int, CharSequence, int, int)}
+ * 直接比较，{@code "*.java"}、{@code "prefix*"}、{@code "a*b"} 这类只有 {@code *} 的模式完全不需要运行自动机。
+ * {@link #compileAny(String...)} 将多个模式合并为一个自动机，一次扫描即可得到所有匹配的模式。</p>
+ *
+ * <p>{@code WildcardMatcher} 是不可变对象，可以作为常量在多个线程间共享。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public final class WildcardMatcher {
+
+    private final String[] patterns;
+    private final boolean ignoreCase;
+
+    // 单个模式开头、结尾普通字符的快速检查
+    /** 开头的普通字符，多个模式时为 {@code null} */
+    private final String prefix;
+    /** 结尾的普通字符，多个模式时为 {@code null} */
+    private final String suffix;
+    /** 模式只包含普通字符，文本必须与 {@link #prefix} 相同 */
+    private final boolean exact;
+    /** 去掉开头、结尾的普通字符后只剩 {@code *} */
+    private final boolean starOnly;
+    /** 可能匹配的最短文本长度 */
+    private final int minLength;
+
+    // 自动机：第 i 个状态位于第 i / 64 个字的第 i % 64 位
+    private final int words;
+    /** ASCII 字符的接受掩码，字符 c 的掩码位于 [c * words, (c + 1) * words) */
+    private final long[] ascii;
+    /** 接受任何非 ASCII 字符的元素的掩码 */
+    private final long[] other;
+    /** 需要逐个判断非 ASCII 字符的元素所到达的状态及其字符集合 */
+    private final int[] specialStates;
+    private final CharClass[] specialClasses;
+    /** 忽略大小写时，只含 ASCII 字符且不取反的元素所到达的状态及其字符集合，只有大小写形式为 ASCII 的非 ASCII 字符需要判断 */
+    private final int[] foldedStates;
+    private final CharClass[] foldedClasses;
+    /** 带自环（{@code *}）的状态 */
+    private final long[] loop;
+    private final long[] init;
+    private final long[] accept;
+    /** 各模式的接受状态 */
+    private final int[] acceptStates;
+
+    /** 多字自动机的线程内复用缓冲区 */
+    private static final ThreadLocal<long[]> BUFFER = ThreadLocal.withInitial(() -> new long[32]);
+
+    private WildcardMatcher(final String[] patterns, final boolean ignoreCase, final List<Token[]> parsed) {
+        this.patterns = patterns;
+        this.ignoreCase = ignoreCase;
+        List<Token[]> automaton = parsed;
+        if (patterns.length == 1) {
+            final Token[] tokens = parsed.get(0);
+            int prefixLength = 0;
+            while (prefixLength < tokens.length && tokens[prefixLength].literal() && !tokens[prefixLength].star) {
+                prefixLength ++;
+            }
+            int suffixLength = 0;
+            while (prefixLength + suffixLength < tokens.length - 1) {
+                final Token token = tokens[tokens.length - 2 - suffixLength];
+                if (!token.literal() || tokens[tokens.length - 1 - suffixLength].star) {
+                    break;
+                }
+                suffixLength ++;
+            }
+            // 最后一个元素是结束标记，只记录其前是否有 *
+            final int classes = tokens.length - 1;
+            this.exact = prefixLength == classes && !tokens[classes].star;
+            this.prefix = literal(tokens, 0, prefixLength);
+            this.suffix = exact ? StringAide.EMPTY : literal(tokens, classes - suffixLength, classes);
+            final int middleEnd = exact ? classes : classes - suffixLength;
+            final Token[] middle = Arrays.copyOfRange(tokens, prefixLength, middleEnd + 1);
+            middle[middle.length - 1] = new Token(null, tokens[middleEnd].star);
+            this.starOnly = middle.length == 1 && middle[0].star;
+            this.minLength = classes;
+            automaton = new ArrayList<>(1);
+            automaton.add(middle);
+        } else {
+            this.prefix = null;
+            this.suffix = null;
+            this.exact = false;
+            this.starOnly = false;
+            this.minLength = 0;
+        }
+
+        int states = 0;
+        for (final Token[] tokens : automaton) {
+            states += tokens.length;
+        }
+        this.words = (states + 63) >>> 6;
+        this.ascii = new long[128 * words];
+        this.other = new long[words];
+        this.loop = new long[words];
+        this.init = new long[words];
+        this.accept = new long[words];
+        this.acceptStates = new int[automaton.size()];
+        final List<Integer> specialStates = new ArrayList<>();
+        final List<CharClass> specialClasses = new ArrayList<>();
+        final List<Integer> foldedStates = new ArrayList<>();
+        final List<CharClass> foldedClasses = new ArrayList<>();
+        int base = 0;
+        for (int p = 0; p < automaton.size(); p ++) {
+            final Token[] tokens = automaton.get(p);
+            set(init, base);
+            for (int j = 0; j < tokens.length; j ++) {
+                final int state = base + j;
+                if (tokens[j].star) {
+                    set(loop, state);
+                }
+                final CharClass charClass = tokens[j].charClass;
+                if (charClass == null) {
+                    continue;
+                }
+                // 第 j 个元素从状态 base + j 到达 base + j + 1
+                final int target = state + 1;
+                for (char c = 0; c < 128; c ++) {
+                    if (charClass.accepts(c, ignoreCase)) {
+                        ascii[c * words + (target >>> 6)] |= 1L << target;
+                    }
+                }
+                if (charClass.acceptsAllNonAscii(ignoreCase)) {
+                    set(other, target);
+                } else if (charClass.mayAcceptNonAscii()) {
+                    specialStates.add(target);
+                    specialClasses.add(charClass);
+                } else if (ignoreCase) {
+                    foldedStates.add(target);
+                    foldedClasses.add(charClass);
+                }
+            }
+            final int last = base + tokens.length - 1;
+            set(accept, last);
+            acceptStates[p] = last;
+            base += tokens.length;
+        }
+        this.specialStates = toArray(specialStates);
+        this.specialClasses = specialClasses.toArray(new CharClass[0]);
+        this.foldedStates = toArray(foldedStates);
+        this.foldedClasses = foldedClasses.toArray(new CharClass[0]);
+    }
+
+    // ----- Factory ----- begin
+    /**
+     * @param pattern 通配符模式，不能为 {@code null}
+     * @return 区分大小写的匹配器
+     * @throws IllegalArgumentException 模式语法错误
+     */
+    public static WildcardMatcher compile(final String pattern) {
+        return compile(pattern, false);
+    }
+
+    /**
+     * @param pattern 通配符模式，不能为 {@code null}
+     * @param ignoreCase 是否忽略大小写，规则与 {@link String#equalsIgnoreCase(String)} 一致
+     * @return 匹配器
+     * @throws IllegalArgumentException 模式语法错误
+     */
+    public static WildcardMatcher compile(final String pattern, final boolean ignoreCase) {
+        final List<Token[]> parsed = new ArrayList<>(1);
+        parsed.add(parse(pattern));
+        return new WildcardMatcher(new String[] {pattern}, ignoreCase, parsed);
+    }
+
+    /**
+     * @param patterns 通配符模式，不能为空
+     * @return 区分大小写、匹配其中任意一个模式的匹配器
+     * @throws IllegalArgumentException 模式语法错误
+     */
+    public static WildcardMatcher compileAny(final String... patterns) {
+        return compileAny(Arrays.asList(patterns), false);
+    }
+
+    /**
+     * <p>将多个模式合并为一个自动机，{@link #matches(CharSequence)} 在任意一个模式匹配时返回 {@code true}，
+     * {@link #firstMatch(CharSequence)}、{@link #matchAll(CharSequence, BitSet)} 给出匹配的模式，都只扫描文本一次。</p>
+     *
+     * @param patterns 通配符模式，不能为空
+     * @param ignoreCase 是否忽略大小写
+     * @return 匹配器
+     * @throws IllegalArgumentException 模式语法错误或没有模式
+     */
+    public static WildcardMatcher compileAny(final Collection<String> patterns, final boolean ignoreCase) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("At least one pattern is required.");
+        }
+        final String[] array = patterns.toArray(new String[0]);
+        final List<Token[]> parsed = new ArrayList<>(array.length);
+        for (final String pattern : array) {
+            parsed.add(parse(pattern));
+        }
+        return new WildcardMatcher(array, ignoreCase, parsed);
+    }
+    // ----- Factory ----- end
+
+    // ----- Match ----- begin
+    /**
+     * @param text 文本
+     * @return 文本完整匹配（任意一个）模式时返回 {@code true}，{@code text} 为 {@code null} 时返回 {@code false}
+     */
+    public boolean matches(final CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        if (prefix == null) {
+            return run(text, 0, text.length()) >= 0;
+        }
+        final int length = text.length();
+        if (exact) {
+            return length == prefix.length() && CharSequenceAide.regionMatches(ignoreCase, text, 0, prefix, 0, length);
+        }
+        if (length < minLength
+                || !CharSequenceAide.regionMatches(ignoreCase, text, 0, prefix, 0, prefix.length())
+                || !CharSequenceAide.regionMatches(ignoreCase, text, length - suffix.length(), suffix, 0, suffix.length())) {
+            return false;
+        }
+        return starOnly || run(text, prefix.length(), length - suffix.length()) >= 0;
+    }
+
+    /**
+     * @param text 文本
+     * @return 第一个（按编译时的顺序）完整匹配文本的模式的序号，没有匹配的模式或 {@code text} 为 {@code null} 时返回 -1
+     */
+    public int firstMatch(final CharSequence text) {
+        if (prefix != null) {
+            return matches(text) ? 0 : -1;
+        }
+        return text == null ? -1 : run(text, 0, text.length());
+    }
+
+    /**
+     * <p>清空 {@code matched}，并将所有完整匹配文本的模式的序号置位。{@code matched} 容量足够时不会创建对象。</p>
+     *
+     * @param text 文本
+     * @param matched 结果
+     */
+    public void matchAll(final CharSequence text, final BitSet matched) {
+        matched.clear();
+        if (prefix != null || text == null) {
+            if (matches(text)) {
+                matched.set(0);
+            }
+            return;
+        }
+        if (words == 1) {
+            final long state = runSingle(text, 0, text.length()) & accept[0];
+            for (int p = 0; p < acceptStates.length; p ++) {
+                if ((state >>> acceptStates[p] & 1) != 0) {
+                    matched.set(p);
+                }
+            }
+            return;
+        }
+        final long[] state = runMulti(text, 0, text.length());
+        if (state == null) {
+            return;
+        }
+        for (int p = 0; p < acceptStates.length; p ++) {
+            if ((state[acceptStates[p] >>> 6] >>> acceptStates[p] & 1) != 0) {
+                matched.set(p);
+            }
+        }
+    }
+
+    /**
+     * @return 模式个数
+     */
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    @Override
+    public String toString() {
+        return patterns.length == 1 ? patterns[0] : Arrays.toString(patterns);
+    }
+
+    /**
+     * 在 [{@code from}, {@code to}) 上运行自动机
+     *
+     * @return 第一个到达接受状态的模式序号，没有时返回 -1
+     */
+    private int run(final CharSequence text, final int from, final int to) {
+        if (words == 1) {
+            final long matched = runSingle(text, from, to) & accept[0];
+            return matched == 0 ? -1 : patternOf(Long.numberOfTrailingZeros(matched));
+        }
+        final long[] state = runMulti(text, from, to);
+        if (state != null) {
+            for (int w = 0; w < words; w ++) {
+                final long matched = state[w] & accept[w];
+                if (matched != 0) {
+                    return patternOf((w << 6) + Long.numberOfTrailingZeros(matched));
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 读入 [{@code from}, {@code to}) 后的状态，所有状态都已失效时提前返回 0
+     */
+    private long runSingle(final CharSequence text, final int from, final int to) {
+        final long[] ascii = this.ascii;
+        final long loop = this.loop[0];
+        long state = init[0];
+        for (int i = from; i < to; i ++) {
+            final char c = text.charAt(i);
+            final long accepts = c < 128 ? ascii[c] : nonAscii(c);
+            state = state << 1 & accepts | state & loop;
+            if (state == 0) {
+                return 0;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * @return 线程内复用的缓冲区，读入 [{@code from}, {@code to}) 后的状态位于 [0, {@link #words})；
+     *          所有状态都已失效时提前返回 {@code null}
+     */
+    private long[] runMulti(final CharSequence text, final int from, final int to) {
+        final int words = this.words;
+        long[] buffer = BUFFER.get();
+        if (buffer.length < words * 2) {
+            buffer = new long[words * 2];
+            BUFFER.set(buffer);
+        }
+        // [0, words) 为当前状态，[words, 2 * words) 为非 ASCII 字符的接受掩码
+        System.arraycopy(init, 0, buffer, 0, words);
+        final long[] ascii = this.ascii;
+        final long[] loop = this.loop;
+        for (int i = from; i < to; i ++) {
+            final char c = text.charAt(i);
+            final long[] accepts;
+            final int offset;
+            if (c < 128) {
+                accepts = ascii;
+                offset = c * words;
+            } else {
+                nonAscii(c, buffer, words);
+                accepts = buffer;
+                offset = words;
+            }
+            long carry = 0;
+            long any = 0;
+            for (int w = 0; w < words; w ++) {
+                final long state = buffer[w];
+                final long next = (state << 1 | carry) & accepts[offset + w] | state & loop[w];
+                carry = state >>> 63;
+                buffer[w] = next;
+                any |= next;
+            }
+            if (any == 0) {
+                return null;
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * @return 非 ASCII 字符 {@code c} 的接受掩码（单字自动机）
+     */
+    private long nonAscii(final char c) {
+        long mask = other[0];
+        if (foldedStates.length > 0 && foldsToAscii(c)) {
+            for (int i = 0; i < foldedStates.length; i ++) {
+                if (foldedClasses[i].accepts(c, true)) {
+                    mask |= 1L << foldedStates[i];
+                }
+            }
+        }
+        for (int i = 0; i < specialStates.length; i ++) {
+            if (specialClasses[i].accepts(c, ignoreCase)) {
+                mask |= 1L << specialStates[i];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 将非 ASCII 字符 {@code c} 的接受掩码写入 {@code dst} 的 [{@code offset}, {@code offset + words})（多字自动机）
+     */
+    private void nonAscii(final char c, final long[] dst, final int offset) {
+        System.arraycopy(other, 0, dst, offset, words);
+        if (foldedStates.length > 0 && foldsToAscii(c)) {
+            for (int i = 0; i < foldedStates.length; i ++) {
+                if (foldedClasses[i].accepts(c, true)) {
+                    dst[offset + (foldedStates[i] >>> 6)] |= 1L << foldedStates[i];
+                }
+            }
+        }
+        for (int i = 0; i < specialStates.length; i ++) {
+            if (specialClasses[i].accepts(c, ignoreCase)) {
+                dst[offset + (specialStates[i] >>> 6)] |= 1L << specialStates[i];
+            }
+        }
+    }
+
+    /**
+     * @return 非 ASCII 字符 {@code c} 的大小写形式是 ASCII 字符（如 Kelvin 符号 U+212A 与 {@code k}），可能被只含 ASCII 字符的集合接受
+     */
+    private static boolean foldsToAscii(final char c) {
+        return Character.toUpperCase(c) < 128 || Character.toLowerCase(c) < 128
+                || Character.toLowerCase(Character.toUpperCase(c)) < 128;
+    }
+
+    /**
+     * @return 接受状态 {@code state} 所属模式的序号
+     */
+    private int patternOf(final int state) {
+        return acceptStates.length == 1 ? 0 : Arrays.binarySearch(acceptStates, state);
+    }
+    // ----- Match ----- end
+
+    // ----- Compile ----- begin
+    private static int[] toArray(final List<Integer> list) {
+        final int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i ++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    private static void set(final long[] mask, final int state) {
+        mask[state >>> 6] |= 1L << state;
+    }
+
+    private static String literal(final Token[] tokens, final int from, final int to) {
+        final char[] chars = new char[to - from];
+        for (int i = from; i < to; i ++) {
+            chars[i - from] = tokens[i].charClass.ranges[0];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return 模式的单字符元素，最后附加一个结束标记，用于记录模式末尾是否有 {@code *}
+     */
+    private static Token[] parse(final String pattern) {
+        final List<Token> tokens = new ArrayList<>(pattern.length() + 1);
+        final int length = pattern.length();
+        boolean star = false;
+        for (int i = 0; i < length; i ++) {
+            final char c = pattern.charAt(i);
+            switch (c) {
+                case '*':
+                    star = true;
+                    continue;
+                case '?':
+                    tokens.add(new Token(CharClass.ANY, star));
+                    break;
+                case '[': {
+                    int j = i + 1;
+                    final boolean negated = j < length && (pattern.charAt(j) == '!' || pattern.charAt(j) == '^');
+                    if (negated) {
+                        j ++;
+                    }
+                    final StringBuilder ranges = new StringBuilder();
+                    for (boolean first = true; ; first = false) {
+                        if (j >= length) {
+                            throw new IllegalArgumentException("Unclosed character class at index " + i + ": " + pattern);
+                        }
+                        if (pattern.charAt(j) == ']' && !first) {
+                            break;
+                        }
+                        if (pattern.charAt(j) == '\\' && ++ j >= length) {
+                            throw new IllegalArgumentException("Unclosed character class at index " + i + ": " + pattern);
+                        }
+                        final char low = pattern.charAt(j ++);
+                        char high = low;
+                        if (j + 1 < length && pattern.charAt(j) == '-' && pattern.charAt(j + 1) != ']') {
+                            j ++;
+                            if (pattern.charAt(j) == '\\' && ++ j >= length) {
+                                throw new IllegalArgumentException("Unclosed character class at index " + i + ": " + pattern);
+                            }
+                            high = pattern.charAt(j ++);
+                            if (high < low) {
+                                throw new IllegalArgumentException("Illegal character range " + low + "-" + high + " at index " + i + ": " + pattern);
+                            }
+                        }
+                        ranges.append(low).append(high);
+                    }
+                    tokens.add(new Token(new CharClass(ranges.toString().toCharArray(), negated), star));
+                    i = j;
+                    break;
+                }
+                case '\\':
+                    if (i + 1 == length) {
+                        throw new IllegalArgumentException("Dangling escape at the end of pattern: " + pattern);
+                    }
+                    tokens.add(new Token(new CharClass(new char[] {pattern.charAt(i + 1), pattern.charAt(i + 1)}, false), star));
+                    i ++;
+                    break;
+                default:
+                    tokens.add(new Token(new CharClass(new char[] {c, c}, false), star));
+            }
+            star = false;
+        }
+        tokens.add(new Token(null, star));
+        return tokens.toArray(new Token[0]);
+    }
+
+    /**
+     * 模式中的一个单字符元素，{@link #star} 表示其前有 {@code *}（即到达该元素之前的状态带自环）
+     */
+    private static final class Token {
+
+        /** 结束标记为 {@code null} */
+        final CharClass charClass;
+        final boolean star;
+
+        Token(final CharClass charClass, final boolean star) {
+            this.charClass = charClass;
+            this.star = star;
+        }
+
+        boolean literal() {
+            return charClass != null && charClass.literal();
+        }
+    }
+
+    /**
+     * 字符集合：若干闭区间，可取反；{@link #ANY} 接受任何字符
+     */
+    private static final class CharClass {
+
+        static final CharClass ANY = new CharClass(null, false);
+
+        /** 成对保存的区间上下界 */
+        final char[] ranges;
+        final boolean negated;
+
+        CharClass(final char[] ranges, final boolean negated) {
+            this.ranges = ranges;
+            this.negated = negated;
+        }
+
+        boolean literal() {
+            return ranges != null && !negated && ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        boolean accepts(final char c, final boolean ignoreCase) {
+            if (ranges == null) {
+                return true;
+            }
+            boolean found = false;
+            for (int i = 0; i < ranges.length && !found; i += 2) {
+                final char low = ranges[i];
+                final char high = ranges[i + 1];
+                if (low <= c && c <= high) {
+                    found = true;
+                } else if (ignoreCase) {
+                    if (low == high) {
+                        found = CharSequenceAccess.equalsIgnoreCase(low, c);
+                    } else {
+                        final char upper = Character.toUpperCase(c);
+                        final char lower = Character.toLowerCase(c);
+                        found = low <= upper && upper <= high || low <= lower && lower <= high;
+                    }
+                }
+            }
+            return found != negated;
+        }
+
+        boolean acceptsAllNonAscii(final boolean ignoreCase) {
+            return ranges == null || negated && !ignoreCase && !hasNonAscii();
+        }
+
+        /**
+         * @return 对非 ASCII 字符需要逐个判断；不取反且只含 ASCII 字符的集合在忽略大小写时只需判断大小写形式为 ASCII 的字符
+         */
+        boolean mayAcceptNonAscii() {
+            return negated || hasNonAscii();
+        }
+
+        private boolean hasNonAscii() {
+            for (int i = 1; i < ranges.length; i += 2) {
+                if (ranges[i] >= 128) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    // ----- Compile ----- end
+}
@@ -0,0 +1,157 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>leo-aide 的 JDK Flight Recorder 事件（内部使用），打包在多版本 jar 的 {@code META-INF/versions/11} 中，
+ * Java 8 基线中的同名类不记录任何事件。</p>
+ *
+ * <p>只在 {@link AideMonitor} 开启且运行环境支持 JFR 时才会被加载，方法签名中不暴露 JFR 类型。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class AideEvents {
+
+    private AideEvents() {}
+
+    /**
+     * @return 是否记录事件
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    static Object beginClone() {
+        final CloneEvent event = new CloneEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitClone(final Object handle, final String type, final int length, final boolean failed) {
+        final CloneEvent event = (CloneEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.length = length;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    static Object beginSearch() {
+        final SearchEvent event = new SearchEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitSearch(final Object handle, final int textLength, final int patternLength,
+                             final int ordinal, final boolean backward, final int result) {
+        final SearchEvent event = (SearchEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.textLength = textLength;
+            event.patternLength = patternLength;
+            event.ordinal = ordinal;
+            event.backward = backward;
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    static Object beginAssertionFailure() {
+        final AssertionFailureEvent event = new AssertionFailureEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitAssertionFailure(final Object handle, final String exceptionType,
+                                       final int messageLength, final int argumentCount) {
+        final AssertionFailureEvent event = (AssertionFailureEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.exceptionType = exceptionType;
+            event.messageLength = messageLength;
+            event.argumentCount = argumentCount;
+            event.commit();
+        }
+    }
+
+    // ----- Inner classes ----- begin
+    @Name("com.lomcat.leo.aide.Clone")
+    @Label("Object Clone")
+    @Category({"Lomcat", "Leo Aide"})
+    @Description("Slow ObjectAide.clone invocation")
+    @Threshold("1 ms")
+    static final class CloneEvent extends Event {
+        @Label("Type")
+        String type;
+
+        @Label("Array Length")
+        @Description("Number of array elements, -1 if the source is not an array")
+        int length;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("com.lomcat.leo.aide.Search")
+    @Label("Sequence Search")
+    @Category({"Lomcat", "Leo Aide"})
+    @Description("Slow CharSequenceAide sub-sequence search")
+    @Threshold("1 ms")
+    static final class SearchEvent extends Event {
+        @Label("Text Length")
+        int textLength;
+
+        @Label("Pattern Length")
+        int patternLength;
+
+        @Label("Ordinal")
+        int ordinal;
+
+        @Label("Backward")
+        boolean backward;
+
+        @Label("Result")
+        int result;
+    }
+
+    @Name("com.lomcat.leo.aide.AssertionFailure")
+    @Label("Assertion Failure")
+    @Category({"Lomcat", "Leo Aide"})
+    @Description("AssertAide failure whose message formatting was slow")
+    @Threshold("100 us")
+    static final class AssertionFailureEvent extends Event {
+        @Label("Exception Type")
+        String exceptionType;
+
+        @Label("Message Length")
+        int messageLength;
+
+        @Label("Argument Count")
+        int argumentCount;
+    }
+    // ----- Inner classes ----- end
+}
@@ -0,0 +1,97 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * <p>{@link Intrinsics} 的 Java 11 实现，打包在多版本 jar 的 {@code META-INF/versions/11} 中。</p>
+ *
+ * <p>各方法委托给 JDK 中语义相同、且在 Java 11 以上版本被 JIT 内建的实现（compact strings 下直接扫描 Latin-1 字节，
+ * {@link Arrays#mismatch(char[], int, int, char[], int, int)} 使用向量化比较，{@code getLongLE} 通过 {@link VarHandle} 一次读取 8 个字节，
+ * {@code unsignedMultiplyHigh} 基于 {@link Math#multiplyHigh(long, long)}）。
+ * Java 17、21 没有更适合的新 API，同样使用本实现。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class Intrinsics {
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Intrinsics() {}
+
+    static boolean isBlank(final String str) {
+        return str.isBlank();
+    }
+
+    static String strip(final String str) {
+        return str.strip();
+    }
+
+    static String stripLeading(final String str) {
+        return str.stripLeading();
+    }
+
+    static String stripTrailing(final String str) {
+        return str.stripTrailing();
+    }
+
+    static int mismatch(final char[] array1, final int from1, final char[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static int mismatch(final byte[] array1, final int from1, final byte[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static int mismatch(final short[] array1, final int from1, final short[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static int mismatch(final int[] array1, final int from1, final int[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static int mismatch(final long[] array1, final int from1, final long[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static int mismatch(final float[] array1, final int from1, final float[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static int mismatch(final double[] array1, final int from1, final double[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static int mismatch(final boolean[] array1, final int from1, final boolean[] array2, final int from2, final int length) {
+        return Arrays.mismatch(array1, from1, from1 + length, array2, from2, from2 + length);
+    }
+
+    static long unsignedMultiplyHigh(final long x, final long y) {
+        // 有符号的高位加上符号位的修正项；Java 18 起可直接使用 Math.unsignedMultiplyHigh
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    static long getLongLE(final byte[] array, final int index) {
+        return (long) LONG_LE.get(array, index);
+    }
+}
@@ -0,0 +1,137 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import com.lomcat.leo.aide.exception.CloneException;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link AideMonitor} 的 JFR 事件的集成测试，由 failsafe 以 {@code -Dleo.aide.monitor=true} 针对多版本 jar 运行。</p>
+ *
+ * <p>运行环境提供 JFR 时，以阈值 0 开启 leo-aide 的事件并录制被监控的操作：Java 11 及以上加载
+ * {@code META-INF/versions/11} 中的事件定义，三类事件都应被记录且字段正确；Java 8 加载不记录事件的基线实现，
+ * 录制应正常完成且不含 leo-aide 的事件。测试以 {@code --release 8} 编译，JFR 的 API 通过反射调用。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class AideMonitorIT {
+
+    private static final String CLONE = "com.lomcat.leo.aide.Clone";
+    private static final String SEARCH = "com.lomcat.leo.aide.Search";
+    private static final String ASSERTION_FAILURE = "com.lomcat.leo.aide.AssertionFailure";
+
+    @Test
+    public void recordsFlightRecorderEvents() throws Exception {
+        assertTrue(AideMonitor.isEnabled());
+        final Class<?> recordingType;
+        try {
+            recordingType = Class.forName("jdk.jfr.Recording");
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException("JFR is not available", e);
+            return;
+        }
+        final Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+        final Object recording = recordingType.getConstructor().newInstance();
+        final Path file = Files.createTempFile("leo-aide-monitor", ".jfr");
+        try {
+            for (final String name : new String[] {CLONE, SEARCH, ASSERTION_FAILURE}) {
+                final Object settings = recordingType.getMethod("enable", String.class).invoke(recording, name);
+                settingsType.getMethod("withThreshold", Duration.class).invoke(settings, Duration.ZERO);
+            }
+            recordingType.getMethod("start").invoke(recording);
+
+            assertEquals(3, ObjectAide.clone(new int[] {1, 2, 3}).length);
+            try {
+                ObjectAide.clone(new AideMonitorTest.FailingCloneable());
+                fail();
+            } catch (CloneException expected) {
+                // clone 方法抛出异常
+            }
+            assertEquals(5, CharSequenceAide.ordinalLastIndexOf(new StringBuilder("aabaabaa"), "b", 1));
+            try {
+                AssertAide.isTrue(false, "The value {} is invalid", 42);
+                fail();
+            } catch (IllegalArgumentException expected) {
+                // 断言失败
+            }
+
+            recordingType.getMethod("stop").invoke(recording);
+            recordingType.getMethod("dump", Path.class).invoke(recording, file);
+        } finally {
+            recordingType.getMethod("close").invoke(recording);
+        }
+
+        final Map<String, Object> events = new HashMap<>();
+        final Class<?> recordingFileType = Class.forName("jdk.jfr.consumer.RecordingFile");
+        final Class<?> recordedEventType = Class.forName("jdk.jfr.consumer.RecordedEvent");
+        final Method getEventType = recordedEventType.getMethod("getEventType");
+        final Method getName = Class.forName("jdk.jfr.EventType").getMethod("getName");
+        final Method getValue = recordedEventType.getMethod("getValue", String.class);
+        final Map<String, Integer> counts = new HashMap<>();
+        for (final Object event : (List<?>) recordingFileType.getMethod("readAllEvents", Path.class).invoke(null, file)) {
+            final String name = (String) getName.invoke(getEventType.invoke(event));
+            if (name.startsWith("com.lomcat.leo.aide.")) {
+                counts.merge(name, 1, Integer::sum);
+                if (!CLONE.equals(name) || Boolean.TRUE.equals(getValue.invoke(event, "failed"))) {
+                    events.put(name, event);
+                }
+            }
+        }
+        Files.delete(file);
+
+        if (!AideEvents.isSupported()) {
+            // Java 8 加载基线实现，不记录事件
+            assertTrue(counts.toString(), counts.isEmpty());
+            return;
+        }
+        assertEquals(Integer.valueOf(2), counts.get(CLONE));
+        assertEquals(Integer.valueOf(1), counts.get(SEARCH));
+        assertEquals(Integer.valueOf(1), counts.get(ASSERTION_FAILURE));
+
+        final Object clone = events.get(CLONE);
+        assertNotNull(clone);
+        assertEquals(AideMonitorTest.FailingCloneable.class.getName(), getValue.invoke(clone, "type"));
+        assertEquals(-1, getValue.invoke(clone, "length"));
+
+        final Object search = events.get(SEARCH);
+        assertEquals(8, getValue.invoke(search, "textLength"));
+        assertEquals(1, getValue.invoke(search, "patternLength"));
+        assertEquals(1, getValue.invoke(search, "ordinal"));
+        assertEquals(true, getValue.invoke(search, "backward"));
+        assertEquals(5, getValue.invoke(search, "result"));
+
+        final Object assertion = events.get(ASSERTION_FAILURE);
+        assertEquals(IllegalArgumentException.class.getName(), getValue.invoke(assertion, "exceptionType"));
+        assertEquals("The value 42 is invalid".length(), getValue.invoke(assertion, "messageLength"));
+        assertEquals(1, getValue.invoke(assertion, "argumentCount"));
+    }
+}
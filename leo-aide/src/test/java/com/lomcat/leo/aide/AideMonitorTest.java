@@ -0,0 +1,264 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import com.lomcat.leo.aide.exception.CloneException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link AideMonitor} 的测试：被监控的 {@link ObjectAide#clone(Object)}、{@link CharSequenceAide} 的子序列查找与
+ * {@link AssertAide} 断言失败的结果与未被监控的实现一致，开启监控时每次调用按约定累加调用次数、扫描字节数与失败次数，
+ * 关闭监控时计数器保持为 0；{@link AideMonitor#snapshot()} 与计数器一致，{@link AideMonitor#reset()} 将计数器清零。</p>
+ *
+ * <p>监控开关在类加载时读取，本类在默认的测试中以关闭监控运行，构建中另有一个以 {@code -Dleo.aide.monitor=true}
+ * 运行本类的 surefire execution；JFR 事件由 {@link AideMonitorIT} 针对多版本 jar 验证。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class AideMonitorTest {
+
+    private static final boolean ENABLED = Boolean.getBoolean("leo.aide.monitor");
+
+    @Before
+    public void resetCounters() {
+        AideMonitor.reset();
+    }
+
+    @Test
+    public void enabledBySystemProperty() {
+        assertEquals(ENABLED, AideMonitor.isEnabled());
+        assertEquals(ENABLED, AideMonitor.ENABLED);
+    }
+
+    @Test
+    public void objectClone() throws Exception {
+        final int[] ints = {1, 2, 3};
+        assertClone(ints, 3 * 4);
+        assertClone(new long[] {1L, 2L}, 2 * 8);
+        assertClone(new double[] {1.5}, 8);
+        assertClone(new float[] {1.5f, 2.5f}, 2 * 4);
+        assertClone("ab".toCharArray(), 2 * 2);
+        assertClone(new short[] {1, 2, 3}, 3 * 2);
+        assertClone(new byte[] {1, 2, 3, 4}, 4);
+        assertClone(new boolean[] {true}, 1);
+        assertClone(new String[] {"a", null, "c"}, 3 * 4);
+        assertClone(new int[0], 0);
+        assertClone(new Date(1L), 0);
+
+        // 不可克隆的对象与 null 返回 null，仍计为一次调用
+        final Counters before = new Counters(AideMonitor.Operation.CLONE);
+        assertNull(ObjectAide.clone("not cloneable"));
+        assertNull(ObjectAide.clone(null));
+        before.assertDelta(2, 0, 0);
+
+        // 克隆方法抛出异常时计为失败
+        final Counters failing = new Counters(AideMonitor.Operation.CLONE);
+        try {
+            ObjectAide.clone(new FailingCloneable());
+            fail();
+        } catch (CloneException expected) {
+            // clone 方法抛出异常
+        }
+        failing.assertDelta(1, 0, 1);
+    }
+
+    @Test
+    public void search() {
+        final String text = "aabaabaa";
+        final StringBuilder builder = new StringBuilder(text);
+        final String[] needles = {"a", "b", "ab", "aab", "x", "aabaabaab"};
+        for (final String needle : needles) {
+            for (int from = -1; from <= text.length() + 1; from ++) {
+                final int index = text.indexOf(needle, from);
+                final Counters counters = new Counters(AideMonitor.Operation.SEARCH);
+                assertEquals(index, CharSequenceAide.indexOf(builder, needle, from));
+                assertEquals(CharSequenceAccess.indexOf(builder, needle, from), index);
+                counters.assertDelta(1, index < 0 ? 2L * text.length() : 2L * (index + needle.length()), 0);
+
+                final int last = text.lastIndexOf(needle, from);
+                final Counters lastCounters = new Counters(AideMonitor.Operation.SEARCH);
+                assertEquals(last, CharSequenceAide.lastIndexOf(builder, needle, from));
+                assertEquals(CharSequenceAccess.lastIndexOf(builder, needle, from), last);
+                lastCounters.assertDelta(1, last < 0 ? 2L * text.length() : 2L * (text.length() - last), 0);
+            }
+            for (int ordinal = 1; ordinal <= 4; ordinal ++) {
+                final int index = CharSequenceAide.search(builder, needle, 0, ordinal, false);
+                final Counters counters = new Counters(AideMonitor.Operation.SEARCH);
+                assertEquals(index, CharSequenceAide.ordinalIndexOf(builder, needle, ordinal));
+                counters.assertDelta(1, index < 0 ? 2L * text.length() : 2L * (index + needle.length()), 0);
+
+                final int last = CharSequenceAide.search(builder, needle, text.length() - 1, ordinal, true);
+                final Counters lastCounters = new Counters(AideMonitor.Operation.SEARCH);
+                assertEquals(last, CharSequenceAide.ordinalLastIndexOf(builder, needle, ordinal));
+                lastCounters.assertDelta(1, last < 0 ? 2L * text.length() : 2L * (text.length() - last), 0);
+            }
+        }
+        assertEquals(2, CharSequenceAide.ordinalIndexOf(text, "b", 1));
+        assertEquals(5, CharSequenceAide.ordinalLastIndexOf(text, "b", 1));
+
+        // 参数不合法或子序列为空时直接返回，不经过监控
+        final Counters counters = new Counters(AideMonitor.Operation.SEARCH);
+        assertEquals(-1, CharSequenceAide.indexOf(null, "a", 0));
+        assertEquals(-1, CharSequenceAide.lastIndexOf(text, null, 0));
+        assertEquals(-1, CharSequenceAide.ordinalIndexOf(text, "a", 0));
+        assertEquals(0, CharSequenceAide.ordinalIndexOf(text, "", 1));
+        assertEquals(text.length(), CharSequenceAide.ordinalLastIndexOf(text, "", 1));
+        counters.assertDelta(0, 0, 0);
+    }
+
+    @Test
+    public void assertion() {
+        final Counters passing = new Counters(AideMonitor.Operation.ASSERTION);
+        AssertAide.isTrue(true, "never {}", 1);
+        AssertAide.notNull("value", "never {}", 1);
+        passing.assertDelta(0, 0, 0);
+
+        final String expected = MessageTemplate.of("The value {} is out of [%d, %d]").format(42, 0, 10);
+        final Counters failed = new Counters(AideMonitor.Operation.ASSERTION);
+        try {
+            AssertAide.isTrue(false, "The value {} is out of [%d, %d]", 42, 0, 10);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(expected, e.getMessage());
+        }
+        failed.assertDelta(1, 2L * expected.length(), 1);
+
+        final Counters nullFailed = new Counters(AideMonitor.Operation.ASSERTION);
+        try {
+            AssertAide.notNull(null, "The {} is null.", "name");
+            fail();
+        } catch (NullPointerException e) {
+            assertEquals("The name is null.", e.getMessage());
+        }
+        nullFailed.assertDelta(1, 2L * "The name is null.".length(), 1);
+    }
+
+    @Test
+    public void snapshotAndReset() throws Exception {
+        ObjectAide.clone(new int[] {1, 2});
+        CharSequenceAide.indexOf(new StringBuilder("abc"), "c", 0);
+        try {
+            AssertAide.isTrue(false, "boom");
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 断言失败
+        }
+
+        final Map<String, Long> snapshot = AideMonitor.snapshot();
+        final String[] keys = {
+                "leo.aide.clone.calls", "leo.aide.clone.bytesScanned", "leo.aide.clone.failures",
+                "leo.aide.search.calls", "leo.aide.search.bytesScanned", "leo.aide.search.failures",
+                "leo.aide.assertion.calls", "leo.aide.assertion.bytesScanned", "leo.aide.assertion.failures"
+        };
+        assertArrayEquals(keys, snapshot.keySet().toArray(new String[0]));
+        final Iterator<Long> values = snapshot.values().iterator();
+        for (final AideMonitor.Operation operation : AideMonitor.Operation.values()) {
+            final AideMonitor.Counters counters = AideMonitor.counters(operation);
+            assertEquals(operation.name(), Long.valueOf(counters.calls()), values.next());
+            assertEquals(operation.name(), Long.valueOf(counters.bytesScanned()), values.next());
+            assertEquals(operation.name(), Long.valueOf(counters.failures()), values.next());
+        }
+        final long expectedCalls = ENABLED ? 1 : 0;
+        assertEquals(Long.valueOf(expectedCalls), snapshot.get("leo.aide.clone.calls"));
+        assertEquals(Long.valueOf(ENABLED ? 8 : 0), snapshot.get("leo.aide.clone.bytesScanned"));
+        assertEquals(Long.valueOf(ENABLED ? 6 : 0), snapshot.get("leo.aide.search.bytesScanned"));
+        assertEquals(Long.valueOf(expectedCalls), snapshot.get("leo.aide.assertion.failures"));
+        try {
+            snapshot.put("leo.aide.clone.calls", 0L);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+            // 只读映射
+        }
+
+        AideMonitor.reset();
+        for (final Map.Entry<String, Long> entry : AideMonitor.snapshot().entrySet()) {
+            assertEquals(entry.getKey(), Long.valueOf(0), entry.getValue());
+        }
+        // 快照是导出时的副本，不随计数器变化
+        assertEquals(Long.valueOf(expectedCalls), snapshot.get("leo.aide.clone.calls"));
+    }
+
+    /**
+     * 克隆结果与未被监控的实现一致，开启监控时按数组元素的大小累加字节数
+     */
+    private static void assertClone(final Object src, final long bytes) throws CloneException {
+        final Object direct = ObjectAide.cloneObject(src);
+        final Counters counters = new Counters(AideMonitor.Operation.CLONE);
+        final Object cloned = ObjectAide.clone(src);
+        counters.assertDelta(1, bytes, 0);
+        assertNotSame(src, cloned);
+        assertEquals(direct.getClass(), cloned.getClass());
+        assertTrue(src.getClass().getName(), Objects.deepEquals(direct, cloned));
+        if (src.getClass().isArray()) {
+            assertEquals(Arrays.deepToString(new Object[] {src}), Arrays.deepToString(new Object[] {cloned}));
+        } else {
+            assertEquals(src, cloned);
+        }
+    }
+
+    /**
+     * 记录一类操作在调用前的计数，之后断言增量；关闭监控时增量始终为 0
+     */
+    private static final class Counters {
+
+        private final AideMonitor.Operation operation;
+        private final long calls;
+        private final long bytesScanned;
+        private final long failures;
+
+        Counters(final AideMonitor.Operation operation) {
+            this.operation = operation;
+            final AideMonitor.Counters counters = AideMonitor.counters(operation);
+            this.calls = counters.calls();
+            this.bytesScanned = counters.bytesScanned();
+            this.failures = counters.failures();
+        }
+
+        void assertDelta(final long calls, final long bytesScanned, final long failures) {
+            final AideMonitor.Counters counters = AideMonitor.counters(operation);
+            assertEquals(operation + " calls", ENABLED ? calls : 0, counters.calls() - this.calls);
+            assertEquals(operation + " bytesScanned", ENABLED ? bytesScanned : 0, counters.bytesScanned() - this.bytesScanned);
+            assertEquals(operation + " failures", ENABLED ? failures : 0, counters.failures() - this.failures);
+        }
+    }
+
+    /**
+     * {@code clone()} 总是失败的可克隆类型
+     */
+    public static final class FailingCloneable implements Cloneable {
+
+        @Override
+        public FailingCloneable clone() {
+            throw new IllegalStateException("clone failed");
+        }
+    }
+}
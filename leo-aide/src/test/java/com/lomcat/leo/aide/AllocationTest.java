@@ -0,0 +1,75 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import static com.lomcat.leo.aide.Allocations.TEXT;
+import static com.lomcat.leo.aide.Allocations.assertAllocationAtMost;
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static com.lomcat.leo.aide.Allocations.charArray;
+import static com.lomcat.leo.aide.Allocations.string;
+import static org.junit.Assert.assertSame;
+
+/**
+ * <p>{@link ObjectAide}、{@link CharSequenceAide} 与 {@link StringAide} 通用方法的内存分配回归测试。</p>
+ *
+ * <p>度量方式见 {@link Allocations}。各功能类型的分配断言放在该功能自己的测试类中，与其功能测试一起维护；
+ * 本类只覆盖不属于某个功能类型的通用方法，不作为任何功能的测试覆盖。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class AllocationTest {
+
+    private static final StringBuilder BUILDER = new StringBuilder(TEXT);
+
+    // ----- allocation-free ----- begin
+    @Test
+    public void containNullDoesNotAllocate() {
+        final Object a = new Object();
+        final Object b = "b";
+        assertAllocationFree("ObjectAide.containNull(a, b)", () -> ObjectAide.containNull(a, b) ? 1 : 0);
+        assertAllocationFree("ObjectAide.containNull(a, b, c)", () -> ObjectAide.containNull(a, b, null) ? 1 : 0);
+    }
+
+    @Test
+    public void equalsAnyDoesNotAllocate() {
+        final String upper = TEXT.toUpperCase();
+        assertAllocationFree("CharSequenceAide.equalsAny(sb, a, b)",
+                () -> CharSequenceAide.equalsAny(BUILDER, "fox", TEXT) ? 1 : 0);
+        assertAllocationFree("CharSequenceAide.equalsAnyIgnoreCase(sb, a, b, c)",
+                () -> CharSequenceAide.equalsAnyIgnoreCase(BUILDER, "fox", "dog", upper) ? 1 : 0);
+    }
+
+    @Test
+    public void trimsDoesNotAllocateWhenUnchanged() {
+        final String clean = "NoWhitespaceAtAll";
+        assertSame(clean, StringAide.trims(clean));
+        assertAllocationFree("StringAide.trims(clean)", () -> StringAide.trims(clean).length());
+    }
+    // ----- allocation-free ----- end
+
+    // ----- budgets ----- begin
+    @Test
+    public void trimsAllocatesOnlyResult() {
+        // 一个临时 char[] 加上结果字符串
+        assertAllocationAtMost("StringAide.trims(text)", charArray(TEXT.length()) + string(TEXT.length()),
+                () -> StringAide.trims(TEXT).length());
+    }
+    // ----- budgets ----- end
+}
@@ -0,0 +1,126 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>内存分配断言，供各功能的测试类检查其操作的分配量。</p>
+ *
+ * <p>每个操作先预热使其被 JIT 编译，再通过 {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}
+ * 统计当前线程的平均每次调用分配字节数：声明为无分配的操作必须为 0，其余操作不得超过各自的预算。
+ * 运行环境不支持按线程统计分配量时，断言以 {@link Assume} 跳过所在的测试。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+final class Allocations {
+
+    /** 各测试共用的样本文本 */
+    static final String TEXT = "The quick brown fox jumps over the lazy dog, again and again and again";
+
+    private static final int WARM_UP = 30_000;
+    private static final int ITERATIONS = 20_000;
+
+    /** 对象头与数组头的上限估计（未压缩指针时） */
+    private static final int OBJECT_HEADER = 16;
+    private static final int ARRAY_HEADER = 24;
+
+    private static final com.sun.management.ThreadMXBean THREADS;
+    private static final long CALIBRATION;
+
+    private static volatile long sink;
+
+    static {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean threads = null;
+        long calibration = 0;
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threads = (com.sun.management.ThreadMXBean) bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+            final long id = Thread.currentThread().getId();
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < 1_000; i ++) {
+                final long before = threads.getThreadAllocatedBytes(id);
+                final long after = threads.getThreadAllocatedBytes(id);
+                min = Math.min(min, after - before);
+            }
+            calibration = min;
+        }
+        THREADS = threads;
+        CALIBRATION = calibration;
+    }
+
+    private Allocations() {}
+
+    /**
+     * 被测量的操作，返回值用于防止 JIT 消除调用
+     */
+    @FunctionalInterface
+    interface Operation {
+        long run();
+    }
+
+    static long charArray(final int length) {
+        return align(ARRAY_HEADER + 2L * length);
+    }
+
+    static long string(final int length) {
+        return align(OBJECT_HEADER + 16) + charArray(length);
+    }
+
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+
+    static void assertAllocationFree(final String name, final Operation operation) {
+        final double bytes = bytesPerCall(operation);
+        assertTrue(name + " should not allocate, but allocated " + bytes + " bytes per call", bytes < 1);
+    }
+
+    static void assertAllocationAtMost(final String name, final long budget, final Operation operation) {
+        final double bytes = bytesPerCall(operation);
+        assertTrue(name + " allocated " + bytes + " bytes per call, budget is " + budget, bytes <= budget);
+    }
+
+    private static double bytesPerCall(final Operation operation) {
+        Assume.assumeTrue("Thread allocation measurement is not supported", THREADS != null);
+        long blackhole = 0;
+        for (int i = 0; i < WARM_UP; i ++) {
+            blackhole += operation.run();
+        }
+        final long id = Thread.currentThread().getId();
+        double best = Double.MAX_VALUE;
+        // 取多轮中的最小值，排除 JIT 编译与偶发的线程本地缓冲区重建
+        for (int round = 0; round < 3; round ++) {
+            final long before = THREADS.getThreadAllocatedBytes(id);
+            for (int i = 0; i < ITERATIONS; i ++) {
+                blackhole += operation.run();
+            }
+            final long after = THREADS.getThreadAllocatedBytes(id);
+            best = Math.min(best, Math.max(0, after - before - CALIBRATION) / (double) ITERATIONS);
+        }
+        sink = blackhole;
+        return best;
+    }
+}
@@ -0,0 +1,314 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link AsciiSequence} 与 {@link MutableAsciiSequence} 的测试：哈希值、相等与比较的结果与内容相同的 {@link String} 一致，
+ * 覆盖 8 字节分组比较的边界、缓存的哈希值、与其它字符序列的比较、非 ASCII 字符的拒绝与序列化。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class AsciiSequenceTest {
+
+    /** 控制字符、大小写字母与 DEL；字符少，使随机字符串常有相同的前缀 */
+    private static final String ALPHABET = "aAbB0-\u0000\u007f";
+
+    @Test
+    public void documentedExamples() {
+        final AsciiSequence id = AsciiSequence.of("SKU-000042");
+        assertEquals("SKU-000042".hashCode(), id.hashCode());
+        assertTrue(CharSequenceAide.equals(id, "SKU-000042"));
+        assertTrue(CharSequenceAide.equalsIgnoreCase(id, AsciiSequence.of("sku-000042")));
+        assertFalse(AsciiSequence.isAscii("\u4e2d\u6587"));
+        assertFalse(AsciiSequence.isAscii(null));
+
+        final MutableAsciiSequence buffer = new MutableAsciiSequence(32);
+        buffer.append("SKU-").append(42);
+        assertTrue(CharSequenceAide.equals(buffer, "SKU-42"));
+        assertEquals("SKU-42", buffer.toString());
+
+        assertEquals(0, AsciiSequence.EMPTY.hashCode());
+        assertEquals(AsciiSequence.EMPTY, AsciiSequence.of(""));
+        assertSame(AsciiSequence.EMPTY, new MutableAsciiSequence().toAsciiSequence());
+        assertSame(id, AsciiSequence.of(id));
+        assertSame(id, id.subSequence(0, id.length()));
+    }
+
+    /**
+     * 哈希值、{@code equals}、{@code compareTo} 与内容相同的 {@code String} 一致
+     */
+    @Test
+    public void matchesString() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 20_000; round ++) {
+            final String a = randomAscii(random, random.nextInt(40));
+            final String b = random.nextInt(4) == 0 ? a : mutate(random, a);
+            final AsciiSequence sa = AsciiSequence.of(a);
+            final AsciiSequence sb = random.nextBoolean() ? AsciiSequence.of(b)
+                    : AsciiSequence.of(("(" + b + ")").getBytes(StandardCharsets.US_ASCII), 1, b.length());
+            final MutableAsciiSequence ma = new MutableAsciiSequence(a);
+            final MutableAsciiSequence mb = new MutableAsciiSequence().append(b);
+            final String message = escape(a) + " / " + escape(b);
+
+            // 一侧的哈希值已缓存、另一侧尚未计算时同样正确
+            if (random.nextBoolean()) {
+                assertEquals(message, a.hashCode(), sa.hashCode());
+            }
+            assertEquals(message, a.equals(b), sa.equals(sb));
+            assertEquals(message, a.equals(b), sb.equals(sa));
+            assertEquals(message, a.hashCode(), sa.hashCode());
+            assertEquals(message, b.hashCode(), sb.hashCode());
+            assertEquals(message, a.equals(b), sa.equals(sb));
+            assertEquals(message, a.compareTo(b), sa.compareTo(sb));
+            assertEquals(message, b.compareTo(a), sb.compareTo(sa));
+
+            assertEquals(message, a.hashCode(), CharSequenceAccess.hashCode(ma));
+            assertEquals(message, a.hashCode(), ma.toAsciiSequence().hashCode());
+            assertEquals(message, a.equals(b), ma.contentEquals(mb));
+            assertEquals(message, a.equals(b), sa.contentEquals(b));
+            assertEquals(message, a.equals(b), sa.contentEquals(new StringBuilder(b)));
+            assertEquals(message, a.equals(b), CharSequenceAide.equals(ma, sb));
+            assertEquals(message, a.equals(b), CharSequenceAide.equals(b, ma));
+            assertEquals(message, a.equalsIgnoreCase(b), CharSequenceAide.equalsIgnoreCase(sa, mb));
+            assertEquals(message, a.equalsIgnoreCase(b), CharSequenceAide.equalsIgnoreCase(ma, b));
+            assertEquals(message, a.compareTo(b), CharSequenceAide.compare(ma, mb));
+            assertEquals(message, a.compareTo(b), CharSequenceAide.compare(sa, b));
+            assertEquals(message, a.compareTo(b), CharSequenceAide.compare(new StringBuilder(a), mb));
+
+            final int offset = a.isEmpty() ? 0 : random.nextInt(a.length());
+            final int length = random.nextInt(a.length() - offset + 1);
+            final int offset2 = Math.min(offset, b.length());
+            assertEquals(message, a.regionMatches(offset, b, offset2, length),
+                    CharSequenceAide.regionMatches(false, sa, offset, mb, offset2, length));
+            assertEquals(message, a.regionMatches(true, offset, b, offset2, length),
+                    CharSequenceAide.regionMatches(true, ma, offset, sb, offset2, length));
+
+            final AsciiSequence part = sa.subSequence(offset, offset + length);
+            assertEquals(message, a.substring(offset, offset + length).hashCode(), part.hashCode());
+            assertEquals(message, AsciiSequence.of(a.substring(offset, offset + length)), part);
+            assertEquals(message, part, ma.subSequence(offset, offset + length));
+        }
+    }
+
+    @Test
+    public void hashSetKeys() {
+        final Set<AsciiSequence> set = new HashSet<>();
+        final Set<String> expected = new HashSet<>();
+        final Random random = new Random(2);
+        for (int i = 0; i < 5_000; i ++) {
+            final String text = randomAscii(random, random.nextInt(6));
+            assertEquals(expected.add(text), set.add(AsciiSequence.of(text)));
+        }
+        for (final String text : expected) {
+            assertTrue(set.contains(new MutableAsciiSequence(text).toAsciiSequence()));
+        }
+        // MutableAsciiSequence 与 StringBuilder 一样按对象标识比较
+        final MutableAsciiSequence m1 = new MutableAsciiSequence("abc");
+        final MutableAsciiSequence m2 = new MutableAsciiSequence("abc");
+        assertNotEquals(m1, m2);
+        assertTrue(m1.contentEquals(m2));
+        assertFalse(AsciiSequence.of("abc").equals("abc"));
+        assertFalse(AsciiSequence.of("abc").equals(m1));
+    }
+
+    @Test
+    public void rejectsNonAscii() {
+        final String[] texts = {"\u00e9", "a\u0080", "abcdefgh\u4e2d"};
+        for (final String text : texts) {
+            try {
+                AsciiSequence.of(text);
+                fail(escape(text));
+            } catch (IllegalArgumentException expected) {
+                // 非 ASCII 字符
+            }
+            final MutableAsciiSequence buffer = new MutableAsciiSequence("keep");
+            try {
+                buffer.append(text);
+                fail(escape(text));
+            } catch (IllegalArgumentException expected) {
+                // 当前序列不变
+            }
+            assertEquals("keep", buffer.toString());
+        }
+        final byte[] bytes = {'a', 'b', (byte) 0x80, 'c', 'd', 'e', 'f', 'g', 'h', 'i'};
+        try {
+            AsciiSequence.of(bytes, 0, bytes.length);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 大于 0x7F 的字节
+        }
+        assertEquals("cdefghi", AsciiSequence.of(bytes, 3, 7).toString());
+        final MutableAsciiSequence buffer = new MutableAsciiSequence("keep");
+        try {
+            buffer.reset(bytes, 0, 3);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 此时当前序列为空
+        }
+        assertEquals(0, buffer.length());
+        try {
+            buffer.append('\u00e9');
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 非 ASCII 字符
+        }
+        try {
+            AsciiSequence.of(bytes, 8, 3);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // 超出数组范围
+        }
+    }
+
+    @Test
+    public void mutableOperations() {
+        final MutableAsciiSequence buffer = new MutableAsciiSequence(1);
+        final StringBuilder expected = new StringBuilder();
+        final Random random = new Random(3);
+        final long[] numbers = {0, 1, -1, 9, 10, 99, 100, Long.MAX_VALUE, Long.MIN_VALUE, 999_999_999_999_999_999L,
+                1_000_000_000_000_000_000L, -1_000_000_000_000_000_000L};
+        for (int i = 0; i < 2_000; i ++) {
+            switch (random.nextInt(5)) {
+                case 0: {
+                    final long number = random.nextBoolean() ? numbers[random.nextInt(numbers.length)] : random.nextLong() >> random.nextInt(64);
+                    buffer.append(number);
+                    expected.append(number);
+                    break;
+                }
+                case 1: {
+                    final String text = randomAscii(random, random.nextInt(20));
+                    buffer.append(text, 0, text.length());
+                    expected.append(text);
+                    break;
+                }
+                case 2: {
+                    final AsciiSequence text = AsciiSequence.of(randomAscii(random, random.nextInt(20)));
+                    buffer.append(text);
+                    expected.append(text);
+                    break;
+                }
+                case 3:
+                    if (expected.length() > 0) {
+                        final int index = random.nextInt(expected.length());
+                        buffer.setCharAt(index, 'x');
+                        expected.setCharAt(index, 'x');
+                    }
+                    break;
+                default: {
+                    final int length = random.nextInt(expected.length() + 10);
+                    buffer.setLength(length);
+                    expected.setLength(length);
+                    break;
+                }
+            }
+            assertEquals(expected.toString(), buffer.toString());
+            assertEquals(expected.toString().hashCode(), CharSequenceAccess.hashCode(buffer));
+        }
+        buffer.append((CharSequence) null);
+        expected.append((CharSequence) null);
+        assertEquals(expected.toString(), buffer.toString());
+        assertEquals(0, buffer.clear().length());
+    }
+
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        final AsciiSequence sequence = AsciiSequence.of("SKU-000042");
+        sequence.hashCode();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sequence);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final AsciiSequence copy = (AsciiSequence) in.readObject();
+            assertEquals(sequence, copy);
+            assertEquals("SKU-000042".hashCode(), copy.hashCode());
+            assertEquals(0, sequence.compareTo(copy));
+        }
+    }
+
+    /**
+     * ASCII 序列的比较与查找不分配内存
+     */
+    @Test
+    public void asciiSequenceDoesNotAllocate() {
+        final AsciiSequence id = AsciiSequence.of("ORDER-2024-000042-shanghai");
+        final AsciiSequence other = AsciiSequence.of("order-2024-000042-SHANGHAI");
+        final MutableAsciiSequence buffer = new MutableAsciiSequence("       ORDER-2024-000042-shanghai");
+        assertAllocationFree("CharSequenceAide.equalsIgnoreCase(AsciiSequence)",
+                () -> CharSequenceAide.equalsIgnoreCase(id, other) ? 1 : 0);
+        assertAllocationFree("CharSequenceAide.compare(AsciiSequence)", () -> CharSequenceAide.compare(id, other));
+        assertAllocationFree("CharSequenceAide.indexOf(MutableAsciiSequence)", () -> CharSequenceAide.indexOf(buffer, 's'));
+        assertAllocationFree("CharSequenceAide.isBlank(MutableAsciiSequence)", () -> CharSequenceAide.isBlank(buffer) ? 1 : 0);
+    }
+
+    private static String randomAscii(final Random random, final int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i ++) {
+            chars[i] = random.nextInt(8) == 0 ? (char) random.nextInt(0x80) : ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return 改变一个字符、截短或加长后的字符串
+     */
+    private static String mutate(final Random random, final String text) {
+        switch (random.nextInt(3)) {
+            case 0:
+                if (!text.isEmpty()) {
+                    final char[] chars = text.toCharArray();
+                    chars[random.nextInt(chars.length)] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                    return new String(chars);
+                }
+                return text;
+            case 1:
+                return text.substring(0, random.nextInt(text.length() + 1));
+            default:
+                return text + randomAscii(random, 1 + random.nextInt(10));
+        }
+    }
+
+    private static String escape(final String text) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < text.length(); i ++) {
+            final char c = text.charAt(i);
+            builder.append(c >= 0x20 && c < 0x7f ? String.valueOf(c) : String.format("\\u%04x", (int) c));
+        }
+        return builder.toString();
+    }
+}
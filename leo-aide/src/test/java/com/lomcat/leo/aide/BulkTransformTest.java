@@ -0,0 +1,502 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link StringAide#trimToNullAll(String[])}、{@link StringAide#stripAll(String[], String)}、
+ * {@link StringAide#truncateAll(String[], int)} 及其目标数组与列表形式的测试：结果与逐个元素调用
+ * {@code trimToNull}、{@code strip}、{@code truncate} 一致，未改变的元素保留原实例且不被写回，
+ * 只有 {@link ArrayList} 与 {@link Arrays#asList(Object[])} 返回的列表会并行处理。</p>
+ *
+ * <p>并行阈值在类加载时读取，构建中另有一个以 {@code -Dleo.aide.parallelThreshold=64} 运行本类的 surefire execution，
+ * 使较短的数组与列表也经过 ForkJoin 拆分。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class BulkTransformTest {
+
+    /** 已规范与需要处理的元素：首尾空白、全空白、{@code null}、含要移除的字符与较长的字符串 */
+    private static final String[] VALUES = {
+            "abc", "  abc", "abc  ", " a b ", "   ", "", null, "yabcz", "zzy", "abcdef", "\tx\n", "ab", "xyz"
+    };
+
+    private static final int[] SIZES = {0, 1, 7, 63, 64, 65, 1_000, BulkTransform.PARALLEL_THRESHOLD + 3};
+
+    @Test
+    public void documentedExamples() {
+        assertNull(StringAide.trimToNullAll((String[]) null));
+        assertNull(StringAide.trimToNullAll((List<String>) null));
+        assertNull(StringAide.stripAll((String[]) null, null));
+        assertNull(StringAide.truncateAll((List<String>) null, 3));
+        assertArrayEquals(new String[0], StringAide.trimToNullAll(new String[0]));
+        assertArrayEquals(new String[] {"abc", null, "d", null}, StringAide.trimToNullAll(new String[] {"abc", "  ", " d ", null}));
+        assertArrayEquals(new String[] {"abc", "abc"}, StringAide.stripAll(new String[] {"abc", "  abc"}, null));
+        assertArrayEquals(new String[] {"abc", null}, StringAide.stripAll(new String[] {"abc  ", null}, null));
+        assertArrayEquals(new String[] {"abc", null}, StringAide.stripAll(new String[] {"yabcz", null}, "yz"));
+        assertArrayEquals(new String[] {"abc", "ab"}, StringAide.truncateAll(new String[] {"abcdef", "ab"}, 3));
+        assertArrayEquals(new String[] {"", null}, StringAide.truncateAll(new String[] {"abcdef", null}, 0));
+
+        final String[] array = {"clean", " dirty "};
+        final String clean = array[0];
+        assertSame(array, StringAide.trimToNullAll(array));
+        assertSame(clean, array[0]);
+        final List<String> list = new ArrayList<>(Arrays.asList(array));
+        assertSame(list, StringAide.stripAll(list, null));
+    }
+
+    /**
+     * 原地转换数组：结果与逐个元素的转换一致，转换返回原实例的位置仍是原实例
+     */
+    @Test
+    public void arraysInPlace() {
+        final Random random = new Random(1);
+        for (final Operation operation : operations()) {
+            for (final int size : SIZES) {
+                final String[] original = randomArray(random, size);
+                final String[] array = original.clone();
+                assertSame(array, operation.inPlace(array));
+                assertTransformed(operation, original, array);
+            }
+        }
+    }
+
+    /**
+     * 从源数组写入目标数组：源数组不变，目标数组中超出源数组长度的位置不被写入
+     */
+    @Test
+    public void sourceToTarget() {
+        final Random random = new Random(2);
+        for (final Operation operation : operations()) {
+            for (final int size : SIZES) {
+                final String[] source = randomArray(random, size);
+                final String[] copy = source.clone();
+                final String[] target = new String[size + 3];
+                final String[] sentinels = new String[target.length];
+                for (int i = 0; i < target.length; i ++) {
+                    sentinels[i] = new String("sentinel" + i);
+                    target[i] = sentinels[i];
+                }
+                assertSame(target, operation.toTarget(source, target));
+                assertTransformed(operation, source, Arrays.copyOf(target, size));
+                for (int i = size; i < target.length; i ++) {
+                    assertSame(operation + " " + size + " " + i, sentinels[i], target[i]);
+                }
+                for (int i = 0; i < size; i ++) {
+                    assertSame(source[i] == null ? null : copy[i], source[i]);
+                }
+                // 目标数组与源数组相同时等同于原地转换
+                final String[] same = copy.clone();
+                assertSame(same, operation.toTarget(same, same));
+                assertTransformed(operation, copy, same);
+            }
+        }
+    }
+
+    @Test
+    public void invalidTargets() {
+        for (final Operation operation : operations()) {
+            try {
+                operation.toTarget(new String[3], new String[2]);
+                fail(operation.toString());
+            } catch (IllegalArgumentException expected) {
+                // 目标数组太短
+            }
+            try {
+                operation.toTarget(null, new String[2]);
+                fail(operation.toString());
+            } catch (NullPointerException expected) {
+                // 源数组为 null
+            }
+            try {
+                operation.toTarget(new String[0], null);
+                fail(operation.toString());
+            } catch (NullPointerException expected) {
+                // 目标数组为 null
+            }
+        }
+        try {
+            StringAide.trimToNullAll(Collections.unmodifiableList(Arrays.asList(" a ")));
+            fail();
+        } catch (UnsupportedOperationException expected) {
+            // 列表不支持 set
+        }
+        // 没有元素需要改变时不调用 set
+        assertEquals(Collections.singletonList("a"), StringAide.trimToNullAll(Collections.unmodifiableList(Arrays.asList("a"))));
+    }
+
+    /**
+     * 各种列表：结果与逐个元素的转换一致，只对改变的元素调用 {@code set}
+     */
+    @Test
+    public void listKinds() {
+        final Random random = new Random(3);
+        for (final Operation operation : operations()) {
+            for (final int size : SIZES) {
+                final String[] original = randomArray(random, size);
+                for (final List<String> list : lists(original)) {
+                    final String message = operation + " " + list.getClass().getName() + " " + size;
+                    final CountingList counting = CountingList.of(list);
+                    assertSame(message, counting, operation.list(counting));
+                    assertTransformed(operation, original, list.toArray(new String[0]));
+                    int changed = 0;
+                    for (final String element : original) {
+                        if (operation.apply(element) != element) {
+                            changed ++;
+                        }
+                    }
+                    assertEquals(message, changed, counting.sets.get());
+                    assertSame(message, list, operation.list(list));
+                    assertTransformed(operation, original, list.toArray(new String[0]));
+                }
+            }
+        }
+        // subList 只改变视图范围内的元素
+        final List<String> backing = new ArrayList<>(Arrays.asList(" a ", " b ", " c ", " d "));
+        StringAide.trimToNullAll(backing.subList(1, 3));
+        assertEquals(Arrays.asList(" a ", "b", "c", " d "), backing);
+    }
+
+    /**
+     * 只有数组、{@link ArrayList} 与 {@link Arrays#asList(Object[])} 返回的列表在达到阈值时并行处理，
+     * 其余列表（含 {@code ArrayList} 的子类与 {@code subList} 视图）始终在调用线程中顺序处理
+     */
+    @Test
+    public void parallelOnlyForArrayBackedLists() {
+        final int threshold = BulkTransform.PARALLEL_THRESHOLD;
+        assertEquals(Math.max(2, Integer.getInteger("leo.aide.parallelThreshold", 1 << 16)), threshold);
+        for (final int size : new int[] {threshold - 1, threshold, threshold * 3 + 1}) {
+            final String[] original = new String[size];
+            for (int i = 0; i < size; i ++) {
+                original[i] = i % 3 == 0 ? " " + i : String.valueOf(i);
+            }
+            final boolean large = size >= threshold;
+
+            final ParallelProbe probe = new ParallelProbe();
+            final String[] array = original.clone();
+            BulkTransform.apply(array, array, probe);
+            assertEquals("array " + size, large, probe.forked.get());
+            assertTransformed(Operation.TRIM_TO_NULL, original, array);
+
+            for (final List<String> list : lists(original)) {
+                final ParallelProbe listProbe = new ParallelProbe();
+                BulkTransform.apply(list, listProbe);
+                final boolean arrayBacked = list.getClass() == ArrayList.class || list.getClass() == Arrays.asList().getClass();
+                assertEquals(list.getClass().getName() + " " + size, large && arrayBacked, listProbe.forked.get());
+                assertTransformed(Operation.TRIM_TO_NULL, original, list.toArray(new String[0]));
+            }
+        }
+    }
+
+    /**
+     * 无需修改的数组串行处理时不分配内存
+     */
+    @Test
+    public void bulkNormalizationDoesNotAllocateWhenClean() {
+        final String[] column = new String[256];
+        for (int i = 0; i < column.length; i ++) {
+            column[i] = "value" + i;
+        }
+        // 降低并行阈值运行时会拆分为并行任务
+        Assume.assumeTrue(column.length < BulkTransform.PARALLEL_THRESHOLD);
+        assertAllocationFree("StringAide.trimToNullAll(clean)", () -> StringAide.trimToNullAll(column).length);
+    }
+
+    private static void assertTransformed(final Operation operation, final String[] original, final String[] actual) {
+        assertEquals(original.length, actual.length);
+        for (int i = 0; i < original.length; i ++) {
+            final String expected = operation.apply(original[i]);
+            if (expected == original[i]) {
+                // 未改变的元素保留原实例
+                if (actual[i] != original[i]) {
+                    assertSame(operation + " " + i, original[i], actual[i]);
+                }
+            } else if (!ObjectAide.equals(expected, actual[i])) {
+                assertEquals(operation + " " + i, expected, actual[i]);
+            }
+        }
+    }
+
+    /**
+     * @return 内容相同的 {@code ArrayList}、{@code Arrays.asList}、{@code LinkedList}、{@code subList} 视图、
+     *         {@code Vector}、{@code CopyOnWriteArrayList} 与 {@code ArrayList} 的子类
+     */
+    private static List<List<String>> lists(final String[] elements) {
+        final List<String> padded = new ArrayList<>();
+        padded.add("  head  ");
+        padded.addAll(Arrays.asList(elements));
+        padded.add("  tail  ");
+        return Arrays.asList(
+                new ArrayList<>(Arrays.asList(elements)),
+                Arrays.asList(elements.clone()),
+                new LinkedList<>(Arrays.asList(elements)),
+                padded.subList(1, padded.size() - 1),
+                new Vector<>(Arrays.asList(elements)),
+                new CopyOnWriteArrayList<>(elements),
+                new ArrayList<String>(Arrays.asList(elements)) {
+                    private static final long serialVersionUID = 1L;
+                });
+    }
+
+    private static String[] randomArray(final Random random, final int size) {
+        final String[] array = new String[size];
+        for (int i = 0; i < size; i ++) {
+            final String value = VALUES[random.nextInt(VALUES.length)];
+            // 新实例，使“保留原实例”的断言有意义
+            array[i] = value == null ? null : new String(value);
+        }
+        return array;
+    }
+
+    private static Operation[] operations() {
+        return Operation.values();
+    }
+
+    private enum Operation {
+        TRIM_TO_NULL {
+            @Override
+            String apply(final String str) {
+                return StringAide.trimToNull(str);
+            }
+
+            @Override
+            String[] inPlace(final String[] array) {
+                return StringAide.trimToNullAll(array);
+            }
+
+            @Override
+            String[] toTarget(final String[] source, final String[] target) {
+                return StringAide.trimToNullAll(source, target);
+            }
+
+            @Override
+            List<String> list(final List<String> list) {
+                return StringAide.trimToNullAll(list);
+            }
+        },
+        STRIP_WHITESPACE {
+            @Override
+            String apply(final String str) {
+                return StringAide.strip(str, null);
+            }
+
+            @Override
+            String[] inPlace(final String[] array) {
+                return StringAide.stripAll(array, null);
+            }
+
+            @Override
+            String[] toTarget(final String[] source, final String[] target) {
+                return StringAide.stripAll(source, target, null);
+            }
+
+            @Override
+            List<String> list(final List<String> list) {
+                return StringAide.stripAll(list, null);
+            }
+        },
+        STRIP_CHARS {
+            @Override
+            String apply(final String str) {
+                return StringAide.strip(str, "yz");
+            }
+
+            @Override
+            String[] inPlace(final String[] array) {
+                return StringAide.stripAll(array, "yz");
+            }
+
+            @Override
+            String[] toTarget(final String[] source, final String[] target) {
+                return StringAide.stripAll(source, target, "yz");
+            }
+
+            @Override
+            List<String> list(final List<String> list) {
+                return StringAide.stripAll(list, "yz");
+            }
+        },
+        TRUNCATE {
+            @Override
+            String apply(final String str) {
+                return StringAide.truncate(str, 3);
+            }
+
+            @Override
+            String[] inPlace(final String[] array) {
+                return StringAide.truncateAll(array, 3);
+            }
+
+            @Override
+            String[] toTarget(final String[] source, final String[] target) {
+                return StringAide.truncateAll(source, target, 3);
+            }
+
+            @Override
+            List<String> list(final List<String> list) {
+                return StringAide.truncateAll(list, 3);
+            }
+        };
+
+        abstract String apply(String str);
+
+        abstract String[] inPlace(String[] array);
+
+        abstract String[] toTarget(String[] source, String[] target);
+
+        abstract List<String> list(List<String> list);
+    }
+
+    /**
+     * 执行 {@code trimToNull} 并记录是否曾在 ForkJoin 子任务中执行；只检查部分元素的调用栈
+     */
+    private static final class ParallelProbe implements UnaryOperator<String> {
+
+        private final AtomicBoolean forked = new AtomicBoolean();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String apply(final String str) {
+            if ((calls.getAndIncrement() & 63) == 0 && !forked.get()) {
+                for (final StackTraceElement frame : new Throwable().getStackTrace()) {
+                    if (frame.getClassName().equals(BulkTransform.class.getName()) && frame.getMethodName().equals("compute")) {
+                        forked.set(true);
+                        break;
+                    }
+                }
+            }
+            return StringAide.trimToNull(str);
+        }
+    }
+
+    /**
+     * 记录 {@code set} 调用次数的列表包装，不支持随机访问，经由被包装列表的 {@link ListIterator} 遍历与写回
+     */
+    private static class CountingList extends AbstractList<String> {
+
+        final List<String> list;
+        final AtomicInteger sets = new AtomicInteger();
+
+        CountingList(final List<String> list) {
+            this.list = list;
+        }
+
+        static CountingList of(final List<String> list) {
+            return list instanceof RandomAccess ? new RandomAccessCountingList(list) : new CountingList(list);
+        }
+
+        @Override
+        public String get(final int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public String set(final int index, final String element) {
+            sets.incrementAndGet();
+            return list.set(index, element);
+        }
+
+        @Override
+        public ListIterator<String> listIterator() {
+            final ListIterator<String> iterator = list.listIterator();
+            return new ListIterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return iterator.hasPrevious();
+                }
+
+                @Override
+                public String previous() {
+                    return iterator.previous();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return iterator.nextIndex();
+                }
+
+                @Override
+                public int previousIndex() {
+                    return iterator.previousIndex();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void set(final String element) {
+                    sets.incrementAndGet();
+                    iterator.set(element);
+                }
+
+                @Override
+                public void add(final String element) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+    }
+
+    private static final class RandomAccessCountingList extends CountingList implements RandomAccess {
+
+        RandomAccessCountingList(final List<String> list) {
+            super(list);
+        }
+    }
+}
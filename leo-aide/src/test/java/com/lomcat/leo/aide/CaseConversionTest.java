@@ -0,0 +1,188 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link StringAide#lowerCase(CharSequence)}、{@link StringAide#upperCase(CharSequence)} 及追加到 {@link StringBuilder} 的重载的测试：
+ * 对基本多文种平面（BMP）中的每个字符，单独出现以及在词中与词尾，与 {@code toLowerCase(Locale.ROOT)}、{@code toUpperCase(Locale.ROOT)} 的结果比较，
+ * 覆盖词尾的 {@code Σ}、{@code İ}（U+0130）与 {@code ß} 等结果与上下文或长度有关的字符。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class CaseConversionTest {
+
+    @Test
+    public void documentedExamples() {
+        assertNull(StringAide.lowerCase(null));
+        assertNull(StringAide.upperCase(null));
+        final String lower = "content-type";
+        assertSame(lower, StringAide.lowerCase(lower));
+        final String upper = "GET";
+        assertSame(upper, StringAide.upperCase(upper));
+        assertEquals("content-type", StringAide.lowerCase("Content-Type"));
+        assertEquals("\u00e0\u00e9\u00ee", StringAide.lowerCase(new StringBuilder("\u00c0\u00c9\u00ce")));
+        assertEquals("\u03bf\u03b4\u03bf\u03c2", StringAide.lowerCase("\u039f\u0394\u039f\u03a3"));
+        assertEquals("GET", StringAide.upperCase("get"));
+        assertEquals("STRASSE", StringAide.upperCase("stra\u00dfe"));
+        assertEquals("header.x-id", StringAide.lowerCase("X-Id", new StringBuilder("header.")).toString());
+        assertEquals("x", StringAide.lowerCase(null, new StringBuilder("x")).toString());
+        try {
+            StringAide.upperCase("a", null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 目标为 null
+        }
+    }
+
+    @Test
+    public void specialCases() {
+        // 词尾的 Σ 变为 ς，其余位置变为 σ
+        assertLower("\u03c3", "\u03a3");
+        assertLower("\u03c3\u03b1", "\u03a3\u0391");
+        assertLower("\u03b1\u03c2 \u03b2", "\u0391\u03a3 \u0392");
+        assertLower("\u03b1\u03c2.", "\u0391\u03a3.");
+        assertLower("\u03b1\u03c3\u03b2", "\u0391\u03a3\u0392");
+        assertLower("a\u03c2", new StringBuilder("A\u03a3"));
+        // İ 在 Locale.ROOT 下变为 i 与组合用上点
+        assertLower("i\u0307", "\u0130");
+        assertLower("ai\u0307b", "A\u0130B");
+        // ß、连字与带变音符号的希腊字母变为多个字符
+        assertUpper("SS", "\u00df");
+        assertUpper("FFI", "\ufb03");
+        assertUpper("\u02bcN", "\u0149");
+        assertUpper("\u0399\u0308\u0301", "\u0390");
+        assertUpper("\u1f08\u0399", "\u1f80");
+        assertUpper("\u0535\u0552", "\u0587");
+        // ẞ 的小写是 ß
+        assertLower("\u00df", "\u1e9e");
+        // 增补字符与孤立的代理字符
+        assertLower("\ud801\udc28x", "\ud801\udc00X");
+        assertUpper("\ud801\udc00X", "\ud801\udc28x");
+        assertLower("\ud801a\udc00", "\ud801A\udc00");
+        assertUpper("\udc00\ud801", "\udc00\ud801");
+    }
+
+    /**
+     * 基本多文种平面中的每个字符单独出现，以及出现在词中与词尾（前面是希腊字母时覆盖词尾 Σ 的上下文）
+     */
+    @Test
+    public void everyBmpChar() {
+        for (int c = 0; c <= Character.MAX_VALUE; c ++) {
+            final char ch = (char) c;
+            final String[] texts = {String.valueOf(ch), "Ab" + ch + "Cd", "\u0391" + ch, "\u0391" + ch + " x"};
+            for (final String text : texts) {
+                assertLower(text.toLowerCase(Locale.ROOT), text);
+                assertUpper(text.toUpperCase(Locale.ROOT), text);
+            }
+        }
+    }
+
+    @Test
+    public void randomText() {
+        final Random random = new Random(1);
+        final String alphabet = "aZ \u00df\u00c0\u00e9\u0130\u0131\u03a3\u03c3\u03c2\u0391\u0390\u1f80\ufb03\u1e9e\u4e2d.-\ud801\udc00\udc28";
+        for (int round = 0; round < 20_000; round ++) {
+            final char[] chars = new char[random.nextInt(round % 100 == 0 ? 1_000 : 12)];
+            for (int i = 0; i < chars.length; i ++) {
+                chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            final String text = new String(chars);
+            assertLower(text.toLowerCase(Locale.ROOT), text);
+            assertUpper(text.toUpperCase(Locale.ROOT), text);
+        }
+    }
+
+    /**
+     * 无需转换的字符串与写入已有缓冲区的转换不分配内存
+     */
+    @Test
+    public void caseConversionDoesNotAllocate() {
+        final String text = Allocations.TEXT;
+        final StringBuilder builder = new StringBuilder(text);
+        final String lower = text.toLowerCase(Locale.ROOT);
+        final String upper = text.toUpperCase(Locale.ROOT);
+        final AsciiSequence ascii = AsciiSequence.of(upper);
+        final StringBuilder buffer = new StringBuilder(text.length() * 2);
+        assertAllocationFree("StringAide.lowerCase(String)", () -> StringAide.lowerCase(lower).length());
+        assertAllocationFree("StringAide.upperCase(String)", () -> StringAide.upperCase(upper).length());
+        assertAllocationFree("StringAide.lowerCase(StringBuilder, StringBuilder)", () -> {
+            buffer.setLength(0);
+            return StringAide.lowerCase(builder, buffer).length();
+        });
+        assertAllocationFree("StringAide.upperCase(AsciiSequence, StringBuilder)", () -> {
+            buffer.setLength(0);
+            return StringAide.upperCase(ascii, buffer).length();
+        });
+    }
+
+    private static void assertLower(final String expected, final CharSequence text) {
+        for (final CharSequence sequence : sequences(text)) {
+            assertCase(expected, StringAide.lowerCase(sequence), sequence);
+            assertCase("#" + expected, StringAide.lowerCase(sequence, new StringBuilder("#")).toString(), sequence);
+        }
+    }
+
+    private static void assertUpper(final String expected, final CharSequence text) {
+        for (final CharSequence sequence : sequences(text)) {
+            assertCase(expected, StringAide.upperCase(sequence), sequence);
+            assertCase("#" + expected, StringAide.upperCase(sequence, new StringBuilder("#")).toString(), sequence);
+        }
+    }
+
+    /**
+     * 只在不相等时才格式化断言信息
+     */
+    private static void assertCase(final String expected, final String actual, final CharSequence text) {
+        if (!expected.equals(actual)) {
+            assertEquals(text.getClass().getSimpleName() + " " + escape(text), escape(expected), escape(actual));
+        }
+    }
+
+    /**
+     * @return 相同内容的 {@code String}、{@link StringBuilder}、基于数组的 {@link CharBuffer} 与 {@link CharSequenceView}
+     */
+    private static CharSequence[] sequences(final CharSequence text) {
+        final String str = text.toString();
+        return new CharSequence[] {
+                str,
+                new StringBuilder(str),
+                CharBuffer.wrap(("(" + str + ")").toCharArray(), 1, str.length()),
+                CharSequenceView.of("(" + str + ")", 1, str.length() + 1),
+        };
+    }
+
+    private static String escape(final CharSequence text) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < text.length(); i ++) {
+            builder.append(String.format("\\u%04x", (int) text.charAt(i)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,453 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationAtMost;
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static com.lomcat.leo.aide.Allocations.charArray;
+import static com.lomcat.leo.aide.Allocations.string;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link CharSequenceAccess} 与 {@link CharSequenceView} 各条访问路径的差分测试：{@code indexOf}、{@code lastIndexOf}、
+ * {@code ordinalIndexOf}、{@code regionMatches}（含忽略大小写）、{@code equals} 与 {@code isBlank}
+ * 在 {@code String}、{@code StringBuilder}、{@code StringBuffer}、非零 {@code arrayOffset} 与 {@code position} 的
+ * {@code CharBuffer}、嵌套视图、{@link Rope} 与普通字符序列上的结果与对应的 {@link String} 方法一致。</p>
+ *
+ * <p>输入长度集中在 16 个字符的短区域阈值与 256 个字符的分块大小附近，使逐个字符与分块复制两条路径及分块的边界都被覆盖。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class CharSequenceAccessTest {
+
+    /** 短区域阈值与分块大小附近的长度 */
+    private static final int[] LENGTHS = {0, 1, 2, 15, 16, 17, 31, 32, 33, 255, 256, 257, 511, 512, 513, 769};
+
+    /** 大小写规则特殊的字符：开尔文符号、带点与无点的 i、ß、长 s、希腊字母 beta 的变体，以及全角空格与汉字 */
+    private static final char[] CASE_ALPHABET = {
+            'a', 'b', 'A', 'B', 'k', 'K', '\u212a', 'i', 'I', '\u0130', '\u0131', 's', 'S', '\u00df', '\u017f',
+            '\u03b2', '\u0392', '\u03d0', ' ', '\t', '\u3000', '\u4e2d'
+    };
+
+    private static final int ROUNDS = 600;
+
+    @Test
+    public void indexOfChar() {
+        final Random random = new Random(1);
+        for (int round = 0; round < ROUNDS; round ++) {
+            final String s = randomText(random, true);
+            final int length = s.length();
+            for (final CharSequence sequence : sequences(s)) {
+                for (int k = 0; k < 4; k ++) {
+                    final int ch = randomCodePoint(random, s);
+                    final int from = random.nextInt(length + 5) - 2;
+                    check(s, sequence, "indexOf " + ch + " " + from, s.indexOf(ch, from), CharSequenceAide.indexOf(sequence, ch, from));
+                    final int fromIndex = Math.max(0, from);
+                    final int toIndex = fromIndex >= length ? length : fromIndex + random.nextInt(length - fromIndex + 1);
+                    final int expected = s.substring(0, toIndex).indexOf(ch, fromIndex);
+                    check(s, sequence, "indexOf " + ch + " [" + fromIndex + ", " + toIndex + ")", expected,
+                            CharSequenceAccess.indexOf(sequence, ch, fromIndex, toIndex));
+                    check(s, sequence, "lastIndexOf " + ch + " " + from, s.lastIndexOf(ch, from),
+                            CharSequenceAccess.lastIndexOf(sequence, ch, from));
+                }
+            }
+        }
+    }
+
+    /**
+     * 不合法的代码点不能按代理对查找，即使其计算出的代理对恰好出现在输入中
+     */
+    @Test
+    public void invalidCodePoints() {
+        final int invalid = Character.MAX_CODE_POINT + 1;
+        final String s = "a" + Character.highSurrogate(invalid) + Character.lowSurrogate(invalid) + "b";
+        for (final CharSequence sequence : sequences(s)) {
+            check(s, sequence, "indexOf", s.indexOf(invalid), CharSequenceAide.indexOf(sequence, invalid));
+            check(s, sequence, "lastIndexOf", s.lastIndexOf(invalid, 3), CharSequenceAccess.lastIndexOf(sequence, invalid, 3));
+            check(s, sequence, "indexOf", s.indexOf(Integer.MIN_VALUE), CharSequenceAide.indexOf(sequence, Integer.MIN_VALUE));
+        }
+    }
+
+    @Test
+    public void indexOfSequence() {
+        final Random random = new Random(2);
+        for (int round = 0; round < ROUNDS; round ++) {
+            final String s = randomText(random, true);
+            final int length = s.length();
+            for (int k = 0; k < 3; k ++) {
+                final String needle = randomNeedle(random, s);
+                final int from = random.nextInt(length + 5) - 2;
+                final int expectedIndex = s.indexOf(needle, from);
+                final int expectedLast = s.lastIndexOf(needle, from);
+                final List<CharSequence> needles = sequences(needle);
+                int n = 0;
+                for (final CharSequence sequence : sequences(s)) {
+                    final CharSequence sub = needles.get(n ++ % needles.size());
+                    final String message = "\"" + needle + "\" from " + from + " in " + sub.getClass().getSimpleName();
+                    check(s, sequence, "indexOf " + message, expectedIndex, CharSequenceAide.indexOf(sequence, sub, from));
+                    check(s, sequence, "lastIndexOf " + message, expectedLast, CharSequenceAide.lastIndexOf(sequence, sub, from));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ordinalIndexOf() {
+        final Random random = new Random(3);
+        for (int round = 0; round < ROUNDS; round ++) {
+            final String s = randomText(random, true);
+            final String needle = randomNeedle(random, s);
+            final int ordinal = 1 + random.nextInt(4);
+            final int expected = ordinalIndexOf(s, needle, ordinal, false);
+            final int expectedLast = ordinalIndexOf(s, needle, ordinal, true);
+            final List<CharSequence> needles = sequences(needle);
+            int n = 0;
+            for (final CharSequence sequence : sequences(s)) {
+                final CharSequence sub = needles.get(n ++ % needles.size());
+                final String message = "\"" + needle + "\" #" + ordinal + " in " + sub.getClass().getSimpleName();
+                check(s, sequence, "ordinalIndexOf " + message, expected, CharSequenceAide.ordinalIndexOf(sequence, sub, ordinal));
+                check(s, sequence, "ordinalLastIndexOf " + message, expectedLast, CharSequenceAide.ordinalLastIndexOf(sequence, sub, ordinal));
+            }
+        }
+    }
+
+    /**
+     * 第二个区域由第一个区域复制而来，随机改变大小写，并可能在短区域阈值或分块边界附近改动一个字符
+     */
+    @Test
+    public void regionMatches() {
+        final Random random = new Random(4);
+        for (int round = 0; round < ROUNDS; round ++) {
+            final String s1 = randomText(random, false);
+            final int length1 = s1.length();
+            final int offset1 = random.nextInt(length1 + 3) - 1;
+            final int regionLength = random.nextInt(Math.max(1, length1 - Math.max(0, offset1)) + 2);
+            final StringBuilder builder = new StringBuilder();
+            final int prefix = random.nextInt(20);
+            for (int i = 0; i < prefix; i ++) {
+                builder.append(CASE_ALPHABET[random.nextInt(CASE_ALPHABET.length)]);
+            }
+            for (int i = Math.max(0, offset1); i < Math.min(length1, Math.max(0, offset1) + regionLength); i ++) {
+                final char c = s1.charAt(i);
+                builder.append(random.nextBoolean() ? c : random.nextBoolean() ? Character.toUpperCase(c) : Character.toLowerCase(c));
+            }
+            if (builder.length() > prefix && random.nextBoolean()) {
+                final int position = prefix + nearBoundary(random, builder.length() - prefix);
+                builder.setCharAt(position, CASE_ALPHABET[random.nextInt(CASE_ALPHABET.length)]);
+            }
+            final String s2 = builder.toString();
+            final int offset2 = random.nextInt(3) == 0 ? random.nextInt(s2.length() + 3) - 1 : prefix;
+            final List<CharSequence> sequences2 = sequences(s2);
+            int n = 0;
+            for (final CharSequence sequence1 : sequences(s1)) {
+                final CharSequence sequence2 = sequences2.get(n ++ % sequences2.size());
+                for (final boolean ignoreCase : new boolean[] {false, true}) {
+                    final boolean expected = s1.regionMatches(ignoreCase, offset1, s2, offset2, regionLength);
+                    final boolean actual = CharSequenceAide.regionMatches(ignoreCase, sequence1, offset1, sequence2, offset2, regionLength);
+                    if (expected != actual) {
+                        fail("regionMatches(" + ignoreCase + ", " + offset1 + ", \"" + s2 + "\", " + offset2 + ", " + regionLength
+                                + ") on " + describe(s1, sequence1) + " and " + sequence2.getClass().getSimpleName()
+                                + ": expected " + expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void equals() {
+        final Random random = new Random(5);
+        for (int round = 0; round < ROUNDS; round ++) {
+            final String s1 = randomText(random, false);
+            final StringBuilder builder = new StringBuilder(s1);
+            switch (random.nextInt(4)) {
+                case 0:
+                    break;
+                case 1:
+                    if (builder.length() > 0) {
+                        final int position = nearBoundary(random, builder.length());
+                        builder.setCharAt(position, CASE_ALPHABET[random.nextInt(CASE_ALPHABET.length)]);
+                    }
+                    break;
+                case 2:
+                    for (int i = 0; i < builder.length(); i ++) {
+                        if (random.nextInt(8) == 0) {
+                            builder.setCharAt(i, Character.toUpperCase(builder.charAt(i)));
+                        }
+                    }
+                    break;
+                default:
+                    builder.append('a');
+            }
+            final String s2 = builder.toString();
+            final List<CharSequence> sequences2 = sequences(s2);
+            int n = 0;
+            for (final CharSequence sequence1 : sequences(s1)) {
+                final CharSequence sequence2 = sequences2.get(n ++ % sequences2.size());
+                if (s1.equals(s2) != CharSequenceAide.equals(sequence1, sequence2)) {
+                    fail("equals \"" + s2 + "\" " + sequence2.getClass().getSimpleName() + " on " + describe(s1, sequence1));
+                }
+                if (s1.equalsIgnoreCase(s2) != CharSequenceAide.equalsIgnoreCase(sequence1, sequence2)) {
+                    fail("equalsIgnoreCase \"" + s2 + "\" " + sequence2.getClass().getSimpleName() + " on " + describe(s1, sequence1));
+                }
+            }
+        }
+    }
+
+    /**
+     * 与逐个字符按 {@link Character#isWhitespace(char)} 判断的结果一致（{@code String#isBlank()} 需要 Java 11）
+     */
+    @Test
+    public void isBlank() {
+        final Random random = new Random(6);
+        final char[] whitespace = {' ', '\t', '\n', '\r', '\u000b', '\u001c', '\u2000', '\u3000'};
+        // 不间断空格不是空白字符
+        final char[] other = {'a', '\u00a0', '\u2007', '\u202f', '\u4e2d'};
+        for (int round = 0; round < ROUNDS; round ++) {
+            final char[] chars = new char[randomLength(random)];
+            for (int i = 0; i < chars.length; i ++) {
+                chars[i] = whitespace[random.nextInt(whitespace.length)];
+            }
+            if (chars.length > 0 && random.nextBoolean()) {
+                chars[nearBoundary(random, chars.length)] = other[random.nextInt(other.length)];
+            }
+            final String s = new String(chars);
+            boolean expected = true;
+            for (final char c : chars) {
+                expected &= Character.isWhitespace(c);
+            }
+            for (final CharSequence sequence : sequences(s)) {
+                if (expected != CharSequenceAide.isBlank(sequence)) {
+                    fail("isBlank on " + describe(s, sequence));
+                }
+            }
+        }
+    }
+
+    /**
+     * 各类输入上的查找不分配内存
+     */
+    @Test
+    public void indexOfDoesNotAllocate() {
+        final StringBuilder builder = new StringBuilder(Allocations.TEXT);
+        final CharBuffer charBuffer = CharBuffer.wrap(Allocations.TEXT.toCharArray());
+        final StringBuffer buffer = new StringBuffer(Allocations.TEXT);
+        assertAllocationFree("CharSequenceAide.indexOf(StringBuilder, String)",
+                () -> CharSequenceAide.indexOf(builder, "again", 0));
+        assertAllocationFree("CharSequenceAide.indexOf(StringBuffer, StringBuilder)",
+                () -> CharSequenceAide.indexOf(buffer, builder, 0));
+        assertAllocationFree("CharSequenceAide.indexOf(CharBuffer, char)",
+                () -> CharSequenceAide.indexOf(charBuffer, ',', 0));
+        assertAllocationFree("CharSequenceAide.lastIndexOf(StringBuilder, String)",
+                () -> CharSequenceAide.lastIndexOf(builder, "quick", builder.length()));
+        assertAllocationFree("CharSequenceAide.ordinalIndexOf(StringBuilder, String, 3)",
+                () -> CharSequenceAide.ordinalIndexOf(builder, "again", 3));
+    }
+
+    /**
+     * 各类输入之间的比较不分配内存
+     */
+    @Test
+    public void comparisonsDoNotAllocate() {
+        final StringBuilder builder = new StringBuilder(Allocations.TEXT);
+        final CharBuffer charBuffer = CharBuffer.wrap(Allocations.TEXT.toCharArray());
+        final StringBuffer buffer = new StringBuffer(Allocations.TEXT);
+        assertAllocationFree("CharSequenceAide.isBlank(StringBuilder)", () -> CharSequenceAide.isBlank(builder) ? 1 : 0);
+        assertAllocationFree("CharSequenceAide.equals(StringBuilder, CharBuffer)",
+                () -> CharSequenceAide.equals(builder, charBuffer) ? 1 : 0);
+        assertAllocationFree("CharSequenceAide.regionMatches(true, StringBuffer, CharBuffer)",
+                () -> CharSequenceAide.regionMatches(true, buffer, 4, charBuffer, 4, 40) ? 1 : 0);
+        assertAllocationFree("CharSequenceAide.compare(StringBuilder, StringBuffer)",
+                () -> CharSequenceAide.compare(builder, buffer));
+    }
+
+    /**
+     * 复用的视图重置后查找不分配内存
+     */
+    @Test
+    public void viewDoesNotAllocate() {
+        final StringBuilder builder = new StringBuilder(Allocations.TEXT);
+        final CharSequenceView view = new CharSequenceView();
+        assertAllocationFree("CharSequenceView.reset + indexOf",
+                () -> CharSequenceAide.indexOf(view.reset(builder, 10, 60), "lazy", 0));
+    }
+
+    /**
+     * 视图的 {@code toString()} 只分配结果字符串
+     */
+    @Test
+    public void viewToStringAllocatesOnlyResult() {
+        final StringBuilder builder = new StringBuilder(Allocations.TEXT);
+        final CharSequenceView view = CharSequenceView.of(builder, 4, 40);
+        assertAllocationAtMost("CharSequenceView.toString()", charArray(36) + string(36),
+                () -> view.toString().length());
+    }
+
+    // ----- references ----- begin
+    private static int ordinalIndexOf(final String s, final String needle, final int ordinal, final boolean last) {
+        if (needle.isEmpty()) {
+            return last ? s.length() : 0;
+        }
+        int index = last ? s.length() - 1 : 0;
+        for (int found = 0; ; ) {
+            index = last ? s.lastIndexOf(needle, index) : s.indexOf(needle, index);
+            if (index < 0 || ++ found >= ordinal) {
+                return index;
+            }
+            index = last ? index - 1 : index + 1;
+        }
+    }
+    // ----- references ----- end
+
+    /**
+     * @return 内容为 {@code s} 的各种字符序列
+     */
+    private static List<CharSequence> sequences(final String s) {
+        final int length = s.length();
+        final CharBuffer whole = CharBuffer.wrap(("[(" + s + ")]").toCharArray());
+        whole.position(1);
+        final CharBuffer sliced = whole.slice();
+        sliced.position(1);
+        sliced.limit(1 + length);
+        final CharBuffer slicedForView = sliced.duplicate();
+        final Rope rope = length < 2 ? Rope.of(s) : Rope.of(s.substring(0, length / 3)).append(s.substring(length / 3));
+        return Arrays.asList(
+                s,
+                new StringBuilder(s),
+                new StringBuffer(s),
+                sliced,
+                CharBuffer.wrap(s),
+                CharSequenceView.of("(" + s + ")", 1, length + 1),
+                CharSequenceView.of(CharSequenceView.of(new StringBuilder("<<" + s + ">>"), 1, length + 3), 1, length + 1),
+                CharSequenceView.of(slicedForView, 0, length),
+                rope,
+                CharSequenceView.of(Rope.of("#" + s), 1, length + 1),
+                new GenericSequence(s));
+    }
+
+    private static int randomLength(final Random random) {
+        return random.nextBoolean() ? LENGTHS[random.nextInt(LENGTHS.length)] : random.nextInt(600);
+    }
+
+    /**
+     * @return 随机位置，半数落在短区域阈值或分块边界附近
+     */
+    private static int nearBoundary(final Random random, final int length) {
+        if (random.nextBoolean()) {
+            final int[] positions = {0, 15, 16, 17, 255, 256, 257, 511, 512, length - 1};
+            final int position = positions[random.nextInt(positions.length)];
+            if (position < length) {
+                return position;
+            }
+        }
+        return random.nextInt(length);
+    }
+
+    /**
+     * @param supplementary 是否包含增补字符（忽略大小写的比较不使用，{@code String} 在 Java 16 之后按代码点忽略大小写）
+     */
+    private static String randomText(final Random random, final boolean supplementary) {
+        final int length = randomLength(random);
+        final StringBuilder builder = new StringBuilder(length);
+        // 较小的字母表使子序列多次出现
+        final int alphabet = random.nextBoolean() ? 3 : CASE_ALPHABET.length;
+        while (builder.length() < length) {
+            if (supplementary && builder.length() < length - 1 && random.nextInt(16) == 0) {
+                builder.appendCodePoint(random.nextBoolean() ? 0x1f600 : 0x10400);
+            } else {
+                builder.append(CASE_ALPHABET[random.nextInt(alphabet)]);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static int randomCodePoint(final Random random, final String s) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return 0x1f600;
+            case 1:
+                // 不合法的代码点
+                return random.nextBoolean() ? -1 : Character.MAX_CODE_POINT + 1;
+            case 2:
+                return CASE_ALPHABET[random.nextInt(CASE_ALPHABET.length)];
+            default:
+                return s.isEmpty() ? 'a' : s.charAt(random.nextInt(s.length()));
+        }
+    }
+
+    private static String randomNeedle(final Random random, final String s) {
+        if (s.isEmpty() || random.nextInt(5) == 0) {
+            final String text = randomText(random, true);
+            return text.substring(0, Math.min(text.length(), random.nextInt(3)));
+        }
+        final int start = random.nextInt(s.length());
+        final int max = s.length() - start;
+        final int length = random.nextInt(4) == 0 ? random.nextInt(max + 1) : random.nextInt(Math.min(max, 20) + 1);
+        return s.substring(start, start + length);
+    }
+
+    private static void check(final String s, final CharSequence sequence, final String operation, final int expected, final int actual) {
+        if (expected != actual) {
+            assertEquals(operation + " on " + describe(s, sequence), expected, actual);
+        }
+    }
+
+    private static String describe(final String s, final CharSequence sequence) {
+        return sequence.getClass().getSimpleName() + " of length " + s.length() + " \"" + s + "\"";
+    }
+
+    /**
+     * 没有特殊处理的字符序列
+     */
+    private static final class GenericSequence implements CharSequence {
+
+        private final String text;
+
+        GenericSequence(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new GenericSequence(text.substring(start, end));
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
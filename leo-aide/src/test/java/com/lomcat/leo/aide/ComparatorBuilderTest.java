@@ -0,0 +1,240 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link ComparatorBuilder} 的测试：结果与等价的 {@code Comparator.comparing(...)} 链比较，
+ * 并固定 {@code null} 的排序规则与 {@link ComparatorBuilder#reversed()} 的语义。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class ComparatorBuilderTest {
+
+    @Test
+    public void matchesJdkChains() {
+        final List<Item> items = randomItems(new Random(1), 2_000, false);
+        // 一至三个键与更多的键分别由不同的比较器实现
+        assertSameOrder(items, ObjectAide.comparator(Item.class).comparingInt(Item::getNumber).build(),
+                Comparator.comparingInt(Item::getNumber));
+        assertSameOrder(items, ObjectAide.comparator(Item.class).comparingInt(Item::getNumber).comparingLong(Item::getId).build(),
+                Comparator.comparingInt(Item::getNumber).thenComparingLong(Item::getId));
+        assertSameOrder(items, ObjectAide.comparator(Item.class)
+                        .comparing(Item::getName).comparingDouble(Item::getScore).reversed().comparingLong(Item::getId).build(),
+                Comparator.comparing(Item::getName).thenComparing(Comparator.comparingDouble(Item::getScore).reversed())
+                        .thenComparingLong(Item::getId));
+        assertSameOrder(items, ObjectAide.comparator(Item.class)
+                        .comparingInt(Item::getNumber).reversed()
+                        .comparing(Item::getName, String.CASE_INSENSITIVE_ORDER, false)
+                        .comparingDouble(Item::getScore)
+                        .comparingLong(Item::getId).reversed().build(),
+                Comparator.comparing(Item::getNumber, Comparator.reverseOrder())
+                        .thenComparing(Item::getName, String.CASE_INSENSITIVE_ORDER)
+                        .thenComparingDouble(Item::getScore)
+                        .thenComparing(Comparator.comparingLong(Item::getId).reversed()));
+    }
+
+    @Test
+    public void doubleKeysFollowDoubleCompare() {
+        final double[] values = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, 1.5, Double.POSITIVE_INFINITY, -1.5};
+        final Comparator<Item> comparator = ObjectAide.comparator(Item.class).comparingDouble(Item::getScore).build();
+        final Comparator<Item> descending = ObjectAide.comparator(Item.class).comparingDouble(Item::getScore).reversed().build();
+        for (final double x : values) {
+            for (final double y : values) {
+                final Item a = new Item(0, 0, x, null);
+                final Item b = new Item(0, 0, y, null);
+                assertEquals(x + " / " + y, Integer.signum(Double.compare(x, y)), Integer.signum(comparator.compare(a, b)));
+                assertEquals(x + " / " + y, Integer.signum(Double.compare(y, x)), Integer.signum(descending.compare(a, b)));
+            }
+        }
+    }
+
+    @Test
+    public void nullKeys() {
+        final List<Item> items = randomItems(new Random(2), 500, true);
+        assertSameOrder(items, ObjectAide.comparator(Item.class).comparing(Item::getName).comparingLong(Item::getId).build(),
+                Comparator.comparing(Item::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder())).thenComparingLong(Item::getId));
+        assertSameOrder(items, ObjectAide.comparator(Item.class).comparing(Item::getName, true).comparingLong(Item::getId).build(),
+                Comparator.comparing(Item::getName, Comparator.nullsLast(Comparator.<String>naturalOrder())).thenComparingLong(Item::getId));
+        assertSameOrder(items, ObjectAide.comparator(Item.class)
+                        .comparing(Item::getName, String.CASE_INSENSITIVE_ORDER, true).comparingLong(Item::getId).build(),
+                Comparator.comparing(Item::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)).thenComparingLong(Item::getId));
+
+        // 比较器不会收到 null 键
+        final Comparator<String> rejectNull = (x, y) -> {
+            if (x == null || y == null) {
+                throw new AssertionError("null key passed to the comparator");
+            }
+            return x.compareTo(y);
+        };
+        final Comparator<Item> comparator = ObjectAide.comparator(Item.class).comparing(Item::getName, rejectNull, false).build();
+        final Item unnamed = new Item(0, 0, 0, null);
+        assertEquals(0, comparator.compare(unnamed, new Item(1, 1, 1, null)));
+        assertEquals(-1, Integer.signum(comparator.compare(unnamed, new Item(0, 0, 0, "a"))));
+        assertEquals(1, Integer.signum(comparator.compare(new Item(0, 0, 0, "a"), unnamed)));
+    }
+
+    @Test
+    public void reversedKeepsNullPosition() {
+        final Item unnamed = new Item(0, 0, 0, null);
+        final Item a = new Item(0, 0, 0, "a");
+        final Item b = new Item(0, 0, 0, "b");
+        final List<Item> items = Arrays.asList(b, unnamed, a);
+
+        // 与 Comparator.nullsFirst(...).reversed() 不同，反转后 null 依然排在最前
+        final List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(ObjectAide.comparator(Item.class).comparing(Item::getName).reversed().build());
+        assertEquals(Arrays.asList(unnamed, b, a), sorted);
+        final List<Item> jdk = new ArrayList<>(items);
+        jdk.sort(Comparator.comparing(Item::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder())).reversed());
+        assertEquals(Arrays.asList(b, a, unnamed), jdk);
+
+        sorted.sort(ObjectAide.comparator(Item.class).comparing(Item::getName, true).reversed().build());
+        assertEquals(Arrays.asList(b, a, unnamed), sorted);
+        sorted.sort(ObjectAide.comparator(Item.class).comparing(Item::getName, Comparator.naturalOrder(), true).reversed().build());
+        assertEquals(Arrays.asList(b, a, unnamed), sorted);
+
+        // 等价于对非 null 键使用 reverseOrder，再按规则放置 null
+        final List<Item> random = randomItems(new Random(3), 500, true);
+        assertSameOrder(random, ObjectAide.comparator(Item.class).comparing(Item::getName).reversed().comparingLong(Item::getId).build(),
+                Comparator.comparing(Item::getName, Comparator.nullsFirst(Comparator.<String>reverseOrder())).thenComparingLong(Item::getId));
+        assertSameOrder(random, ObjectAide.comparator(Item.class).comparing(Item::getName, true).reversed().comparingLong(Item::getId).build(),
+                Comparator.comparing(Item::getName, Comparator.nullsLast(Comparator.<String>reverseOrder())).thenComparingLong(Item::getId));
+    }
+
+    @Test
+    public void reversedAppliesToLastKeyOnly() {
+        final List<Item> items = randomItems(new Random(4), 1_000, false);
+        assertSameOrder(items, ObjectAide.comparator(Item.class).comparingInt(Item::getNumber).comparingLong(Item::getId).reversed().build(),
+                Comparator.comparingInt(Item::getNumber).thenComparing(Comparator.comparingLong(Item::getId).reversed()));
+        // 两次反转恢复升序
+        assertSameOrder(items, ObjectAide.comparator(Item.class).comparingInt(Item::getNumber).reversed().reversed().comparingLong(Item::getId).build(),
+                Comparator.comparingInt(Item::getNumber).thenComparingLong(Item::getId));
+    }
+
+    @Test
+    public void builderState() {
+        try {
+            ObjectAide.comparator(Item.class).build();
+            fail();
+        } catch (IllegalStateException expected) {
+            // 没有键
+        }
+        try {
+            ObjectAide.comparator(Item.class).reversed();
+            fail();
+        } catch (IllegalStateException expected) {
+            // 没有可反转的键
+        }
+
+        // 生成后继续修改构建器不影响已生成的比较器
+        final ComparatorBuilder<Item> builder = ObjectAide.comparator(Item.class).comparingInt(Item::getNumber);
+        final Comparator<Item> byNumber = builder.build();
+        builder.reversed().comparingLong(Item::getId);
+        final Item first = new Item(1, 2, 0, null);
+        final Item second = new Item(2, 1, 0, null);
+        assertEquals(-1, Integer.signum(byNumber.compare(first, second)));
+        assertEquals(1, Integer.signum(builder.build().compare(first, second)));
+    }
+
+    /**
+     * 构建出的比较器比较时不分配内存
+     */
+    @Test
+    public void builtComparatorDoesNotAllocate() {
+        final String text = Allocations.TEXT;
+        final Comparator<String> order = ObjectAide.comparator(String.class)
+                .comparingInt(String::length).reversed()
+                .comparingLong(s -> s.charAt(0))
+                .comparing(Function.identity(), true)
+                .build();
+        final String other = text.replace('g', 'h');
+        assertAllocationFree("ComparatorBuilder.build().compare", () -> order.compare(text, other));
+    }
+
+    private static void assertSameOrder(final List<Item> items, final Comparator<Item> actual, final Comparator<Item> expected) {
+        for (int i = 0; i < items.size(); i ++) {
+            final Item a = items.get(i);
+            final Item b = items.get((i * 31 + 7) % items.size());
+            assertEquals(a + " / " + b, Integer.signum(expected.compare(a, b)), Integer.signum(actual.compare(a, b)));
+            assertEquals(b + " / " + a, Integer.signum(expected.compare(b, a)), Integer.signum(actual.compare(b, a)));
+        }
+        final List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(actual);
+        final List<Item> reference = new ArrayList<>(items);
+        reference.sort(expected);
+        assertEquals(reference, sorted);
+    }
+
+    private static List<Item> randomItems(final Random random, final int size, final boolean nulls) {
+        final String[] names = {"alpha", "Alpha", "beta", "BETA", "gamma", ""};
+        final List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i ++) {
+            final String name = nulls && random.nextInt(5) == 0 ? null : names[random.nextInt(names.length)];
+            items.add(new Item(random.nextInt(10) - 5, i, random.nextInt(4) * 0.5, name));
+        }
+        return items;
+    }
+
+    static final class Item {
+        private final int number;
+        private final long id;
+        private final double score;
+        private final String name;
+
+        Item(final int number, final long id, final double score, final String name) {
+            this.number = number;
+            this.id = id;
+            this.score = score;
+            this.name = name;
+        }
+
+        int getNumber() {
+            return number;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        double getScore() {
+            return score;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return number + "/" + id + "/" + score + "/" + name;
+        }
+    }
+}
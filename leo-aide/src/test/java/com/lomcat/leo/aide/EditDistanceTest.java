@@ -0,0 +1,248 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <p>{@link StringAide#levenshtein(CharSequence, CharSequence, int)}、{@link StringAide#damerauLevenshtein(CharSequence, CharSequence, int)}
+ * 与 {@link StringAide#jaroWinkler(CharSequence, CharSequence)} 的测试，结果与朴素的动态规划比较。</p>
+ *
+ * <p>长度覆盖单字 Myers（不超过 64）、分块 Hyyrö（超过 64）与带状动态规划（阈值较小）三条路径。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class EditDistanceTest {
+
+    /** 含有代理对的字母表，按 UTF-16 单元计算距离 */
+    private static final String ALPHABET = "abcd\ud83d\ude00\u4e2d";
+
+    @Test
+    public void documentedExamples() {
+        assertEquals(3, StringAide.levenshtein("kitten", "sitting"));
+        assertEquals(2, StringAide.levenshtein("flaw", "lawn"));
+        assertEquals(-1, StringAide.levenshtein("kitten", "sitting", 2));
+        assertEquals(-1, StringAide.levenshtein("abc", "abcdef", 2));
+        assertEquals(1, StringAide.damerauLevenshtein("abc", "acb"));
+        assertEquals(3, StringAide.damerauLevenshtein("ca", "abc"));
+        assertEquals(0.9611, StringAide.jaroWinkler("MARTHA", "MARHTA"), 1e-4);
+        assertEquals(0.8133, StringAide.jaroWinkler("DIXON", "DICKSONX"), 1e-4);
+        assertEquals(1.0, StringAide.jaroWinkler("", ""), 0);
+        assertEquals(0.0, StringAide.jaroWinkler("", "a"), 0);
+    }
+
+    @Test
+    public void distancesMatchNaiveDp() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 1_000; round ++) {
+            // 较短、恰好 64 左右与远超 64 的长度
+            final int length = round % 3 == 0 ? random.nextInt(20) : round % 3 == 1 ? 60 + random.nextInt(10) : 65 + random.nextInt(200);
+            final String a = randomText(random, length, 2 + random.nextInt(5));
+            final String b = random.nextBoolean() ? mutate(random, a, random.nextInt(length / 4 + 3))
+                    : randomText(random, random.nextInt(length + 10), 2 + random.nextInt(5));
+            assertDistances(a, b);
+            assertDistances(new StringBuilder(b), a);
+        }
+    }
+
+    @Test
+    public void identicalPrefixesAndSuffixes() {
+        final String core = randomText(new Random(2), 300, 3);
+        assertDistances(core, core);
+        assertDistances("x" + core, core + "y");
+        assertDistances(core + "abc", core + "acb");
+        assertDistances("abc" + core, "acb" + core);
+        assertDistances("", core);
+    }
+
+    @Test
+    public void jaroWinklerMatchesNaive() {
+        final Random random = new Random(3);
+        for (int round = 0; round < 5_000; round ++) {
+            final int length = round % 2 == 0 ? random.nextInt(12) : 60 + random.nextInt(150);
+            final String a = randomText(random, length, 2 + random.nextInt(6));
+            final String b = random.nextBoolean() ? mutate(random, a, random.nextInt(length / 3 + 2)) : randomText(random, random.nextInt(length + 5), 4);
+            assertEquals(a + " / " + b, naiveJaroWinkler(a, b), StringAide.jaroWinkler(a, b), 1e-12);
+            assertEquals(a + " / " + b, naiveJaroWinkler(b, a), StringAide.jaroWinkler(new StringBuilder(b), a), 1e-12);
+        }
+    }
+
+    /**
+     * 编辑距离与相似度的计算不分配内存
+     */
+    @Test
+    public void editDistanceDoesNotAllocate() {
+        final String text = Allocations.TEXT;
+        final StringBuilder builder = new StringBuilder(text);
+        final String other = text.replace("quick", "quack").replace("lazy", "hazy");
+        final String longer = text + text;
+        final String longerOther = other + other;
+        assertAllocationFree("StringAide.levenshtein(StringBuilder, String)",
+                () -> StringAide.levenshtein(builder, other));
+        assertAllocationFree("StringAide.levenshtein(long, long)", () -> StringAide.levenshtein(longer, longerOther));
+        assertAllocationFree("StringAide.levenshtein(StringBuilder, String, 2)",
+                () -> StringAide.levenshtein(builder, other, 2));
+        assertAllocationFree("StringAide.damerauLevenshtein(StringBuilder, String, 3)",
+                () -> StringAide.damerauLevenshtein(builder, other, 3));
+        assertAllocationFree("StringAide.jaroWinkler(StringBuilder, String)",
+                () -> (long) (StringAide.jaroWinkler(builder, other) * 1000));
+    }
+
+    private static void assertDistances(final CharSequence a, final CharSequence b) {
+        final String message = a + " / " + b;
+        final int levenshtein = naiveDistance(a, b, false);
+        final int damerau = naiveDistance(a, b, true);
+        assertEquals(message, levenshtein, StringAide.levenshtein(a, b));
+        assertEquals(message, damerau, StringAide.damerauLevenshtein(a, b));
+        // 阈值低于、等于、高于真实距离，以及带状与位并行的分界附近
+        for (final int max : new int[] {0, 1, 2, levenshtein - 1, levenshtein, levenshtein + 1, 15, 16, 17, 64, 100, Integer.MAX_VALUE}) {
+            if (max < 0) {
+                continue;
+            }
+            assertEquals(message + ", max " + max, levenshtein <= max ? levenshtein : -1, StringAide.levenshtein(a, b, max));
+        }
+        for (final int max : new int[] {0, 1, 2, damerau - 1, damerau, damerau + 1, 15, 16, 17, 100, Integer.MAX_VALUE}) {
+            if (max < 0) {
+                continue;
+            }
+            assertEquals(message + ", max " + max, damerau <= max ? damerau : -1, StringAide.damerauLevenshtein(a, b, max));
+        }
+    }
+
+    /**
+     * @return 完整矩阵的 Levenshtein 或限制转置的 Damerau（OSA）距离
+     */
+    private static int naiveDistance(final CharSequence a, final CharSequence b, final boolean transpositions) {
+        final int m = a.length();
+        final int n = b.length();
+        final int[][] d = new int[m + 1][n + 1];
+        for (int i = 0; i <= m; i ++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= n; j ++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= m; i ++) {
+            for (int j = 1; j <= n; j ++) {
+                final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+                if (transpositions && i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[m][n];
+    }
+
+    private static double naiveJaroWinkler(final String a, final String b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return a.length() == b.length() ? 1.0 : 0.0;
+        }
+        final int range = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        final boolean[] matchedA = new boolean[a.length()];
+        final boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i ++) {
+            for (int j = Math.max(0, i - range); j < Math.min(b.length(), i + range + 1); j ++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches ++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i ++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j ++;
+                }
+                transpositions += a.charAt(i) == b.charAt(j) ? 0 : 1;
+                j ++;
+            }
+        }
+        final double jaro = ((double) matches / a.length() + (double) matches / b.length()
+                + (matches - transpositions / 2) / (double) matches) / 3;
+        if (jaro < 0.7) {
+            return jaro;
+        }
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix ++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+
+    /**
+     * @return 由字母表中的字符与完整代理对组成、长度约为 {@code length} 的文本
+     */
+    private static String randomText(final Random random, final int length, final int alphabet) {
+        final StringBuilder builder = new StringBuilder(length + 1);
+        while (builder.length() < length) {
+            final int index = random.nextInt(Math.min(alphabet, 6));
+            if (index == 4) {
+                builder.append(ALPHABET, 4, 6);
+            } else {
+                builder.append(ALPHABET.charAt(index == 5 ? 6 : index));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return 对 {@code text} 随机插入、删除、替换、交换 {@code edits} 次后的文本，可能拆开代理对
+     */
+    private static String mutate(final Random random, final String text, final int edits) {
+        final StringBuilder builder = new StringBuilder(text);
+        for (int e = 0; e < edits; e ++) {
+            final int position = builder.length() == 0 ? 0 : random.nextInt(builder.length());
+            switch (random.nextInt(4)) {
+                case 0:
+                    builder.insert(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                    break;
+                case 1:
+                    if (builder.length() > 0) {
+                        builder.deleteCharAt(position);
+                    }
+                    break;
+                case 2:
+                    if (builder.length() > 0) {
+                        builder.setCharAt(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                    }
+                    break;
+                default:
+                    if (position + 1 < builder.length()) {
+                        final char c = builder.charAt(position);
+                        builder.setCharAt(position, builder.charAt(position + 1));
+                        builder.setCharAt(position + 1, c);
+                    }
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+}
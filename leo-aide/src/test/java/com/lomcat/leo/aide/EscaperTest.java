@@ -0,0 +1,381 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link Escaper} 的测试：四种格式的转义与逐字符的参照实现比较，并检查反转义后得到原文（往返），
+ * 覆盖非法的 JSON 转义序列、HTML/XML 的数字字符引用与无法识别的实体，以及 CSV 的引号。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class EscaperTest {
+
+    private static final String ALPHABET = "ab ,\"\\&<>';#/\r\n\t\b\f\u0000\u001f\u007f\u00e9\u4e2d\ud83d\ude00";
+
+    /** HTML/XML 反转义的参照：五个命名实体与不超过 8 个字符的数字字符引用 */
+    private static final Pattern ENTITY = Pattern.compile("&(?:#[xX]([0-9a-fA-F]{1,6})|#([0-9]{1,7})|(amp|lt|gt|quot|apos));");
+
+    @Test
+    public void documentedExamples() {
+        assertEquals("say \\\"hi\\\"\\n", Escaper.JSON.escape("say \"hi\"\n"));
+        assertEquals("&lt;a href=&#39;x&#39;&gt;", Escaper.HTML.escape("<a href='x'>"));
+        assertEquals("&lt;a href=&apos;x&apos;&gt;", Escaper.XML.escape("<a href='x'>"));
+        assertEquals("Tom &amp; Jerry", Escaper.XML.escape("Tom & Jerry"));
+        assertEquals("\"a,b\"", Escaper.CSV.escape("a,b"));
+        assertEquals("<\u4e2d>", Escaper.HTML.unescape("&lt;&#x4e2d;&gt;"));
+
+        final String plain = "plain \u4e2d";
+        for (final Escaper escaper : new Escaper[] {Escaper.JSON, Escaper.HTML, Escaper.XML, Escaper.CSV}) {
+            assertSame(plain, escaper.escape(plain));
+            assertSame(plain, escaper.unescape(plain));
+            assertFalse(escaper.needsEscaping(plain));
+            assertFalse(escaper.needsEscaping(null));
+            assertEquals(null, escaper.escape(null));
+            assertEquals(null, escaper.unescape(null));
+            assertEquals("x", escaper.escape(null, new StringBuilder("x")).toString());
+            assertEquals("x", escaper.unescape(null, new StringBuilder("x")).toString());
+        }
+    }
+
+    @Test
+    public void randomRoundTrip() throws IOException {
+        final Random random = new Random(1);
+        final Escaper[] escapers = {Escaper.JSON, Escaper.HTML, Escaper.XML, Escaper.CSV};
+        for (int round = 0; round < 4_000; round ++) {
+            final String text = randomText(random, random.nextInt(round % 50 == 0 ? 2_000 : 20));
+            for (int e = 0; e < escapers.length; e ++) {
+                final Escaper escaper = escapers[e];
+                final String expected = reference(e, text);
+                final String message = e + " / " + escape(text);
+                for (final CharSequence sequence : sequences(text)) {
+                    assertEquals(message, expected, escaper.escape(sequence));
+                    assertEquals(message, "x" + expected, escaper.escape(sequence, new StringBuilder("x")).toString());
+                    assertEquals(message, expected, escaper.escape(sequence, new StringWriter()).toString());
+                    assertEquals(message, !expected.equals(text), escaper.needsEscaping(sequence));
+                }
+                for (final CharSequence sequence : sequences(expected)) {
+                    assertEquals(message, text, escaper.unescape(sequence));
+                    assertEquals(message, "x" + text, escaper.unescape(sequence, new StringBuilder("x")).toString());
+                    assertEquals(message, text, escaper.unescape(sequence, new StringWriter()).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void jsonUnescape() {
+        assertEquals("\"\\/\b\f\n\r\t", Escaper.JSON.unescape("\\\"\\\\\\/\\b\\f\\n\\r\\t"));
+        assertEquals("\u00e9\u00e9\ud83d\ude00", Escaper.JSON.unescape("\\u00e9\\u00E9\\uD83D\\ude00"));
+        assertEquals("a\u0000b", Escaper.JSON.unescape("a\\u0000b"));
+        // 只做一次反转义
+        assertEquals("\\n", Escaper.JSON.unescape("\\\\n"));
+    }
+
+    @Test
+    public void malformedJsonIsRejected() throws IOException {
+        final String[] malformed = {
+                "\\", "abc\\", "\\x", "\\0", "\\'", "\\U0041", "\\u", "\\u12", "\\u004", "a\\u004",
+                "\\u12g4", "\\u-123", "\\u+123", "\\u 123", "\\u\u0660\u0660\u0660\u0660", "ok \\n then \\q",
+        };
+        for (final String text : malformed) {
+            try {
+                Escaper.JSON.unescape(text);
+                fail(escape(text));
+            } catch (IllegalArgumentException expected) {
+                // 非法的转义序列
+            }
+            try {
+                Escaper.JSON.unescape(text, new StringWriter());
+                fail(escape(text));
+            } catch (IllegalArgumentException expected) {
+                // 非法的转义序列
+            }
+        }
+    }
+
+    @Test
+    public void markupEntities() {
+        for (final Escaper escaper : new Escaper[] {Escaper.HTML, Escaper.XML}) {
+            assertEquals("&<>\"''", escaper.unescape("&amp;&lt;&gt;&quot;&apos;&#39;"));
+            assertEquals("AAA", escaper.unescape("&#65;&#x41;&#X41;"));
+            assertEquals("A", escaper.unescape("&#0000065;"));
+            assertEquals("\ud83d\ude00 \udbff\udfff", escaper.unescape("&#x1F600; &#1114111;"));
+            // 只做一次反转义
+            assertEquals("&lt;", escaper.unescape("&amp;lt;"));
+            assertEquals("&<", escaper.unescape("&&lt;"));
+            // 无法识别的实体原样保留
+            final String[] kept = {
+                    "&", "&;", "&#;", "&#x;", "&#12a;", "&#x12g;", "&#1114112;", "&#x110000;", "&#00000065;",
+                    "&nbsp;", "&AMP;", "&Lt;", "&amp", "&lt", "&abcdefghij;", "a & b", "&#65",
+            };
+            for (final String text : kept) {
+                assertEquals(text, escaper.unescape(text));
+            }
+            assertEquals("&nbsp;<", escaper.unescape("&nbsp;&lt;"));
+            assertEquals("&amp <", escaper.unescape("&amp &lt;"));
+        }
+    }
+
+    @Test
+    public void randomMarkupUnescape() {
+        final Random random = new Random(2);
+        final String[] fragments = {
+                "&", ";", "#", "x", "X", "0", "6", "5", "f", "F", "g", "amp", "lt", "gt", "quot", "apos", "nbsp",
+                "&amp;", "&#x41;", "&#65;", "&#x1f600;", "&#1114112;", "a", " ", "\u4e2d",
+        };
+        for (int round = 0; round < 20_000; round ++) {
+            final StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(30); i > 0; i --) {
+                text.append(fragments[random.nextInt(fragments.length)]);
+            }
+            final String expected = referenceUnescape(text.toString());
+            assertEquals(text.toString(), expected, Escaper.HTML.unescape(text));
+            assertEquals(text.toString(), expected, Escaper.XML.unescape(text.toString()));
+        }
+    }
+
+    @Test
+    public void csvQuoting() {
+        assertEquals("\"say \"\"hi\"\"\"", Escaper.CSV.escape("say \"hi\""));
+        assertEquals("\"\"\"\"", Escaper.CSV.escape("\""));
+        assertEquals("\"a\r\nb\"", Escaper.CSV.escape("a\r\nb"));
+        assertEquals("\",\"", Escaper.CSV.escape(","));
+        assertSame("", Escaper.CSV.escape(""));
+        assertSame("a;b\tc", Escaper.CSV.escape("a;b\tc"));
+
+        assertEquals("say \"hi\"", Escaper.CSV.unescape("\"say \"\"hi\"\"\""));
+        assertEquals("a,b", Escaper.CSV.unescape("\"a,b\""));
+        assertEquals("", Escaper.CSV.unescape("\"\""));
+        assertEquals("\"", Escaper.CSV.unescape("\"\"\"\""));
+        // 没有外层引号时原样返回
+        final String[] kept = {"\"", "\"a", "a\"", "a\"\"b", ""};
+        for (final String text : kept) {
+            assertSame(text, Escaper.CSV.unescape(text));
+        }
+    }
+
+    @Test
+    public void nullTarget() throws IOException {
+        try {
+            Escaper.JSON.escape("a", (StringBuilder) null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 目标为 null
+        }
+        try {
+            Escaper.HTML.unescape("a", (StringWriter) null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 目标为 null
+        }
+    }
+
+    /**
+     * 无需转义的字符串与写入已有缓冲区的转义不分配内存
+     */
+    @Test
+    public void escapeDoesNotAllocate() {
+        final String text = Allocations.TEXT;
+        final StringBuilder builder = new StringBuilder(text);
+        final String json = "{\"text\": \"" + text + "\"}\n";
+        final StringBuilder buffer = new StringBuilder(text.length() * 2);
+        assertAllocationFree("StringAide.escapeHtml(unchanged)", () -> StringAide.escapeHtml(text).length());
+        assertAllocationFree("StringAide.escapeJson(unchanged)", () -> StringAide.escapeJson(text).length());
+        assertAllocationFree("Escaper.JSON.escape(String, StringBuilder)", () -> {
+            buffer.setLength(0);
+            return Escaper.JSON.escape(json, buffer).length();
+        });
+        assertAllocationFree("Escaper.CSV.escape(StringBuilder, StringBuilder)", () -> {
+            buffer.setLength(0);
+            return Escaper.CSV.escape(builder, buffer).length();
+        });
+    }
+
+    /**
+     * @return 相同内容的各种字符序列，覆盖 {@link CharSequenceAccess} 的各种存储类型
+     */
+    private static CharSequence[] sequences(final String text) {
+        final char[] padded = ("(" + text + ")").toCharArray();
+        return new CharSequence[] {
+                text,
+                new StringBuilder(text),
+                new StringBuffer(text),
+                CharBuffer.wrap(padded, 1, text.length()),
+                CharSequenceView.of("(" + text + ")", 1, text.length() + 1),
+                Rope.of(text),
+                new Generic(text),
+        };
+    }
+
+    /**
+     * @return 逐字符转义的参照结果，{@code format} 依次为 JSON、HTML、XML 与 CSV
+     */
+    private static String reference(final int format, final String text) {
+        final StringBuilder builder = new StringBuilder();
+        if (format == 3) {
+            boolean quote = false;
+            for (int i = 0; i < text.length(); i ++) {
+                final char c = text.charAt(i);
+                quote |= c == ',' || c == '"' || c == '\r' || c == '\n';
+                builder.append(c == '"' ? "\"\"" : String.valueOf(c));
+            }
+            return quote ? '"' + builder.toString() + '"' : text;
+        }
+        for (int i = 0; i < text.length(); i ++) {
+            final char c = text.charAt(i);
+            if (format == 0) {
+                switch (c) {
+                    case '"':
+                        builder.append("\\\"");
+                        break;
+                    case '\\':
+                        builder.append("\\\\");
+                        break;
+                    case '\b':
+                        builder.append("\\b");
+                        break;
+                    case '\t':
+                        builder.append("\\t");
+                        break;
+                    case '\n':
+                        builder.append("\\n");
+                        break;
+                    case '\f':
+                        builder.append("\\f");
+                        break;
+                    case '\r':
+                        builder.append("\\r");
+                        break;
+                    default:
+                        builder.append(c < 0x20 ? String.format("\\u%04x", (int) c) : String.valueOf(c));
+                }
+            } else {
+                switch (c) {
+                    case '&':
+                        builder.append("&amp;");
+                        break;
+                    case '<':
+                        builder.append("&lt;");
+                        break;
+                    case '>':
+                        builder.append("&gt;");
+                        break;
+                    case '"':
+                        builder.append("&quot;");
+                        break;
+                    case '\'':
+                        builder.append(format == 1 ? "&#39;" : "&apos;");
+                        break;
+                    default:
+                        builder.append(c);
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String referenceUnescape(final String text) {
+        final Matcher matcher = ENTITY.matcher(text);
+        final StringBuilder builder = new StringBuilder();
+        int run = 0;
+        while (matcher.find()) {
+            final int value;
+            if (matcher.group(1) != null) {
+                value = Integer.parseInt(matcher.group(1), 16);
+            } else if (matcher.group(2) != null) {
+                value = Integer.parseInt(matcher.group(2));
+            } else {
+                value = "&<>\"'".charAt(Arrays.asList("amp", "lt", "gt", "quot", "apos").indexOf(matcher.group(3)));
+            }
+            if (value <= Character.MAX_CODE_POINT) {
+                builder.append(text, run, matcher.start()).appendCodePoint(value);
+                run = matcher.end();
+            }
+        }
+        return builder.append(text, run, text.length()).toString();
+    }
+
+    private static String randomText(final Random random, final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i ++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    private static String escape(final String text) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < text.length(); i ++) {
+            final char c = text.charAt(i);
+            if (c >= 0x20 && c < 0x7f) {
+                builder.append(c);
+            } else {
+                builder.append(String.format("\\u%04x", (int) c));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 不属于任何已知存储类型的字符序列
+     */
+    private static final class Generic implements CharSequence {
+
+        private final String text;
+
+        Generic(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new Generic(text.substring(start, end));
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
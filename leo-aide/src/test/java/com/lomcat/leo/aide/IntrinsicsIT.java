@@ -0,0 +1,204 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * <p>{@link Intrinsics} 的集成测试，由 failsafe 在打包后针对多版本 jar 运行。</p>
+ *
+ * <p>在 Java 11 及以上版本中加载的是 {@code META-INF/versions/11} 中的实现，在 Java 8 中加载的是基线实现；
+ * 两种情况下结果都与朴素实现比较，保证两个实现的语义一致。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class IntrinsicsIT {
+
+    /** 含有 {@link Character#isWhitespace(char)} 为真与为假的空白类字符及代理对 */
+    private static final String ALPHABET = " \t\n\u000b\u001c\u00a0\u2003\u2007\u200b\u3000ab\ud83d\ude00";
+
+    @Test
+    public void loadsVersionedClasses() {
+        final URL intrinsics = Intrinsics.class.getResource("Intrinsics.class");
+        final URL events = AideEvents.class.getResource("AideEvents.class");
+        assertNotNull(intrinsics);
+        assertNotNull(events);
+        assertEquals(intrinsics.toString(), "jar", intrinsics.getProtocol());
+        final boolean versioned = javaVersion() >= 11;
+        assertEquals(intrinsics.toString(), versioned, intrinsics.getPath().contains("/META-INF/versions/11/"));
+        assertEquals(events.toString(), versioned, events.getPath().contains("/META-INF/versions/11/"));
+        assertEquals(versioned, AideEvents.isSupported());
+    }
+
+    @Test
+    public void stripMatchesNaive() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 20_000; round ++) {
+            final StringBuilder builder = new StringBuilder();
+            for (int i = random.nextInt(12); i > 0; i --) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            final String str = builder.toString();
+            int start = 0;
+            while (start < str.length() && Character.isWhitespace(str.charAt(start))) {
+                start ++;
+            }
+            int end = str.length();
+            while (end > start && Character.isWhitespace(str.charAt(end - 1))) {
+                end --;
+            }
+            int trailing = str.length();
+            while (trailing > 0 && Character.isWhitespace(str.charAt(trailing - 1))) {
+                trailing --;
+            }
+            assertEquals(str, start == str.length(), Intrinsics.isBlank(str));
+            assertEquals(str, str.substring(start, end), Intrinsics.strip(str));
+            assertEquals(str, str.substring(start), Intrinsics.stripLeading(str));
+            assertEquals(str, str.substring(0, trailing), Intrinsics.stripTrailing(str));
+        }
+        assertSame("abc", Intrinsics.strip("abc"));
+        assertSame("abc", Intrinsics.stripLeading("abc"));
+        assertSame("abc", Intrinsics.stripTrailing("abc"));
+    }
+
+    @Test
+    public void mismatchMatchesNaive() {
+        final Random random = new Random(2);
+        final double[] specials = {0.0, -0.0, Double.NaN, 1.0};
+        for (int round = 0; round < 5_000; round ++) {
+            final int length = random.nextInt(round % 10 == 0 ? 300 : 40);
+            final int from1 = random.nextInt(5);
+            final int from2 = random.nextInt(5);
+            final int size = length + 5;
+            final long[] values1 = new long[size];
+            final long[] values2 = new long[size];
+            for (int i = 0; i < size; i ++) {
+                values1[i] = random.nextInt(3);
+            }
+            for (int i = 0; i < size; i ++) {
+                values2[i] = i - from2 + from1 < size && i - from2 + from1 >= 0 ? values1[i - from2 + from1] : 0;
+            }
+            // 随机改动至多一个位置，使不同处落在任意位置（包括向量化比较的尾部）
+            if (length > 0 && random.nextBoolean()) {
+                values2[from2 + random.nextInt(length)] ^= 1 + random.nextInt(2);
+            }
+            int expected = -1;
+            for (int i = 0; i < length; i ++) {
+                if (values1[from1 + i] != values2[from2 + i]) {
+                    expected = i;
+                    break;
+                }
+            }
+
+            final byte[] bytes1 = new byte[size], bytes2 = new byte[size];
+            final short[] shorts1 = new short[size], shorts2 = new short[size];
+            final char[] chars1 = new char[size], chars2 = new char[size];
+            final int[] ints1 = new int[size], ints2 = new int[size];
+            final boolean[] booleans1 = new boolean[size], booleans2 = new boolean[size];
+            final float[] floats1 = new float[size], floats2 = new float[size];
+            final double[] doubles1 = new double[size], doubles2 = new double[size];
+            for (int i = 0; i < size; i ++) {
+                bytes1[i] = (byte) values1[i];
+                bytes2[i] = (byte) values2[i];
+                shorts1[i] = (short) values1[i];
+                shorts2[i] = (short) values2[i];
+                chars1[i] = (char) values1[i];
+                chars2[i] = (char) values2[i];
+                ints1[i] = (int) values1[i];
+                ints2[i] = (int) values2[i];
+                doubles1[i] = specials[(int) values1[i]];
+                doubles2[i] = specials[(int) values2[i]];
+                floats1[i] = (float) doubles1[i];
+                floats2[i] = (float) doubles2[i];
+            }
+            final String message = "round " + round;
+            assertEquals(message, expected, Intrinsics.mismatch(values1, from1, values2, from2, length));
+            assertEquals(message, expected, Intrinsics.mismatch(bytes1, from1, bytes2, from2, length));
+            assertEquals(message, expected, Intrinsics.mismatch(shorts1, from1, shorts2, from2, length));
+            assertEquals(message, expected, Intrinsics.mismatch(chars1, from1, chars2, from2, length));
+            assertEquals(message, expected, Intrinsics.mismatch(ints1, from1, ints2, from2, length));
+            // 0 与 1 分别是 0.0 与 -0.0，按位比较时不相等，2 是 NaN
+            assertEquals(message, expected, Intrinsics.mismatch(floats1, from1, floats2, from2, length));
+            assertEquals(message, expected, Intrinsics.mismatch(doubles1, from1, doubles2, from2, length));
+
+            int expectedBooleans = -1;
+            for (int i = 0; i < size; i ++) {
+                booleans1[i] = (values1[i] & 1) != 0;
+                booleans2[i] = (values2[i] & 1) != 0;
+            }
+            for (int i = 0; i < length; i ++) {
+                if (booleans1[from1 + i] != booleans2[from2 + i]) {
+                    expectedBooleans = i;
+                    break;
+                }
+            }
+            assertEquals(message, expectedBooleans, Intrinsics.mismatch(booleans1, from1, booleans2, from2, length));
+        }
+        // 不同的 NaN 按 doubleToLongBits 规范化后相等
+        assertEquals(-1, Intrinsics.mismatch(new double[] {Double.NaN}, 0, new double[] {Double.longBitsToDouble(0x7ff8000000000001L)}, 0, 1));
+        assertEquals(-1, Intrinsics.mismatch(new float[] {Float.NaN}, 0, new float[] {Float.intBitsToFloat(0x7fc00001)}, 0, 1));
+    }
+
+    @Test
+    public void unsignedMultiplyHighMatchesBigInteger() {
+        final Random random = new Random(3);
+        final long[] edges = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, 0xFFFFFFFFL, 0x100000000L, 0x8000000080000000L};
+        for (final long x : edges) {
+            for (final long y : edges) {
+                assertEquals(x + " * " + y, naiveMultiplyHigh(x, y), Intrinsics.unsignedMultiplyHigh(x, y));
+            }
+        }
+        for (int round = 0; round < 100_000; round ++) {
+            final long x = random.nextLong();
+            final long y = round % 2 == 0 ? random.nextLong() : random.nextLong() >>> random.nextInt(64);
+            assertEquals(x + " * " + y, naiveMultiplyHigh(x, y), Intrinsics.unsignedMultiplyHigh(x, y));
+        }
+    }
+
+    @Test
+    public void getLongLEMatchesByteBuffer() {
+        final Random random = new Random(4);
+        final byte[] array = new byte[64];
+        random.nextBytes(array);
+        final ByteBuffer buffer = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+        for (int index = 0; index + 8 <= array.length; index ++) {
+            assertEquals(buffer.getLong(index), Intrinsics.getLongLE(array, index));
+        }
+    }
+
+    private static long naiveMultiplyHigh(final long x, final long y) {
+        final BigInteger unsignedX = new BigInteger(Long.toUnsignedString(x));
+        final BigInteger unsignedY = new BigInteger(Long.toUnsignedString(y));
+        return unsignedX.multiply(unsignedY).shiftRight(64).longValue();
+    }
+
+    private static int javaVersion() {
+        final String version = System.getProperty("java.specification.version");
+        return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+    }
+}
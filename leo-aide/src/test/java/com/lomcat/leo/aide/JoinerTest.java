@@ -0,0 +1,209 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationAtMost;
+import static com.lomcat.leo.aide.Allocations.charArray;
+import static com.lomcat.leo.aide.Allocations.string;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link Joiner} 与 {@link StringAide#concat(CharSequence...)} 的测试：结果与 {@link StringJoiner} 一致，
+ * 各种字符序列按内容复制，调用方的数组不被修改，结果超过字符串长度上限时抛出 {@link OutOfMemoryError}。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class JoinerTest {
+
+    @Test
+    public void documentedExamples() {
+        assertEquals("a, b, c", Joiner.on(", ").join("a", "b", "c"));
+        assertEquals("a,null,c", Joiner.on(',').join("a", null, "c"));
+        assertEquals("a,-,c", Joiner.on(',').nullDefault("-").join("a", null, "c"));
+        assertEquals("a,c", Joiner.on(',').skipNulls().join("a", null, "c"));
+        assertEquals("[1, 2, 3]", Joiner.on(", ").wrap("[", "]").join(Arrays.asList(1, 2, 3)));
+        assertEquals("[]", Joiner.on(',').wrap("[", "]").join());
+        assertEquals("[]", Joiner.on(',').wrap("[", "]").skipNulls().join(null, null));
+        assertEquals("", Joiner.on(',').join(Collections.emptyList()));
+        assertEquals("ab" + null + "c", StringAide.concat("ab", null, new StringBuilder("c")));
+        assertEquals("", StringAide.concat());
+        // 元素类型不是 Object 的数组不能写入 toString 的结果
+        final Integer[] numbers = {1, 2, 3};
+        assertEquals("1,2,3", Joiner.on(',').join((Object[]) numbers));
+        assertEquals(Integer.valueOf(1), numbers[0]);
+        assertEquals("1,2,3", Joiner.on(',').join(Arrays.asList(numbers)));
+    }
+
+    /**
+     * 各种字符序列、非字符序列元素与 {@code null} 随机组合，结果与 {@link StringJoiner} 一致，调用方的数组不变
+     */
+    @Test
+    public void matchesStringJoiner() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 5_000; round ++) {
+            final Object[] elements = new Object[random.nextInt(6)];
+            for (int i = 0; i < elements.length; i ++) {
+                elements[i] = randomElement(random);
+            }
+            final Object[] original = elements.clone();
+            final boolean skipNulls = random.nextBoolean();
+            final StringJoiner expected = new StringJoiner("--", "<", ">");
+            for (final Object element : elements) {
+                if (element != null || !skipNulls) {
+                    expected.add(String.valueOf(element));
+                }
+            }
+            final Joiner joiner = skipNulls ? Joiner.on("--").wrap("<", ">").skipNulls() : Joiner.on("--").wrap("<", ">");
+            final String message = Arrays.toString(elements);
+            assertEquals(message, expected.toString(), joiner.join(elements));
+            assertEquals(message, expected.toString(), joiner.join(Arrays.asList(elements)));
+            assertEquals(message, expected.toString(), joiner.join(() -> Arrays.asList(elements).iterator()));
+            for (int i = 0; i < elements.length; i ++) {
+                assertSame(message, original[i], elements[i]);
+            }
+
+            final CharSequence[] parts = new CharSequence[elements.length];
+            final StringBuilder concatenated = new StringBuilder();
+            for (int i = 0; i < parts.length; i ++) {
+                parts[i] = elements[i] instanceof CharSequence ? (CharSequence) elements[i] : null;
+                concatenated.append(parts[i]);
+            }
+            assertEquals(message, concatenated.toString(), StringAide.concat(parts));
+        }
+    }
+
+    /**
+     * 元素的 {@code toString()} 只调用一次
+     */
+    @Test
+    public void toStringCalledOnce() {
+        final List<Integer> calls = new ArrayList<>();
+        final Object element = new Object() {
+            @Override
+            public String toString() {
+                calls.add(1);
+                return "x";
+            }
+        };
+        assertEquals("x|x", Joiner.on('|').join(element, element));
+        assertEquals(2, calls.size());
+    }
+
+    /**
+     * 结果长度超过字符串长度上限时抛出 {@link OutOfMemoryError}，而不是在强制转换为 {@code int} 后得到负数长度
+     */
+    @Test
+    public void overlongResult() {
+        final CharSequence huge = new HugeSequence(Integer.MAX_VALUE / 2 + 1);
+        try {
+            Joiner.on(',').join(huge, huge);
+            fail();
+        } catch (OutOfMemoryError expected) {
+            // 超过上限
+        }
+        try {
+            StringAide.concat(huge, huge);
+            fail();
+        } catch (OutOfMemoryError expected) {
+            // 超过上限
+        }
+        try {
+            Joiner.on(',').join(new HugeSequence(Integer.MAX_VALUE), new HugeSequence(Integer.MAX_VALUE), new HugeSequence(Integer.MAX_VALUE));
+            fail();
+        } catch (OutOfMemoryError expected) {
+            // 总长度超过 int 的范围
+        }
+    }
+
+    /**
+     * 连接只分配容量恰好的缓冲区与结果字符串
+     */
+    @Test
+    public void joinAllocatesExactBuffer() {
+        final String text = Allocations.TEXT;
+        final StringBuilder builder = new StringBuilder(text);
+        final StringBuffer buffer = new StringBuffer(text);
+        // 一个容量恰好的缓冲区加上结果字符串，另有连接器与参数数组的少量开销
+        final int length = text.length() * 3 + 4;
+        assertAllocationAtMost("StringAide.join(delimiter, a, b, c)", charArray(length) + string(length) + 96,
+                () -> StringAide.join(", ", text, builder, buffer).length());
+    }
+
+    private static Object randomElement(final Random random) {
+        final String text = "abc-".substring(random.nextInt(4)) + random.nextInt(100);
+        switch (random.nextInt(9)) {
+            case 0:
+                return null;
+            case 1:
+                return new StringBuilder(text);
+            case 2:
+                return new StringBuffer(text);
+            case 3:
+                return CharBuffer.wrap(("(" + text + ")").toCharArray(), 1, text.length());
+            case 4:
+                return CharSequenceView.of("(" + text + ")", 1, text.length() + 1);
+            case 5:
+                return Rope.of(text);
+            case 6:
+                return AsciiSequence.of(text);
+            case 7:
+                return random.nextInt(1_000);
+            default:
+                return text;
+        }
+    }
+
+    /**
+     * 声称很长但从不被读取的字符序列
+     */
+    private static final class HugeSequence implements CharSequence {
+
+        private final int length;
+
+        HugeSequence(final int length) {
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
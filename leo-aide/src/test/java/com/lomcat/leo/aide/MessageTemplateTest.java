@@ -0,0 +1,149 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.IllegalFormatConversionException;
+import java.util.MissingFormatArgumentException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link MessageTemplate} 与 {@link AssertAide} 消息渲染的测试。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class MessageTemplateTest {
+
+    @Test
+    public void documentedExamples() {
+        assertEquals("Index 5 out of bounds for length 3",
+                MessageTemplate.of("Index {} out of bounds for length {}").format(5, 3));
+        assertEquals("The value x is not in [1, 9]", MessageTemplate.of("The value %s is not in [%d, %d]").format("x", 1, 9));
+        assertEquals("Missing {}", MessageTemplate.of("Missing {}").format());
+        assertEquals("100% done", MessageTemplate.of("100%% done").format());
+        assertEquals("Key k has hash 000000ff", MessageTemplate.of("Key {} has hash %08x").format("k", 255));
+    }
+
+    @Test
+    public void fastPathMatchesStringFormat() {
+        final Object[][] argsList = {
+                {}, {"a"}, {null, null, null}, {1, -2L, (short) 3}, {Long.MIN_VALUE, Integer.MIN_VALUE, (byte) -1},
+                {new BigInteger("123456789012345678901234567890"), 'c', 1.5}, {"x", 2, "y", "extra"}
+        };
+        final String[] templates = {"", "plain", "%s", "%s-%s-%s", "%d:%d:%d", "a %s b %n c %% d", "%s%s%s%s"};
+        for (final String template : templates) {
+            for (final Object[] args : argsList) {
+                assertSameOutcome(template, args);
+            }
+        }
+    }
+
+    @Test
+    public void bracesConsumeArgumentsInOrder() {
+        assertEquals("a=1, b=x, c=2", MessageTemplate.of("a={}, b=%s, c={}").format(1, "x", 2));
+        assertEquals("null {}", MessageTemplate.of("{} {}").format((Object) null));
+        assertEquals("{} {}", MessageTemplate.of("{} {}").format((Object[]) null));
+        assertEquals("[1, 2] extra ignored", MessageTemplate.of("[{}, {}] extra ignored").format(1, 2, 3));
+    }
+
+    @Test
+    public void bracesStayPlaceholdersWhenDelegating() {
+        // 含有其它格式说明时 {} 作 %s 交给 String.format
+        assertEquals("id k must be ff", MessageTemplate.of("id {} must be %x").format("k", 255));
+        assertEquals("3.14 and x", MessageTemplate.of("%.2f and {}").format(Math.PI, "x"));
+        assertEquals("   ab|c", MessageTemplate.of("%5s|{}").format("ab", "c"));
+        // 指定下标的格式说明不占用顺序参数
+        assertEquals("a b a", MessageTemplate.of("{} %2$s %1$s").format("a", "b"));
+        assertEquals("a 0x1 1", MessageTemplate.of("{} %#x %<d").format("a", 1));
+        // 参数不足时 {} 原样保留
+        assertEquals("5 {}", MessageTemplate.of("%x {}").format(5));
+        // 参数与 %d 不匹配时同样交给 String.format
+        assertEquals("k 1.5", MessageTemplate.of("{} %s").format("k", 1.5));
+        try {
+            MessageTemplate.of("{} %d").format("k", "x");
+            fail();
+        } catch (final IllegalFormatConversionException e) {
+            assertEquals('d', e.getConversion());
+            assertEquals(String.class, e.getArgumentClass());
+        }
+    }
+
+    @Test
+    public void invalidTemplatesFailLikeStringFormat() {
+        assertSameOutcome("%d", new Object[] {"x"});
+        assertSameOutcome("%s %s", new Object[] {"x"});
+        assertSameOutcome("50%", new Object[0]);
+        assertSameOutcome("%q", new Object[0]);
+        try {
+            MessageTemplate.of("{} %s %s").format("a", "b");
+            fail();
+        } catch (final MissingFormatArgumentException expected) {
+            // 与 String.format("%s %s %s", "a", "b") 一致
+        }
+    }
+
+    @Test
+    public void templatesAreCached() {
+        assertSame(MessageTemplate.of("cached {}"), MessageTemplate.of(new String("cached {}")));
+        assertEquals("null", MessageTemplate.of(null).format());
+    }
+
+    @Test
+    public void assertAideRendersBraces() {
+        try {
+            AssertAide.notNull(null, "The {} of {} is null.", "name", "user");
+            fail();
+        } catch (final NullPointerException e) {
+            assertEquals("The name of user is null.", e.getMessage());
+        }
+        try {
+            AssertAide.isTrue(false, "The value {} exceeds %#x", 300, 255);
+            fail();
+        } catch (final IllegalArgumentException e) {
+            assertEquals("The value 300 exceeds 0xff", e.getMessage());
+        }
+        try {
+            // 没有参数时字面的 {} 原样输出
+            AssertAide.isTrue(false, "Expected {} but was empty");
+            fail();
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Expected {} but was empty", e.getMessage());
+        }
+    }
+
+    private static void assertSameOutcome(final String template, final Object[] args) {
+        String expected;
+        try {
+            expected = String.format(template, args);
+        } catch (final RuntimeException e) {
+            expected = e.getClass().getName();
+        }
+        String actual;
+        try {
+            actual = MessageTemplate.of(template).format(args);
+        } catch (final RuntimeException e) {
+            actual = e.getClass().getName();
+        }
+        assertEquals("template \"" + template + "\"", expected, actual);
+    }
+}
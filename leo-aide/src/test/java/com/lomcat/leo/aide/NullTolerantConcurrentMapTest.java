@@ -0,0 +1,416 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link NullTolerantConcurrentMap} 的测试：{@code null} 键与 {@code null} 值在各个方法中被透明地替换与还原，
+ * 不会泄漏 {@link ObjectAide#NULL}；随机操作与 {@link HashMap} 的结果比较，并覆盖序列化与并发的负缓存。</p>
+ *
+ * <p>映射到 {@code null} 的键视为存在：{@link NullTolerantConcurrentMap#putIfAbsent(Object, Object)} 与
+ * {@link NullTolerantConcurrentMap#computeIfAbsent(Object, java.util.function.Function)} 不会覆盖它，
+ * 这与 {@link Map} 的默认实现（把映射到 {@code null} 视为不存在）不同，以下测试固定这一行为。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class NullTolerantConcurrentMapTest {
+
+    @Test
+    public void nullKeysAndValues() {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        assertNull(map.put(null, "a"));
+        assertEquals("a", map.put(null, null));
+        assertNull(map.put("k", null));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsKey("k"));
+        assertFalse(map.containsKey("x"));
+        assertTrue(map.containsValue(null));
+        assertNull(map.get(null));
+        assertNull(map.get("k"));
+        assertEquals(2, map.size());
+
+        assertNull(map.getOrDefault("k", "default"));
+        assertEquals("default", map.getOrDefault("x", "default"));
+
+        final Map<String, String> expected = new HashMap<>();
+        expected.put(null, null);
+        expected.put("k", null);
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(Arrays.asList(null, null), new ArrayList<>(map.values()));
+        final Map<String, String> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(expected, seen);
+
+        assertTrue(map.replace(null, null, "b"));
+        assertFalse(map.replace(null, null, "c"));
+        assertEquals("b", map.replace(null, null));
+        assertNull(map.replace("x", "y"));
+        assertFalse(map.containsKey("x"));
+        assertFalse(map.remove("k", "v"));
+        assertTrue(map.remove("k", null));
+        assertFalse(map.containsKey("k"));
+        assertNull(map.remove(null));
+        assertFalse(map.containsKey(null));
+        assertTrue(map.isEmpty());
+
+        final NullTolerantConcurrentMap<String, String> copy = new NullTolerantConcurrentMap<>(expected);
+        assertEquals(expected, copy);
+        copy.replaceAll((k, v) -> k == null ? null : k + v);
+        assertEquals("knull", copy.get("k"));
+        assertTrue(copy.containsKey(null));
+        assertNull(copy.get(null));
+    }
+
+    @Test
+    public void putIfAbsentTreatsNullMappingAsPresent() {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        assertNull(map.putIfAbsent("k", null));
+        assertTrue(map.containsKey("k"));
+        // 已映射到 null，不会被覆盖（Map 的默认实现会覆盖）
+        assertNull(map.putIfAbsent("k", "v"));
+        assertNull(map.get("k"));
+        assertNull(map.putIfAbsent(null, "a"));
+        assertEquals("a", map.putIfAbsent(null, "b"));
+        assertEquals("a", map.get(null));
+    }
+
+    @Test
+    public void computeIfAbsent() {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        // 不缓存 null：与 Map 的约定一致，不建立映射，下次再次计算
+        assertNull(map.computeIfAbsent("missing", k -> count(calls, null)));
+        assertFalse(map.containsKey("missing"));
+        assertNull(map.computeIfAbsent("missing", k -> count(calls, null), false));
+        assertEquals(2, calls.get());
+
+        // 缓存 null：之后直接命中
+        assertNull(map.computeIfAbsent("missing", k -> count(calls, null), true));
+        assertTrue(map.containsKey("missing"));
+        assertEquals(3, calls.get());
+        assertNull(map.computeIfAbsent("missing", k -> count(calls, "late"), true));
+        assertNull(map.computeIfAbsent("missing", k -> count(calls, "late")));
+        assertNull(map.computeIfAbsent("missing", k -> count(calls, "late"), false));
+        assertEquals(3, calls.get());
+
+        // 通过 put 映射到 null 的键同样视为存在
+        map.put("nullValue", null);
+        assertNull(map.computeIfAbsent("nullValue", k -> count(calls, "v")));
+        assertEquals(3, calls.get());
+
+        // null 键，函数收到的是 null 而不是占位符
+        assertEquals("null!", map.computeIfAbsent(null, k -> count(calls, k + "!")));
+        assertEquals("null!", map.computeIfAbsent(null, k -> count(calls, "other")));
+        assertEquals(4, calls.get());
+        assertEquals("v", map.computeIfAbsent("present", k -> "v", true));
+        assertEquals("v", map.get("present"));
+
+        try {
+            map.computeIfAbsent("k", null, true);
+            fail();
+        } catch (NullPointerException expected) {
+            // 计算函数为 null
+        }
+    }
+
+    @Test
+    public void computeAndMerge() {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        map.put("k", null);
+        // computeIfPresent 把映射到 null 的键视为存在，函数收到 null
+        assertEquals("null+", map.computeIfPresent("k", (k, v) -> v + "+"));
+        assertNull(map.computeIfPresent("x", (k, v) -> "x"));
+        assertFalse(map.containsKey("x"));
+        assertNull(map.computeIfPresent("k", (k, v) -> null));
+        assertFalse(map.containsKey("k"));
+
+        assertEquals("null:null", map.compute(null, (k, v) -> k + ":" + v));
+        assertEquals("null:null:null", map.compute(null, (k, v) -> v + ":" + k));
+        assertNull(map.compute(null, (k, v) -> null));
+        assertFalse(map.containsKey(null));
+
+        // merge：键不存在或映射到 null 时直接保存 value
+        assertEquals("a", map.merge("m", "a", String::concat));
+        assertEquals("ab", map.merge("m", "b", String::concat));
+        map.put("m", null);
+        assertEquals("c", map.merge("m", "c", (a, b) -> {
+            throw new AssertionError("not called");
+        }));
+        assertNull(map.merge("m", "d", (a, b) -> null));
+        assertFalse(map.containsKey("m"));
+        map.put(null, null);
+        assertEquals("n", map.merge(null, "n", String::concat));
+        assertEquals("nn", map.merge(null, "n", String::concat));
+
+        try {
+            map.merge("m", null, String::concat);
+            fail();
+        } catch (NullPointerException expected) {
+            // 值为 null
+        }
+        try {
+            map.compute("m", null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 函数为 null
+        }
+    }
+
+    @Test
+    public void entrySet() {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        map.put(null, "a");
+        map.put("b", null);
+        map.put("c", "c");
+        assertSame(map.entrySet(), map.entrySet());
+        assertEquals(3, map.entrySet().size());
+        for (final Map.Entry<String, String> entry : map.entrySet()) {
+            assertNotSame(ObjectAide.NULL, entry.getKey());
+            assertNotSame(ObjectAide.NULL, entry.getValue());
+            assertEquals(map.get(entry.getKey()), entry.getValue());
+        }
+        assertTrue(map.entrySet().contains(new HashMap.SimpleEntry<String, String>(null, "a")));
+        assertTrue(map.entrySet().contains(new HashMap.SimpleEntry<String, String>("b", null)));
+        assertFalse(map.entrySet().contains(new HashMap.SimpleEntry<String, String>("b", "x")));
+        assertFalse(map.entrySet().contains(new HashMap.SimpleEntry<String, String>("x", null)));
+        assertFalse(map.entrySet().contains("b"));
+
+        // setValue 写回映射
+        for (final Map.Entry<String, String> entry : map.entrySet()) {
+            if (entry.getKey() == null) {
+                assertEquals("a", entry.setValue(null));
+                assertNull(entry.getValue());
+            }
+        }
+        assertTrue(map.containsKey(null));
+        assertNull(map.get(null));
+        assertEquals(new HashMap.SimpleEntry<String, String>(null, null).hashCode(),
+                find(map, null).hashCode());
+        assertEquals(find(map, null), new HashMap.SimpleEntry<String, String>(null, null));
+        assertEquals("null=null", find(map, null).toString());
+
+        assertTrue(map.entrySet().remove(new HashMap.SimpleEntry<String, String>("b", null)));
+        assertFalse(map.entrySet().remove(new HashMap.SimpleEntry<String, String>("c", "x")));
+        for (final Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().getKey() == null) {
+                iterator.remove();
+            }
+        }
+        assertEquals(1, map.size());
+        assertTrue(map.keySet().remove("c"));
+        assertTrue(map.isEmpty());
+        map.put(null, null);
+        map.entrySet().clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        map.put(null, "a");
+        map.put("b", null);
+        map.put("c", "c");
+        final NullTolerantConcurrentMap<String, String> copy = roundTrip(map);
+        assertEquals(map, copy);
+        // 占位符反序列化后仍是单例，null 被正确还原
+        assertTrue(copy.containsKey(null));
+        assertEquals("a", copy.get(null));
+        assertTrue(copy.containsKey("b"));
+        assertNull(copy.get("b"));
+        assertNull(copy.putIfAbsent("b", "x"));
+        assertTrue(copy.containsValue(null));
+        for (final Map.Entry<String, String> entry : copy.entrySet()) {
+            assertNotSame(ObjectAide.NULL, entry.getKey());
+            assertNotSame(ObjectAide.NULL, entry.getValue());
+        }
+        copy.put("d", null);
+        assertEquals(4, copy.size());
+    }
+
+    @Test
+    public void randomOperationsMatchHashMap() {
+        final Random random = new Random(1);
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>(4);
+        final Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i ++) {
+            final String key = random.nextInt(5) == 0 ? null : "k" + random.nextInt(20);
+            final String value = random.nextInt(3) == 0 ? null : "v" + random.nextInt(5);
+            final String message = i + ": " + key + ", " + value;
+            switch (random.nextInt(10)) {
+                case 0:
+                    assertEquals(message, expected.put(key, value), map.put(key, value));
+                    break;
+                case 1: {
+                    // 映射到 null 的键视为存在
+                    final String old = expected.containsKey(key) ? expected.get(key) : expected.put(key, value);
+                    assertEquals(message, old, map.putIfAbsent(key, value));
+                    break;
+                }
+                case 2:
+                    assertEquals(message, expected.remove(key), map.remove(key));
+                    break;
+                case 3: {
+                    final boolean removed = expected.containsKey(key) && ObjectAide.equals(expected.get(key), value);
+                    if (removed) {
+                        expected.remove(key);
+                    }
+                    assertEquals(message, removed, map.remove(key, value));
+                    break;
+                }
+                case 4: {
+                    final String old = expected.containsKey(key) ? expected.put(key, value) : null;
+                    assertEquals(message, old, map.replace(key, value));
+                    break;
+                }
+                case 5: {
+                    // 键不存在或映射到 null 时直接保存
+                    final String current = expected.get(key);
+                    final String merged = current == null ? "m" : current + "m";
+                    expected.put(key, merged);
+                    assertEquals(message, merged, map.merge(key, "m", String::concat));
+                    break;
+                }
+                case 6: {
+                    final boolean cacheNull = random.nextBoolean();
+                    if (!expected.containsKey(key) && (value != null || cacheNull)) {
+                        expected.put(key, value);
+                    }
+                    final String result = map.computeIfAbsent(key, k -> value, cacheNull);
+                    assertEquals(message, expected.get(key), result);
+                    break;
+                }
+                case 7:
+                    assertEquals(message, expected.containsKey(key), map.containsKey(key));
+                    assertEquals(message, expected.get(key), map.get(key));
+                    assertEquals(message, expected.containsValue(value), map.containsValue(value));
+                    break;
+                default:
+                    assertEquals(message, expected.getOrDefault(key, "default"), map.getOrDefault(key, "default"));
+                    break;
+            }
+            assertEquals(message, expected.size(), map.size());
+            if (i % 1_000 == 0) {
+                assertEquals(expected, map);
+                assertEquals(map, expected);
+            }
+        }
+    }
+
+    /**
+     * 多个线程同时计算同一个键时，计算函数只执行一次，结果为 {@code null} 时也被缓存
+     */
+    @Test
+    public void concurrentNegativeCaching() throws Exception {
+        final NullTolerantConcurrentMap<Integer, String> map = new NullTolerantConcurrentMap<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t ++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int key = 0; key < 2_000; key ++) {
+                        final String value = map.computeIfAbsent(key, k -> count(calls, k % 2 == 0 ? null : "v" + k), true);
+                        assertEquals(key % 2 == 0 ? null : "v" + key, value);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(2_000, calls.get());
+        assertEquals(2_000, map.size());
+    }
+
+    /**
+     * 已缓存的 null 值与 null 键的查找不分配内存
+     */
+    @Test
+    public void cachedNullLookupDoesNotAllocate() {
+        final NullTolerantConcurrentMap<String, String> cache = new NullTolerantConcurrentMap<>();
+        cache.computeIfAbsent("missing", key -> null, true);
+        cache.put(null, "value");
+        assertAllocationFree("NullTolerantConcurrentMap.computeIfAbsent(cached null)",
+                () -> cache.computeIfAbsent("missing", key -> "computed", true) == null ? 1 : 0);
+        assertAllocationFree("NullTolerantConcurrentMap.get(null)", () -> cache.get(null).length());
+    }
+
+    private static String count(final AtomicInteger calls, final String result) {
+        calls.incrementAndGet();
+        return result;
+    }
+
+    private static Map.Entry<String, String> find(final Map<String, String> map, final String key) {
+        for (final Map.Entry<String, String> entry : map.entrySet()) {
+            if (ObjectAide.equals(key, entry.getKey())) {
+                return entry;
+            }
+        }
+        throw new AssertionError("no entry for " + key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(final T object) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link CharSequenceAide#parseInt(CharSequence, int, int)} 等区域解析的测试，结果与 {@link Double#parseDouble(String)}、
+ * {@link Long#parseLong(String)} 逐位比较。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class NumberParserTest {
+
+    private static final String[] DOUBLES = {
+            "0", "-0", "0.0", "-0.0", "+1", "1.", ".5", "1e0", "1E+2", "1e-2", "00012.500", "1d", "1.5f", "2D", "3F",
+            "NaN", "-NaN", "+NaN", "Infinity", "-Infinity", "+Infinity", "0x1p3", "-0x1.8p1", "0X1P-1074", "0x.8p1d",
+            // 两个 double 正中间：按偶数舍入
+            "9007199254740993", "9007199254740995", "2.4703282292062327e-324", "2.4703282292062328e-324",
+            "4.9406564584124654e-324", "2.2250738585072011e-308", "2.2250738585072012e-308",
+            "1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1e309", "1e-400", "1e-325",
+            "123456789012345678901234567890", "0.000000000000000000000000000000000001", "1e100000", "1e-100000",
+            "1e2147483648", "1e-2147483649", "4.35679e-10", "7.2057594037927933e16", "1.00000000000000011102230246251565404236316680908203125",
+            // 格式错误
+            "", " ", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", "1x", "0x", "0x1", "Infinityx", "NaN1", "1 2", "--1", "1ee2", "1e5.5",
+            "1_000", "\u0661", "1ff"
+    };
+
+    private static final String[] LONGS = {
+            "0", "-0", "+0", "7", "-7", "+7", "007", " 42 ", "\t-42\n",
+            "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "99999999999999999999", "-99999999999999999999", "10000000000000000000",
+            "", " ", "-", "+", "--1", "+-1", "1-", "1 2", "12a", "0x10", "1.0", "1e3", "\u0661\u0662"
+    };
+
+    @Test
+    public void integersMatchJdk() {
+        for (final String text : LONGS) {
+            assertLong(text);
+        }
+        final Random random = new Random(1);
+        for (int i = 0; i < 100_000; i ++) {
+            assertLong(Long.toString(random.nextLong() >> random.nextInt(64)));
+            assertLong(Integer.toString(random.nextInt() >> random.nextInt(32)));
+        }
+    }
+
+    @Test
+    public void integerBounds() {
+        assertEquals(Integer.MAX_VALUE, CharSequenceAide.parseInt("2147483647", 0, 10));
+        assertEquals(Integer.MIN_VALUE, CharSequenceAide.parseInt("-2147483648", 0, 11));
+        assertEquals(-1, CharSequenceAide.parseInt("2147483648", 0, 10, -1));
+        assertEquals(-1, CharSequenceAide.parseInt("-2147483649", 0, 11, -1));
+        assertEquals(Long.MAX_VALUE, CharSequenceAide.parseLong("9223372036854775807", 0, 19));
+        assertEquals(Long.MIN_VALUE, CharSequenceAide.parseLong("-9223372036854775808", 0, 20));
+        assertEquals(-1, CharSequenceAide.parseLong("9223372036854775808", 0, 19, -1));
+        assertEquals(-1, CharSequenceAide.parseLong("-9223372036854775809", 0, 20, -1));
+    }
+
+    @Test
+    public void rangesAreChecked() {
+        assertEquals(42, CharSequenceAide.parseInt(new StringBuilder("id=42;"), 3, 5));
+        assertEquals(3.14, CharSequenceAide.parseDouble("x=3.14,", 2, 6), 0);
+        assertEquals(-1, CharSequenceAide.parseInt("42", 1, 5, -1));
+        assertEquals(-1, CharSequenceAide.parseInt(null, 0, 0, -1));
+        assertEquals(1.5, CharSequenceAide.parseDouble("42", -1, 1, 1.5), 0);
+        try {
+            CharSequenceAide.parseLong("42", 1, 3);
+            fail();
+        } catch (final IndexOutOfBoundsException expected) {
+            // 区域越界
+        }
+        try {
+            CharSequenceAide.parseDouble(null, 0, 0);
+            fail();
+        } catch (final NumberFormatException expected) {
+            // 与 Double.parseDouble(null) 一致
+        }
+    }
+
+    @Test
+    public void specialDoublesMatchJdk() {
+        for (final String text : DOUBLES) {
+            assertDouble(text);
+            assertDouble(" " + text + "\t");
+        }
+    }
+
+    @Test
+    public void randomBitPatternsMatchJdk() {
+        final Random random = new Random(2);
+        for (int i = 0; i < 30_000; i ++) {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            assertDouble(Double.toString(value));
+            assertDouble(String.format(Locale.ROOT, "%.17g", value));
+            assertDouble(String.format(Locale.ROOT, "%.3e", value));
+        }
+    }
+
+    @Test
+    public void randomDecimalsMatchJdk() {
+        final Random random = new Random(3);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100_000; i ++) {
+            builder.setLength(0);
+            // 1 至 25 位有效数字，覆盖 19 位截断
+            final int digits = 1 + random.nextInt(25);
+            for (int d = 0; d < digits; d ++) {
+                builder.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                builder.insert(random.nextInt(digits + 1), '.');
+            }
+            builder.append('e').append(random.nextInt(700) - 350);
+            assertDouble(builder.toString());
+        }
+    }
+
+    @Test
+    public void longMantissasNearHalfwayMatchJdk() {
+        final Random random = new Random(4);
+        for (int i = 0; i < 1_000; i ++) {
+            final double value = i < 500 ? Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE) : random.nextInt(1 << 20) * Double.MIN_VALUE;
+            if (Double.isNaN(value) || Double.isInfinite(value) || value == Double.MAX_VALUE) {
+                continue;
+            }
+            // 与下一个 double 的精确中点，其十进制表示可达数百位
+            final BigDecimal middle = new BigDecimal(value).add(new BigDecimal(Math.nextUp(value))).divide(BigDecimal.valueOf(2));
+            final String plain = middle.toString();
+            assertDouble(plain);
+            assertDouble(middle.add(middle.ulp()).toString());
+            assertDouble(middle.subtract(middle.ulp()).toString());
+            // 末尾追加数字使其略大于中点
+            assertDouble(middle.toPlainString() + "000000000000000000001");
+        }
+        final StringBuilder longest = new StringBuilder("0.");
+        for (int i = 0; i < 800; i ++) {
+            longest.append((char) ('1' + i % 9));
+        }
+        assertDouble(longest.toString());
+        assertDouble(longest + "e-300");
+        assertDouble("1" + longest.substring(2) + "e-700");
+    }
+
+    /**
+     * 区间解析不分配内存
+     */
+    @Test
+    public void regionParsingDoesNotAllocate() {
+        final String line = "id= 1234567 ,price=-12.375e2,ratio=0.1,bad=12x";
+        final StringBuilder builder = new StringBuilder(line);
+        assertAllocationFree("CharSequenceAide.parseInt(String)", () -> CharSequenceAide.parseInt(line, 3, 12));
+        assertAllocationFree("CharSequenceAide.parseLong(StringBuilder)", () -> (int) CharSequenceAide.parseLong(builder, 3, 12));
+        assertAllocationFree("CharSequenceAide.parseDouble(String)", () -> (int) CharSequenceAide.parseDouble(line, 19, 28));
+        assertAllocationFree("CharSequenceAide.parseDouble(StringBuilder)", () -> (int) (CharSequenceAide.parseDouble(builder, 35, 38) * 10));
+        assertAllocationFree("CharSequenceAide.parseInt(invalid, default)", () -> CharSequenceAide.parseInt(line, 43, 46, -1));
+    }
+
+    private static void assertLong(final String text) {
+        final String region = "<" + text + ">";
+        final Object expected = parseLongByJdk(text);
+        Object actual;
+        try {
+            actual = CharSequenceAide.parseLong(region, 1, region.length() - 1);
+        } catch (final NumberFormatException e) {
+            actual = e.getClass();
+        }
+        assertEquals(text, expected, actual);
+        final long fallback = 0x5A5A5A5AL;
+        assertEquals(text, expected instanceof Long ? expected : fallback,
+                CharSequenceAide.parseLong(new StringBuilder(region), 1, region.length() - 1, fallback));
+        final Object expectedInt = expected instanceof Long && (Long) expected == (int) (long) (Long) expected
+                ? (Object) (int) (long) (Long) expected : NumberFormatException.class;
+        Object actualInt;
+        try {
+            actualInt = CharSequenceAide.parseInt(text, 0, text.length());
+        } catch (final NumberFormatException e) {
+            actualInt = e.getClass();
+        }
+        assertEquals(text, expectedInt, actualInt);
+    }
+
+    private static Object parseLongByJdk(final String text) {
+        final String trimmed = text.trim();
+        // CharSequenceAide 只接受 ASCII 数字
+        for (int i = 0; i < trimmed.length(); i ++) {
+            if (trimmed.charAt(i) > 0x7F) {
+                return NumberFormatException.class;
+            }
+        }
+        try {
+            return Long.parseLong(trimmed);
+        } catch (final NumberFormatException e) {
+            return e.getClass();
+        }
+    }
+
+    private static void assertDouble(final String text) {
+        Object expected;
+        try {
+            expected = Double.doubleToRawLongBits(Double.parseDouble(text));
+        } catch (final NumberFormatException e) {
+            expected = e.getClass();
+        }
+        final String region = "x=" + text + ";";
+        Object actual;
+        try {
+            actual = Double.doubleToRawLongBits(CharSequenceAide.parseDouble(region, 2, region.length() - 1));
+        } catch (final NumberFormatException e) {
+            actual = e.getClass();
+        }
+        assertEquals(text, expected, actual);
+        final double fallback = -12.5;
+        final long fallbackBits = expected instanceof Long ? (Long) expected : Double.doubleToRawLongBits(fallback);
+        assertEquals(text, fallbackBits,
+                Double.doubleToRawLongBits(CharSequenceAide.parseDouble(new StringBuilder(text), 0, text.length(), fallback)));
+    }
+}
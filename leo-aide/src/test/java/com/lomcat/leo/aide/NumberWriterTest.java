@@ -0,0 +1,269 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link StringAide#appendDecimal(StringBuilder, long)}、{@link StringAide#appendHex(StringBuilder, long)}、
+ * {@link StringAide#appendDouble(StringBuilder, double)} 等数字输出的测试。</p>
+ *
+ * <p>浮点数检查往返（解析结果的位与原值相同）以及与 {@code BigDecimal} 求得的最短、最接近的十进制数相等；
+ * 在 Java 19 及以上还与 {@link Double#toString(double)} 逐字符比较。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class NumberWriterTest {
+
+    private static final double[] DOUBLES = {
+            0.0, -0.0, 1.0, -1.0, 0.1, 0.2, 0.3, 100.0, 1e7, 9999999.0, 1.0E7 - 0.5, 0.001, 0.00099, 1e-3, 2e-3, 1e23, 1e22, 5e-324,
+            2 * Double.MIN_VALUE, 3 * Double.MIN_VALUE, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL, Math.nextDown(Double.MIN_NORMAL),
+            Double.MAX_VALUE, -Double.MAX_VALUE, Math.PI, Math.E, 9007199254740992.0, 9007199254740993.0, 123456789012345678.0,
+            1.0E-5, 1.2345E-10, 4.35679E-10, 2.2250738585072014E-308, 1.7976931348623157E308
+    };
+
+    @Test
+    public void specialValues() {
+        assertEquals("NaN", appendDouble(Double.NaN));
+        assertEquals("Infinity", appendDouble(Double.POSITIVE_INFINITY));
+        assertEquals("-Infinity", appendDouble(Double.NEGATIVE_INFINITY));
+        assertEquals("0.0", appendDouble(0.0));
+        assertEquals("-0.0", appendDouble(-0.0));
+        assertEquals("100.0", appendDouble(100));
+        assertEquals("0.002", appendDouble(2e-3));
+        assertEquals("1.0E23", appendDouble(1e23));
+        assertEquals("9.9E-324", appendDouble(2 * Double.MIN_VALUE));
+        assertEquals("1.0E7", appendDouble(1e7));
+        assertEquals("9999999.0", appendDouble(9999999));
+        assertEquals("0.001", appendDouble(0.001));
+        assertEquals("9.9E-4", appendDouble(0.00099));
+    }
+
+    @Test
+    public void doublesRoundTripAndAreShortest() {
+        for (final double value : DOUBLES) {
+            assertShortest(value);
+            assertShortest(-value);
+        }
+        final Random random = new Random(1);
+        for (int i = 0; i < 4_000; i ++) {
+            assertShortest(Double.longBitsToDouble(random.nextLong()));
+            assertShortest(Math.scalb(1.0, random.nextInt(2098) - 1074));
+            assertShortest(random.nextInt(1 << 20) * Double.MIN_VALUE);
+            assertShortest(random.nextInt(1_000_000) / 1000.0);
+        }
+    }
+
+    @Test
+    public void doublesRoundTrip() {
+        final Random random = new Random(2);
+        final char[] chars = new char[NumberWriter.MAX_DOUBLE_LENGTH];
+        for (int i = 0; i < 500_000; i ++) {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            final int end = StringAide.writeDouble(chars, 0, value);
+            final double parsed = Double.parseDouble(new String(chars, 0, end));
+            // NaN 的各种位模式都输出为 "NaN"，比较规范化的位
+            assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(parsed));
+        }
+    }
+
+    @Test
+    public void doublesMatchJdk19() {
+        final String version = System.getProperty("java.specification.version");
+        // Java 18 及以前的 Double.toString 偶尔不是最短
+        Assume.assumeTrue(!version.startsWith("1.") && Integer.parseInt(version) >= 19);
+        final Random random = new Random(3);
+        for (final double value : DOUBLES) {
+            assertEquals(Double.toString(value), appendDouble(value));
+        }
+        for (int i = 0; i < 200_000; i ++) {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            assertEquals(Double.toString(value), appendDouble(value));
+        }
+    }
+
+    @Test
+    public void decimalsMatchJdk() {
+        final long[] values = {0, 1, -1, 9, 10, 99, 100, -100, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+                999_999_999_999_999_999L, 1_000_000_000_000_000_000L, -1_000_000_000_000_000_000L};
+        final Random random = new Random(4);
+        final long[] all = Arrays.copyOf(values, values.length + 50_000);
+        for (int i = values.length; i < all.length; i ++) {
+            all[i] = random.nextLong() >> random.nextInt(64);
+        }
+        final StringBuilder builder = new StringBuilder();
+        final char[] chars = new char[40];
+        for (final long value : all) {
+            final int width = random.nextInt(26);
+            assertEquals(Long.toString(value), StringAide.appendDecimal(reset(builder), value).toString());
+            assertEquals(Long.toString(value), new String(chars, 3, StringAide.writeDecimal(chars, 3, value) - 3));
+            final String padded = width == 0 ? Long.toString(value) : String.format(Locale.ROOT, "%0" + width + "d", value);
+            assertEquals(padded, StringAide.appendDecimal(reset(builder), value, width).toString());
+            assertEquals(padded, new String(chars, 0, StringAide.writeDecimal(chars, 0, value, width)));
+            assertEquals(Long.toHexString(value), StringAide.appendHex(reset(builder), value).toString());
+            assertEquals(Long.toHexString(value), new String(chars, 1, StringAide.writeHex(chars, 1, value) - 1));
+            assertEquals(Integer.toHexString((int) value), StringAide.appendHex(reset(builder), (int) value).toString());
+            final String hex = width == 0 ? Long.toHexString(value) : String.format(Locale.ROOT, "%0" + width + "x", value);
+            assertEquals(hex, StringAide.appendHex(reset(builder), value, width).toString());
+            assertEquals(hex, new String(chars, 0, StringAide.writeHex(chars, 0, value, width)));
+            final String intHex = width == 0 ? Integer.toHexString((int) value) : String.format(Locale.ROOT, "%0" + width + "x", (int) value);
+            assertEquals(intHex, StringAide.appendHex(reset(builder), (int) value, width).toString());
+            assertEquals(intHex, new String(chars, 0, StringAide.writeHex(chars, 0, (int) value, width)));
+        }
+    }
+
+    @Test
+    public void widePaddingAndAppendables() throws IOException {
+        // 宽度超过内部暂存区
+        assertEquals(String.format("%040d", Long.MIN_VALUE), StringAide.appendDecimal(new StringBuilder(), Long.MIN_VALUE, 40).toString());
+        assertEquals(String.format("%050x", 0xAB), StringAide.appendHex(new StringBuilder(), 0xABL, 50).toString());
+        assertEquals("-0042", StringAide.appendDecimal(new StringBuilder(), -42, 5).toString());
+        assertEquals("123456", StringAide.appendDecimal(new StringBuilder(), 123456, 3).toString());
+        assertEquals("ffffffff", StringAide.appendHex(new StringBuilder(), -1, 4).toString());
+        final StringWriter writer = new StringWriter();
+        StringAide.appendDecimal(writer, 12345L, 7);
+        StringAide.appendHex(writer, 255);
+        StringAide.appendDouble(writer, 1e23);
+        StringAide.appendDecimal(writer, -7L, 33);
+        assertEquals("0012345ff1.0E23" + String.format("%033d", -7), writer.toString());
+        // 既不是 StringBuilder 也不是 Writer 的 Appendable
+        final Appendable buffer = new StringBuffer();
+        StringAide.appendDouble(buffer, -0.0);
+        StringAide.appendHex(buffer, 10L, 3);
+        StringAide.appendDecimal(buffer, Long.MIN_VALUE);
+        assertEquals("-0.000a" + Long.MIN_VALUE, buffer.toString());
+    }
+
+    @Test
+    public void charArraysThatDoNotFitAreUntouched() {
+        final char[] chars = new char[10];
+        Arrays.fill(chars, '#');
+        assertEquals(3, StringAide.writeDouble(chars, 0, 1.5));
+        assertEquals("1.5", new String(chars, 0, 3));
+        Arrays.fill(chars, '#');
+        final char[] untouched = chars.clone();
+        assertDoesNotFit(() -> StringAide.writeDouble(chars, 0, -2.2250738585072014E-308));
+        assertDoesNotFit(() -> StringAide.writeDouble(chars, 8, 0.125));
+        assertDoesNotFit(() -> StringAide.writeDouble(chars, 11, 1));
+        assertDoesNotFit(() -> StringAide.writeDecimal(chars, 9, 42));
+        assertDoesNotFit(() -> StringAide.writeDecimal(chars, 0, Long.MIN_VALUE));
+        assertDoesNotFit(() -> StringAide.writeDecimal(chars, 0, 1, 11));
+        assertDoesNotFit(() -> StringAide.writeHex(chars, -1, 42));
+        assertDoesNotFit(() -> StringAide.writeHex(chars, 2, -1L));
+        assertDoesNotFit(() -> StringAide.writeHex(chars, 3, -1));
+        assertEquals(new String(untouched), new String(chars));
+        // 恰好放得下
+        assertEquals(10, StringAide.writeDouble(chars, 7, 0.5));
+        assertEquals(10, StringAide.writeHex(chars, 2, -1));
+        assertEquals(10, StringAide.writeDecimal(chars, 0, -123456789));
+        assertEquals("-123456789", new String(chars));
+    }
+
+    /**
+     * 写入已有缓冲区的数字格式化不分配内存
+     */
+    @Test
+    public void numberFormattingDoesNotAllocate() {
+        final StringBuilder builder = new StringBuilder(64);
+        final char[] chars = new char[64];
+        assertAllocationFree("StringAide.appendDecimal(StringBuilder, width)",
+                () -> StringAide.appendDecimal(builder.delete(0, builder.length()), -42L, 8).length());
+        assertAllocationFree("StringAide.appendHex(StringBuilder, width)",
+                () -> StringAide.appendHex(builder.delete(0, builder.length()), 0xCAFEL, 16).length());
+        assertAllocationFree("StringAide.appendDouble(StringBuilder)",
+                () -> StringAide.appendDouble(builder.delete(0, builder.length()), 1234.5678e-20).length());
+        assertAllocationFree("StringAide.writeDecimal(char[])", () -> StringAide.writeDecimal(chars, 0, Long.MIN_VALUE));
+        assertAllocationFree("StringAide.writeDouble(char[])", () -> StringAide.writeDouble(chars, 50, -0.1));
+    }
+
+    private static void assertDoesNotFit(final Runnable write) {
+        try {
+            write.run();
+            fail();
+        } catch (final IndexOutOfBoundsException expected) {
+            // 放不下时抛出异常且不修改数组
+        }
+    }
+
+    private static StringBuilder reset(final StringBuilder builder) {
+        builder.setLength(0);
+        return builder;
+    }
+
+    private static String appendDouble(final double value) {
+        return StringAide.appendDouble(new StringBuilder(), value).toString();
+    }
+
+    private static void assertShortest(final double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        final String text = appendDouble(value);
+        final String message = Double.toString(value) + " written as " + text;
+        assertEquals(message, Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(Double.parseDouble(text)));
+        assertEquals(message, Double.toString(value).indexOf('E') >= 0, text.indexOf('E') >= 0);
+        if (value != 0) {
+            assertEquals(message, 0, new BigDecimal(text).compareTo(shortest(value)));
+        }
+    }
+
+    /**
+     * @return 能还原为 {@code value} 的最短十进制数，有多个时取最接近的，一样接近时取末位为偶数的
+     */
+    private static BigDecimal shortest(final double value) {
+        final BigDecimal exact = new BigDecimal(value);
+        for (int precision = 1; precision <= 17; precision ++) {
+            BigDecimal best = null;
+            // 只有一位数字时，两位数字的候选（如 9.9E-324）同样视为最短，与 Schubfach 一致
+            for (int p = precision; p <= (precision == 1 ? 2 : precision); p ++) {
+                for (final RoundingMode mode : new RoundingMode[] {RoundingMode.FLOOR, RoundingMode.CEILING}) {
+                    final BigDecimal candidate = exact.round(new MathContext(p, mode));
+                    if (candidate.doubleValue() != value) {
+                        continue;
+                    }
+                    if (best == null) {
+                        best = candidate;
+                        continue;
+                    }
+                    final int cmp = candidate.subtract(exact).abs().compareTo(best.subtract(exact).abs());
+                    if (cmp < 0 || cmp == 0 && !candidate.stripTrailingZeros().unscaledValue().testBit(0)) {
+                        best = candidate;
+                    }
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        throw new AssertionError(value);
+    }
+}
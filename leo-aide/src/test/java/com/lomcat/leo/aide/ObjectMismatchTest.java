@@ -0,0 +1,526 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link ObjectAide#mismatch(Object, Object)}、{@link ObjectAide#parallelMismatch(Object, Object)}、
+ * {@link ObjectAide#mismatchPath(Object, Object)}、{@link ObjectAide#compareArrays(Object, Object)} 与
+ * {@link ObjectAide#deepEquals(Object, Object)} 的测试，结果与逐个元素装箱比较的朴素实现及 {@link Objects#deepEquals(Object, Object)} 比较。</p>
+ *
+ * <p>并行比较的阈值在类加载时读取，构建中另有一个以 {@code -Dleo.aide.parallelMismatchThreshold=64} 运行本类的 surefire execution，
+ * 使较短的数组也经过 ForkJoin 拆分。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class ObjectMismatchTest {
+
+    private static final float FLOAT_NAN = Float.intBitsToFloat(0x7fc00001);
+    private static final double DOUBLE_NAN = Double.longBitsToDouble(0x7ff8000000000001L);
+
+    private static final Class<?>[] TYPES = {
+            byte.class, short.class, char.class, int.class, long.class, float.class, double.class, boolean.class, String.class
+    };
+
+    /** 各元素类型的取值：个数少，使随机数组常有相同的前缀；浮点数含 ±0.0、NaN 与非规范的 NaN；第二个值不同于数组的默认值 */
+    private static final Object[][] VALUES = {
+            {(byte) 0, (byte) 1, (byte) -1, Byte.MAX_VALUE, Byte.MIN_VALUE},
+            {(short) 0, (short) 1, (short) -1, Short.MAX_VALUE, Short.MIN_VALUE},
+            {(char) 0, 'a', 'b', Character.MAX_VALUE},
+            {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE},
+            {0L, 1L, -1L, Long.MAX_VALUE, Long.MIN_VALUE},
+            {0f, -0f, 1f, Float.NaN, FLOAT_NAN, Float.NEGATIVE_INFINITY},
+            {0d, -0d, 1d, Double.NaN, DOUBLE_NAN, Double.POSITIVE_INFINITY},
+            {false, true},
+            {null, "a", "b", "c"},
+    };
+
+    @Test
+    public void documentedExamples() {
+        assertEquals(-1, ObjectAide.mismatch(new int[] {1, 2, 3}, new int[] {1, 2, 3}));
+        assertEquals(1, ObjectAide.mismatch(new int[] {1, 2, 3}, new int[] {1, 5, 3}));
+        assertEquals(2, ObjectAide.mismatch(new int[] {1, 2}, new int[] {1, 2, 3}));
+        assertEquals(1, ObjectAide.mismatch(new Object[] {"a", new int[] {1}}, new Object[] {"a", new int[] {2}}));
+        assertEquals(0, ObjectAide.mismatch(new int[] {1}, new long[] {1}));
+        assertEquals(-1, ObjectAide.mismatch(null, null));
+        assertEquals(0, ObjectAide.mismatch(null, new int[0]));
+
+        assertNull(ObjectAide.mismatchPath(new int[] {1, 2}, new int[] {1, 2}));
+        assertArrayEquals(new int[] {1}, ObjectAide.mismatchPath(new int[] {1, 2}, new int[] {1, 3}));
+        assertArrayEquals(new int[] {1, 1, 1}, ObjectAide.mismatchPath(new Object[] {"a", new int[][] {{1}, {2, 3}}},
+                new Object[] {"a", new int[][] {{1}, {2, 4}}}));
+        assertArrayEquals(new int[] {1}, ObjectAide.mismatchPath(new Object[] {"a", "b"}, new Object[] {"a", "c"}));
+        assertArrayEquals(new int[] {1}, ObjectAide.mismatchPath(new int[] {1}, new int[] {1, 2}));
+        assertArrayEquals(new int[0], ObjectAide.mismatchPath("a", "b"));
+        assertNull(ObjectAide.mismatchPath("a", "a"));
+
+        assertTrue(ObjectAide.compareArrays(new int[] {1, 2}, new int[] {1, 3}) < 0);
+        assertEquals(0, ObjectAide.compareArrays(new int[] {1, 2}, new int[] {1, 2}));
+        assertTrue(ObjectAide.compareArrays(new int[] {1, 2, 0}, new int[] {1, 2}) > 0);
+        assertTrue(ObjectAide.compareArrays(new String[] {"a", "b"}, new String[] {"b"}) < 0);
+        assertTrue(ObjectAide.compareArrays(null, new int[0]) < 0);
+    }
+
+    /**
+     * 每种元素类型的随机数组：相同、个别元素不同、截短与加长，与朴素实现比较
+     */
+    @Test
+    public void everyKindMatchesNaive() {
+        final Random random = new Random(1);
+        for (int kind = 0; kind < TYPES.length; kind ++) {
+            for (int round = 0; round < 3_000; round ++) {
+                final Object a = randomArray(random, kind, random.nextInt(round % 100 == 0 ? 300 : 12));
+                final Object b = derive(random, kind, a);
+                assertAll(a, b);
+                assertAll(b, a);
+            }
+        }
+    }
+
+    /**
+     * {@code float}、{@code double} 与 {@link java.util.Arrays#equals(float[], float[])} 一样按 {@code floatToIntBits} 比较：
+     * 所有 NaN 相等，{@code 0.0} 与 {@code -0.0} 不相等；排序与 {@link Float#compare(float, float)} 一致
+     */
+    @Test
+    public void floatingPointBits() {
+        final float[] floats = {Float.NaN};
+        assertEquals(0x7fc00001, Float.floatToRawIntBits(FLOAT_NAN));
+        assertEquals(-1, ObjectAide.mismatch(floats, new float[] {FLOAT_NAN}));
+        assertEquals(-1, ObjectAide.parallelMismatch(floats, new float[] {FLOAT_NAN}));
+        assertTrue(ObjectAide.deepEquals(floats, new float[] {FLOAT_NAN}));
+        assertEquals(0, ObjectAide.compareArrays(floats, new float[] {FLOAT_NAN}));
+        assertEquals(0, ObjectAide.mismatch(new float[] {0f}, new float[] {-0f}));
+        assertFalse(ObjectAide.deepEquals(new float[] {0f}, new float[] {-0f}));
+        assertTrue(ObjectAide.compareArrays(new float[] {-0f}, new float[] {0f}) < 0);
+        assertTrue(ObjectAide.compareArrays(new float[] {Float.POSITIVE_INFINITY}, new float[] {Float.NaN}) < 0);
+
+        assertEquals(-1, ObjectAide.mismatch(new double[] {1, Double.NaN}, new double[] {1, DOUBLE_NAN}));
+        assertEquals(1, ObjectAide.mismatch(new double[] {1, 0d}, new double[] {1, -0d}));
+        assertTrue(ObjectAide.deepEquals(new double[] {DOUBLE_NAN}, new double[] {Double.NaN}));
+        assertTrue(ObjectAide.compareArrays(new double[] {0d}, new double[] {-0d}) > 0);
+        assertEquals(0, ObjectAide.compareArrays(new double[] {DOUBLE_NAN}, new double[] {Double.NaN}));
+        // 无符号比较时 -1 大于 1，这里与 Byte.compare 一致按有符号比较
+        assertTrue(ObjectAide.compareArrays(new byte[] {-1}, new byte[] {1}) < 0);
+    }
+
+    @Test
+    public void prefixesAndLengths() {
+        for (int kind = 0; kind < TYPES.length; kind ++) {
+            final Object empty = Array.newInstance(TYPES[kind], 0);
+            final Object a = randomArray(new Random(kind), kind, 20);
+            for (int length = 0; length <= 20; length ++) {
+                final Object prefix = copyOf(a, length);
+                final String message = TYPES[kind] + " " + length;
+                assertEquals(message, length == 20 ? -1 : length, ObjectAide.mismatch(prefix, a));
+                assertEquals(message, length == 20 ? -1 : length, ObjectAide.mismatch(a, prefix));
+                assertEquals(message, length == 20 ? 0 : -1, Integer.signum(ObjectAide.compareArrays(prefix, a)));
+                assertEquals(message, length == 0 ? -1 : 0, ObjectAide.mismatch(empty, prefix));
+            }
+            assertEquals(-1, ObjectAide.mismatch(a, a));
+            assertEquals(0, ObjectAide.compareArrays(a, a));
+            assertNull(ObjectAide.mismatchPath(a, a));
+        }
+    }
+
+    /**
+     * 不同类型的数组（如 {@code int[]} 与 {@code long[]}）不相等；所有引用类型数组视为同一类型
+     */
+    @Test
+    public void kindMismatch() {
+        final Object[] arrays = {new int[] {1}, new long[] {1}, new short[] {1}, new byte[] {1}, new char[] {1},
+                new float[] {1}, new double[] {1}, new boolean[] {true}, new Object[] {1}};
+        for (int i = 0; i < arrays.length; i ++) {
+            for (int j = 0; j < arrays.length; j ++) {
+                if (i == j) {
+                    continue;
+                }
+                final String message = arrays[i].getClass() + " / " + arrays[j].getClass();
+                assertEquals(message, 0, ObjectAide.mismatch(arrays[i], arrays[j]));
+                assertEquals(message, 0, ObjectAide.parallelMismatch(arrays[i], arrays[j]));
+                assertFalse(message, ObjectAide.deepEquals(arrays[i], arrays[j]));
+                assertArrayEquals(message, new int[0], ObjectAide.mismatchPath(arrays[i], arrays[j]));
+                try {
+                    ObjectAide.compareArrays(arrays[i], arrays[j]);
+                    fail(message);
+                } catch (IllegalArgumentException expected) {
+                    // 数组类型不同
+                }
+            }
+        }
+        final Object[] objects = {"a", "b"};
+        final String[] strings = {"a", "b"};
+        assertEquals(-1, ObjectAide.mismatch(objects, strings));
+        assertTrue(ObjectAide.deepEquals(objects, strings));
+        assertEquals(0, ObjectAide.compareArrays(objects, strings));
+        assertEquals(1, ObjectAide.mismatch(new Object[] {"a", new int[] {1}}, new Object[] {"a", new long[] {1}}));
+        assertArrayEquals(new int[] {1}, ObjectAide.mismatchPath(new Object[] {"a", new int[] {1}}, new Object[] {"a", new long[] {1}}));
+    }
+
+    @Test
+    public void nullsAndNonArrays() {
+        final int[] array = {1};
+        assertEquals(-1, ObjectAide.parallelMismatch(null, null));
+        assertEquals(0, ObjectAide.mismatch(array, null));
+        assertEquals(0, ObjectAide.parallelMismatch(null, array));
+        assertEquals(0, ObjectAide.compareArrays(null, null));
+        assertTrue(ObjectAide.compareArrays(array, null) > 0);
+        assertTrue(ObjectAide.compareArrays(new String[] {null}, new String[] {"a"}) < 0);
+        assertTrue(ObjectAide.compareArrays(new String[] {"a"}, new String[] {null}) > 0);
+        assertNull(ObjectAide.mismatchPath(null, null));
+        assertArrayEquals(new int[0], ObjectAide.mismatchPath(null, array));
+        assertArrayEquals(new int[] {0}, ObjectAide.mismatchPath(new Object[] {null}, new Object[] {array}));
+        assertTrue(ObjectAide.deepEquals("a", new String("a")));
+        assertFalse(ObjectAide.deepEquals(null, array));
+
+        final Object[][] invalid = {{"a", array}, {array, 1}, {"a", null}, {null, 1}, {"a", "a"}};
+        for (final Object[] pair : invalid) {
+            final String message = Arrays.toString(pair);
+            try {
+                ObjectAide.mismatch(pair[0], pair[1]);
+                fail(message);
+            } catch (IllegalArgumentException expected) {
+                // 参数不是数组
+            }
+            try {
+                ObjectAide.parallelMismatch(pair[0], pair[1]);
+                fail(message);
+            } catch (IllegalArgumentException expected) {
+                // 参数不是数组
+            }
+            if (pair[0] != pair[1]) {
+                try {
+                    ObjectAide.compareArrays(pair[0], pair[1]);
+                    fail(message);
+                } catch (IllegalArgumentException expected) {
+                    // 参数不是数组
+                }
+            }
+        }
+        try {
+            ObjectAide.compareArrays(new Object[] {new Object()}, new Object[] {new Object()});
+            fail();
+        } catch (ClassCastException expected) {
+            // 元素不可比较
+        }
+    }
+
+    /**
+     * 随机嵌套的 {@code Object[]} 树，改变其中一个节点后比较索引路径
+     */
+    @Test
+    public void nestedPaths() {
+        final Random random = new Random(2);
+        for (int round = 0; round < 20_000; round ++) {
+            final Object a = randomTree(random, 0);
+            final Object b = random.nextInt(5) == 0 ? copyTree(a) : mutate(random, a);
+            final int[] expected = naivePath(a, b);
+            final String message = deepToString(a) + " / " + deepToString(b);
+            assertArrayEquals(message, expected, ObjectAide.mismatchPath(a, b));
+            assertEquals(message, expected == null, ObjectAide.deepEquals(a, b));
+            assertEquals(message, Objects.deepEquals(a, b), ObjectAide.deepEquals(a, b));
+            if (a instanceof Object[] && b instanceof Object[]) {
+                assertEquals(message, expected == null ? -1 : expected[0], ObjectAide.mismatch(a, b));
+                assertEquals(message, expected == null ? -1 : expected[0], ObjectAide.parallelMismatch(a, b));
+            }
+        }
+    }
+
+    @Test
+    public void nestedCompare() {
+        final Random random = new Random(3);
+        for (int round = 0; round < 5_000; round ++) {
+            final String[][] a = new String[random.nextInt(4)][];
+            for (int i = 0; i < a.length; i ++) {
+                a[i] = random.nextInt(6) == 0 ? null : (String[]) randomArray(random, 8, random.nextInt(4));
+            }
+            final String[][] b = a.clone();
+            if (b.length > 0 && random.nextBoolean()) {
+                final int i = random.nextInt(b.length);
+                b[i] = random.nextInt(6) == 0 ? null : (String[]) randomArray(random, 8, random.nextInt(4));
+            }
+            final String message = Arrays.deepToString(a) + " / " + Arrays.deepToString(b);
+            assertEquals(message, Integer.signum(naiveCompare(a, b)), Integer.signum(ObjectAide.compareArrays(a, b)));
+            assertEquals(message, naiveMismatch(a, b), ObjectAide.mismatch(a, b));
+        }
+    }
+
+    /**
+     * 长度在并行阈值附近及以上的数组，在随机位置放入若干个不同的元素，第一个不同的位置与顺序比较一致；
+     * 以调低的阈值运行时，各区间被拆分到多个子任务中
+     */
+    @Test
+    public void parallelSplits() {
+        final int threshold = ArrayMismatch.PARALLEL_THRESHOLD;
+        assertEquals(Math.max(2, Integer.getInteger("leo.aide.parallelMismatchThreshold", 1 << 20)), threshold);
+        final Random random = new Random(4);
+        final int[] lengths = {threshold - 1, threshold, threshold + 1, Math.min(threshold * 40 + 3, threshold + (1 << 16))};
+        for (int kind = 0; kind < TYPES.length; kind ++) {
+            final Object one = VALUES[kind][1];
+            for (final int length : lengths) {
+                final Object a = Array.newInstance(TYPES[kind], length);
+                if (kind == 8) {
+                    Arrays.fill((Object[]) a, "s");
+                }
+                for (int round = 0; round < 8; round ++) {
+                    final Object b = copyOf(a, length + (round == 7 ? 1 : 0));
+                    int expected = round == 7 ? length : -1;
+                    for (int k = round % 4; k > 0; k --) {
+                        final int index = random.nextInt(length);
+                        Array.set(b, index, one);
+                        expected = expected < 0 || expected == length ? index : Math.min(expected, index);
+                    }
+                    final String message = TYPES[kind] + " " + length + " " + round;
+                    assertEquals(message, expected, ObjectAide.parallelMismatch(a, b));
+                    assertEquals(message, expected, ObjectAide.parallelMismatch(b, a));
+                    assertEquals(message, expected, ObjectAide.mismatch(a, b));
+                }
+            }
+        }
+    }
+
+    /**
+     * 低于并行阈值的数组比较不分配内存
+     */
+    @Test
+    public void arrayMismatchDoesNotAllocate() {
+        final long[] snapshot = new long[1024];
+        final long[] current = snapshot.clone();
+        current[700] = 1;
+        final Object[] nested = {"a", snapshot, new int[]{1, 2}};
+        final Object[] nestedCopy = {"a", snapshot.clone(), new int[]{1, 2}};
+        // 降低并行阈值运行时会拆分为并行任务
+        Assume.assumeTrue(snapshot.length < ArrayMismatch.PARALLEL_THRESHOLD);
+        assertAllocationFree("ObjectAide.mismatch(long[])", () -> ObjectAide.mismatch(snapshot, current));
+        assertAllocationFree("ObjectAide.deepEquals(Object[])", () -> ObjectAide.deepEquals(nested, nestedCopy) ? 1 : 0);
+        assertAllocationFree("ObjectAide.compareArrays(long[])", () -> ObjectAide.compareArrays(snapshot, current));
+    }
+
+    private static void assertAll(final Object a, final Object b) {
+        final int expected = naiveMismatch(a, b);
+        final String message = deepToString(a) + " / " + deepToString(b);
+        assertEquals(message, expected, ObjectAide.mismatch(a, b));
+        assertEquals(message, expected, ObjectAide.parallelMismatch(a, b));
+        assertEquals(message, Objects.deepEquals(a, b), ObjectAide.deepEquals(a, b));
+        assertEquals(message, expected < 0, ObjectAide.deepEquals(a, b));
+        assertArrayEquals(message, expected < 0 ? null : new int[] {expected}, ObjectAide.mismatchPath(a, b));
+        assertEquals(message, Integer.signum(naiveCompare(a, b)), Integer.signum(ObjectAide.compareArrays(a, b)));
+    }
+
+    /**
+     * 逐个元素装箱比较：{@link Float#equals(Object)} 与 {@link Double#equals(Object)} 按 {@code floatToIntBits} 比较
+     */
+    private static int naiveMismatch(final Object a, final Object b) {
+        final int length1 = Array.getLength(a);
+        final int length2 = Array.getLength(b);
+        final int length = Math.min(length1, length2);
+        for (int i = 0; i < length; i ++) {
+            if (!Objects.deepEquals(Array.get(a, i), Array.get(b, i))) {
+                return i;
+            }
+        }
+        return length1 == length2 ? -1 : length;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int naiveCompare(final Object a, final Object b) {
+        final int length = Math.min(Array.getLength(a), Array.getLength(b));
+        for (int i = 0; i < length; i ++) {
+            final Object e1 = Array.get(a, i);
+            final Object e2 = Array.get(b, i);
+            final int result;
+            if (e1 == e2) {
+                result = 0;
+            } else if (e1 == null) {
+                result = -1;
+            } else if (e2 == null) {
+                result = 1;
+            } else if (e1.getClass().isArray()) {
+                result = naiveCompare(e1, e2);
+            } else {
+                result = ((Comparable) e1).compareTo(e2);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(Array.getLength(a), Array.getLength(b));
+    }
+
+    private static int[] naivePath(final Object a, final Object b) {
+        if (Objects.deepEquals(a, b)) {
+            return null;
+        }
+        if (a instanceof Object[] && b instanceof Object[]) {
+            final Object[] array1 = (Object[]) a;
+            final Object[] array2 = (Object[]) b;
+            final int length = Math.min(array1.length, array2.length);
+            for (int i = 0; i < length; i ++) {
+                final int[] rest = naivePath(array1[i], array2[i]);
+                if (rest != null) {
+                    final int[] path = new int[rest.length + 1];
+                    path[0] = i;
+                    System.arraycopy(rest, 0, path, 1, rest.length);
+                    return path;
+                }
+            }
+            return new int[] {length};
+        }
+        if (a != null && b != null && a.getClass().isArray() && a.getClass() == b.getClass()) {
+            return new int[] {naiveMismatch(a, b)};
+        }
+        return new int[0];
+    }
+
+    private static Object randomArray(final Random random, final int kind, final int length) {
+        final Object array = Array.newInstance(TYPES[kind], length);
+        final Object[] values = VALUES[kind];
+        for (int i = 0; i < length; i ++) {
+            Array.set(array, i, values[random.nextInt(values.length)]);
+        }
+        return array;
+    }
+
+    /**
+     * @return 与 {@code a} 相同、改变若干元素、截短或加长后的数组，偶尔是 {@code a} 本身
+     */
+    private static Object derive(final Random random, final int kind, final Object a) {
+        final int length = Array.getLength(a);
+        switch (random.nextInt(6)) {
+            case 0:
+                return a;
+            case 1:
+                return copyOf(a, length);
+            case 2:
+                return copyOf(a, random.nextInt(length + 1));
+            case 3: {
+                final Object b = copyOf(a, length + 1 + random.nextInt(3));
+                for (int i = length; i < Array.getLength(b); i ++) {
+                    Array.set(b, i, VALUES[kind][random.nextInt(VALUES[kind].length)]);
+                }
+                return b;
+            }
+            default: {
+                final Object b = copyOf(a, length);
+                for (int k = random.nextInt(3); k >= 0 && length > 0; k --) {
+                    Array.set(b, random.nextInt(length), VALUES[kind][random.nextInt(VALUES[kind].length)]);
+                }
+                return b;
+            }
+        }
+    }
+
+    private static Object copyOf(final Object array, final int length) {
+        final Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, Math.min(length, Array.getLength(array)));
+        return copy;
+    }
+
+    /**
+     * @return 整数、字符串、{@code null}、基本类型数组、{@code int[][]} 或嵌套的 {@code Object[]}
+     */
+    private static Object randomTree(final Random random, final int depth) {
+        switch (random.nextInt(depth >= 3 ? 5 : 8)) {
+            case 0:
+                return random.nextInt(3);
+            case 1:
+                return "s" + random.nextInt(3);
+            case 2:
+                return null;
+            case 3:
+                return randomArray(random, 3, random.nextInt(4));
+            case 4:
+                return randomArray(random, random.nextInt(8), random.nextInt(3));
+            case 5: {
+                final int[][] matrix = new int[random.nextInt(3)][];
+                for (int i = 0; i < matrix.length; i ++) {
+                    matrix[i] = (int[]) randomArray(random, 3, random.nextInt(3));
+                }
+                return matrix;
+            }
+            default: {
+                final Object[] array = new Object[random.nextInt(4)];
+                for (int i = 0; i < array.length; i ++) {
+                    array[i] = randomTree(random, depth + 1);
+                }
+                return array;
+            }
+        }
+    }
+
+    /**
+     * @return 深层复制的树，嵌套的数组都是新实例
+     */
+    private static Object copyTree(final Object node) {
+        if (node == null || !node.getClass().isArray()) {
+            return node;
+        }
+        final Object copy = copyOf(node, Array.getLength(node));
+        if (copy instanceof Object[]) {
+            final Object[] array = (Object[]) copy;
+            for (int i = 0; i < array.length; i ++) {
+                array[i] = copyTree(array[i]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @return 深层复制后沿一条随机路径替换一个节点的树
+     */
+    private static Object mutate(final Random random, final Object node) {
+        if (node != null && node.getClass() == Object[].class && ((Object[]) node).length > 0 && random.nextInt(4) != 0) {
+            final Object[] copy = (Object[]) copyTree(node);
+            final int index = random.nextInt(copy.length);
+            copy[index] = mutate(random, copy[index]);
+            return copy;
+        }
+        if (node != null && node.getClass().isArray() && !(node instanceof Object[]) && random.nextBoolean()) {
+            final Object copy = copyOf(node, Array.getLength(node) + (random.nextInt(4) == 0 ? 1 : 0));
+            if (Array.getLength(copy) > 0) {
+                final int kind = Arrays.asList(TYPES).indexOf(copy.getClass().getComponentType());
+                Array.set(copy, random.nextInt(Array.getLength(copy)), VALUES[kind][random.nextInt(VALUES[kind].length)]);
+            }
+            return copy;
+        }
+        return randomTree(random, 2);
+    }
+
+    private static String deepToString(final Object object) {
+        final List<Object> wrapper = new ArrayList<>();
+        wrapper.add(object);
+        final String text = Arrays.deepToString(wrapper.toArray());
+        return text.substring(1, text.length() - 1);
+    }
+}
@@ -0,0 +1,240 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link ObjectSizer}（经由 {@link ObjectAide#shallowSizeOf(Object)} 与 {@link ObjectAide#deepSizeOf(Object, int, int)}）的测试：
+ * 已知布局的对象大小、循环与共享引用、最大深度、抽样推算，以及 Java 9 以上无法读取字段的 JDK 集合的估算。</p>
+ *
+ * <p>期望值按 {@link ObjectSizer} 读取到的对象头、引用大小与对齐计算；在默认的 64 位压缩指针、8 字节对齐下还与固定的字节数比较。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class ObjectSizerTest {
+
+    /** 64 位、压缩指针与压缩类指针、8 字节对齐，即 HotSpot 在 32G 以下堆的默认布局 */
+    private static final boolean DEFAULT_LAYOUT = ObjectSizer.REFERENCE_SIZE == 4 && ObjectSizer.OBJECT_HEADER == 12
+            && ObjectSizer.ALIGNMENT == 8;
+
+    /** 字符串以 char[] 保存（Java 8） */
+    private static final boolean CHAR_STRINGS = System.getProperty("java.specification.version").startsWith("1.");
+
+    @Test
+    public void knownLayouts() {
+        assertEquals(0, ObjectAide.shallowSizeOf(null));
+        assertEquals(0, ObjectAide.deepSizeOf(null));
+        assertEquals(ObjectSizer.align(ObjectSizer.OBJECT_HEADER), ObjectAide.shallowSizeOf(new Object()));
+        assertEquals(array(4, 10), ObjectAide.shallowSizeOf(new int[10]));
+        assertEquals(array(1, 100), ObjectAide.shallowSizeOf(new byte[100]));
+        assertEquals(array(8, 3), ObjectAide.shallowSizeOf(new long[3]));
+        assertEquals(array(ObjectSizer.REFERENCE_SIZE, 5), ObjectAide.shallowSizeOf(new String[5]));
+        assertEquals(array(1, 0), ObjectAide.shallowSizeOf(new boolean[0]));
+        assertEquals(ObjectSizer.align(ObjectSizer.OBJECT_HEADER + 8), ObjectAide.shallowSizeOf(1L));
+        // 字段紧密排列：int + long + 引用 + byte
+        assertEquals(ObjectSizer.align(ObjectSizer.OBJECT_HEADER + 4 + 8 + ObjectSizer.REFERENCE_SIZE + 1), ObjectAide.shallowSizeOf(new Fields()));
+        // 父类的字段计入子类
+        assertEquals(ObjectSizer.align(ObjectSizer.OBJECT_HEADER + 4 + 8 + ObjectSizer.REFERENCE_SIZE + 1 + 8),
+                ObjectAide.shallowSizeOf(new SubFields()));
+        // 数组的深度大小与浅大小相同
+        assertEquals(ObjectAide.shallowSizeOf(new int[10]), ObjectAide.deepSizeOf(new int[10]));
+
+        for (final String text : new String[] {"", "abc", "abcdefghi", "\u4e2d\u6587\u4e2d", "\u00e9\u00e9", "a\ud83d\ude00"}) {
+            final boolean latin1 = text.chars().allMatch(c -> c < 256);
+            final long value = CHAR_STRINGS ? array(2, text.length()) : latin1 ? array(1, text.length()) : array(1, text.length() * 2);
+            assertEquals(text, ObjectAide.shallowSizeOf(text) + value, ObjectAide.deepSizeOf(text));
+            assertEquals(text, ObjectAide.shallowSizeOf(text), ObjectAide.deepSizeOf(text, 0));
+        }
+
+        if (DEFAULT_LAYOUT) {
+            assertEquals(16, ObjectAide.shallowSizeOf(new Object()));
+            assertEquals(56, ObjectAide.shallowSizeOf(new int[10]));
+            assertEquals(120, ObjectAide.shallowSizeOf(new byte[100]));
+            assertEquals(24, ObjectAide.shallowSizeOf(1L));
+            assertEquals(32, ObjectAide.shallowSizeOf(new Fields()));
+            assertEquals(24, ObjectAide.shallowSizeOf("abc"));
+            assertEquals(48, ObjectAide.deepSizeOf("abc"));
+            assertEquals(72, ObjectAide.deepSizeOf(new String[] {"abc", "abc"}));
+        }
+    }
+
+    @Test
+    public void cyclesAndSharing() {
+        final long node = ObjectAide.shallowSizeOf(new Node(null));
+        final Node self = new Node(null);
+        self.next = self;
+        assertEquals(node, ObjectAide.deepSizeOf(self));
+
+        final Node a = new Node(null);
+        final Node b = new Node(a);
+        a.next = b;
+        assertEquals(2 * node, ObjectAide.deepSizeOf(a));
+        assertEquals(2 * node, ObjectAide.deepSizeOf(b));
+
+        // 同一对象被多次引用只计算一次
+        final Node shared = new Node(null);
+        final Node[] nodes = {shared, shared, new Node(shared), null};
+        assertEquals(ObjectAide.shallowSizeOf(nodes) + 2 * node, ObjectAide.deepSizeOf(nodes));
+        final Object[] nested = new Object[1];
+        nested[0] = nested;
+        assertEquals(ObjectAide.shallowSizeOf(nested), ObjectAide.deepSizeOf(nested));
+
+        // 类对象、枚举常量与 ObjectAide.NULL 被全局共享，不计入
+        final Node global = new Node(null);
+        global.value = TimeUnit.SECONDS;
+        assertEquals(node, ObjectAide.deepSizeOf(global));
+        global.value = String.class;
+        assertEquals(node, ObjectAide.deepSizeOf(global));
+        global.value = ObjectAide.NULL;
+        assertEquals(node, ObjectAide.deepSizeOf(global));
+        global.value = new Object();
+        assertEquals(node + ObjectAide.shallowSizeOf(new Object()), ObjectAide.deepSizeOf(global));
+    }
+
+    @Test
+    public void maxDepth() {
+        Node head = null;
+        for (int i = 0; i < 10; i ++) {
+            head = new Node(head);
+        }
+        final long node = ObjectAide.shallowSizeOf(head);
+        for (int depth = 0; depth < 15; depth ++) {
+            assertEquals(Math.min(depth + 1, 10) * node, ObjectAide.deepSizeOf(head, depth));
+            assertEquals(Math.min(depth + 1, 10) * node, ObjectAide.deepSizeOf(head, depth, 1));
+        }
+        assertEquals(10 * node, ObjectAide.deepSizeOf(head));
+        assertEquals(ObjectAide.shallowSizeOf(head), ObjectAide.deepSizeOf(head, 0));
+
+        // 数组的元素在下一层
+        final Object[] array = {new Object(), new Node(new Node(null))};
+        assertEquals(ObjectAide.shallowSizeOf(array), ObjectAide.deepSizeOf(array, 0));
+        assertEquals(ObjectAide.shallowSizeOf(array) + ObjectAide.shallowSizeOf(new Object()) + node, ObjectAide.deepSizeOf(array, 1));
+        assertEquals(ObjectAide.shallowSizeOf(array) + ObjectAide.shallowSizeOf(new Object()) + 2 * node, ObjectAide.deepSizeOf(array, 2));
+
+        try {
+            ObjectAide.deepSizeOf(head, -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 深度为负数
+        }
+    }
+
+    @Test
+    public void sampling() {
+        // 元素大小相同时，抽样推算的结果是精确的
+        final Object[] uniform = new Object[10_000];
+        for (int i = 0; i < uniform.length; i ++) {
+            uniform[i] = new int[4];
+        }
+        final long exact = ObjectAide.deepSizeOf(uniform);
+        assertEquals(ObjectAide.shallowSizeOf(uniform) + uniform.length * array(4, 4), exact);
+        assertEquals(exact, ObjectAide.deepSizeOf(uniform, Integer.MAX_VALUE, 64));
+        assertEquals(exact, ObjectAide.deepSizeOf(uniform, Integer.MAX_VALUE, 10_000));
+        assertEquals(exact, ObjectAide.deepSizeOf(uniform, Integer.MAX_VALUE, 0));
+
+        // 大小不一时，推算的误差不大
+        final Random random = new Random(1);
+        final Object[] mixed = new Object[20_000];
+        for (int i = 0; i < mixed.length; i ++) {
+            mixed[i] = new long[random.nextInt(50)];
+        }
+        final long mixedExact = ObjectAide.deepSizeOf(mixed);
+        for (final int sampleSize : new int[] {100, 1_000}) {
+            final long estimate = ObjectAide.deepSizeOf(mixed, Integer.MAX_VALUE, sampleSize);
+            assertTrue(sampleSize + ": " + estimate + " / " + mixedExact, Math.abs(estimate - mixedExact) < mixedExact * 0.1);
+        }
+
+        // 集合同样抽样
+        final List<int[]> list = new ArrayList<>(Arrays.asList(Arrays.copyOf(uniform, uniform.length, int[][].class)));
+        assertEquals(ObjectAide.deepSizeOf(list), ObjectAide.deepSizeOf(list, Integer.MAX_VALUE, 64));
+    }
+
+    /**
+     * Java 9 以上 {@code java.util} 未向本模块开放，集合按元素个数估算内部结构；Java 8 中按字段遍历，
+     * 对于容量恰好的 {@link ArrayList} 与按默认负载因子扩容的 {@link HashMap}，两种方式的结果相同
+     */
+    @Test
+    public void jdkCollections() {
+        final int n = 100;
+        final String[] keys = new String[n];
+        final long[][] values = new long[n][];
+        for (int i = 0; i < n; i ++) {
+            keys[i] = "key-" + i;
+            values[i] = new long[i % 7];
+        }
+        final long keysSize = ObjectAide.deepSizeOf(keys) - ObjectAide.shallowSizeOf(keys);
+        final long valuesSize = ObjectAide.deepSizeOf(values) - ObjectAide.shallowSizeOf(values);
+
+        final List<String> list = new ArrayList<>(Arrays.asList(keys));
+        assertEquals(ObjectAide.shallowSizeOf(list) + array(ObjectSizer.REFERENCE_SIZE, n) + keysSize, ObjectAide.deepSizeOf(list));
+        assertEquals(ObjectAide.shallowSizeOf(list), ObjectAide.deepSizeOf(list, 0));
+
+        final Map<String, long[]> map = new HashMap<>();
+        for (int i = 0; i < n; i ++) {
+            map.put(keys[i], values[i]);
+        }
+        // 100 个元素扩容到 256 个桶；节点为 hash、key、value、next
+        final long table = array(ObjectSizer.REFERENCE_SIZE, 256);
+        final long nodes = n * ObjectSizer.align(ObjectSizer.OBJECT_HEADER + 4 + 3L * ObjectSizer.REFERENCE_SIZE);
+        assertEquals(ObjectAide.shallowSizeOf(map) + table + nodes + keysSize + valuesSize, ObjectAide.deepSizeOf(map));
+        assertEquals(ObjectAide.shallowSizeOf(map), ObjectAide.deepSizeOf(map, 0));
+
+        assertEquals(ObjectAide.shallowSizeOf(new HashMap<>()), ObjectAide.deepSizeOf(new HashMap<>()));
+        // 集合中的元素同样只计算一次
+        final List<String> repeated = new ArrayList<>(Arrays.asList(keys[0], keys[0], keys[0]));
+        assertEquals(ObjectAide.shallowSizeOf(repeated) + array(ObjectSizer.REFERENCE_SIZE, 3) + ObjectAide.deepSizeOf(keys[0]),
+                ObjectAide.deepSizeOf(repeated));
+    }
+
+    private static long array(final int elementSize, final long length) {
+        return ObjectSizer.align(ObjectSizer.ARRAY_HEADER + length * elementSize);
+    }
+
+    private static class Fields {
+        int i;
+        long l;
+        Object o;
+        byte b;
+    }
+
+    private static final class SubFields extends Fields {
+        double d;
+    }
+
+    private static final class Node {
+        Node next;
+        Object value;
+
+        Node(final Node next) {
+            this.next = next;
+        }
+    }
+}
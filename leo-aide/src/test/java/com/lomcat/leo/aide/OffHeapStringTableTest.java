@@ -0,0 +1,307 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link OffHeapStringTable} 的测试：{@code intern} 对相同内容返回同一句柄，{@code find} 与 {@code intern} 一致，
+ * 以及块很小、记录频繁跨块或单独占用一个块时视图的内容。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class OffHeapStringTableTest {
+
+    /** Latin-1 与需要 UTF-16 的字符、空白字符 */
+    private static final String ALPHABET = "aB0- \t\u00e9\u00ff\u0100\u4e2d\ud83d\ude00";
+
+    @Test
+    public void documentedExample() {
+        final OffHeapStringTable table = new OffHeapStringTable();
+        final long handle = table.intern("SKU-000042");
+        assertEquals(handle, table.intern("SKU-000042"));
+        assertEquals(handle, table.find("SKU-000042"));
+        assertEquals(OffHeapStringTable.NOT_FOUND, table.find("SKU-404"));
+        assertEquals(OffHeapStringTable.NOT_FOUND, table.find(null));
+
+        final OffHeapStringTable.View view = table.view();
+        assertEquals(OffHeapStringTable.NOT_FOUND, view.handle());
+        assertEquals(0, view.length());
+        assertEquals("", view.toString());
+        assertTrue(CharSequenceAide.equals(view.reset(handle), "SKU-000042"));
+        assertEquals(handle, view.handle());
+        assertEquals(3, CharSequenceAide.indexOf(view, '-'));
+        assertEquals(1, table.size());
+        assertEquals(1 + 10, table.bytes());
+        assertEquals(OffHeapStringTable.DEFAULT_CHUNK_SIZE, table.capacity());
+    }
+
+    /**
+     * 随机内容与一个 {@link HashMap} 比较：第一次出现的内容得到新句柄，之后 {@code intern} 与 {@code find} 都返回它
+     */
+    @Test
+    public void internIdentity() {
+        final Random random = new Random(1);
+        for (final int chunkSize : new int[] {16, 17, 64, 4_096}) {
+            final OffHeapStringTable table = new OffHeapStringTable(chunkSize, true);
+            final Map<String, Long> expected = new HashMap<>();
+            final List<Long> handles = new ArrayList<>();
+            final List<String> texts = new ArrayList<>();
+            for (int i = 0; i < 20_000; i ++) {
+                final String text = randomText(random, random.nextInt(i % 50 == 0 ? 40 : 6));
+                final CharSequence input = random.nextBoolean() ? text : new StringBuilder(text);
+                final Long known = expected.get(text);
+                assertEquals(known == null ? OffHeapStringTable.NOT_FOUND : known, table.find(input));
+                final long handle = table.intern(input);
+                if (known == null) {
+                    expected.put(text, handle);
+                    handles.add(handle);
+                    texts.add(text);
+                } else {
+                    assertEquals(escape(text), (long) known, handle);
+                }
+            }
+            assertEquals(expected.size(), table.size());
+            final OffHeapStringTable.View view = table.view();
+            for (int i = 0; i < handles.size(); i ++) {
+                final long handle = handles.get(i);
+                final String text = texts.get(i);
+                assertEquals(handle, table.find(text));
+                assertEquals(handle, table.find(table.view(handle)));
+                assertEquals(text, table.toString(handle));
+                assertEquals(text.length(), table.length(handle));
+                assertTrue(escape(text), CharSequenceAide.equals(view.reset(handle), text));
+            }
+            // 内容相同或哈希值相同但内容不同的字符串互不混淆
+            final long aa = table.intern("Aa");
+            final long bb = table.intern("BB");
+            assertNotEquals(aa, bb);
+            assertEquals("BB", table.toString(table.find("BB")));
+        }
+    }
+
+    /**
+     * {@code add} 总是追加，索引中保留内容第一次出现的句柄
+     */
+    @Test
+    public void addKeepsFirstHandle() {
+        final OffHeapStringTable table = new OffHeapStringTable(16, true);
+        final long first = table.add("duplicate");
+        final long second = table.add("duplicate");
+        assertNotEquals(first, second);
+        assertEquals(2, table.size());
+        assertEquals(first, table.find("duplicate"));
+        assertEquals(first, table.intern("duplicate"));
+        assertEquals("duplicate", table.toString(second));
+
+        final OffHeapStringTable unindexed = new OffHeapStringTable(16, false);
+        final long handle = unindexed.add("plain");
+        assertEquals("plain", unindexed.toString(handle));
+        try {
+            unindexed.find("plain");
+            fail();
+        } catch (IllegalStateException expected) {
+            // 未建立索引
+        }
+        try {
+            unindexed.intern("plain");
+            fail();
+        } catch (IllegalStateException expected) {
+            // 未建立索引
+        }
+    }
+
+    /**
+     * 块很小时记录依次填满各块；放不下的记录开启新块，超过块大小的记录单独占用一个块，之后的记录写入下一个块
+     */
+    @Test
+    public void viewsAcrossChunkBoundaries() {
+        final int chunkSize = 16;
+        final OffHeapStringTable table = new OffHeapStringTable(chunkSize, true);
+        final List<Long> handles = new ArrayList<>();
+        final List<String> texts = new ArrayList<>();
+        final Random random = new Random(2);
+        for (int i = 0; i < 3_000; i ++) {
+            // 大多数记录为几个字节；偶尔是恰好填满一块、超过一块或长度需要多字节头部的记录
+            final int length;
+            switch (random.nextInt(20)) {
+                case 0:
+                    length = chunkSize - 1;
+                    break;
+                case 1:
+                    length = chunkSize + random.nextInt(100);
+                    break;
+                case 2:
+                    length = 64 + random.nextInt(200);
+                    break;
+                default:
+                    length = random.nextInt(8);
+                    break;
+            }
+            final String text = randomText(random, length);
+            handles.add(table.add(text));
+            texts.add(text);
+        }
+        long recordBytes = 0;
+        final OffHeapStringTable.View view = table.view();
+        for (int i = 0; i < handles.size(); i ++) {
+            final long handle = handles.get(i);
+            final String text = texts.get(i);
+            final String message = i + " " + Long.toHexString(handle);
+            view.reset(handle);
+            assertEquals(message, text.length(), view.length());
+            for (int j = 0; j < text.length(); j ++) {
+                if (text.charAt(j) != view.charAt(j)) {
+                    assertEquals(message + " @" + j, text.charAt(j), view.charAt(j));
+                }
+            }
+            assertEquals(message, text, view.toString());
+            assertTrue(message, CharSequenceAide.equals(view, text));
+            assertEquals(message, text.indexOf('\u4e2d'), CharSequenceAide.indexOf(view, '\u4e2d'));
+            assertEquals(message, text.indexOf("B0"), CharSequenceAide.indexOf(view, "B0"));
+            assertEquals(message, StringAide.isBlank(text), CharSequenceAide.isBlank(view));
+            if (text.length() > 2) {
+                assertEquals(message, text.substring(1, text.length() - 1), view.subSequence(1, text.length() - 1));
+            }
+            // 记录不跨块：记录在块内的偏移加上其长度不超过块大小，或该记录单独占用一个块
+            final int offset = (int) handle;
+            final int size = recordSize(text);
+            assertTrue(message, offset + size <= chunkSize || offset == 0);
+            recordBytes += size;
+        }
+        assertEquals(recordBytes, table.bytes());
+        assertTrue(table.capacity() >= table.bytes());
+    }
+
+    @Test
+    public void blankAndEmptyViews() {
+        final OffHeapStringTable table = new OffHeapStringTable(16, true);
+        final long empty = table.intern("");
+        final long blank = table.intern(" \t ");
+        final long wide = table.intern("\u3000\u4e2d");
+        assertEquals(empty, table.intern(new StringBuilder()));
+        final OffHeapStringTable.View view = table.view();
+        assertTrue(CharSequenceAide.isBlank(view.reset(empty)));
+        assertTrue(CharSequenceAide.equals(view, ""));
+        assertTrue(CharSequenceAide.isBlank(view.reset(blank)));
+        assertFalse(CharSequenceAide.isBlank(view.reset(wide)));
+        assertEquals(1, CharSequenceAide.indexOf(view, '\u4e2d'));
+    }
+
+    @Test
+    public void invalidArguments() {
+        try {
+            new OffHeapStringTable(15, true);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 块太小
+        }
+        final OffHeapStringTable table = new OffHeapStringTable(16, true);
+        final long handle = table.intern("abc");
+        for (final long invalid : new long[] {OffHeapStringTable.NOT_FOUND, 1L << 32, Long.MIN_VALUE}) {
+            try {
+                table.view(invalid);
+                fail(Long.toHexString(invalid));
+            } catch (IllegalArgumentException expected) {
+                // 无效的句柄
+            }
+        }
+        final OffHeapStringTable.View view = table.view(handle);
+        for (final int index : new int[] {-1, 3}) {
+            try {
+                view.charAt(index);
+                fail(String.valueOf(index));
+            } catch (StringIndexOutOfBoundsException expected) {
+                // 超出范围
+            }
+        }
+        try {
+            view.subSequence(2, 4);
+            fail();
+        } catch (StringIndexOutOfBoundsException expected) {
+            // 超出范围
+        }
+        try {
+            table.intern(null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 字符序列为 null
+        }
+    }
+
+    /**
+     * 查找句柄并通过视图读取不分配内存
+     */
+    @Test
+    public void offHeapStringLookupDoesNotAllocate() {
+        final OffHeapStringTable table = new OffHeapStringTable();
+        for (int i = 0; i < 1000; i ++) {
+            table.intern("SKU-" + i);
+        }
+        final String key = "SKU-42";
+        final OffHeapStringTable.View view = table.view();
+        assertAllocationFree("OffHeapStringTable.find + View", () -> {
+            final long handle = table.find(key);
+            return CharSequenceAide.equals(view.reset(handle), key) ? CharSequenceAide.indexOf(view, '-') : -1;
+        });
+    }
+
+    /**
+     * @return 记录的字节数：变长整数编码的头部加上 Latin-1 或 UTF-16 的字符数据
+     */
+    private static int recordSize(final String text) {
+        boolean latin1 = true;
+        for (int i = 0; i < text.length(); i ++) {
+            latin1 &= text.charAt(i) < 256;
+        }
+        final int header = text.length() << 1 | (latin1 ? 0 : 1);
+        final int headerSize = header < 1 << 7 ? 1 : header < 1 << 14 ? 2 : 3;
+        return headerSize + (latin1 ? text.length() : text.length() << 1);
+    }
+
+    private static String randomText(final Random random, final int length) {
+        final char[] chars = new char[length];
+        // 约一半的字符串只有 Latin-1 字符
+        final int bound = random.nextBoolean() ? 8 : ALPHABET.length();
+        for (int i = 0; i < length; i ++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(bound));
+        }
+        return new String(chars);
+    }
+
+    private static String escape(final String text) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < text.length(); i ++) {
+            builder.append(String.format("\\u%04x", (int) text.charAt(i)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,259 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link QuantileSketch} 的测试：分位数与秩的误差与精确排序的结果比较，覆盖单个草图、合并与并行流。</p>
+ *
+ * <p>草图的压缩使用随机种子，文档给出的秩误差约为 {@code 2 / k}；为避免偶发失败，断言的上界放宽到 {@code 4 / k}。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class QuantileSketchTest {
+
+    private static final double ERROR_FACTOR = 4.0;
+
+    @Test
+    public void emptyAndSmall() {
+        final QuantileSketch sketch = new QuantileSketch();
+        assertTrue(sketch.isEmpty());
+        assertEquals(QuantileSketch.DEFAULT_K, sketch.k());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertTrue(Double.isNaN(sketch.rank(1.0)));
+        assertTrue(Double.isNaN(sketch.min()));
+        assertTrue(Double.isNaN(sketch.max()));
+
+        sketch.update(Double.NaN);
+        assertTrue(sketch.isEmpty());
+
+        // 未压缩时结果是精确的
+        for (int i = 10; i >= 1; i --) {
+            sketch.update(i);
+        }
+        assertEquals(10, sketch.count());
+        assertEquals(1.0, sketch.min(), 0);
+        assertEquals(10.0, sketch.max(), 0);
+        assertEquals(5.0, sketch.quantile(0.5), 0);
+        assertEquals(1.0, sketch.quantile(0.05), 0);
+        assertEquals(10.0, sketch.quantile(0.95), 0);
+        assertEquals(0.3, sketch.rank(3.0), 0);
+        assertEquals(0.3, sketch.rank(3.5), 0);
+        assertEquals(0.0, sketch.rank(0.5), 0);
+        assertEquals(1.0, sketch.rank(10.0), 0);
+        assertEquals(Arrays.toString(new double[] {1.0, 5.0, 10.0}), Arrays.toString(sketch.quantiles(0, 0.5, 1)));
+    }
+
+    @Test
+    public void invalidArguments() {
+        for (final int k : new int[] {7, 65537, -1}) {
+            try {
+                new QuantileSketch(k);
+                fail("k " + k);
+            } catch (IllegalArgumentException expected) {
+                // k 超出范围
+            }
+        }
+        final QuantileSketch sketch = new QuantileSketch(8);
+        for (final double fraction : new double[] {-0.1, 1.1, Double.NaN}) {
+            try {
+                sketch.quantile(fraction);
+                fail("fraction " + fraction);
+            } catch (IllegalArgumentException expected) {
+                // 比例超出范围
+            }
+        }
+        try {
+            sketch.merge(null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 另一个草图为 null
+        }
+    }
+
+    @Test
+    public void rankErrorIsBounded() {
+        final Random random = new Random(1);
+        for (final int k : new int[] {50, 200}) {
+            for (int kind = 0; kind < 5; kind ++) {
+                final double[] data = data(random, kind, 100_000 + random.nextInt(50_000));
+                final QuantileSketch sketch = new QuantileSketch(k);
+                for (final double value : data) {
+                    sketch.update(value);
+                }
+                assertAccurate("k " + k + ", kind " + kind, sketch, data);
+            }
+        }
+    }
+
+    @Test
+    public void mergeKeepsErrorBound() {
+        final Random random = new Random(2);
+        for (final int k : new int[] {50, 200}) {
+            for (int kind = 0; kind < 5; kind ++) {
+                final double[] data = data(random, kind, 100_000 + random.nextInt(50_000));
+                // 大小不一的分段，依次合并到一个草图，以及两两合并成一棵树
+                final int parts = 2 + random.nextInt(30);
+                final QuantileSketch[] sketches = new QuantileSketch[parts];
+                for (int p = 0; p < parts; p ++) {
+                    sketches[p] = new QuantileSketch(k);
+                }
+                for (final double value : data) {
+                    final int p = random.nextInt(4) == 0 ? 0 : random.nextInt(parts);
+                    sketches[p].update(value);
+                }
+                final QuantileSketch sequential = new QuantileSketch(k);
+                for (final QuantileSketch sketch : sketches) {
+                    final long count = sketch.count();
+                    sequential.merge(sketch);
+                    // 被合并的草图不变
+                    assertEquals(count, sketch.count());
+                }
+                final String message = "k " + k + ", kind " + kind + ", " + parts + " parts";
+                assertAccurate(message, sequential, data);
+                for (int width = 1; width < parts; width <<= 1) {
+                    for (int p = 0; p + width < parts; p += width << 1) {
+                        sketches[p].merge(sketches[p + width]);
+                    }
+                }
+                assertAccurate(message + ", tree", sketches[0], data);
+
+                // 合并空草图与合并到空草图
+                final QuantileSketch empty = new QuantileSketch(k);
+                empty.merge(sequential);
+                sequential.merge(new QuantileSketch(k));
+                assertAccurate(message + ", into empty", empty, data);
+                assertAccurate(message + ", with empty", sequential, data);
+            }
+        }
+    }
+
+    @Test
+    public void parallelStream() {
+        final double[] data = data(new Random(3), 0, 1_000_000);
+        final QuantileSketch sketch = DoubleStream.of(data).parallel()
+                .collect(QuantileSketch::new, QuantileSketch::update, QuantileSketch::merge);
+        assertAccurate("parallel", sketch, data);
+    }
+
+    @Test
+    public void memoryIsBounded() {
+        final QuantileSketch sketch = new QuantileSketch(100);
+        final Random random = new Random(4);
+        for (int i = 0; i < 2_000_000; i ++) {
+            sketch.update(random.nextDouble());
+        }
+        final String description = sketch.toString();
+        final int retained = Integer.parseInt(description.replaceAll(".*retained=(\\d+).*", "$1"));
+        // 各层容量之和约为 3k，另加每层至少 8 个的下限
+        assertTrue(description, retained <= 3 * 100 + 8 * 20);
+    }
+
+    /**
+     * 断言计数、最值精确，分位数与秩的误差不超过 {@code ERROR_FACTOR / k}，且累计权重等于计数
+     */
+    private static void assertAccurate(final String message, final QuantileSketch sketch, final double[] data) {
+        final double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        final int n = sorted.length;
+        assertEquals(message, n, sketch.count());
+        assertEquals(message, sorted[0], sketch.min(), 0);
+        assertEquals(message, sorted[n - 1], sketch.max(), 0);
+        assertEquals(message, 1.0, sketch.rank(sorted[n - 1]), 0);
+        assertEquals(message, 0.0, sketch.rank(Math.nextDown(sorted[0])), 0);
+
+        final double bound = ERROR_FACTOR / sketch.k();
+        for (int i = 1; i < 200; i ++) {
+            final double fraction = i / 200.0;
+            // 重复值使真实秩是一个区间，分位数的误差按 fraction 到该区间的距离计算
+            final double value = sketch.quantile(fraction);
+            final double low = (double) lowerBound(sorted, value) / n;
+            final double high = (double) upperBound(sorted, value) / n;
+            final double error = fraction < low ? low - fraction : fraction > high ? fraction - high : 0;
+            assertTrue(message + ", quantile " + fraction + " = " + value + ", error " + error, error <= bound);
+
+            final double sample = sorted[(int) (fraction * (n - 1))];
+            final double rankError = Math.abs(sketch.rank(sample) - (double) upperBound(sorted, sample) / n);
+            assertTrue(message + ", rank " + sample + ", error " + rankError, rankError <= bound);
+        }
+    }
+
+    /**
+     * @return 均匀分布、升序、降序、大量重复值或正态分布的数据
+     */
+    private static double[] data(final Random random, final int kind, final int n) {
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i ++) {
+            switch (kind) {
+                case 0:
+                    data[i] = random.nextDouble();
+                    break;
+                case 1:
+                    data[i] = i;
+                    break;
+                case 2:
+                    data[i] = n - i;
+                    break;
+                case 3:
+                    data[i] = random.nextInt(100);
+                    break;
+                default:
+                    data[i] = random.nextGaussian() * 1e6;
+                    break;
+            }
+        }
+        return data;
+    }
+
+    private static int lowerBound(final double[] sorted, final double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(final double[] sorted, final double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,284 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link Rope} 的测试：随机的插入、删除、替换、追加与取子序列与 {@link StringBuilder} 比较，
+ * 并检查哈希值与 {@link String#hashCode()} 一致、旧版本（快照）不受后续修改影响，以及 B 树的结构约束。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class RopeTest {
+
+    @Test
+    public void randomEditsMatchStringBuilder() throws ReflectiveOperationException {
+        final Random random = new Random(1);
+        for (int round = 0; round < 20; round ++) {
+            final StringBuilder expected = new StringBuilder(randomText(random, random.nextInt(round % 2 == 0 ? 200 : 50_000)));
+            Rope rope = Rope.of(expected);
+            final List<Rope> snapshots = new ArrayList<>();
+            final List<String> contents = new ArrayList<>();
+            for (int step = 0; step < 1_000; step ++) {
+                final int length = expected.length();
+                final int start = random.nextInt(length + 1);
+                final int end = start + random.nextInt(Math.min(length - start, 3_000) + 1);
+                switch (random.nextInt(6)) {
+                    case 0: {
+                        final String text = randomText(random, randomLength(random));
+                        expected.insert(start, text);
+                        rope = rope.insert(start, text);
+                        break;
+                    }
+                    case 1:
+                        expected.delete(start, end);
+                        rope = rope.delete(start, end);
+                        break;
+                    case 2: {
+                        final String text = randomText(random, randomLength(random));
+                        expected.replace(start, end, text);
+                        rope = rope.replace(start, end, text);
+                        break;
+                    }
+                    case 3: {
+                        final String text = randomText(random, randomLength(random));
+                        expected.append(text);
+                        rope = rope.append(text);
+                        break;
+                    }
+                    case 4: {
+                        // 插入自身的子序列，共享节点
+                        final Rope part = rope.subSequence(start, end);
+                        final int at = random.nextInt(length + 1);
+                        expected.insert(at, expected.substring(start, end));
+                        rope = rope.insert(at, part);
+                        break;
+                    }
+                    default:
+                        if (length > 0 && random.nextInt(4) == 0) {
+                            // 偶尔缩小到一个子序列，覆盖高度的降低
+                            expected.setLength(end);
+                            expected.delete(0, start);
+                            rope = rope.subSequence(start, end);
+                        }
+                        break;
+                }
+                assertEquals(expected.length(), rope.length());
+                if (step % 50 == 0) {
+                    assertContent(expected.toString(), rope, random);
+                    snapshots.add(rope);
+                    contents.add(expected.toString());
+                }
+            }
+            assertContent(expected.toString(), rope, random);
+            // 快照在之后的修改中保持不变
+            for (int i = 0; i < snapshots.size(); i ++) {
+                assertEquals(contents.get(i), snapshots.get(i).toString());
+                assertEquals(contents.get(i).hashCode(), snapshots.get(i).hashCode());
+            }
+        }
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        final Random random = new Random(2);
+        final String text = randomText(random, 30_000);
+        final Rope built = Rope.of(text);
+        // 由不同的编辑过程得到的相同内容，树的形状不同
+        Rope edited = Rope.EMPTY;
+        for (int i = 0; i < text.length(); ) {
+            final int n = Math.min(text.length() - i, 1 + random.nextInt(700));
+            edited = edited.append(text.substring(i, i + n));
+            i += n;
+        }
+        assertEquals(text.hashCode(), built.hashCode());
+        assertEquals(text.hashCode(), edited.hashCode());
+        assertEquals(built, edited);
+        assertEquals(edited, built);
+        assertTrue(built.contentEquals(text));
+        assertTrue(built.contentEquals(new StringBuilder(text)));
+        assertNotEquals(built, text);
+
+        final Rope changed = built.replace(15_000, 15_001, text.charAt(15_000) == 'a' ? "b" : "a");
+        assertNotEquals(built, changed);
+        assertEquals(0, Rope.EMPTY.hashCode());
+        assertEquals(Rope.EMPTY, Rope.of(""));
+        assertEquals("".hashCode(), Rope.of("abc").delete(0, 3).hashCode());
+    }
+
+    @Test
+    public void sharingAndIdentity() {
+        final Rope rope = Rope.of(randomText(new Random(3), 5_000));
+        assertSame(rope, Rope.of(rope));
+        assertSame(rope, rope.subSequence(0, rope.length()));
+        assertSame(rope, rope.insert(100, ""));
+        assertSame(Rope.EMPTY, rope.subSequence(10, 10));
+        assertSame(Rope.EMPTY, rope.delete(0, rope.length()));
+        assertSame(Rope.EMPTY, Rope.of(new StringBuilder()));
+    }
+
+    @Test
+    public void outOfRange() {
+        final Rope rope = Rope.of("abcdef");
+        final Runnable[] calls = {
+                () -> rope.charAt(-1),
+                () -> rope.charAt(6),
+                () -> rope.insert(7, "x"),
+                () -> rope.insert(-1, "x"),
+                () -> rope.delete(3, 2),
+                () -> rope.delete(0, 7),
+                () -> rope.subSequence(-1, 2),
+                () -> rope.replace(5, 8, "x"),
+                () -> rope.getChars(0, 6, new char[5], 0),
+                () -> rope.getChars(0, 3, new char[5], 3),
+        };
+        for (int i = 0; i < calls.length; i ++) {
+            try {
+                calls[i].run();
+                fail("call " + i);
+            } catch (IndexOutOfBoundsException expected) {
+                // 超出范围
+            }
+        }
+    }
+
+    /**
+     * 跨叶子节点的查找与比较不分配内存
+     */
+    @Test
+    public void ropeSearchDoesNotAllocate() {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i ++) {
+            text.append(Allocations.TEXT).append(' ');
+        }
+        final Rope rope = Rope.of(text).insert(7_000, "needle");
+        final Rope blank = Rope.of(text.toString().replaceAll("\\S", " "));
+        assertAllocationFree("CharSequenceAide.indexOf(Rope, char)", () -> CharSequenceAide.indexOf(rope, 'z', 5_000));
+        assertAllocationFree("CharSequenceAide.indexOf(Rope, String)", () -> CharSequenceAide.indexOf(rope, "needle"));
+        assertAllocationFree("CharSequenceAide.isBlank(Rope)", () -> CharSequenceAide.isBlank(blank) ? 1 : 0);
+        assertAllocationFree("CharSequenceAide.regionMatches(Rope)",
+                () -> CharSequenceAide.regionMatches(true, rope, 7_000, "NEEDLE", 0, 6) ? 1 : 0);
+    }
+
+    /**
+     * 逐字符、批量复制、子序列、查找与结构约束
+     */
+    private static void assertContent(final String expected, final Rope rope, final Random random) throws ReflectiveOperationException {
+        assertEquals(expected, rope.toString());
+        assertEquals(expected.hashCode(), rope.hashCode());
+        assertTrue(rope.contentEquals(expected));
+        for (int i = 0; i < 200 && !expected.isEmpty(); i ++) {
+            final int index = random.nextInt(expected.length());
+            assertEquals(expected.charAt(index), rope.charAt(index));
+        }
+        for (int i = 0; i < 20; i ++) {
+            final int start = random.nextInt(expected.length() + 1);
+            final int end = start + random.nextInt(expected.length() - start + 1);
+            final char[] chars = new char[end - start + 2];
+            rope.getChars(start, end, chars, 1);
+            assertEquals(expected.substring(start, end), new String(chars, 1, end - start));
+            final Rope part = rope.subSequence(start, end);
+            assertEquals(expected.substring(start, end), part.toString());
+            assertEquals(expected.substring(start, end).hashCode(), part.hashCode());
+            checkTree(part);
+        }
+        final String needle = expected.length() > 10 ? expected.substring(expected.length() / 2, expected.length() / 2 + 5) : "ab";
+        assertEquals(expected.indexOf(needle), CharSequenceAide.indexOf(rope, needle));
+        assertEquals(expected.indexOf('z'), CharSequenceAide.indexOf(rope, 'z'));
+        assertEquals(expected.trim().isEmpty(), CharSequenceAide.isBlank(rope));
+        checkTree(rope);
+    }
+
+    /**
+     * 通过反射检查：同一分支的子节点高度相同，长度与起始索引一致，叶子不超过 {@link Rope#MAX_LEAF}，
+     * 分支不超过 {@link Rope#MAX_CHILDREN}，且高度为对数级别
+     */
+    private static void checkTree(final Rope rope) throws ReflectiveOperationException {
+        final Field root = Rope.class.getDeclaredField("root");
+        root.setAccessible(true);
+        final Object node = root.get(rope);
+        final int height = check(node);
+        // 最小填充的 B 树中，高度不超过 log_8(n / 512) 再加上根与边界上的少量欠满节点
+        final double bound = 3 + Math.log(Math.max(1, rope.length() / (double) Rope.MIN_LEAF)) / Math.log(Rope.MIN_CHILDREN);
+        assertTrue("height " + height + ", length " + rope.length(), height <= bound);
+    }
+
+    private static int check(final Object node) throws ReflectiveOperationException {
+        final Class<?> type = node.getClass();
+        final int length = field(type.getSuperclass(), "length").getInt(node);
+        final int height = field(type.getSuperclass(), "height").getInt(node);
+        if (height == 0) {
+            final char[] chars = (char[]) field(type, "chars").get(node);
+            assertEquals(chars.length, length);
+            assertTrue(length <= Rope.MAX_LEAF);
+            return 0;
+        }
+        final Object[] children = (Object[]) field(type, "children").get(node);
+        final int[] starts = (int[]) field(type, "starts").get(node);
+        assertTrue(children.length >= 1 && children.length <= Rope.MAX_CHILDREN);
+        int offset = 0;
+        for (int i = 0; i < children.length; i ++) {
+            assertEquals(offset, starts[i]);
+            assertEquals(height - 1, check(children[i]));
+            offset += field(children[i].getClass().getSuperclass(), "length").getInt(children[i]);
+        }
+        assertEquals(offset, length);
+        return height;
+    }
+
+    private static Field field(final Class<?> type, final String name) throws NoSuchFieldException {
+        final Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    private static int randomLength(final Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(3);
+            case 1:
+                return random.nextInt(100);
+            case 2:
+                return 400 + random.nextInt(800);
+            default:
+                return random.nextInt(5_000);
+        }
+    }
+
+    private static String randomText(final Random random, final int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i ++) {
+            final int r = random.nextInt(40);
+            chars[i] = r == 0 ? ' ' : r == 1 ? '\u4e2d' : (char) ('a' + r % 26);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,428 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link Splitter} 的测试：按字符、字符串与字符集合拆分的结果与按 Guava {@code Splitter} 的规则实现的参考拆分一致，
+ * 包括 {@code trim}、{@code omitEmpty}、{@code limit} 的各种组合、开头与结尾的空分段；
+ * {@link Splitter.Cursor} 在 {@code String}、{@code StringBuilder}、{@code CharBuffer} 等输入上给出相同的位置与分段，
+ * 通过 {@code reset} 复用时不残留上一行的状态。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class SplitterTest {
+
+    /** 随机输入使用的字符：分隔符、空白（含全角空格）、Latin-1 与非 Latin-1 字符 */
+    private static final char[] ALPHABET = {'a', 'b', ',', ',', ';', ':', ' ', ' ', '\t', '\u00e9', '\u4e2d', '\u3000', '\u012c'};
+
+    private static final Separator[] SEPARATORS = {
+            Separator.on(','), Separator.on(':'), Separator.on("::"), Separator.on(", "), Separator.on(" ,"),
+            Separator.on("\u4e2d\u4e2d"), Separator.anyOf(",;"), Separator.anyOf(",\u4e2d"), Separator.anyOf(" \u00e9\u4e2d"),
+            Separator.anyOf("\u4e2d\u3000"), Separator.anyOf(";\u012c")
+    };
+
+    @Test
+    public void documentedExamples() {
+        assertEquals(Arrays.asList("a", "b", "", "c"), Splitter.on(',').split("a,b,,c"));
+        assertEquals(Arrays.asList("a", "b", "c"), Splitter.on(',').omitEmpty().split("a,b,,c"));
+        assertEquals(Arrays.asList("a", "b"), Splitter.on(',').trim().split(" a , b "));
+        assertEquals(Arrays.asList("a", "b", "c"), Splitter.on("::").split("a::b::c"));
+        assertEquals(Arrays.asList("a", "b", "c"), Splitter.onAnyOf(",;").split("a,b;c"));
+        assertEquals(Arrays.asList("a", "b,c"), Splitter.on(',').limit(2).split("a,b,c"));
+        assertEquals(Collections.singletonList(""), Splitter.on(',').split(""));
+        assertEquals(Arrays.asList("a", ""), Splitter.on(',').split("a,"));
+        assertEquals(Collections.emptyList(), Splitter.on(',').split(null));
+
+        assertEquals(Collections.singletonList(",aa"), Splitter.on(',').limit(1).split(",aa"));
+        assertEquals(Collections.singletonList("aa"), Splitter.on(',').omitEmpty().limit(1).split(",aa"));
+        assertEquals(Arrays.asList("a", "b,,c"), Splitter.on(',').omitEmpty().limit(2).split("a,,b,,c"));
+        assertEquals(Arrays.asList("a", "b, c"), Splitter.on(',').trim().omitEmpty().limit(2).split("a, ,b, c "));
+
+        final String line = "42,name,rest";
+        final Splitter.Cursor cursor = Splitter.on(',').cursor(StringAide.EMPTY);
+        cursor.reset(line);
+        assertTrue(cursor.next());
+        assertEquals(42, CharSequenceAide.parseInt(line, cursor.start(), cursor.end()));
+        assertTrue(cursor.next());
+        assertEquals("name", cursor.token().toString());
+        assertEquals(1, cursor.index());
+    }
+
+    @Test
+    public void emptyTokens() {
+        assertEquals(Arrays.asList("", "a", ""), Splitter.on(',').split(",a,"));
+        assertEquals(Arrays.asList("", "", ""), Splitter.on(',').split(",,"));
+        assertEquals(Arrays.asList("", "a", ""), Splitter.on("::").split("::a::"));
+        assertEquals(Arrays.asList("", "a", "b", ""), Splitter.onAnyOf(",;").split(";a,b,"));
+        assertEquals(Collections.singletonList("a"), Splitter.on(',').omitEmpty().split(",a,"));
+        assertEquals(Collections.emptyList(), Splitter.on(',').omitEmpty().split(",,"));
+        assertEquals(Collections.emptyList(), Splitter.on(',').omitEmpty().split(""));
+        assertEquals(Collections.singletonList(""), Splitter.on(',').trim().split("  "));
+        assertEquals(Collections.emptyList(), Splitter.on(',').trim().omitEmpty().split(" , \t"));
+        assertEquals(Collections.singletonList(""), Splitter.on(',').limit(1).split(""));
+        assertEquals(Collections.emptyList(), Splitter.on(',').omitEmpty().limit(1).split(",,"));
+        assertEquals(Collections.singletonList("a"), Splitter.on(',').omitEmpty().limit(2).split("a,,"));
+        // 分隔符以空白开头时，跳过空分段不能吞掉分隔符的一部分
+        assertEquals(Collections.singletonList("x"), Splitter.on(" ,").trim().omitEmpty().limit(1).split("  ,x"));
+        // 最后一个分段去掉首尾空白，即使它从空白分隔符开始
+        assertEquals(Arrays.asList("a", "b"), Splitter.on(' ').trim().limit(2).split("a  b "));
+    }
+
+    @Test
+    public void nonLatin1Separators() {
+        assertEquals(Arrays.asList("a", "b", "c"), Splitter.onAnyOf(",\u4e2d").split("a\u4e2db,c"));
+        assertEquals(Arrays.asList("a", "b"), Splitter.on('\u4e2d').split("a\u4e2db"));
+        assertEquals(Arrays.asList("a", "b"), Splitter.on("\u4e2d\u6587").split("a\u4e2d\u6587b"));
+        // 与 Latin-1 分隔符相差 256 的字符不能被位图误判为分隔符
+        assertEquals(Collections.singletonList("a\u012cb"), Splitter.onAnyOf(",;").split("a\u012cb"));
+        assertEquals(Arrays.asList("a", "b"), Splitter.onAnyOf(",\u012c").split("a\u012cb"));
+        assertEquals(Arrays.asList("a", "b"), Splitter.on(',').trim().split("\u3000a\u3000,b"));
+    }
+
+    @Test
+    public void invalidArguments() {
+        try {
+            Splitter.on("");
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 分隔字符串为空
+        }
+        try {
+            Splitter.on((CharSequence) null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 分隔字符串为 null
+        }
+        try {
+            Splitter.onAnyOf("");
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 分隔字符集合为空
+        }
+        try {
+            Splitter.on(',').limit(0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // limit 必须大于 0
+        }
+        try {
+            Splitter.on(',').cursor(null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 游标的输入不能为 null
+        }
+        try {
+            Splitter.on(',').cursor("a").reset(null);
+            fail();
+        } catch (NullPointerException expected) {
+            // 游标的输入不能为 null
+        }
+    }
+
+    /**
+     * 只读取部分分段后 {@code reset}，游标从新输入的开头重新开始；读完后 {@code next()} 一直返回 {@code false}
+     */
+    @Test
+    public void cursorReset() {
+        final Splitter.Cursor cursor = Splitter.on(',').limit(2).cursor("a,b,c");
+        assertTrue(cursor.next());
+        assertEquals("a", cursor.tokenString());
+        cursor.reset(new StringBuilder("x,y,z"));
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.index());
+        assertEquals("x", cursor.tokenString());
+        assertTrue(cursor.next());
+        assertEquals("y,z", cursor.token().toString());
+        assertEquals(2, cursor.start());
+        assertEquals(5, cursor.end());
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        cursor.reset("");
+        assertTrue(cursor.next());
+        assertEquals("", cursor.tokenString());
+        assertFalse(cursor.next());
+    }
+
+    /**
+     * 随机的分隔符、选项与输入：{@code split} 与游标在各种输入类型上的结果与参考拆分一致，
+     * 每个拆分器只使用一个游标，通过 {@code reset} 复用
+     */
+    @Test
+    public void matchesReference() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 20_000; round ++) {
+            final Separator separator = SEPARATORS[random.nextInt(SEPARATORS.length)];
+            final boolean trim = random.nextBoolean();
+            final boolean omitEmpty = random.nextBoolean();
+            final int limit = random.nextInt(3) == 0 ? 1 + random.nextInt(4) : Integer.MAX_VALUE;
+            Splitter splitter = separator.splitter();
+            if (trim) {
+                splitter = splitter.trim();
+            }
+            if (omitEmpty) {
+                splitter = splitter.omitEmpty();
+            }
+            if (limit != Integer.MAX_VALUE) {
+                splitter = splitter.limit(limit);
+            }
+            final Splitter.Cursor cursor = splitter.cursor(StringAide.EMPTY);
+            for (int line = 0; line < 3; line ++) {
+                final String input = randomInput(random);
+                final List<int[]> expected = reference(input, separator, trim, omitEmpty, limit);
+                final List<String> expectedTokens = new ArrayList<>();
+                for (final int[] range : expected) {
+                    expectedTokens.add(input.substring(range[0], range[1]));
+                }
+                for (final CharSequence sequence : sequences(input)) {
+                    final List<String> tokens = splitter.split(sequence);
+                    if (!expectedTokens.equals(tokens)) {
+                        assertEquals(describe(separator, trim, omitEmpty, limit, sequence), expectedTokens, tokens);
+                    }
+                    cursor.reset(sequence);
+                    for (int i = 0; i < expected.size(); i ++) {
+                        final int[] range = expected.get(i);
+                        if (!cursor.next() || cursor.index() != i || cursor.start() != range[0] || cursor.end() != range[1]
+                                || !expectedTokens.get(i).equals(cursor.token().toString())
+                                || cursor.token().length() != range[1] - range[0]
+                                || !expectedTokens.get(i).equals(cursor.tokenString())) {
+                            fail(describe(separator, trim, omitEmpty, limit, sequence) + " token " + i + " expected "
+                                    + Arrays.toString(range) + " but was [" + cursor.start() + ", " + cursor.end() + "]");
+                        }
+                    }
+                    if (cursor.next()) {
+                        fail(describe(separator, trim, omitEmpty, limit, sequence) + " extra token " + cursor.tokenString());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 游标遍历片段不分配内存
+     */
+    @Test
+    public void splitterCursorDoesNotAllocate() {
+        final StringBuilder builder = new StringBuilder(Allocations.TEXT);
+        final String line = "42, Kuniel ,kuniel@lomcat.com,,Shanghai";
+        final Splitter.Cursor cursor = Splitter.on(',').trim().omitEmpty().cursor(line);
+        assertAllocationFree("Splitter.Cursor.next + token", () -> {
+            cursor.reset(line);
+            long sum = 0;
+            while (cursor.next()) {
+                sum += cursor.token().length();
+            }
+            return sum;
+        });
+        final Splitter.Cursor builderCursor = Splitter.on(" again").cursor(builder);
+        assertAllocationFree("Splitter.Cursor over StringBuilder", () -> {
+            builderCursor.reset(builder);
+            long sum = 0;
+            while (builderCursor.next()) {
+                sum += builderCursor.end();
+            }
+            return sum;
+        });
+    }
+
+    /**
+     * 按 Guava {@code Splitter} 的规则拆分：{@code trim} 后为空的分段在 {@code omitEmpty} 时跳过，
+     * 剩余一个名额时从下一个非空分段的开始处取到结尾；与 Guava 不同，最后一个分段的开头同样去掉空白
+     *
+     * @return 每个分段的 {@code [start, end)}
+     */
+    private static List<int[]> reference(final String input, final Separator separator, final boolean trim,
+                                         final boolean omitEmpty, final int limit) {
+        final List<int[]> ranges = new ArrayList<>();
+        final int length = input.length();
+        int remaining = limit;
+        int offset = 0;
+        while (offset != -1) {
+            int start = offset;
+            int end;
+            final int found = separator.indexOf(input, offset);
+            if (found < 0) {
+                end = length;
+                offset = -1;
+            } else {
+                end = found;
+                offset = found + separator.length();
+            }
+            if (trim) {
+                while (start < end && Character.isWhitespace(input.charAt(start))) {
+                    start ++;
+                }
+                while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+                    end --;
+                }
+            }
+            if (omitEmpty && start == end) {
+                continue;
+            }
+            if (remaining == 1) {
+                end = length;
+                offset = -1;
+                if (trim) {
+                    while (start < end && Character.isWhitespace(input.charAt(start))) {
+                        start ++;
+                    }
+                    while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+                        end --;
+                    }
+                }
+            } else {
+                remaining --;
+            }
+            ranges.add(new int[] {start, end});
+        }
+        return ranges;
+    }
+
+    /**
+     * @return 内容相同的 {@code String}、{@code StringBuilder}、非零 {@code arrayOffset} 与 {@code position} 的
+     *         {@code CharBuffer}、非数组的 {@code CharBuffer}、{@link CharSequenceView} 与自定义字符序列
+     */
+    private static List<CharSequence> sequences(final String input) {
+        final CharBuffer whole = CharBuffer.wrap(("[(" + input + ")").toCharArray());
+        whole.position(1);
+        final CharBuffer sliced = whole.slice();
+        sliced.position(1);
+        sliced.limit(1 + input.length());
+        return Arrays.asList(
+                input,
+                new StringBuilder(input),
+                sliced,
+                CharBuffer.wrap(input),
+                CharSequenceView.of("(" + input + ")", 1, input.length() + 1),
+                new GenericSequence(input));
+    }
+
+    private static String randomInput(final Random random) {
+        final char[] chars = new char[random.nextInt(random.nextInt(8) == 0 ? 300 : 16)];
+        for (int i = 0; i < chars.length; i ++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+
+    private static String describe(final Separator separator, final boolean trim, final boolean omitEmpty, final int limit,
+                                   final CharSequence input) {
+        return separator + " trim=" + trim + " omitEmpty=" + omitEmpty + " limit=" + limit + " "
+                + input.getClass().getSimpleName() + " \"" + input + "\"";
+    }
+
+    /**
+     * 参考拆分使用的分隔符：单个字符、固定字符串或字符集合
+     */
+    private static final class Separator {
+
+        private final String text;
+        private final boolean anyOf;
+
+        private Separator(final String text, final boolean anyOf) {
+            this.text = text;
+            this.anyOf = anyOf;
+        }
+
+        static Separator on(final char separator) {
+            return new Separator(String.valueOf(separator), false);
+        }
+
+        static Separator on(final String separator) {
+            return new Separator(separator, false);
+        }
+
+        static Separator anyOf(final String separators) {
+            return new Separator(separators, true);
+        }
+
+        Splitter splitter() {
+            if (anyOf) {
+                return Splitter.onAnyOf(text);
+            }
+            return text.length() == 1 ? Splitter.on(text.charAt(0)) : Splitter.on(new StringBuilder(text));
+        }
+
+        int indexOf(final String input, final int fromIndex) {
+            if (!anyOf) {
+                return input.indexOf(text, fromIndex);
+            }
+            for (int i = fromIndex; i < input.length(); i ++) {
+                if (text.indexOf(input.charAt(i)) >= 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int length() {
+            return anyOf ? 1 : text.length();
+        }
+
+        @Override
+        public String toString() {
+            return (anyOf ? "anyOf(\"" : "on(\"") + text + "\")";
+        }
+    }
+
+    /**
+     * 没有特殊处理的字符序列
+     */
+    private static final class GenericSequence implements CharSequence {
+
+        private final String text;
+
+        GenericSequence(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new GenericSequence(text.substring(start, end));
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link StringMemoizer} 的测试：命中、未命中与淘汰的计数，各种字符序列按内容查找，结果为 {@code null} 的变换，
+ * 容量上限，以及 W-TinyLFU 在一次性输入的冲击下保留热点。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class StringMemoizerTest {
+
+    @Test
+    public void documentedExample() {
+        final StringMemoizer normalize = StringAide.memoize(s -> StringAide.truncate(StringAide.trims(s), 32), 10_000);
+        assertEquals(1.0, normalize.hitRate(), 0);
+        assertEquals("SKU-0042", normalize.apply(" SKU - 0042 "));
+        assertEquals("SKU-0042", normalize.apply(new StringBuilder(" SKU - 0042 ")));
+        assertEquals(1, normalize.hitCount());
+        assertEquals(1, normalize.missCount());
+        assertEquals(0.5, normalize.hitRate(), 0);
+        assertEquals(1, normalize.size());
+        assertEquals(10_000, normalize.maxEntries());
+        assertEquals("StringMemoizer[size=1, maxEntries=10000, hits=1, misses=1, evictions=0]", normalize.toString());
+    }
+
+    @Test
+    public void accounting() {
+        final Random random = new Random(1);
+        for (final int maxEntries : new int[] {1, 3, 64, 100, 1_000, 5_000}) {
+            final AtomicInteger calls = new AtomicInteger();
+            final StringMemoizer memoizer = StringAide.memoize(s -> {
+                calls.incrementAndGet();
+                return s.toUpperCase();
+            }, maxEntries);
+            long requests = 0;
+            for (int i = 0; i < 50_000; i ++) {
+                // 约一半的输入在容量以内，其余是大量不重复的输入
+                final String key = "k" + (random.nextBoolean() ? random.nextInt(maxEntries) : random.nextInt(1_000_000));
+                assertEquals(key.toUpperCase(), memoizer.apply(key));
+                requests ++;
+                if (i % 1_000 == 0) {
+                    assertInvariants(memoizer, requests, calls.get());
+                }
+            }
+            assertInvariants(memoizer, requests, calls.get());
+            assertTrue(memoizer.evictionCount() > 0);
+            // 大量不同的输入后缓存是满的
+            assertEquals(maxEntries, memoizer.size());
+
+            memoizer.clear();
+            assertEquals(0, memoizer.size());
+            assertEquals(requests, memoizer.hitCount() + memoizer.missCount());
+            final int before = calls.get();
+            memoizer.apply("k0");
+            assertEquals(before + 1, calls.get());
+        }
+    }
+
+    @Test
+    public void charSequenceLookups() {
+        final AtomicInteger calls = new AtomicInteger();
+        final StringMemoizer memoizer = StringAide.memoize(s -> {
+            calls.incrementAndGet();
+            assertEquals(String.class, s.getClass());
+            return "<" + s + ">";
+        }, 100);
+        assertEquals("<hello>", memoizer.apply("hello"));
+        final CountingSequence counting = new CountingSequence("hello");
+        final CharSequence[] inputs = {
+                "hello",
+                new String("hello".toCharArray()),
+                new StringBuilder("hello"),
+                new StringBuffer("hello"),
+                CharBuffer.wrap("(hello)".toCharArray(), 1, 5),
+                CharSequenceView.of("say hello!", 4, 9),
+                AsciiSequence.of("hello"),
+                Rope.of("hello"),
+                counting,
+        };
+        for (final CharSequence input : inputs) {
+            assertEquals(input.getClass().getName(), "<hello>", memoizer.apply(input));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(inputs.length, memoizer.hitCount());
+        // 命中时不构造 String
+        assertEquals(0, counting.toStrings);
+
+        // 未命中时才调用 toString()，之后以 String 查找同样命中
+        final CountingSequence other = new CountingSequence("world");
+        assertEquals("<world>", memoizer.apply(other));
+        assertEquals(1, other.toStrings);
+        assertEquals("<world>", memoizer.apply("world"));
+        assertEquals(2, calls.get());
+
+        // 内容不同、长度或哈希值相同的输入不会误命中
+        assertEquals("<Aa>", memoizer.apply("Aa"));
+        assertEquals("<BB>", memoizer.apply(new StringBuilder("BB")));
+        assertEquals("<hell>", memoizer.apply(CharSequenceView.of("hello", 0, 4)));
+        assertEquals("<>", memoizer.apply(""));
+        assertEquals("<>", memoizer.apply(new StringBuilder()));
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    public void nullResultsAndInputs() {
+        final AtomicInteger calls = new AtomicInteger();
+        final StringMemoizer memoizer = StringAide.memoize(s -> {
+            calls.incrementAndGet();
+            return s == null || s.isEmpty() ? null : s.trim().isEmpty() ? null : s.trim();
+        }, 10);
+        assertNull(memoizer.apply("   "));
+        assertNull(memoizer.apply("   "));
+        assertNull(memoizer.apply(new StringBuilder("   ")));
+        assertEquals(1, calls.get());
+        assertEquals(2, memoizer.hitCount());
+        assertEquals(1, memoizer.size());
+
+        // null 输入直接交给变换，不缓存也不计入统计
+        assertNull(memoizer.apply(null));
+        assertNull(memoizer.apply(null));
+        assertEquals(3, calls.get());
+        assertEquals(2, memoizer.hitCount());
+        assertEquals(1, memoizer.missCount());
+        assertEquals(1, memoizer.size());
+
+        final StringMemoizer identity = StringAide.memoize(Function.identity(), 10);
+        assertEquals(null, identity.apply(null));
+    }
+
+    @Test
+    public void invalidArguments() {
+        try {
+            StringAide.memoize(null, 10);
+            fail();
+        } catch (NullPointerException expected) {
+            // 变换为 null
+        }
+        for (final int maxEntries : new int[] {0, -1}) {
+            try {
+                StringAide.memoize(Function.identity(), maxEntries);
+                fail("maxEntries " + maxEntries);
+            } catch (IllegalArgumentException expected) {
+                // 容量不是正数
+            }
+        }
+    }
+
+    /**
+     * 热点在大量一次性输入之后仍被保留；Zipf 分布的输入下命中率不低于同容量的 LRU
+     */
+    @Test
+    public void frequencyBasedAdmission() {
+        final int capacity = 1_000;
+        final AtomicInteger calls = new AtomicInteger();
+        final StringMemoizer memoizer = StringAide.memoize(s -> {
+            calls.incrementAndGet();
+            return s;
+        }, capacity);
+        for (int round = 0; round < 20; round ++) {
+            for (int i = 0; i < 200; i ++) {
+                memoizer.apply("hot" + i);
+            }
+        }
+        for (int i = 0; i < 100_000; i ++) {
+            memoizer.apply("scan" + i);
+            if (i % 10 == 0) {
+                memoizer.apply("hot" + (i / 10 % 200));
+            }
+        }
+        final int before = calls.get();
+        for (int i = 0; i < 200; i ++) {
+            memoizer.apply("hot" + i);
+        }
+        assertTrue("hot misses " + (calls.get() - before), calls.get() - before <= 10);
+        assertEquals(capacity, memoizer.size());
+
+        final Random random = new Random(2);
+        final StringMemoizer zipf = StringAide.memoize(Function.identity(), capacity);
+        final Map<String, String> lru = new LinkedHashMap<String, String>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+        final double[] cumulative = zipfCumulative(100_000, 0.9);
+        long lruHits = 0;
+        for (int i = 0; i < 300_000; i ++) {
+            final String key = "z" + sampleZipf(cumulative, random);
+            zipf.apply(key);
+            if (lru.get(key) != null) {
+                lruHits ++;
+            } else {
+                lru.put(key, key);
+            }
+        }
+        assertTrue(zipf.hitCount() + " / " + lruHits, zipf.hitCount() > lruHits);
+        assertTrue(zipf.size() <= capacity);
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        final int threads = 8;
+        final int requests = 50_000;
+        final AtomicInteger calls = new AtomicInteger();
+        final StringMemoizer memoizer = StringAide.memoize(s -> {
+            calls.incrementAndGet();
+            return StringAide.upperCase(s);
+        }, 500);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t ++) {
+                final long seed = t;
+                futures.add(executor.submit(() -> {
+                    final Random random = new Random(seed);
+                    for (int i = 0; i < requests; i ++) {
+                        final String key = "c" + random.nextInt(random.nextBoolean() ? 300 : 5_000);
+                        assertEquals(key.toUpperCase(), memoizer.apply(new StringBuilder(key)));
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals((long) threads * requests, memoizer.hitCount() + memoizer.missCount());
+        assertEquals(calls.get(), memoizer.missCount());
+        assertTrue(memoizer.size() <= 500);
+        // 多个线程同时未命中同一个输入时只保留一份，淘汰数不超过写入数减去当前条目数
+        assertTrue(memoizer.evictionCount() <= memoizer.missCount() - memoizer.size());
+    }
+
+    /**
+     * 命中缓存时不分配内存
+     */
+    @Test
+    public void memoizedHitDoesNotAllocate() {
+        final String text = Allocations.TEXT;
+        final StringBuilder builder = new StringBuilder(text);
+        final StringMemoizer memoizer = StringAide.memoize(StringAide::trims, 100);
+        memoizer.apply(text);
+        assertAllocationFree("StringMemoizer.apply(String)", () -> memoizer.apply(text).length());
+        assertAllocationFree("StringMemoizer.apply(StringBuilder)", () -> memoizer.apply(builder).length());
+    }
+
+    /**
+     * 单线程下每次未命中执行一次变换并写入一个条目，条目数等于未命中数减去淘汰数
+     */
+    private static void assertInvariants(final StringMemoizer memoizer, final long requests, final int calls) {
+        final String message = memoizer.toString();
+        assertEquals(message, requests, memoizer.hitCount() + memoizer.missCount());
+        assertEquals(message, calls, memoizer.missCount());
+        assertEquals(message, memoizer.missCount() - memoizer.evictionCount(), memoizer.size());
+        assertTrue(message, memoizer.size() <= memoizer.maxEntries());
+    }
+
+    private static double[] zipfCumulative(final int n, final double exponent) {
+        final double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i ++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i ++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sampleZipf(final double[] cumulative, final Random random) {
+        final double r = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (cumulative[middle] < r) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 记录 {@code toString()} 调用次数的字符序列
+     */
+    private static final class CountingSequence implements CharSequence {
+
+        private final String text;
+        int toStrings;
+
+        CountingSequence(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            toStrings ++;
+            return text;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <p>{@link TextIndex}、{@link SuffixSorter} 与 {@link WaveletMatrix} 的测试，结果与逐个位置的朴素查找比较。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class TextIndexTest {
+
+    private static final String[] PATTERNS = {"", "a", "b", "ab", "abra", "bra", "aa", "aaa", "cad", "z", "abracadabra", "abracadabraa"};
+
+    @Test
+    public void suffixArrayIsSorted() {
+        final Random random = new Random(1);
+        // 超过并行排序的叶子大小，覆盖分治路径
+        for (final int length : new int[] {0, 1, 2, 17, 1_000, 40_000}) {
+            final char[] text = randomText(random, length, 3);
+            assertArrayEquals("length " + length, naiveSuffixArray(text), SuffixSorter.suffixArray(text));
+        }
+        final char[] repeated = new char[5_000];
+        Arrays.fill(repeated, 'a');
+        assertArrayEquals(naiveSuffixArray(repeated), SuffixSorter.suffixArray(repeated));
+    }
+
+    @Test
+    public void waveletMatrixMatchesNaive() {
+        final Random random = new Random(2);
+        final int[] values = new int[1_000];
+        for (int i = 0; i < values.length; i ++) {
+            values[i] = random.nextInt(300);
+        }
+        final WaveletMatrix matrix = new WaveletMatrix(values, 300);
+        for (int round = 0; round < 2_000; round ++) {
+            final int from = random.nextInt(values.length);
+            final int to = from + 1 + random.nextInt(values.length - from);
+            final int[] sorted = Arrays.copyOfRange(values, from, to);
+            Arrays.sort(sorted);
+            final int k = random.nextInt(to - from);
+            assertEquals(sorted[k], matrix.quantile(from, to, k));
+            final int bound = random.nextInt(320) - 10;
+            int less = 0;
+            for (final int value : sorted) {
+                less += value < bound ? 1 : 0;
+            }
+            assertEquals(less, matrix.countLess(from, to, bound));
+        }
+    }
+
+    @Test
+    public void documentedExamples() {
+        final TextIndex index = TextIndex.of("abracadabra");
+        assertEquals(2, index.count("abra"));
+        assertEquals(3, index.indexOf("a", 1));
+        assertEquals(7, index.lastIndexOf("abra"));
+        assertEquals(5, index.ordinalIndexOf("a", 3));
+        assertEquals(7, index.ordinalLastIndexOf("a", 2));
+        assertArrayEquals(new int[] {1, 8}, index.indexesOf("bra"));
+    }
+
+    @Test
+    public void emptyPatternMatchesEveryPosition() {
+        final TextIndex index = TextIndex.of("abc");
+        assertEquals(4, index.count(""));
+        assertEquals(index.count(""), index.indexesOf("").length);
+        assertEquals(0, index.indexOf(""));
+        assertEquals(3, index.indexOf("", 7));
+        assertEquals(3, index.lastIndexOf(""));
+        assertEquals(1, TextIndex.of("").count(""));
+        assertEquals(0, index.count(null));
+        assertEquals(-1, index.indexOf(null));
+        assertEquals(0, index.indexesOf(null).length);
+    }
+
+    @Test
+    public void queriesMatchNaiveSearch() {
+        final Random random = new Random(3);
+        final List<String> texts = new ArrayList<>(Arrays.asList("", "a", "abracadabra", "aaaaaaaaaa"));
+        for (int i = 0; i < 20; i ++) {
+            texts.add(new String(randomText(random, random.nextInt(200), 2 + random.nextInt(3))));
+        }
+        for (final String text : texts) {
+            final TextIndex index = TextIndex.of(new StringBuilder(text));
+            for (final String pattern : patterns(random, text)) {
+                assertQueries(text, index, pattern);
+            }
+        }
+    }
+
+    @Test
+    public void writeToAndReadFromRoundTrip() throws IOException {
+        final Random random = new Random(4);
+        final String text = new String(randomText(random, 50_000, 4));
+        final TextIndex index = TextIndex.of(text);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+        final TextIndex loaded = TextIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(text.length(), loaded.length());
+        for (final String pattern : patterns(random, text)) {
+            assertEquals(index.count(pattern), loaded.count(pattern));
+            assertArrayEquals(index.indexesOf(pattern), loaded.indexesOf(pattern));
+            assertEquals(index.indexOf(pattern, 1000), loaded.indexOf(pattern, 1000));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void readFromRejectsForeignData() throws IOException {
+        TextIndex.readFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+
+    private static void assertQueries(final String text, final TextIndex index, final String pattern) {
+        final String message = "text \"" + text + "\", pattern \"" + pattern + "\"";
+        final int[] expected = naiveIndexes(text, pattern);
+        assertArrayEquals(message, expected, index.indexesOf(pattern));
+        assertEquals(message, expected.length, index.count(pattern));
+        assertEquals(message, text.indexOf(pattern), index.indexOf(pattern));
+        assertEquals(message, text.lastIndexOf(pattern), index.lastIndexOf(pattern));
+        // 包括越界的 fromIndex
+        for (int from = -2; from <= text.length() + 2; from += from < 3 || from > text.length() - 3 ? 1 : 7) {
+            assertEquals(message + ", from " + from, text.indexOf(pattern, from), index.indexOf(pattern, from));
+            assertEquals(message + ", from " + from, text.lastIndexOf(pattern, from), index.lastIndexOf(pattern, from));
+        }
+        for (int ordinal = 0; ordinal <= expected.length + 1; ordinal ++) {
+            assertEquals(message + ", ordinal " + ordinal,
+                    CharSequenceAide.ordinalIndexOf(text, pattern, ordinal), index.ordinalIndexOf(pattern, ordinal));
+            assertEquals(message + ", ordinal " + ordinal,
+                    CharSequenceAide.ordinalIndexOf(text, pattern, ordinal, true), index.ordinalLastIndexOf(pattern, ordinal));
+            if (pattern.length() > 0 && ordinal > 0) {
+                assertEquals(ordinal <= expected.length ? expected[ordinal - 1] : -1, index.ordinalIndexOf(pattern, ordinal));
+                assertEquals(ordinal <= expected.length ? expected[expected.length - ordinal] : -1,
+                        index.ordinalLastIndexOf(pattern, ordinal));
+            }
+        }
+    }
+
+    private static List<String> patterns(final Random random, final String text) {
+        final List<String> patterns = new ArrayList<>(Arrays.asList(PATTERNS));
+        for (int i = 0; i < 10 && text.length() > 0; i ++) {
+            final int start = random.nextInt(text.length());
+            patterns.add(text.substring(start, Math.min(text.length(), start + 1 + random.nextInt(6))));
+        }
+        // 不出现的模式：比文本长、字符不在字母表中
+        patterns.add(text + "a");
+        patterns.add("\u4e2d");
+        return patterns;
+    }
+
+    private static char[] randomText(final Random random, final int length, final int alphabet) {
+        final char[] text = new char[length];
+        for (int i = 0; i < length; i ++) {
+            text[i] = (char) ('a' + random.nextInt(alphabet));
+        }
+        return text;
+    }
+
+    private static int[] naiveIndexes(final String text, final String pattern) {
+        final List<Integer> indexes = new ArrayList<>();
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+            indexes.add(i);
+            if (i == text.length()) {
+                break;
+            }
+        }
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int compareSuffixes(final char[] text, int a, int b) {
+        while (a < text.length && b < text.length) {
+            if (text[a] != text[b]) {
+                return text[a] - text[b];
+            }
+            a ++;
+            b ++;
+        }
+        return b - a;
+    }
+
+    private static int[] naiveSuffixArray(final char[] text) {
+        final Integer[] suffixes = new Integer[text.length];
+        for (int i = 0; i < suffixes.length; i ++) {
+            suffixes[i] = i;
+        }
+        Arrays.sort(suffixes, (a, b) -> compareSuffixes(text, a, b));
+        return Arrays.stream(suffixes).mapToInt(Integer::intValue).toArray();
+    }
+}
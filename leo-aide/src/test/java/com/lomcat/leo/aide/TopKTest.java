@@ -0,0 +1,144 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link ObjectAide#minK(Iterator, int)}、{@link ObjectAide#maxK(Iterator, int)} 及其
+ * {@code Spliterator}、{@code Stream} 版本的测试，结果与排序后取前 k 个比较。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class TopKTest {
+
+    /** minK 中 null 最大 */
+    private static final Comparator<Integer> ASCENDING = Comparator.nullsLast(Comparator.<Integer>naturalOrder());
+    /** maxK 中 null 最小 */
+    private static final Comparator<Integer> DESCENDING = Comparator.nullsLast(Comparator.<Integer>reverseOrder());
+
+    @Test
+    public void documentedExamples() {
+        assertEquals(Arrays.asList(1, 3, 5), ObjectAide.minK(Arrays.asList(5, null, 3, 9, 1).iterator(), 3));
+        assertEquals(Arrays.asList(5, null), ObjectAide.minK(Arrays.asList(5, null).iterator(), 3));
+        assertEquals(Collections.emptyList(), ObjectAide.minK(Collections.<Integer>emptyIterator(), 3));
+        assertEquals(Arrays.asList(9, 5, 3), ObjectAide.maxK(Arrays.asList(5, null, 3, 9, 1).iterator(), 3));
+        assertEquals(Arrays.asList(5, null), ObjectAide.maxK(Arrays.asList(5, null).iterator(), 3));
+    }
+
+    @Test
+    public void matchesSortAndTake() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 200; round ++) {
+            final List<Integer> values = randomValues(random, random.nextInt(round % 10 == 0 ? 2_000 : 100));
+            // k 覆盖 0、小于、等于与大于元素个数，以及超过初始堆容量的情况
+            final int[] ks = {0, 1, 1 + random.nextInt(20), 16, 17, values.size(), values.size() + 1, random.nextInt(values.size() + 50)};
+            for (final int k : ks) {
+                final List<Integer> min = take(values, ASCENDING, k);
+                final List<Integer> max = take(values, DESCENDING, k);
+                final String message = values.size() + " values, k " + k;
+                assertEquals(message, min, ObjectAide.minK(values.iterator(), k));
+                assertEquals(message, min, ObjectAide.minK(values.spliterator(), k));
+                assertEquals(message, min, ObjectAide.minK(values.stream(), k));
+                assertEquals(message, max, ObjectAide.maxK(values.iterator(), k));
+                assertEquals(message, max, ObjectAide.maxK(values.spliterator(), k));
+                assertEquals(message, max, ObjectAide.maxK(values.stream(), k));
+            }
+        }
+    }
+
+    @Test
+    public void parallelStreams() {
+        final Random random = new Random(2);
+        for (int round = 0; round < 4; round ++) {
+            final List<Integer> values = randomValues(random, 50_000 + random.nextInt(50_000));
+            final List<Integer> ascending = take(values, ASCENDING, values.size());
+            final List<Integer> descending = take(values, DESCENDING, values.size());
+            for (final int k : new int[] {0, 1, 10, 1_000, 200_000}) {
+                final String message = values.size() + " values, k " + k;
+                final int size = Math.min(k, values.size());
+                assertEquals(message, ascending.subList(0, size), ObjectAide.minK(values.parallelStream(), k));
+                assertEquals(message, descending.subList(0, size), ObjectAide.maxK(values.parallelStream(), k));
+            }
+        }
+    }
+
+    @Test
+    public void onlyNulls() {
+        final List<Integer> nulls = Arrays.asList(null, null, null);
+        assertEquals(Arrays.asList(null, null), ObjectAide.minK(nulls.iterator(), 2));
+        assertEquals(Arrays.asList(null, null, null), ObjectAide.maxK(nulls.stream(), 5));
+        assertEquals(Arrays.asList(null, null), ObjectAide.maxK(nulls.parallelStream(), 2));
+    }
+
+    @Test
+    public void resultIsModifiable() {
+        final List<Integer> result = ObjectAide.minK(Arrays.asList(3, 1, 2).iterator(), 2);
+        result.add(7);
+        assertEquals(Arrays.asList(1, 2, 7), result);
+        final List<Integer> empty = ObjectAide.maxK(Arrays.asList(3, 1, 2).stream(), 0);
+        empty.add(7);
+        assertEquals(Collections.singletonList(7), empty);
+    }
+
+    @Test
+    public void invalidArguments() {
+        try {
+            ObjectAide.minK(Arrays.asList(1, 2).iterator(), -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains("-1"));
+        }
+        try {
+            ObjectAide.maxK((Iterator<Integer>) null, 1);
+            fail();
+        } catch (NullPointerException expected) {
+            // 源为 null
+        }
+    }
+
+    private static List<Integer> take(final List<Integer> values, final Comparator<Integer> order, final int k) {
+        final List<Integer> sorted = new ArrayList<>(values);
+        sorted.sort(order);
+        return new ArrayList<>(sorted.subList(0, Math.min(k, sorted.size())));
+    }
+
+    /**
+     * @return 含有重复值与约 5% {@code null} 的随机列表
+     */
+    private static List<Integer> randomValues(final Random random, final int size) {
+        final int bound = 1 + random.nextInt(Math.max(1, size * 2));
+        final List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i ++) {
+            values.add(random.nextInt(20) == 0 ? null : random.nextInt(bound) - bound / 2);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,218 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * <p>{@link CharSequenceAide#utf8Length(CharSequence)} 与 {@link StringAide#truncateToUtf8Bytes(String, int)} 的测试：
+ * 字节数与 {@code getBytes(StandardCharsets.UTF_8).length} 比较（不成对的代理字符编码为 1 个字节的 {@code '?'}），
+ * 截取结果是不超过字节上限的最长前缀，且不会拆开代理对。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class Utf8LengthTest {
+
+    /** 1 至 4 个字节的字符、不成对的高低代理字符 */
+    private static final String ALPHABET = "a\u007f\u0080\u00e9\u07ff\u0800\u4e2d\uffff\ud83d\ude00\ud800\udc00";
+
+    @Test
+    public void documentedExamples() {
+        assertEquals(0, CharSequenceAide.utf8Length(null));
+        assertEquals(3, CharSequenceAide.utf8Length("abc"));
+        assertEquals(2, CharSequenceAide.utf8Length("\u00e9"));
+        assertEquals(6, CharSequenceAide.utf8Length("\u4e2d\u6587"));
+        assertEquals(4, CharSequenceAide.utf8Length("\ud83d\ude00"));
+
+        assertNull(StringAide.truncateToUtf8Bytes(null, 10));
+        assertNull(StringAide.truncateToUtf8Bytes("abc", -1));
+        final String abc = "abc";
+        assertSame(abc, StringAide.truncateToUtf8Bytes(abc, 3));
+        assertEquals("ab", StringAide.truncateToUtf8Bytes("abc", 2));
+        assertEquals("", StringAide.truncateToUtf8Bytes("abc", 0));
+        assertEquals("\u4e2d\u6587", StringAide.truncateToUtf8Bytes("\u4e2d\u6587\u5b57\u7b26", 7));
+        assertEquals("a", StringAide.truncateToUtf8Bytes("a\ud83d\ude00", 4));
+        assertEquals("a\ud83d\ude00", StringAide.truncateToUtf8Bytes("a\ud83d\ude00", 5));
+    }
+
+    @Test
+    public void everyBmpChar() {
+        for (int c = 0; c <= Character.MAX_VALUE; c ++) {
+            final String text = "x" + (char) c;
+            final int expected = text.getBytes(StandardCharsets.UTF_8).length;
+            if (CharSequenceAide.utf8Length(text) != expected) {
+                assertEquals(Integer.toHexString(c), expected, CharSequenceAide.utf8Length(text));
+            }
+            if (CharSequenceAide.utf8Length(new StringBuilder(text)) != expected) {
+                assertEquals(Integer.toHexString(c), expected, CharSequenceAide.utf8Length(new StringBuilder(text)));
+            }
+        }
+    }
+
+    @Test
+    public void randomSequences() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 3_000; round ++) {
+            final String text = randomText(random, random.nextInt(round % 10 == 0 ? 2_000 : 20));
+            final int expected = text.getBytes(StandardCharsets.UTF_8).length;
+            for (final CharSequence sequence : sequences(text)) {
+                assertEquals(sequence.getClass().getName(), expected, CharSequenceAide.utf8Length(sequence));
+            }
+        }
+        final String ascii = "plain ascii text";
+        assertEquals(ascii.length(), CharSequenceAide.utf8Length(AsciiSequence.of(ascii)));
+        assertEquals(ascii.length(), CharSequenceAide.utf8Length(new MutableAsciiSequence(ascii)));
+    }
+
+    /**
+     * 按块扫描时，块的边界上的代理对不能被拆开，块末尾不成对的高代理字符也不能与下一块的字符配对
+     */
+    @Test
+    public void surrogatesAtChunkBoundaries() {
+        for (int position = 250; position < 520; position ++) {
+            final StringBuilder pair = new StringBuilder();
+            final StringBuilder lone = new StringBuilder();
+            for (int i = 0; i < 600; i ++) {
+                pair.append(i == position ? "\ud83d\ude00" : "a");
+                lone.append(i == position ? '\ud83d' : i == position + 1 ? '\u4e2d' : 'a');
+            }
+            for (final String text : new String[] {pair.toString(), lone.toString(), pair.substring(0, position + 1)}) {
+                final int expected = text.getBytes(StandardCharsets.UTF_8).length;
+                for (final CharSequence sequence : sequences(text)) {
+                    assertEquals(position + " " + sequence.getClass().getName(), expected, CharSequenceAide.utf8Length(sequence));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void truncateIsMaximalPrefix() {
+        final Random random = new Random(2);
+        for (int round = 0; round < 2_000; round ++) {
+            final String text = randomText(random, random.nextInt(round % 20 == 0 ? 300 : 12));
+            final int total = text.getBytes(StandardCharsets.UTF_8).length;
+            for (int maxBytes = 0; maxBytes <= total + 1; maxBytes += round % 20 == 0 ? 7 : 1) {
+                assertTruncated(text, maxBytes);
+            }
+            assertTruncated(text, total);
+            assertTruncated(text, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * 截断位置恰好落在代理对上：放不下完整的增补字符时将其整个去掉
+     */
+    @Test
+    public void truncateAtSurrogatePair() {
+        final String text = "ab\ud83d\ude00c";
+        assertEquals("ab", StringAide.truncateToUtf8Bytes(text, 2));
+        assertEquals("ab", StringAide.truncateToUtf8Bytes(text, 3));
+        assertEquals("ab", StringAide.truncateToUtf8Bytes(text, 4));
+        assertEquals("ab", StringAide.truncateToUtf8Bytes(text, 5));
+        assertEquals("ab\ud83d\ude00", StringAide.truncateToUtf8Bytes(text, 6));
+        assertSame(text, StringAide.truncateToUtf8Bytes(text, 7));
+        assertEquals("", StringAide.truncateToUtf8Bytes("\ud83d\ude00", 3));
+        // 不成对的代理字符按 '?' 计 1 个字节
+        assertEquals("a\ud83d", StringAide.truncateToUtf8Bytes("a\ud83d\u4e2d", 2));
+        assertEquals("\ude00", StringAide.truncateToUtf8Bytes("\ude00\ud83d", 1));
+        for (int maxBytes = 0; maxBytes < 3 * 40; maxBytes ++) {
+            assertTruncated(repeat("\ud83d\ude00\u4e2d", 10), maxBytes);
+        }
+    }
+
+    /**
+     * UTF-8 长度的计算与无需截断的截断不分配内存
+     */
+    @Test
+    public void utf8LengthDoesNotAllocate() {
+        final String text = Allocations.TEXT;
+        final StringBuilder builder = new StringBuilder(text);
+        final String mixed = text + " \u00e9\u4e2d\ud83d\ude00";
+        assertAllocationFree("CharSequenceAide.utf8Length(String)", () -> (int) CharSequenceAide.utf8Length(mixed));
+        assertAllocationFree("CharSequenceAide.utf8Length(StringBuilder)", () -> (int) CharSequenceAide.utf8Length(builder));
+        assertAllocationFree("StringAide.truncateToUtf8Bytes(fits)",
+                () -> StringAide.truncateToUtf8Bytes(mixed, 100).length());
+    }
+
+    private static void assertTruncated(final String text, final int maxBytes) {
+        final String truncated = StringAide.truncateToUtf8Bytes(text, maxBytes);
+        final String message = maxBytes + " / " + text.length();
+        assertTrue(message, text.startsWith(truncated));
+        final int bytes = truncated.getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(message, bytes <= maxBytes);
+        if (truncated.length() == text.length()) {
+            assertSame(message, text, truncated);
+            return;
+        }
+        final int end = truncated.length();
+        // 不拆开代理对
+        assertFalse(message, end > 0 && Character.isHighSurrogate(text.charAt(end - 1)) && Character.isLowSurrogate(text.charAt(end)));
+        // 再多一个字符（或完整的代理对）就会超出
+        final int next = Character.isHighSurrogate(text.charAt(end)) && end + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(end + 1)) ? end + 2 : end + 1;
+        assertTrue(message, text.substring(0, next).getBytes(StandardCharsets.UTF_8).length > maxBytes);
+    }
+
+    /**
+     * @return 相同内容的各种字符序列，覆盖 {@link CharSequenceAccess} 的各种存储类型
+     */
+    private static CharSequence[] sequences(final String text) {
+        return new CharSequence[] {
+                text,
+                new StringBuilder(text),
+                new StringBuffer(text),
+                CharBuffer.wrap(("(" + text + ")").toCharArray(), 1, text.length()),
+                CharBuffer.wrap(text),
+                CharSequenceView.of("(" + text + ")", 1, text.length() + 1),
+                Rope.of(text),
+        };
+    }
+
+    private static String randomText(final Random random, final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i ++) {
+            final int index = random.nextInt(ALPHABET.length() + 2);
+            if (index >= ALPHABET.length()) {
+                // 代理对
+                builder.append("\ud801\udc37");
+            } else {
+                builder.append(ALPHABET.charAt(index));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String repeat(final String text, final int count) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i ++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
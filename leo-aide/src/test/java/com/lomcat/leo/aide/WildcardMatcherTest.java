@@ -0,0 +1,396 @@
+/* 
+ * Copyright Lomcat and/or its affiliates.
+ * 
+ * See the NOTICE file distributed with this work for additional information regarding copyright ownership.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an "AS IS" BASIS, 
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. 
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package com.lomcat.leo.aide;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static com.lomcat.leo.aide.Allocations.assertAllocationFree;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * <p>{@link WildcardMatcher} 的测试，结果与将通配符翻译为正则表达式后的匹配结果比较。</p>
+ *
+ * <p>覆盖开头、结尾普通字符的快速检查，单字与多字（超过 64 个状态）自动机，{@code [!...]}、{@code [^...]} 与转义，
+ * 忽略大小写，以及 {@link WildcardMatcher#compileAny(String...)} 的 {@code firstMatch}、{@code matchAll}。
+ * 正则表达式的 {@code .} 匹配一个码点而通配符的 {@code ?} 匹配一个 {@code char}，因此字母表中不含代理对。</p>
+ *
+ * @author Kuniel - kuniel@lomcat.com
+ * @since 1.0.0
+ */
+public class WildcardMatcherTest {
+
+    /** 普通字符、模式中的特殊字符、非 ASCII 字符与大小写形式（含 Kelvin 符号 U+212A） */
+    private static final String ALPHABET = "abAB.-]^!\\\n\u00e9\u00c9\u4e2d\u212aKk";
+
+    @Test
+    public void documentedExamples() {
+        assertTrue(WildcardMatcher.compile("*.java").matches("Aide.java"));
+        assertTrue(WildcardMatcher.compile("*.JAVA", true).matches("Aide.java"));
+        assertTrue(WildcardMatcher.compile("log-????-[0-9][0-9].txt").matches("log-2024-05.txt"));
+        assertFalse(WildcardMatcher.compile("[!.]*").matches(".hidden"));
+        assertEquals(1, WildcardMatcher.compileAny("*.java", "*.kt").firstMatch("Main.kt"));
+    }
+
+    @Test
+    public void shortcuts() {
+        // 只有普通字符
+        assertTrue(WildcardMatcher.compile("abc").matches("abc"));
+        assertFalse(WildcardMatcher.compile("abc").matches("abcd"));
+        assertTrue(WildcardMatcher.compile("abc", true).matches("ABC"));
+        // 前缀、后缀与只剩 *
+        assertTrue(WildcardMatcher.compile("ab*").matches("ab"));
+        assertTrue(WildcardMatcher.compile("*ab").matches("ab"));
+        assertTrue(WildcardMatcher.compile("a*a").matches("aa"));
+        assertFalse(WildcardMatcher.compile("a*a").matches("a"));
+        assertFalse(WildcardMatcher.compile("ab*ba").matches("aba"));
+        assertTrue(WildcardMatcher.compile("*").matches(""));
+        assertTrue(WildcardMatcher.compile("**").matches("anything"));
+        assertTrue(WildcardMatcher.compile("").matches(""));
+        assertFalse(WildcardMatcher.compile("").matches("a"));
+        // 前缀、后缀之间仍需运行自动机
+        assertTrue(WildcardMatcher.compile("a?*b").matches("axb"));
+        assertFalse(WildcardMatcher.compile("a?*b").matches("ab"));
+        assertTrue(WildcardMatcher.compile("\\**\\?").matches("*x?"));
+        assertFalse(WildcardMatcher.compile("\\**\\?").matches("x*?"));
+    }
+
+    @Test
+    public void nullText() {
+        final WildcardMatcher single = WildcardMatcher.compile("*");
+        final WildcardMatcher any = WildcardMatcher.compileAny("*", "a");
+        assertFalse(single.matches(null));
+        assertFalse(any.matches(null));
+        assertEquals(-1, single.firstMatch(null));
+        assertEquals(-1, any.firstMatch(null));
+        final BitSet matched = new BitSet();
+        matched.set(3);
+        any.matchAll(null, matched);
+        assertTrue(matched.isEmpty());
+    }
+
+    @Test
+    public void syntaxErrors() {
+        for (final String pattern : new String[] {"[abc", "[", "[!", "[]", "a\\", "[a\\", "[a-\\", "[z-a]"}) {
+            try {
+                WildcardMatcher.compile(pattern);
+                fail(pattern);
+            } catch (IllegalArgumentException expected) {
+                // 语法错误
+            }
+        }
+        try {
+            WildcardMatcher.compileAny(Collections.<String>emptyList(), false);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 没有模式
+        }
+    }
+
+    @Test
+    public void charClasses() {
+        assertTrue(WildcardMatcher.compile("[]a]").matches("]"));
+        assertTrue(WildcardMatcher.compile("[!]a]").matches("b"));
+        assertFalse(WildcardMatcher.compile("[^]a]").matches("]"));
+        assertTrue(WildcardMatcher.compile("[a-]").matches("-"));
+        assertTrue(WildcardMatcher.compile("[\\]]").matches("]"));
+        assertTrue(WildcardMatcher.compile("[\\!a]").matches("!"));
+        assertTrue(WildcardMatcher.compile("[a\\-c]").matches("-"));
+        assertFalse(WildcardMatcher.compile("[a\\-c]").matches("b"));
+        assertTrue(WildcardMatcher.compile("[!a]").matches("\u4e2d"));
+        assertTrue(WildcardMatcher.compile("[\u4e00-\u9fff]").matches("\u4e2d"));
+        assertTrue(WildcardMatcher.compile("[A-Z]", true).matches("q"));
+        assertTrue(WildcardMatcher.compile("[!A-Z]", true).matches("1"));
+        assertFalse(WildcardMatcher.compile("[!A-Z]", true).matches("q"));
+        assertTrue(WildcardMatcher.compile("[\u00c9]", true).matches("\u00e9"));
+        assertTrue(WildcardMatcher.compile("[!\u00c9]").matches("\u00e9"));
+        assertFalse(WildcardMatcher.compile("[!\u00c9]", true).matches("\u00e9"));
+    }
+
+    @Test
+    public void matchesRegexTranslation() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 10_000; round ++) {
+            final boolean ignoreCase = random.nextInt(3) == 0;
+            // 少数模式超过 64 个状态，覆盖多字自动机；其中的 * 不超过 2 个，以免作为参照的正则表达式回溯过久
+            final String pattern = round % 20 == 0 ? randomPattern(random, 60 + random.nextInt(150), 2) : randomPattern(random, random.nextInt(10), 10);
+            final WildcardMatcher matcher = WildcardMatcher.compile(pattern, ignoreCase);
+            final Pattern regex = toRegex(pattern, ignoreCase);
+            for (int t = 0; t < 10; t ++) {
+                final String text = t % 2 == 0 ? textFor(random, pattern) : randomText(random, random.nextInt(pattern.length() + 5));
+                final boolean expected = regex.matcher(text).matches();
+                final String message = escape(pattern) + (ignoreCase ? " (ignore case)" : "") + " / " + escape(text);
+                assertEquals(message, expected, matcher.matches(text));
+                assertEquals(message, expected, matcher.matches(new StringBuilder(text)));
+                assertEquals(message, expected ? 0 : -1, matcher.firstMatch(text));
+            }
+        }
+    }
+
+    @Test
+    public void compileAnyMatchesRegexTranslation() {
+        final Random random = new Random(2);
+        final BitSet matched = new BitSet();
+        for (int round = 0; round < 1_500; round ++) {
+            final boolean ignoreCase = random.nextInt(3) == 0;
+            final int count = 1 + random.nextInt(round % 3 == 0 ? 30 : 6);
+            final List<String> patterns = new ArrayList<>(count);
+            final Pattern[] regexes = new Pattern[count];
+            for (int p = 0; p < count; p ++) {
+                patterns.add(randomPattern(random, random.nextInt(8), 8));
+                regexes[p] = toRegex(patterns.get(p), ignoreCase);
+            }
+            final WildcardMatcher matcher = WildcardMatcher.compileAny(patterns, ignoreCase);
+            assertEquals(count, matcher.patternCount());
+            for (int t = 0; t < 10; t ++) {
+                final String text = t % 2 == 0 ? textFor(random, patterns.get(random.nextInt(count))) : randomText(random, random.nextInt(10));
+                final BitSet expected = new BitSet();
+                for (int p = 0; p < count; p ++) {
+                    if (regexes[p].matcher(text).matches()) {
+                        expected.set(p);
+                    }
+                }
+                final String message = escape(patterns.toString()) + (ignoreCase ? " (ignore case)" : "") + " / " + escape(text);
+                matcher.matchAll(text, matched);
+                assertEquals(message, expected, matched);
+                assertEquals(message, expected.nextSetBit(0), matcher.firstMatch(text));
+                assertEquals(message, !expected.isEmpty(), matcher.matches(text));
+            }
+        }
+    }
+
+    @Test
+    public void longPatterns() {
+        final StringBuilder pattern = new StringBuilder();
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i ++) {
+            pattern.append(i % 7 == 0 ? "*" : "").append(i % 3 == 0 ? "?" : i % 3 == 1 ? "[a-c]" : "\u4e2d");
+            text.append(i % 7 == 0 ? "xyz" : "").append(i % 3 == 0 ? "\u00e9" : i % 3 == 1 ? "b" : "\u4e2d");
+        }
+        final WildcardMatcher matcher = WildcardMatcher.compile(pattern.toString());
+        assertTrue(matcher.matches(text));
+        text.setCharAt(text.length() / 2, '#');
+        assertEquals(toRegex(pattern.toString(), false).matcher(text).matches(), matcher.matches(text));
+        // 与短模式合并后仍能区分各模式的接受状态
+        final WildcardMatcher any = WildcardMatcher.compileAny(Arrays.asList("*#*", pattern.toString(), "*"), false);
+        final BitSet matched = new BitSet();
+        any.matchAll(text, matched);
+        assertEquals(toRegex(pattern.toString(), false).matcher(text).matches(), matched.get(1));
+        assertTrue(matched.get(0));
+        assertTrue(matched.get(2));
+        assertEquals(0, any.firstMatch(text));
+    }
+
+    /**
+     * 编译后的匹配不分配内存
+     */
+    @Test
+    public void wildcardMatchDoesNotAllocate() {
+        final String text = Allocations.TEXT;
+        final StringBuilder builder = new StringBuilder(text);
+        final WildcardMatcher suffix = WildcardMatcher.compile("*.java");
+        final WildcardMatcher middle = WildcardMatcher.compile("The*f?x*[a-z]ain", true);
+        final WildcardMatcher any = WildcardMatcher.compileAny("*.kt", "*dog*", "*.java");
+        assertAllocationFree("WildcardMatcher.matches(suffix)", () -> suffix.matches("WildcardMatcherTest.java") ? 1 : 0);
+        assertAllocationFree("WildcardMatcher.matches(middle)", () -> middle.matches(builder) ? 1 : 0);
+        assertAllocationFree("WildcardMatcher.firstMatch", () -> any.firstMatch(text));
+    }
+
+    /**
+     * @return 与通配符等价的正则表达式，每个字符都以 {@code \\uXXXX} 表示
+     */
+    private static Pattern toRegex(final String pattern, final boolean ignoreCase) {
+        final StringBuilder regex = new StringBuilder();
+        final int length = pattern.length();
+        for (int i = 0; i < length; i ++) {
+            final char c = pattern.charAt(i);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '\\') {
+                appendChar(regex, pattern.charAt(++ i));
+            } else if (c == '[') {
+                int j = i + 1;
+                regex.append('[');
+                if (pattern.charAt(j) == '!' || pattern.charAt(j) == '^') {
+                    regex.append('^');
+                    j ++;
+                }
+                for (boolean first = true; first || pattern.charAt(j) != ']'; first = false) {
+                    if (pattern.charAt(j) == '\\') {
+                        j ++;
+                    }
+                    final char low = pattern.charAt(j ++);
+                    appendChar(regex, low);
+                    if (pattern.charAt(j) == '-' && pattern.charAt(j + 1) != ']') {
+                        j ++;
+                        if (pattern.charAt(j) == '\\') {
+                            j ++;
+                        }
+                        // x-x 与单个字符相同；正则表达式忽略大小写时对二者的处理不同
+                        final char high = pattern.charAt(j ++);
+                        if (high != low) {
+                            regex.append('-');
+                            appendChar(regex, high);
+                        }
+                    }
+                }
+                regex.append(']');
+                i = j;
+            } else {
+                appendChar(regex, c);
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0));
+    }
+
+    /**
+     * @return 非 ASCII 字符与换行以 {@code \\uXXXX} 表示的文本，用于断言消息
+     */
+    private static String escape(final String text) {
+        final StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i ++) {
+            final char c = text.charAt(i);
+            if (c < 128 && c != '\n') {
+                escaped.append(c);
+            } else {
+                appendChar(escaped, c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static void appendChar(final StringBuilder regex, final char c) {
+        regex.append(String.format("\\u%04x", (int) c));
+    }
+
+    /**
+     * @return 由普通字符（必要时转义）、{@code ?}、至多 {@code maxStars} 个 {@code *} 与字符集合组成、含 {@code elements} 个元素的合法模式
+     */
+    private static String randomPattern(final Random random, final int elements, final int maxStars) {
+        final StringBuilder pattern = new StringBuilder();
+        int stars = 0;
+        for (int e = 0; e < elements; e ++) {
+            final int kind = random.nextInt(10);
+            if (kind < 4) {
+                appendLiteral(pattern, randomChar(random));
+            } else if (kind < 6 && stars < maxStars) {
+                pattern.append('*');
+                stars ++;
+            } else if (kind < 7) {
+                pattern.append('?');
+            } else {
+                pattern.append('[');
+                if (random.nextBoolean()) {
+                    pattern.append(random.nextBoolean() ? '!' : '^');
+                }
+                final int items = 1 + random.nextInt(3);
+                for (int i = 0; i < items; i ++) {
+                    final char low = randomChar(random);
+                    // 第一个 ] 按普通字符处理，其余位置需要转义
+                    if (low == ']' && i == 0 && random.nextBoolean()) {
+                        pattern.append(']');
+                    } else {
+                        appendClassChar(pattern, low);
+                    }
+                    if (random.nextInt(3) == 0) {
+                        final char high = (char) (low + random.nextInt(30));
+                        pattern.append('-');
+                        appendClassChar(pattern, high);
+                    }
+                }
+                if (random.nextInt(8) == 0) {
+                    // 位于结尾的 - 按普通字符处理
+                    pattern.append('-');
+                }
+                pattern.append(']');
+            }
+        }
+        return pattern.toString();
+    }
+
+    private static void appendLiteral(final StringBuilder pattern, final char c) {
+        if (c == '*' || c == '?' || c == '[' || c == '\\') {
+            pattern.append('\\');
+        }
+        pattern.append(c);
+    }
+
+    private static void appendClassChar(final StringBuilder pattern, final char c) {
+        if (c == ']' || c == '\\' || c == '-' || c == '!' || c == '^') {
+            pattern.append('\\');
+        }
+        pattern.append(c);
+    }
+
+    /**
+     * @return 大致按模式生成的文本：普通字符照抄（可能改变大小写），{@code ?} 与集合取随机字符，{@code *} 展开为 0 至 3 个随机字符
+     */
+    private static String textFor(final Random random, final String pattern) {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i ++) {
+            final char c = pattern.charAt(i);
+            if (c == '*') {
+                text.append(randomText(random, random.nextInt(4)));
+            } else if (c == '?') {
+                text.append(randomChar(random));
+            } else if (c == '[') {
+                // 跳过集合，取集合中的第一个字符或随机字符
+                int j = i + 1;
+                if (pattern.charAt(j) == '!' || pattern.charAt(j) == '^') {
+                    j ++;
+                }
+                final char member = pattern.charAt(j) == '\\' ? pattern.charAt(j + 1) : pattern.charAt(j);
+                text.append(random.nextBoolean() ? member : randomChar(random));
+                for (boolean first = true; first || pattern.charAt(j) != ']'; first = false) {
+                    j += pattern.charAt(j) == '\\' ? 2 : 1;
+                }
+                i = j;
+            } else {
+                final char literal = c == '\\' ? pattern.charAt(++ i) : c;
+                text.append(random.nextInt(4) == 0 ? Character.toUpperCase(literal) : literal);
+            }
+        }
+        if (random.nextInt(5) == 0 && text.length() > 0) {
+            text.setCharAt(random.nextInt(text.length()), randomChar(random));
+        }
+        return text.toString();
+    }
+
+    private static String randomText(final Random random, final int length) {
+        final StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i ++) {
+            text.append(randomChar(random));
+        }
+        return text.toString();
+    }
+
+    private static char randomChar(final Random random) {
+        return random.nextInt(6) == 0 ? (char) ('c' + random.nextInt(20)) : ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+    }
+}